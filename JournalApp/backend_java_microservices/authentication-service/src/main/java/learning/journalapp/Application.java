@@ -2,11 +2,17 @@ package learning.journalapp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class Application {
 
+  /** Startup steps kept for the timing report; later steps are dropped. */
+  private static final int STARTUP_STEP_CAPACITY = 4096;
+
   public static void main(final String[] args) {
-    SpringApplication.run(Application.class, args);
+    final SpringApplication application = new SpringApplication(Application.class);
+    application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+    application.run(args);
   }
 }
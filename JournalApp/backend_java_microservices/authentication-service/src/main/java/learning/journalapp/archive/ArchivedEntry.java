@@ -0,0 +1,38 @@
+package learning.journalapp.archive;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import learning.journalapp.entity.Mood;
+import learning.journalapp.entity.Season;
+import learning.journalapp.entity.WeatherCondition;
+
+/**
+ * A journal entry as kept in the archive. Notes and medication names and dosages stay in their
+ * stored form, compressed and encrypted under the owner's data key, so the archive is no less
+ * protected than the database.
+ *
+ * @param notes stored notes content as in {@code journal_entry_notes}, or null
+ */
+public record ArchivedEntry(
+    long id,
+    LocalDate entryDate,
+    Mood mood,
+    Season season,
+    WeatherCondition weatherCondition,
+    Double temperatureCelsius,
+    Integer humidity,
+    Double latitude,
+    Double longitude,
+    byte[] notes,
+    List<ArchivedMedication> medications,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    long changeSeq) {
+
+  /**
+   * @param name stored name as in {@code medications.name_encrypted}
+   * @param dosage stored dosage as in {@code medications.dosage_encrypted}
+   */
+  public record ArchivedMedication(byte[] name, byte[] dosage, LocalDateTime timeTaken) {}
+}
@@ -0,0 +1,186 @@
+package learning.journalapp.archive;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import learning.journalapp.entity.Mood;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cold storage for old journal entries: one {@link EntrySegment} file per user and year under
+ * {@code archive.directory}, at {@code <user ID mod 1000>/<user ID>/<year>.seg}. Every instance
+ * must see the same directory, e.g. a shared volume.
+ *
+ * <p>Mapped segments are kept for reuse (up to {@code archive.open-segments}); each read checks
+ * that the file has not been replaced since, so segments rewritten by another instance are picked
+ * up.
+ */
+@Component
+public class EntryArchive {
+
+  private static final String SEGMENT_SUFFIX = ".seg";
+
+  private final Path directory;
+  private final Cache<Path, OpenSegment> openSegments;
+
+  public EntryArchive(
+      @Value("${archive.directory:archive}") final String directory,
+      @Value("${archive.open-segments:1000}") final long openSegments) {
+    this.directory = Path.of(directory);
+    this.openSegments = CacheBuilder.newBuilder().maximumSize(openSegments).build();
+  }
+
+  /** Years the user has archived entries for, ascending. */
+  public List<Integer> years(final long userId) {
+    final List<Integer> years = new ArrayList<>();
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(userDirectory(userId), "*" + SEGMENT_SUFFIX)) {
+      for (final Path file : files) {
+        final String name = file.getFileName().toString();
+        years.add(Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+      }
+    } catch (final NoSuchFileException e) {
+      return years;
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not list archive of user " + userId, e);
+    }
+    years.sort(null);
+    return years;
+  }
+
+  /** The user's archived entries dated {@code from} to {@code to} inclusive, in date order. */
+  public List<ArchivedEntry> find(final long userId, final LocalDate from, final LocalDate to) {
+    final List<ArchivedEntry> entries = new ArrayList<>();
+    for (final int year : years(userId)) {
+      if (year < from.getYear() || year > to.getYear()) {
+        continue;
+      }
+      segment(userId, year)
+          .ifPresent(
+              segment ->
+                  entries.addAll(
+                      segment.entries(
+                          segment.lowerBound(from), segment.lowerBound(to.plusDays(1)))));
+    }
+    return entries;
+  }
+
+  /** The user's archived entry of one day, if any. */
+  public Optional<ArchivedEntry> findByDate(final long userId, final LocalDate date) {
+    return segment(userId, date.getYear())
+        .flatMap(
+            segment -> {
+              final int index = segment.lowerBound(date);
+              return index < segment.size() && segment.dateAt(index).equals(date)
+                  ? Optional.of(segment.entries(index, index + 1).get(0))
+                  : Optional.empty();
+            });
+  }
+
+  /**
+   * Hand the date and mood of each of the user's archived entries dated {@code from} to {@code to}
+   * inclusive to {@code action}, reading only the date and mood columns.
+   */
+  public void forEachMood(
+      final long userId,
+      final LocalDate from,
+      final LocalDate to,
+      final BiConsumer<LocalDate, Mood> action) {
+    for (final int year : years(userId)) {
+      if (year < from.getYear() || year > to.getYear()) {
+        continue;
+      }
+      segment(userId, year)
+          .ifPresent(
+              segment -> {
+                final int end = segment.lowerBound(to.plusDays(1));
+                final Mood[] moods = segment.moods();
+                for (int i = segment.lowerBound(from); i < end; i++) {
+                  action.accept(segment.dateAt(i), moods[i]);
+                }
+              });
+    }
+  }
+
+  /**
+   * Replace the user's segment for {@code year} with {@code entries}, which must be in date order
+   * with at most one per day. The file is written aside, synced and moved into place, so readers
+   * see either the old segment or the new one.
+   */
+  public void write(final long userId, final int year, final List<ArchivedEntry> entries) {
+    final Path file = segmentFile(userId, year);
+    try {
+      final byte[] encoded = EntrySegment.encode(userId, year, entries);
+      Files.createDirectories(file.getParent());
+      final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+      Files.write(
+          temporary,
+          encoded,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING,
+          StandardOpenOption.WRITE,
+          StandardOpenOption.SYNC);
+      Files.move(
+          temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not write archive segment " + file, e);
+    }
+    openSegments.invalidate(file);
+  }
+
+  private Optional<EntrySegment> segment(final long userId, final int year) {
+    final Path file = segmentFile(userId, year);
+    try {
+      final FileVersion version = FileVersion.of(file);
+      final OpenSegment open = openSegments.getIfPresent(file);
+      if (open != null && open.version().equals(version)) {
+        return Optional.of(open.segment());
+      }
+      final EntrySegment segment = EntrySegment.open(file);
+      if (segment.userId() != userId || segment.year() != year) {
+        throw new IllegalStateException("Archive segment " + file + " belongs elsewhere");
+      }
+      openSegments.put(file, new OpenSegment(version, segment));
+      return Optional.of(segment);
+    } catch (final NoSuchFileException e) {
+      return Optional.empty();
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Could not read archive segment " + file, e);
+    }
+  }
+
+  private Path userDirectory(final long userId) {
+    return directory.resolve(String.format("%03d", userId % 1000)).resolve(Long.toString(userId));
+  }
+
+  private Path segmentFile(final long userId, final int year) {
+    return userDirectory(userId).resolve(year + SEGMENT_SUFFIX);
+  }
+
+  /** Identifies one version of a file, so a replaced segment is mapped again. */
+  private record FileVersion(Object key, FileTime modified, long size) {
+
+    static FileVersion of(final Path file) throws IOException {
+      final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      return new FileVersion(
+          attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+    }
+  }
+
+  private record OpenSegment(FileVersion version, EntrySegment segment) {}
+}
@@ -0,0 +1,275 @@
+package learning.journalapp.archive;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.archive.ArchivedEntry.ArchivedMedication;
+import learning.journalapp.entity.Mood;
+import learning.journalapp.entity.Season;
+import learning.journalapp.entity.WeatherCondition;
+import learning.journalapp.mood.MoodCalendarService;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves journal entries of years that ended more than {@code archive.min-age-years} ago out of
+ * {@code journal_entries} and into the {@link EntryArchive}, one user and year at a time, every
+ * {@code archive.interval} on a background thread. Their notes and medications go with them.
+ *
+ * <p>For each user and year the segment and the entries are locked, the entries merged into the
+ * existing segment (an entry written for an archived year since replaces the archived one of its
+ * day), the new segment written and only then the entries deleted, all in one transaction. A
+ * failure after the segment is written leaves the entries in both places, which readers handle,
+ * and the next run archives them again. Rows are deleted with plain SQL, so archiving is not a
+ * change: no sync tombstones, no subscription events, and the mood calendar keeps the days.
+ *
+ * <p>Entries whose medications still await {@code MedicationEncryptionMigration} are left for a
+ * later run, so the archive only ever holds encrypted medications.
+ */
+@Component
+public class EntryArchiver
+    implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+  private static final StructuredLogger logger = StructuredLogger.getLogger(EntryArchiver.class);
+
+  private static final String SELECT_USER_YEARS_SQL =
+      "SELECT user_id, year FROM (SELECT DISTINCT user_id,"
+          + " CAST(EXTRACT(YEAR FROM entry_date) AS int) AS year FROM journal_entries"
+          + " WHERE entry_date < ?) AS user_years WHERE (user_id, year) > (?, ?)"
+          + " ORDER BY user_id, year LIMIT ?";
+  private static final String LOCK_USER_YEAR_SQL = "SELECT pg_advisory_xact_lock(?)";
+  private static final String LOCK_ENTRIES_SQL =
+      "SELECT e.id, e.entry_date, e.mood, e.season, e.condition, e.temperature_celsius,"
+          + " e.humidity, e.latitude, e.longitude, n.content, e.created_at, e.updated_at,"
+          + " e.change_seq, e.notes_id FROM journal_entries e"
+          + " LEFT JOIN journal_entry_notes n ON n.id = e.notes_id"
+          + " WHERE e.user_id = ? AND e.entry_date >= ? AND e.entry_date < ?"
+          + " ORDER BY e.entry_date FOR UPDATE OF e";
+  private static final String HAS_UNENCRYPTED_MEDICATIONS_SQL =
+      "SELECT EXISTS (SELECT 1 FROM medications"
+          + " WHERE journal_entry_id = ANY(?) AND name_encrypted IS NULL)";
+  private static final String SELECT_MEDICATIONS_SQL =
+      "SELECT journal_entry_id, name_encrypted, dosage_encrypted, time_taken FROM medications"
+          + " WHERE journal_entry_id = ANY(?) ORDER BY journal_entry_id, id";
+  private static final String DELETE_MEDICATIONS_SQL =
+      "DELETE FROM medications WHERE journal_entry_id = ANY(?)";
+  private static final String DELETE_ENTRIES_SQL = "DELETE FROM journal_entries WHERE id = ANY(?)";
+  private static final String DELETE_NOTES_SQL =
+      "DELETE FROM journal_entry_notes WHERE id = ANY(?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntryArchive entryArchive;
+  private final MoodCalendarService moodCalendarService;
+  private final TransactionTemplate transaction;
+  private final int minAgeYears;
+  private final Duration interval;
+  private final int batchSize;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "entry-archiver");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public EntryArchiver(
+      final JdbcTemplate jdbcTemplate,
+      final EntryArchive entryArchive,
+      final MoodCalendarService moodCalendarService,
+      final PlatformTransactionManager transactionManager,
+      @Value("${archive.min-age-years:3}") final int minAgeYears,
+      @Value("${archive.interval:1d}") final Duration interval,
+      @Value("${archive.batch-size:100}") final int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entryArchive = entryArchive;
+    this.moodCalendarService = moodCalendarService;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.minAgeYears = minAgeYears;
+    this.interval = interval;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationStartedEvent event) {
+    scheduler.scheduleWithFixedDelay(
+        this::archive, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+
+  /** Archive every user and year old enough. Runs on the scheduler thread only. */
+  void archive() {
+    try {
+      final LocalDate cutoff = LocalDate.now().minusYears(minAgeYears).withDayOfYear(1);
+      long afterUserId = 0;
+      int afterYear = 0;
+      int archived = 0;
+      int failed = 0;
+      while (true) {
+        final List<UserYear> batch =
+            jdbcTemplate.query(
+                SELECT_USER_YEARS_SQL,
+                (resultSet, rowNum) -> new UserYear(resultSet.getLong(1), resultSet.getInt(2)),
+                Date.valueOf(cutoff),
+                afterUserId,
+                afterYear,
+                batchSize);
+        for (final UserYear userYear : batch) {
+          try {
+            archived += archive(userYear);
+          } catch (final RuntimeException e) {
+            failed++;
+            logger.error(
+                "Could not archive journal entries",
+                e,
+                Map.of(
+                    "userId", String.valueOf(userYear.userId()),
+                    "year", String.valueOf(userYear.year())));
+          }
+        }
+        if (batch.size() < batchSize) {
+          break;
+        }
+        afterUserId = batch.get(batch.size() - 1).userId();
+        afterYear = batch.get(batch.size() - 1).year();
+      }
+      if (archived > 0 || failed > 0) {
+        logger.info(
+            "Archived journal entries",
+            Map.of(
+                "entries", String.valueOf(archived), "failedUserYears", String.valueOf(failed)));
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Journal entry archiving failed", e);
+    }
+  }
+
+  private int archive(final UserYear userYear) {
+    // The calendar of a user who never used it is built from journal_entries, so build it first
+    moodCalendarService.ensureBuilt(userYear.userId());
+    final Integer archived = transaction.execute(status -> archiveLocked(userYear));
+    return archived == null ? 0 : archived;
+  }
+
+  private int archiveLocked(final UserYear userYear) {
+    // Entries written meanwhile are not locked by a concurrent run, so lock the segment itself
+    jdbcTemplate.query(
+        LOCK_USER_YEAR_SQL, resultSet -> {}, userYear.userId() * 10_000 + userYear.year());
+    final Map<Long, ArchivedEntry> entries = new HashMap<>();
+    final List<Long> notesIds = new ArrayList<>();
+    jdbcTemplate.query(
+        LOCK_ENTRIES_SQL,
+        resultSet -> {
+          final ArchivedEntry entry = toEntry(resultSet);
+          entries.put(entry.id(), entry);
+          final long notesId = resultSet.getLong(14);
+          if (!resultSet.wasNull()) {
+            notesIds.add(notesId);
+          }
+        },
+        userYear.userId(),
+        Date.valueOf(LocalDate.of(userYear.year(), 1, 1)),
+        Date.valueOf(LocalDate.of(userYear.year() + 1, 1, 1)));
+    if (entries.isEmpty()) {
+      // Archived by another instance in the meantime
+      return 0;
+    }
+    final Long[] entryIds = entries.keySet().toArray(new Long[0]);
+    if (Boolean.TRUE.equals(
+        jdbcTemplate.query(
+            connection -> withIds(connection, HAS_UNENCRYPTED_MEDICATIONS_SQL, entryIds),
+            resultSet -> resultSet.next() && resultSet.getBoolean(1)))) {
+      logger.info(
+          "Not archiving entries with unencrypted medications yet",
+          Map.of(
+              "userId", String.valueOf(userYear.userId()),
+              "year", String.valueOf(userYear.year())));
+      return 0;
+    }
+    jdbcTemplate.query(
+        connection -> withIds(connection, SELECT_MEDICATIONS_SQL, entryIds),
+        resultSet -> {
+          entries
+              .get(resultSet.getLong(1))
+              .medications()
+              .add(
+                  new ArchivedMedication(
+                      resultSet.getBytes(2),
+                      resultSet.getBytes(3),
+                      resultSet.getObject(4, LocalDateTime.class)));
+        });
+
+    // Entries written for the year since it was archived replace the archived ones of their day
+    final TreeMap<LocalDate, ArchivedEntry> byDate = new TreeMap<>();
+    entryArchive
+        .find(
+            userYear.userId(),
+            LocalDate.of(userYear.year(), 1, 1),
+            LocalDate.of(userYear.year(), 12, 31))
+        .forEach(entry -> byDate.put(entry.entryDate(), entry));
+    entries.values().forEach(entry -> byDate.put(entry.entryDate(), entry));
+    entryArchive.write(userYear.userId(), userYear.year(), List.copyOf(byDate.values()));
+
+    jdbcTemplate.update(connection -> withIds(connection, DELETE_MEDICATIONS_SQL, entryIds));
+    jdbcTemplate.update(connection -> withIds(connection, DELETE_ENTRIES_SQL, entryIds));
+    if (!notesIds.isEmpty()) {
+      final Long[] ids = notesIds.toArray(new Long[0]);
+      jdbcTemplate.update(connection -> withIds(connection, DELETE_NOTES_SQL, ids));
+    }
+    return entries.size();
+  }
+
+  private static ArchivedEntry toEntry(final ResultSet resultSet) throws SQLException {
+    final String season = resultSet.getString(4);
+    final String condition = resultSet.getString(5);
+    return new ArchivedEntry(
+        resultSet.getLong(1),
+        resultSet.getDate(2).toLocalDate(),
+        Mood.valueOf(resultSet.getString(3)),
+        season == null ? null : Season.valueOf(season),
+        condition == null ? null : WeatherCondition.valueOf(condition),
+        resultSet.getObject(6, Double.class),
+        resultSet.getObject(7, Integer.class),
+        resultSet.getObject(8, Double.class),
+        resultSet.getObject(9, Double.class),
+        resultSet.getBytes(10),
+        new ArrayList<>(),
+        resultSet.getObject(11, LocalDateTime.class),
+        resultSet.getObject(12, LocalDateTime.class),
+        resultSet.getLong(13));
+  }
+
+  private static PreparedStatement withIds(
+      final Connection connection, final String sql, final Long[] ids) throws SQLException {
+    final PreparedStatement statement = connection.prepareStatement(sql);
+    final Array array = connection.createArrayOf("bigint", ids);
+    statement.setArray(1, array);
+    return statement;
+  }
+
+  private record UserYear(long userId, int year) {}
+}
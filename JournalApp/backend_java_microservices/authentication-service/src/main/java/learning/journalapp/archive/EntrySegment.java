@@ -0,0 +1,429 @@
+package learning.journalapp.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import learning.journalapp.archive.ArchivedEntry.ArchivedMedication;
+import learning.journalapp.entity.Mood;
+import learning.journalapp.entity.Season;
+import learning.journalapp.entity.WeatherCondition;
+
+/**
+ * One user's archived entries of one year, stored column by column (see {@link SegmentColumn}) and
+ * read through a memory mapping. A file is:
+ *
+ * <pre>
+ * ["JSEG"][version: 1][user ID: 8][year: 4][entries: 4][medications: 4][columns: 1]
+ * per column: [column ID: 1][offset: 4][compressed length: 4][length: 4][CRC-32: 4]
+ * the columns, each deflated on its own
+ * </pre>
+ *
+ * <p>Entries are in date order, so a day or a range of days is found by binary search over the
+ * day column, and only the columns a query needs are inflated. A segment holds at most a year of
+ * entries, so every column is small.
+ *
+ * <p>Segments are immutable and safe to share between threads.
+ */
+final class EntrySegment {
+
+  private static final int MAGIC = 0x4A534547;
+  private static final byte VERSION = 1;
+  private static final int HEADER_LENGTH = 4 + 1 + 8 + 4 + 4 + 4 + 1;
+  private static final int DIRECTORY_ENTRY_LENGTH = 1 + 4 + 4 + 4 + 4;
+  private static final byte NONE = -1;
+
+  private static final Mood[] MOODS = Mood.values();
+  private static final Season[] SEASONS = Season.values();
+  private static final WeatherCondition[] CONDITIONS = WeatherCondition.values();
+
+  private final Path path;
+  private final ByteBuffer buffer;
+  private final long userId;
+  private final int year;
+  private final int entryCount;
+  private final int medicationCount;
+  private final Map<SegmentColumn, ColumnLocation> columns = new EnumMap<>(SegmentColumn.class);
+  private volatile int[] entryDays;
+
+  private EntrySegment(final Path path, final ByteBuffer buffer) {
+    this.path = path;
+    this.buffer = buffer;
+    if (buffer.capacity() < HEADER_LENGTH
+        || buffer.getInt(0) != MAGIC
+        || buffer.get(4) != VERSION) {
+      throw corrupt("bad header");
+    }
+    this.userId = buffer.getLong(5);
+    this.year = buffer.getInt(13);
+    this.entryCount = buffer.getInt(17);
+    this.medicationCount = buffer.getInt(21);
+    final int columnCount = buffer.get(25) & 0xFF;
+    if (buffer.capacity() < HEADER_LENGTH + columnCount * DIRECTORY_ENTRY_LENGTH) {
+      throw corrupt("truncated directory");
+    }
+    final SegmentColumn[] known = SegmentColumn.values();
+    for (int i = 0; i < columnCount; i++) {
+      final int at = HEADER_LENGTH + i * DIRECTORY_ENTRY_LENGTH;
+      final int id = buffer.get(at) & 0xFF;
+      final ColumnLocation location =
+          new ColumnLocation(
+              buffer.getInt(at + 1),
+              buffer.getInt(at + 5),
+              buffer.getInt(at + 9),
+              buffer.getInt(at + 13));
+      if (location.offset() < 0
+          || location.compressedLength() < 0
+          || (long) location.offset() + location.compressedLength() > buffer.capacity()) {
+        throw corrupt("column out of bounds");
+      }
+      // Columns added by a later version are skipped
+      if (id < known.length) {
+        columns.put(known[id], location);
+      }
+    }
+  }
+
+  /** Map a segment file. The mapping stays valid after the file is replaced or deleted. */
+  static EntrySegment open(final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path)) {
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new EntrySegment(path, buffer);
+    }
+  }
+
+  /** Encode entries of one user and year, in date order with at most one entry per day. */
+  static byte[] encode(final long userId, final int year, final List<ArchivedEntry> entries)
+      throws IOException {
+    final Map<SegmentColumn, ColumnWriter> writers = new EnumMap<>(SegmentColumn.class);
+    for (final SegmentColumn column : SegmentColumn.values()) {
+      writers.put(column, new ColumnWriter());
+    }
+
+    int medicationCount = 0;
+    int previousDay = 0;
+    for (final ArchivedEntry entry : entries) {
+      final LocalDate date = entry.entryDate();
+      if (date.getYear() != year || date.getDayOfYear() <= previousDay) {
+        throw new IllegalArgumentException(
+            "Entries must be of " + year + ", in date order, one per day: " + date);
+      }
+      previousDay = date.getDayOfYear();
+
+      writers.get(SegmentColumn.ID).writeDelta(entry.id());
+      writers.get(SegmentColumn.ENTRY_DAY).out.writeShort(date.getDayOfYear());
+      writers.get(SegmentColumn.MOOD).out.writeByte(entry.mood().ordinal());
+      writers.get(SegmentColumn.SEASON).writeOrdinal(entry.season());
+      writers.get(SegmentColumn.WEATHER_CONDITION).writeOrdinal(entry.weatherCondition());
+      writers.get(SegmentColumn.TEMPERATURE).writeDouble(entry.temperatureCelsius());
+      writers
+          .get(SegmentColumn.HUMIDITY)
+          .out
+          .writeInt(entry.humidity() == null ? Integer.MIN_VALUE : entry.humidity());
+      writers.get(SegmentColumn.LATITUDE).writeDouble(entry.latitude());
+      writers.get(SegmentColumn.LONGITUDE).writeDouble(entry.longitude());
+      writers.get(SegmentColumn.CREATED_AT).writeDelta(toMicros(entry.createdAt()));
+      writers.get(SegmentColumn.UPDATED_AT).writeDelta(toMicros(entry.updatedAt()));
+      writers.get(SegmentColumn.CHANGE_SEQ).writeDelta(entry.changeSeq());
+      writers.get(SegmentColumn.NOTES).writeBytes(entry.notes());
+      writers.get(SegmentColumn.MEDICATION_COUNT).out.writeShort(entry.medications().size());
+      for (final ArchivedMedication medication : entry.medications()) {
+        writers.get(SegmentColumn.MEDICATION_NAME).writeBytes(medication.name());
+        writers.get(SegmentColumn.MEDICATION_DOSAGE).writeBytes(medication.dosage());
+        writers
+            .get(SegmentColumn.MEDICATION_TIME_TAKEN)
+            .writeDelta(toMicros(medication.timeTaken()));
+        medicationCount++;
+      }
+    }
+
+    final ByteArrayOutputStream file = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(file);
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeLong(userId);
+    out.writeInt(year);
+    out.writeInt(entries.size());
+    out.writeInt(medicationCount);
+    out.writeByte(writers.size());
+
+    final List<byte[]> compressed = new ArrayList<>();
+    int offset = HEADER_LENGTH + writers.size() * DIRECTORY_ENTRY_LENGTH;
+    for (final Map.Entry<SegmentColumn, ColumnWriter> column : writers.entrySet()) {
+      final byte[] raw = column.getValue().bytes.toByteArray();
+      final byte[] deflated = deflate(raw);
+      final CRC32 crc = new CRC32();
+      crc.update(raw);
+      out.writeByte(column.getKey().ordinal());
+      out.writeInt(offset);
+      out.writeInt(deflated.length);
+      out.writeInt(raw.length);
+      out.writeInt((int) crc.getValue());
+      compressed.add(deflated);
+      offset += deflated.length;
+    }
+    for (final byte[] deflated : compressed) {
+      out.write(deflated);
+    }
+    out.flush();
+    return file.toByteArray();
+  }
+
+  long userId() {
+    return userId;
+  }
+
+  int year() {
+    return year;
+  }
+
+  int size() {
+    return entryCount;
+  }
+
+  /** Index of the first entry dated on or after {@code date}; {@link #size()} if none is. */
+  int lowerBound(final LocalDate date) {
+    if (date.getYear() < year) {
+      return 0;
+    }
+    if (date.getYear() > year) {
+      return entryCount;
+    }
+    final int[] days = entryDays();
+    int low = 0;
+    int high = days.length;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (days[middle] < date.getDayOfYear()) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  LocalDate dateAt(final int index) {
+    return LocalDate.ofYearDay(year, entryDays()[index]);
+  }
+
+  /** Mood of each entry, by index; inflates only the mood column. */
+  Mood[] moods() {
+    final ByteBuffer column = column(SegmentColumn.MOOD);
+    final Mood[] moods = new Mood[entryCount];
+    for (int i = 0; i < entryCount; i++) {
+      moods[i] = MOODS[column.get()];
+    }
+    return moods;
+  }
+
+  /** Entries {@code from} (inclusive) to {@code to} (exclusive), in date order. */
+  List<ArchivedEntry> entries(final int from, final int to) {
+    final List<ArchivedEntry> entries = new ArrayList<>(Math.max(0, to - from));
+    if (from >= to) {
+      return entries;
+    }
+    final int[] days = entryDays();
+    final long[] ids = deltas(column(SegmentColumn.ID), entryCount);
+    final ByteBuffer moods = column(SegmentColumn.MOOD);
+    final ByteBuffer seasons = column(SegmentColumn.SEASON);
+    final ByteBuffer conditions = column(SegmentColumn.WEATHER_CONDITION);
+    final ByteBuffer temperatures = column(SegmentColumn.TEMPERATURE);
+    final ByteBuffer humidities = column(SegmentColumn.HUMIDITY);
+    final ByteBuffer latitudes = column(SegmentColumn.LATITUDE);
+    final ByteBuffer longitudes = column(SegmentColumn.LONGITUDE);
+    final long[] createdAt = deltas(column(SegmentColumn.CREATED_AT), entryCount);
+    final long[] updatedAt = deltas(column(SegmentColumn.UPDATED_AT), entryCount);
+    final long[] changeSeqs = deltas(column(SegmentColumn.CHANGE_SEQ), entryCount);
+    final ByteBuffer notes = column(SegmentColumn.NOTES);
+    final ByteBuffer medicationCounts = column(SegmentColumn.MEDICATION_COUNT);
+    final ByteBuffer names = column(SegmentColumn.MEDICATION_NAME);
+    final ByteBuffer dosages = column(SegmentColumn.MEDICATION_DOSAGE);
+    final long[] timesTaken = deltas(column(SegmentColumn.MEDICATION_TIME_TAKEN), medicationCount);
+
+    // Variable-length columns are read from the start; medications are flattened across entries
+    int medication = 0;
+    for (int i = 0; i < to; i++) {
+      final byte[] entryNotes = readBytes(notes);
+      final int entryMedicationCount = medicationCounts.getShort() & 0xFFFF;
+      final List<ArchivedMedication> entryMedications = new ArrayList<>(entryMedicationCount);
+      for (int m = 0; m < entryMedicationCount; m++, medication++) {
+        final byte[] name = readBytes(names);
+        final byte[] dosage = readBytes(dosages);
+        if (i >= from) {
+          entryMedications.add(
+              new ArchivedMedication(name, dosage, fromMicros(timesTaken[medication])));
+        }
+      }
+      if (i < from) {
+        continue;
+      }
+      entries.add(
+          new ArchivedEntry(
+              ids[i],
+              LocalDate.ofYearDay(year, days[i]),
+              MOODS[moods.get(i)],
+              ordinal(SEASONS, seasons.get(i)),
+              ordinal(CONDITIONS, conditions.get(i)),
+              nullIfNaN(temperatures.getDouble(i * Double.BYTES)),
+              humidities.getInt(i * Integer.BYTES) == Integer.MIN_VALUE
+                  ? null
+                  : humidities.getInt(i * Integer.BYTES),
+              nullIfNaN(latitudes.getDouble(i * Double.BYTES)),
+              nullIfNaN(longitudes.getDouble(i * Double.BYTES)),
+              entryNotes,
+              entryMedications,
+              fromMicros(createdAt[i]),
+              fromMicros(updatedAt[i]),
+              changeSeqs[i]));
+    }
+    return entries;
+  }
+
+  private int[] entryDays() {
+    int[] days = entryDays;
+    if (days == null) {
+      final ByteBuffer column = column(SegmentColumn.ENTRY_DAY);
+      days = new int[entryCount];
+      for (int i = 0; i < entryCount; i++) {
+        days[i] = column.getShort();
+      }
+      entryDays = days;
+    }
+    return days;
+  }
+
+  /** Inflate a column and check it against its CRC. */
+  private ByteBuffer column(final SegmentColumn column) {
+    final ColumnLocation location = columns.get(column);
+    if (location == null) {
+      throw corrupt("missing column " + column);
+    }
+    final byte[] raw = new byte[location.length()];
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(buffer.slice(location.offset(), location.compressedLength()));
+      int inflated = 0;
+      while (inflated < raw.length && !inflater.finished() && !inflater.needsInput()) {
+        inflated += inflater.inflate(raw, inflated, raw.length - inflated);
+      }
+      if (inflated != raw.length) {
+        throw corrupt("short column " + column);
+      }
+    } catch (final DataFormatException e) {
+      throw corrupt("undecodable column " + column);
+    } finally {
+      inflater.end();
+    }
+    final CRC32 crc = new CRC32();
+    crc.update(raw);
+    if ((int) crc.getValue() != location.crc()) {
+      throw corrupt("checksum mismatch in column " + column);
+    }
+    return ByteBuffer.wrap(raw);
+  }
+
+  private IllegalStateException corrupt(final String reason) {
+    return new IllegalStateException("Corrupt archive segment " + path + ": " + reason);
+  }
+
+  private static byte[] deflate(final byte[] raw) {
+    final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    try {
+      deflater.setInput(raw);
+      deflater.finish();
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+      final byte[] chunk = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(chunk, 0, deflater.deflate(chunk));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static long[] deltas(final ByteBuffer column, final int count) {
+    final long[] values = new long[count];
+    long previous = 0;
+    for (int i = 0; i < count; i++) {
+      previous += column.getLong();
+      values[i] = previous;
+    }
+    return values;
+  }
+
+  private static byte[] readBytes(final ByteBuffer column) {
+    final int length = column.getInt();
+    if (length < 0) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    column.get(bytes);
+    return bytes;
+  }
+
+  private static <E> E ordinal(final E[] values, final byte ordinal) {
+    return ordinal == NONE ? null : values[ordinal];
+  }
+
+  private static Double nullIfNaN(final double value) {
+    return Double.isNaN(value) ? null : value;
+  }
+
+  private static long toMicros(final LocalDateTime time) {
+    return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+  }
+
+  private static LocalDateTime fromMicros(final long micros) {
+    return LocalDateTime.ofEpochSecond(
+        Math.floorDiv(micros, 1_000_000),
+        (int) Math.floorMod(micros, 1_000_000) * 1_000,
+        ZoneOffset.UTC);
+  }
+
+  private record ColumnLocation(int offset, int compressedLength, int length, int crc) {}
+
+  /** Raw bytes of one column while a segment is encoded. */
+  private static final class ColumnWriter {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private long previous;
+
+    void writeDelta(final long value) throws IOException {
+      out.writeLong(value - previous);
+      previous = value;
+    }
+
+    void writeOrdinal(final Enum<?> value) throws IOException {
+      out.writeByte(value == null ? NONE : value.ordinal());
+    }
+
+    void writeDouble(final Double value) throws IOException {
+      out.writeDouble(value == null ? Double.NaN : value);
+    }
+
+    void writeBytes(final byte[] value) throws IOException {
+      if (value == null) {
+        out.writeInt(-1);
+      } else {
+        out.writeInt(value.length);
+        out.write(value);
+      }
+    }
+  }
+}
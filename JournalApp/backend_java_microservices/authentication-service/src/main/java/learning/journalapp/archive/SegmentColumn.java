@@ -0,0 +1,43 @@
+package learning.journalapp.archive;
+
+/**
+ * Columns of an entry segment file. Each is stored as a single compressed block, so a query that
+ * needs only dates and moods inflates only those two. The ordinal is the column's ID in the file,
+ * so new columns go at the end.
+ */
+enum SegmentColumn {
+  /** Entry ID, delta-encoded longs. */
+  ID,
+  /** Day of the segment's year, one short per entry, ascending. */
+  ENTRY_DAY,
+  /** {@code Mood} ordinal, one byte per entry. */
+  MOOD,
+  /** {@code Season} ordinal, one byte per entry, -1 for none. */
+  SEASON,
+  /** {@code WeatherCondition} ordinal, one byte per entry, -1 for none. */
+  WEATHER_CONDITION,
+  /** Doubles, NaN for none. */
+  TEMPERATURE,
+  /** Ints, {@link Integer#MIN_VALUE} for none. */
+  HUMIDITY,
+  /** Doubles, NaN for none. */
+  LATITUDE,
+  /** Doubles, NaN for none. */
+  LONGITUDE,
+  /** Microseconds since the epoch (UTC), delta-encoded longs. */
+  CREATED_AT,
+  /** Microseconds since the epoch (UTC), delta-encoded longs. */
+  UPDATED_AT,
+  /** Delta-encoded longs. */
+  CHANGE_SEQ,
+  /** Stored notes content, as in {@code journal_entry_notes}: length-prefixed, -1 for none. */
+  NOTES,
+  /** Number of medications per entry, one short per entry. */
+  MEDICATION_COUNT,
+  /** Stored (encrypted) names of all medications in entry order, length-prefixed. */
+  MEDICATION_NAME,
+  /** Stored (encrypted) dosages of all medications in entry order, length-prefixed. */
+  MEDICATION_DOSAGE,
+  /** Microseconds since the epoch (UTC) of all medications in entry order, delta-encoded longs. */
+  MEDICATION_TIME_TAKEN
+}
@@ -0,0 +1,172 @@
+package learning.journalapp.availability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.repository.UserIdentity;
+import learning.journalapp.repository.UserRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Answers "is this username/email taken?" from an in-memory index of every registered username and
+ * email, so availability checks (e.g. while the user types) don't query the database.
+ *
+ * <p>The index is loaded in the background after startup by streaming the users table, then
+ * refreshed incrementally (users with a higher ID than the last one seen) so registrations on
+ * other instances show up within {@code availability.refresh-interval}. Registrations on this
+ * instance are added immediately. Until the first load completes, every check goes to the
+ * database.
+ *
+ * <p>The index can only over-report: a key it doesn't contain was never registered (as of the last
+ * refresh), while a possible hit is confirmed with the database, which stays authoritative. As
+ * it lags behind other instances, it only answers these advisory checks: registration always asks
+ * the database, and the unique constraint on username is what finally guards it.
+ */
+@Service
+public class AvailabilityService
+    implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(AvailabilityService.class);
+
+  /**
+   * Refreshes re-read this many IDs below the highest one seen, to pick up registrations whose
+   * transaction committed after one with a higher ID.
+   */
+  private static final long REFRESH_ID_OVERLAP = 1_000;
+
+  private final UserRepository userRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final FingerprintSet index;
+  private final Duration refreshInterval;
+  private final Counter indexAnswers;
+  private final Counter databaseAnswers;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "availability-index");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private volatile boolean loaded;
+  private long highestLoadedId;
+
+  public AvailabilityService(
+      final UserRepository userRepository,
+      final PlatformTransactionManager transactionManager,
+      final MeterRegistry meterRegistry,
+      @Value("${availability.expected-users:10000}") final int expectedUsers,
+      @Value("${availability.refresh-interval:30s}") final Duration refreshInterval) {
+    this.userRepository = userRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.index = new FingerprintSet(expectedUsers * 2);
+    this.refreshInterval = refreshInterval;
+    this.indexAnswers = lookupCounter(meterRegistry, "index");
+    this.databaseAnswers = lookupCounter(meterRegistry, "database");
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationStartedEvent event) {
+    scheduler.scheduleWithFixedDelay(
+        this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+
+  public boolean isUsernameAvailable(final String username) {
+    return !isTaken(usernameKey(username), userRepository::existsByUsername, username);
+  }
+
+  public boolean isEmailAvailable(final String email) {
+    return !isTaken(emailKey(email), userRepository::existsByEmail, email);
+  }
+
+  /** Add a user registered on this instance. Safe to call before the registration commits. */
+  public void recordRegistration(final String username, final String email) {
+    index.add(usernameKey(username));
+    if (email != null) {
+      index.add(emailKey(email));
+    }
+  }
+
+  private boolean isTaken(
+      final long key, final Predicate<String> existsInDatabase, final String value) {
+    if (loaded && !index.mightContain(key)) {
+      indexAnswers.increment();
+      return false;
+    }
+    databaseAnswers.increment();
+    return existsInDatabase.test(value);
+  }
+
+  /** Load users registered since the last refresh (all of them, the first time). */
+  private void refresh() {
+    try {
+      final long start = System.nanoTime();
+      final long afterId = Math.max(0, highestLoadedId - REFRESH_ID_OVERLAP);
+      final int before = index.size();
+      readOnlyTransaction.executeWithoutResult(
+          status -> {
+            try (Stream<UserIdentity> users = userRepository.streamIdentitiesAfter(afterId)) {
+              users.forEach(this::add);
+            }
+          });
+
+      if (!loaded) {
+        loaded = true;
+        logger.info(
+            "Availability index loaded",
+            Map.of(
+                "entries", String.valueOf(index.size()),
+                "durationMs",
+                    String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))));
+      } else if (index.size() > before) {
+        logger.debug(
+            "Availability index refreshed",
+            Map.of("newEntries", String.valueOf(index.size() - before)));
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Could not refresh availability index", e);
+    }
+  }
+
+  private void add(final UserIdentity user) {
+    recordRegistration(user.getUsername(), user.getEmail());
+    highestLoadedId = Math.max(highestLoadedId, user.getId());
+  }
+
+  private static long usernameKey(final String username) {
+    return FingerprintSet.fingerprint("u:" + username);
+  }
+
+  /** Emails are matched case-insensitively: the index may over-report, never under-report. */
+  private static long emailKey(final String email) {
+    return FingerprintSet.fingerprint("e:" + email.toLowerCase(Locale.ROOT));
+  }
+
+  private static Counter lookupCounter(final MeterRegistry meterRegistry, final String source) {
+    return Counter.builder("journalapp.availability.lookups")
+        .description("Availability checks, by what answered them")
+        .tag("source", source)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,168 @@
+package learning.journalapp.availability;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of 64-bit fingerprints with a bloom filter in front. A lookup first checks a few bits of the
+ * bloom filter (about 1.2 bytes per entry, so it stays in cache); only on a bloom hit does it probe
+ * the open-addressing fingerprint table. Neither structure holds per-entry objects.
+ *
+ * <p>Answers may be false positives (a bloom hit whose fingerprint matches a different key) but
+ * never false negatives, so "not contained" is definitive and "contained" must be confirmed by the
+ * source of truth.
+ *
+ * <p>Readers use an optimistic {@link StampedLock} read and only block if a write raced with them.
+ */
+final class FingerprintSet {
+
+  private static final int MAX_LOAD_PERCENT = 50;
+  private static final int BLOOM_BITS_PER_ENTRY = 10;
+  private static final int BLOOM_HASHES = 7;
+
+  private final StampedLock lock = new StampedLock();
+
+  /** Fingerprints; 0 marks an empty slot, which is why fingerprints are never 0. */
+  private long[] table;
+
+  private int size;
+  private long[] bloom;
+  private int bloomCapacity;
+
+  FingerprintSet(final int expectedEntries) {
+    this.table = new long[tableCapacityFor(expectedEntries)];
+    this.bloomCapacity = Math.max(expectedEntries, 1024);
+    this.bloom = new long[bloomWordsFor(bloomCapacity)];
+  }
+
+  /** 64-bit fingerprint of a key: FNV-1a with a final avalanche step, never 0. */
+  static long fingerprint(final String key) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash == 0 ? 1 : hash;
+  }
+
+  boolean mightContain(final long fingerprint) {
+    final long stamp = lock.tryOptimisticRead();
+    final boolean found = lookup(fingerprint);
+    if (lock.validate(stamp)) {
+      return found;
+    }
+
+    final long readStamp = lock.readLock();
+    try {
+      return lookup(fingerprint);
+    } finally {
+      lock.unlockRead(readStamp);
+    }
+  }
+
+  void add(final long fingerprint) {
+    final long stamp = lock.writeLock();
+    try {
+      if (!insert(table, fingerprint)) {
+        return;
+      }
+      size++;
+      if (size * 100L > (long) table.length * MAX_LOAD_PERCENT) {
+        resizeTable(table.length * 2);
+      }
+      if (size > bloomCapacity) {
+        // Past its design capacity the false-positive rate climbs; rebuild with room to grow
+        rebuildBloom(size * 2);
+      } else {
+        setBloomBits(bloom, fingerprint);
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  private boolean lookup(final long fingerprint) {
+    final long[] currentBloom = bloom;
+    final int bits = currentBloom.length * 64;
+    final int h1 = (int) fingerprint;
+    final int h2 = (int) (fingerprint >>> 32) | 1;
+    for (int i = 0; i < BLOOM_HASHES; i++) {
+      final int bit = Math.floorMod(h1 + i * h2, bits);
+      if ((currentBloom[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+
+    final long[] currentTable = table;
+    final int mask = currentTable.length - 1;
+    for (int slot = (int) fingerprint & mask; ; slot = (slot + 1) & mask) {
+      final long stored = currentTable[slot];
+      if (stored == fingerprint) {
+        return true;
+      }
+      if (stored == 0) {
+        return false;
+      }
+    }
+  }
+
+  private static boolean insert(final long[] target, final long fingerprint) {
+    final int mask = target.length - 1;
+    for (int slot = (int) fingerprint & mask; ; slot = (slot + 1) & mask) {
+      final long stored = target[slot];
+      if (stored == fingerprint) {
+        return false;
+      }
+      if (stored == 0) {
+        target[slot] = fingerprint;
+        return true;
+      }
+    }
+  }
+
+  private void resizeTable(final int capacity) {
+    final long[] resized = new long[capacity];
+    for (final long fingerprint : table) {
+      if (fingerprint != 0) {
+        insert(resized, fingerprint);
+      }
+    }
+    table = resized;
+  }
+
+  private void rebuildBloom(final int capacity) {
+    final long[] rebuilt = new long[bloomWordsFor(capacity)];
+    for (final long fingerprint : table) {
+      if (fingerprint != 0) {
+        setBloomBits(rebuilt, fingerprint);
+      }
+    }
+    bloomCapacity = capacity;
+    bloom = rebuilt;
+  }
+
+  private static void setBloomBits(final long[] target, final long fingerprint) {
+    final int bits = target.length * 64;
+    final int h1 = (int) fingerprint;
+    final int h2 = (int) (fingerprint >>> 32) | 1;
+    for (int i = 0; i < BLOOM_HASHES; i++) {
+      final int bit = Math.floorMod(h1 + i * h2, bits);
+      target[bit >>> 6] |= 1L << bit;
+    }
+  }
+
+  private static int tableCapacityFor(final int entries) {
+    final long needed = Math.max(16, entries * 100L / MAX_LOAD_PERCENT);
+    return Integer.highestOneBit((int) Math.min(needed, 1 << 30) - 1) << 1;
+  }
+
+  private static int bloomWordsFor(final int entries) {
+    return (int) Math.max(1, ((long) entries * BLOOM_BITS_PER_ENTRY + 63) / 64);
+  }
+}
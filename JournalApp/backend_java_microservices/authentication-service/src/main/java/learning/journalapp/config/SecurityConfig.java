@@ -47,7 +47,8 @@ public class SecurityConfig {
                     .permitAll()
                     .requestMatchers("/auth/login", "/auth/register")
                     .permitAll()
-                    .requestMatchers("/actuator/health", "/actuator/info")
+                    .requestMatchers(
+                        "/actuator/health/**", "/actuator/info", "/actuator/prometheus")
                     .permitAll()
                     // All other endpoints require authentication
                     .anyRequest()
@@ -0,0 +1,69 @@
+package learning.journalapp.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs how long startup took once the application is ready: JVM start to ready (which includes
+ * class loading, the part class-data sharing speeds up), context start to ready, and the slowest
+ * bean instantiations recorded by the {@link BufferingApplicationStartup} installed in {@code
+ * Application}.
+ */
+@Component
+public class StartupTimingReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(StartupTimingReporter.class);
+  private static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+
+  private final int slowestBeans;
+
+  public StartupTimingReporter(
+      @Value("${startup.report.slowest-beans:10}") final int slowestBeans) {
+    this.slowestBeans = slowestBeans;
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationReadyEvent event) {
+    String slowest = "";
+    if (event.getApplicationContext().getApplicationStartup()
+        instanceof BufferingApplicationStartup startup) {
+      slowest = slowestBeans(startup.getBufferedTimeline());
+    }
+
+    logger.info(
+        "Application ready",
+        Map.of(
+            "jvmToReadyMs", String.valueOf(ManagementFactory.getRuntimeMXBean().getUptime()),
+            "contextToReadyMs", String.valueOf(event.getTimeTaken().toMillis()),
+            "slowestBeans", slowest));
+  }
+
+  private String slowestBeans(final StartupTimeline timeline) {
+    return timeline.getEvents().stream()
+        .filter(e -> BEAN_INSTANTIATION_STEP.equals(e.getStartupStep().getName()))
+        .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+        .limit(slowestBeans)
+        .map(e -> beanName(e.getStartupStep()) + "=" + e.getDuration().toMillis() + "ms")
+        .collect(Collectors.joining(", "));
+  }
+
+  private static String beanName(final StartupStep step) {
+    for (final StartupStep.Tag tag : step.getTags()) {
+      if ("beanName".equals(tag.getKey())) {
+        return tag.getValue();
+      }
+    }
+    return "?";
+  }
+}
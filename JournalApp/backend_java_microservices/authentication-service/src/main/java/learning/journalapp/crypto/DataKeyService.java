@@ -0,0 +1,161 @@
+package learning.journalapp.crypto;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.security.GeneralSecurityException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Per-user data keys, unwrapped once and then served from a bounded cache, so encrypting or
+ * decrypting a field costs an in-memory lookup plus the cipher itself.
+ *
+ * <p>Keys are created on first encryption and committed in a transaction of their own before
+ * anything is encrypted with them; otherwise a rolled-back key could stay cached and encrypt data
+ * that no stored key can decrypt. Two instances creating a user's key at once both keep the one
+ * that was inserted first. Reads never create keys: a value whose key is missing can't be
+ * decrypted by a new one either.
+ */
+@Service
+public class DataKeyService {
+
+  private static final String SELECT_SQL =
+      "SELECT user_id, master_key_alias, wrapped_key FROM user_data_keys WHERE user_id = ANY(?)";
+  private static final String INSERT_SQL =
+      "INSERT INTO user_data_keys (user_id, master_key_alias, wrapped_key, created_at)"
+          + " VALUES (?, ?, ?, ?) ON CONFLICT (user_id) DO NOTHING";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final MasterKeyStore masterKeyStore;
+  private final TransactionTemplate newTransaction;
+  private final Cache<Long, SecretKey> dataKeys;
+
+  public DataKeyService(
+      final JdbcTemplate jdbcTemplate,
+      final MasterKeyStore masterKeyStore,
+      final PlatformTransactionManager transactionManager,
+      @Value("${encryption.data-key-cache-size:10000}") final long cacheSize,
+      @Value("${encryption.data-key-cache-ttl:30m}") final Duration cacheTtl) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.masterKeyStore = masterKeyStore;
+    this.newTransaction = new TransactionTemplate(transactionManager);
+    this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.dataKeys =
+        CacheBuilder.newBuilder().maximumSize(cacheSize).expireAfterAccess(cacheTtl).build();
+  }
+
+  /** The key to encrypt the user's data with, created if the user has none yet. */
+  public SecretKey keyFor(final long userId) {
+    return cached(userId, () -> loadOrCreate(userId));
+  }
+
+  /**
+   * The key to decrypt the user's data with.
+   *
+   * @throws IllegalStateException if the user has no data key
+   */
+  public SecretKey existingKeyFor(final long userId) {
+    return cached(
+        userId,
+        () -> {
+          final SecretKey key = select(List.of(userId)).get(userId);
+          if (key == null) {
+            throw new IllegalStateException("User " + userId + " has no data key");
+          }
+          return key;
+        });
+  }
+
+  /**
+   * Load the keys of several users with one query, e.g. before loading a page of rows that belong
+   * to them, so decrypting the page never waits on the database. Users without a key are skipped.
+   */
+  public void preload(final Collection<Long> userIds) {
+    final List<Long> missing = new ArrayList<>();
+    for (final Long userId : userIds) {
+      if (dataKeys.getIfPresent(userId) == null) {
+        missing.add(userId);
+      }
+    }
+    if (!missing.isEmpty()) {
+      dataKeys.putAll(select(missing));
+    }
+  }
+
+  private SecretKey cached(final long userId, final Callable<SecretKey> loader) {
+    try {
+      return dataKeys.get(userId, loader);
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      throw e.getCause() instanceof final RuntimeException cause
+          ? cause
+          : new IllegalStateException(e.getCause());
+    }
+  }
+
+  private SecretKey loadOrCreate(final long userId) {
+    final SecretKey key = select(List.of(userId)).get(userId);
+    if (key != null) {
+      return key;
+    }
+    // Read back: another instance may have won the insert. In the same transaction, so it reads
+    // the primary even when the caller's read-only transaction went to a lagging replica
+    return newTransaction.execute(
+        status -> {
+          create(userId);
+          return select(List.of(userId)).get(userId);
+        });
+  }
+
+  private Map<Long, SecretKey> select(final Iterable<? extends Long> userIds) {
+    final Map<Long, SecretKey> keys = new HashMap<>();
+    jdbcTemplate.query(
+        connection -> {
+          final PreparedStatement statement = connection.prepareStatement(SELECT_SQL);
+          statement.setArray(
+              1, connection.createArrayOf("bigint", Iterables.toArray(userIds, Long.class)));
+          return statement;
+        },
+        resultSet -> {
+          keys.put(
+              resultSet.getLong(1),
+              masterKeyStore.unwrap(resultSet.getString(2), resultSet.getBytes(3)));
+        });
+    return keys;
+  }
+
+  private void create(final long userId) {
+    final SecretKey dataKey;
+    try {
+      final KeyGenerator generator = KeyGenerator.getInstance("AES");
+      generator.init(256);
+      dataKey = generator.generateKey();
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("Could not generate data key", e);
+    }
+    jdbcTemplate.update(
+        INSERT_SQL,
+        userId,
+        masterKeyStore.currentAlias(),
+        masterKeyStore.wrap(dataKey),
+        Timestamp.valueOf(LocalDateTime.now()));
+  }
+}
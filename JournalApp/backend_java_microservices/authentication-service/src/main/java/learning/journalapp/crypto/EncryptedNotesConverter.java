@@ -0,0 +1,47 @@
+package learning.journalapp.crypto;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import learning.journalapp.notes.NotesCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores journal notes compressed (see {@link NotesCodec}) and then encrypted under the owner's
+ * data key; compression has to come first, since ciphertext does not compress. Notes stored before
+ * encryption are still read, and are encrypted the next time they are written.
+ */
+@Component
+@Converter
+@RequiredArgsConstructor
+public class EncryptedNotesConverter implements AttributeConverter<SealedText, byte[]> {
+
+  private static final String PURPOSE = "notes";
+
+  private final EnvelopeCipher envelopeCipher;
+  private final NotesCodec notesCodec;
+
+  @Override
+  public byte[] convertToDatabaseColumn(final SealedText sealed) {
+    if (sealed == null) {
+      return null;
+    }
+    if (sealed.ownerId() == null) {
+      throw new IllegalStateException("Notes have no owner");
+    }
+    return envelopeCipher.encrypt(sealed.ownerId(), PURPOSE, notesCodec.encode(sealed.text()));
+  }
+
+  @Override
+  public SealedText convertToEntityAttribute(final byte[] stored) {
+    if (stored == null) {
+      return null;
+    }
+    if (!EnvelopeCipher.isEnvelope(stored)) {
+      return new SealedText(null, notesCodec.decode(stored));
+    }
+    return new SealedText(
+        envelopeCipher.ownerOf(stored),
+        notesCodec.decode(envelopeCipher.decrypt(PURPOSE, stored)));
+  }
+}
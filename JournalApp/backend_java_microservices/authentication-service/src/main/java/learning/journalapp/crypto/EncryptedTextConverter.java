@@ -0,0 +1,40 @@
+package learning.journalapp.crypto;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Stores short text (e.g. medication names) encrypted under its owner's data key. */
+@Component
+@Converter
+@RequiredArgsConstructor
+public class EncryptedTextConverter implements AttributeConverter<SealedText, byte[]> {
+
+  private static final String PURPOSE = "text";
+
+  private final EnvelopeCipher envelopeCipher;
+
+  @Override
+  public byte[] convertToDatabaseColumn(final SealedText sealed) {
+    if (sealed == null) {
+      return null;
+    }
+    if (sealed.ownerId() == null) {
+      throw new IllegalStateException("Encrypted text has no owner");
+    }
+    return envelopeCipher.encrypt(
+        sealed.ownerId(), PURPOSE, sealed.text().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public SealedText convertToEntityAttribute(final byte[] stored) {
+    if (stored == null) {
+      return null;
+    }
+    return new SealedText(
+        envelopeCipher.ownerOf(stored),
+        new String(envelopeCipher.decrypt(PURPOSE, stored), StandardCharsets.UTF_8));
+  }
+}
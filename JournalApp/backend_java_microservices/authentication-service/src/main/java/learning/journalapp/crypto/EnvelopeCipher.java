@@ -0,0 +1,84 @@
+package learning.journalapp.crypto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * AES-GCM encryption of field values under their owner's data key. A stored value is:
+ *
+ * <pre>
+ * [0x80][owner ID: 8 bytes][IV: 12 bytes][ciphertext][tag: 16 bytes]
+ * </pre>
+ *
+ * <p>The owner ID says which data key decrypts the value, so reads need no context. The version
+ * byte, the owner ID and a purpose string (which field the value belongs to) are authenticated,
+ * so a value can't be moved to another kind of field or relabelled with another owner. A value
+ * copied whole into another user's row still decrypts, so readers check the owner against the row
+ * (see {@link SealedText#textOf(SealedText, Long)}). IVs are random; at 2^32 values per key that
+ * stays well within GCM's limits for any one user.
+ */
+@Component
+@RequiredArgsConstructor
+public class EnvelopeCipher {
+
+  private static final byte ENVELOPE_V1 = (byte) 0x80;
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int IV_OFFSET = 1 + Long.BYTES;
+  private static final int IV_LENGTH = 12;
+  private static final int HEADER_LENGTH = IV_OFFSET + IV_LENGTH;
+  private static final int TAG_LENGTH = 16;
+
+  private final SecureRandom random = new SecureRandom();
+  private final DataKeyService dataKeyService;
+
+  /** Whether a stored value is in this format, as opposed to a value written before encryption. */
+  public static boolean isEnvelope(final byte[] stored) {
+    return stored.length >= HEADER_LENGTH + TAG_LENGTH && stored[0] == ENVELOPE_V1;
+  }
+
+  public byte[] encrypt(final long ownerId, final String purpose, final byte[] plaintext) {
+    final byte[] stored = new byte[HEADER_LENGTH + plaintext.length + TAG_LENGTH];
+    ByteBuffer.wrap(stored).put(ENVELOPE_V1).putLong(ownerId);
+    final byte[] iv = new byte[IV_LENGTH];
+    random.nextBytes(iv);
+    System.arraycopy(iv, 0, stored, IV_OFFSET, IV_LENGTH);
+    try {
+      final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(
+          Cipher.ENCRYPT_MODE,
+          dataKeyService.keyFor(ownerId),
+          new GCMParameterSpec(TAG_LENGTH * 8, iv));
+      cipher.updateAAD(stored, 0, IV_OFFSET);
+      cipher.updateAAD(purpose.getBytes(StandardCharsets.UTF_8));
+      cipher.doFinal(plaintext, 0, plaintext.length, stored, HEADER_LENGTH);
+      return stored;
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("Could not encrypt " + purpose, e);
+    }
+  }
+
+  public long ownerOf(final byte[] stored) {
+    return ByteBuffer.wrap(stored, 1, Long.BYTES).getLong();
+  }
+
+  public byte[] decrypt(final String purpose, final byte[] stored) {
+    try {
+      final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(
+          Cipher.DECRYPT_MODE,
+          dataKeyService.existingKeyFor(ownerOf(stored)),
+          new GCMParameterSpec(TAG_LENGTH * 8, stored, IV_OFFSET, IV_LENGTH));
+      cipher.updateAAD(stored, 0, IV_OFFSET);
+      cipher.updateAAD(purpose.getBytes(StandardCharsets.UTF_8));
+      return cipher.doFinal(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("Could not decrypt " + purpose, e);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package learning.journalapp.crypto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Master keys that wrap the per-user data keys, read from a local PKCS12 keystore. Each wrapped
+ * key records the alias of the master key that wrapped it, so a new master key can be introduced
+ * under a new alias ({@code encryption.master-key-alias}) while keys wrapped by older ones, still
+ * in the keystore, stay readable.
+ *
+ * <p>The keystore is opened on first use, so contexts that never encrypt (e.g. the training run of
+ * the fast-startup build) need no real keystore.
+ */
+@Component
+public class MasterKeyStore {
+
+  private static final String WRAP_ALGORITHM = "AESWrap";
+
+  private final Path keystorePath;
+  private final char[] password;
+  private final String currentAlias;
+  private final ConcurrentMap<String, SecretKey> masterKeys = new ConcurrentHashMap<>();
+  private volatile KeyStore keyStore;
+
+  public MasterKeyStore(
+      @Value("${encryption.keystore.path}") final String keystorePath,
+      @Value("${encryption.keystore.password}") final String password,
+      @Value("${encryption.master-key-alias:journal-master-v1}") final String currentAlias) {
+    this.keystorePath = Path.of(keystorePath);
+    this.password = password.toCharArray();
+    this.currentAlias = currentAlias;
+  }
+
+  /** Alias of the master key that wraps new data keys. */
+  public String currentAlias() {
+    return currentAlias;
+  }
+
+  /** Wrap a data key with the current master key (RFC 3394 key wrap). */
+  public byte[] wrap(final SecretKey dataKey) {
+    try {
+      final Cipher cipher = Cipher.getInstance(WRAP_ALGORITHM);
+      cipher.init(Cipher.WRAP_MODE, masterKey(currentAlias));
+      return cipher.wrap(dataKey);
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("Could not wrap data key", e);
+    }
+  }
+
+  public SecretKey unwrap(final String alias, final byte[] wrappedKey) {
+    try {
+      final Cipher cipher = Cipher.getInstance(WRAP_ALGORITHM);
+      cipher.init(Cipher.UNWRAP_MODE, masterKey(alias));
+      return (SecretKey) cipher.unwrap(wrappedKey, "AES", Cipher.SECRET_KEY);
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("Could not unwrap data key with master key " + alias, e);
+    }
+  }
+
+  private SecretKey masterKey(final String alias) {
+    return masterKeys.computeIfAbsent(
+        alias,
+        a -> {
+          try {
+            final Key key = keyStore().getKey(a, password);
+            if (!(key instanceof final SecretKey secretKey)) {
+              throw new IllegalStateException("No secret key " + a + " in " + keystorePath);
+            }
+            return secretKey;
+          } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Could not read master key " + a, e);
+          }
+        });
+  }
+
+  private KeyStore keyStore() {
+    KeyStore loaded = keyStore;
+    if (loaded == null) {
+      synchronized (this) {
+        loaded = keyStore;
+        if (loaded == null) {
+          try (InputStream in = Files.newInputStream(keystorePath)) {
+            loaded = KeyStore.getInstance("PKCS12");
+            loaded.load(in, password);
+          } catch (final IOException e) {
+            throw new UncheckedIOException("Could not read keystore " + keystorePath, e);
+          } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Could not open keystore " + keystorePath, e);
+          }
+          keyStore = loaded;
+        }
+      }
+    }
+    return loaded;
+  }
+}
@@ -0,0 +1,171 @@
+package learning.journalapp.crypto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Encrypts medication names and dosages written before encryption, of both medications and
+ * medication reminders: copies the old plaintext columns into the encrypted ones and clears them,
+ * in batches on a background thread. The old columns are made nullable first, before the instance
+ * takes traffic, since new rows no longer fill them. Does nothing once the old columns are gone or
+ * empty.
+ *
+ * <p>Encrypted reminders get a new {@code updated_at}, so the reminder scheduler reloads the ones
+ * it loaded before, without their names and dosages.
+ */
+@Component
+public class MedicationEncryptionMigration
+    implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(MedicationEncryptionMigration.class);
+
+  private static final String LEGACY_NOT_NULL_COLUMNS_SQL =
+      "SELECT column_name FROM information_schema.columns"
+          + " WHERE table_schema = current_schema() AND table_name = ?"
+          + " AND column_name IN (?, 'dosage') AND is_nullable = 'NO'";
+  private static final String HAS_LEGACY_COLUMNS_SQL =
+      "SELECT count(*) = 2 FROM information_schema.columns"
+          + " WHERE table_schema = current_schema() AND table_name = ?"
+          + " AND column_name IN (?, 'dosage')";
+
+  private static final List<LegacyTable> LEGACY_TABLES =
+      List.of(
+          new LegacyTable(
+              "medications",
+              "name",
+              "SELECT m.id, e.user_id, m.name, m.dosage FROM medications m"
+                  + " JOIN journal_entries e ON e.id = m.journal_entry_id"
+                  + " WHERE m.name IS NOT NULL ORDER BY m.id LIMIT ? FOR UPDATE OF m SKIP LOCKED",
+              "UPDATE medications SET name_encrypted = ?, dosage_encrypted = ?, name = NULL,"
+                  + " dosage = NULL WHERE id = ?"),
+          new LegacyTable(
+              "medication_reminders",
+              "medication_name",
+              "SELECT id, user_id, medication_name AS name, dosage FROM medication_reminders"
+                  + " WHERE medication_name IS NOT NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+              "UPDATE medication_reminders SET medication_name_encrypted = ?,"
+                  + " dosage_encrypted = ?, medication_name = NULL, dosage = NULL,"
+                  + " updated_at = now() WHERE id = ?"));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EncryptedTextConverter textConverter;
+  private final DataKeyService dataKeyService;
+  private final TransactionTemplate transaction;
+  private final int batchSize;
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "medication-encryption");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public MedicationEncryptionMigration(
+      final JdbcTemplate jdbcTemplate,
+      final EncryptedTextConverter textConverter,
+      final DataKeyService dataKeyService,
+      final PlatformTransactionManager transactionManager,
+      @Value("${encryption.migration.batch-size:500}") final int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.textConverter = textConverter;
+    this.dataKeyService = dataKeyService;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationStartedEvent event) {
+    try {
+      for (final LegacyTable table : LEGACY_TABLES) {
+        for (final String column :
+            jdbcTemplate.queryForList(
+                LEGACY_NOT_NULL_COLUMNS_SQL, String.class, table.name(), table.nameColumn())) {
+          // Table and column names come from the fixed list above
+          jdbcTemplate.execute(
+              "ALTER TABLE " + table.name() + " ALTER COLUMN " + column + " DROP NOT NULL");
+        }
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Could not relax the plaintext medication columns", e);
+      return;
+    }
+    executor.execute(this::migrate);
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private void migrate() {
+    for (final LegacyTable table : LEGACY_TABLES) {
+      try {
+        migrate(table);
+      } catch (final RuntimeException e) {
+        logger.error(
+            "Medication encryption failed; it resumes on the next start",
+            e,
+            Map.of("table", table.name()));
+      }
+    }
+  }
+
+  private void migrate(final LegacyTable table) {
+    final Boolean hasLegacyColumns =
+        jdbcTemplate.queryForObject(
+            HAS_LEGACY_COLUMNS_SQL, Boolean.class, table.name(), table.nameColumn());
+    if (!Boolean.TRUE.equals(hasLegacyColumns)) {
+      return;
+    }
+    long encrypted = 0;
+    int batch;
+    do {
+      batch = transaction.execute(status -> encryptBatch(table));
+      encrypted += batch;
+    } while (batch == batchSize && !Thread.currentThread().isInterrupted());
+    if (encrypted > 0) {
+      logger.info(
+          "Encrypted medications",
+          Map.of("table", table.name(), "rows", String.valueOf(encrypted)));
+    }
+  }
+
+  private int encryptBatch(final LegacyTable table) {
+    final List<Map<String, Object>> rows =
+        jdbcTemplate.queryForList(table.selectBatchSql(), batchSize);
+    dataKeyService.preload(rows.stream().map(MedicationEncryptionMigration::userId).toList());
+    for (final Map<String, Object> row : rows) {
+      final long userId = userId(row);
+      jdbcTemplate.update(
+          table.encryptSql(),
+          textConverter.convertToDatabaseColumn(SealedText.of(userId, (String) row.get("name"))),
+          textConverter.convertToDatabaseColumn(SealedText.of(userId, (String) row.get("dosage"))),
+          row.get("id"));
+    }
+    return rows.size();
+  }
+
+  private static long userId(final Map<String, Object> row) {
+    return ((Number) row.get("user_id")).longValue();
+  }
+
+  /**
+   * A table with plaintext {@code <nameColumn>} and {@code dosage} columns. The batch query
+   * returns {@code id}, {@code user_id}, {@code name} and {@code dosage}; the update takes the
+   * encrypted name and dosage and the ID.
+   */
+  private record LegacyTable(
+      String name, String nameColumn, String selectBatchSql, String encryptSql) {}
+}
@@ -0,0 +1,46 @@
+package learning.journalapp.crypto;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Text stored encrypted under its owner's data key. Carries the owner because an attribute
+ * converter sees only the attribute, not the row it belongs to.
+ *
+ * @param ownerId the user whose data key encrypts the text; may be null until the entity binds it
+ *     before it is written
+ */
+@Immutable
+public record SealedText(Long ownerId, String text) {
+
+  public static SealedText of(final Long ownerId, final String text) {
+    return text == null ? null : new SealedText(ownerId, text);
+  }
+
+  public static String textOf(final SealedText sealed) {
+    return sealed == null ? null : sealed.text();
+  }
+
+  /**
+   * The text of a value read from a row owned by {@code ownerId}. A value copied from another
+   * user's row still decrypts, under that user's key, so the owner it was decrypted for has to be
+   * checked against the row's.
+   *
+   * @param ownerId the user who owns the row; null while it is not known yet, e.g. for a new row
+   * @throws IllegalStateException if the value belongs to another user
+   */
+  public static String textOf(final SealedText sealed, final Long ownerId) {
+    if (sealed != null
+        && sealed.ownerId() != null
+        && ownerId != null
+        && !sealed.ownerId().equals(ownerId)) {
+      throw new IllegalStateException(
+          "Encrypted value of user " + sealed.ownerId() + " found in a row of user " + ownerId);
+    }
+    return textOf(sealed);
+  }
+
+  /** This text bound to {@code ownerId}; itself if already bound to it. */
+  public SealedText boundTo(final long ownerId) {
+    return this.ownerId != null && this.ownerId == ownerId ? this : new SealedText(ownerId, text);
+  }
+}
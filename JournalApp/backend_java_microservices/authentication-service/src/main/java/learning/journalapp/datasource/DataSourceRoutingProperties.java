@@ -0,0 +1,62 @@
+package learning.journalapp.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replicas for read-only transactions. The primary is still configured with {@code
+ * spring.datasource.*}; every replica gets a pool of its own with the same {@code
+ * spring.datasource.hikari.*} settings. Open-in-view must be off, see {@link
+ * RoutingDataSourceConfiguration}.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * spring:
+ *   jpa:
+ *     open-in-view: false
+ * datasource:
+ *   routing:
+ *     enabled: true
+ *     max-replica-lag: 5s
+ *     replicas:
+ *       - name: replica-a
+ *         url: jdbc:postgresql://replica-a:5432/journal
+ *       - name: replica-b
+ *         url: jdbc:postgresql://replica-b:5432/journal
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+  /** Whether read-only transactions should go to the replicas at all. */
+  private boolean enabled = false;
+
+  /** Replicas whose replay lag is above this get no reads until they catch up. */
+  private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+  /** How often the replay lag of every replica is measured. */
+  private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+  /** Streaming replicas of the primary. */
+  private List<Replica> replicas = new ArrayList<>();
+
+  @Data
+  public static class Replica {
+
+    /** Pool name, used in logs and as the metrics tag; defaults to replica-N. */
+    private String name;
+
+    private String url;
+
+    /** Defaults to the primary's. */
+    private String username;
+
+    /** Defaults to the primary's. */
+    private String password;
+  }
+}
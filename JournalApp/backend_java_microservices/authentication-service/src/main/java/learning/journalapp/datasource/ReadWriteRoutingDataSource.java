@@ -0,0 +1,121 @@
+package learning.journalapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * The application's data source when {@code datasource.routing.enabled}: read-write transactions
+ * and everything outside a transaction use the primary, read-only transactions ({@code
+ * Transactional(readOnly = true)}) a replica picked by {@link ReplicaRoutingDataSource}.
+ *
+ * <p>A transaction only takes a connection when it runs its first statement, by which time it is
+ * known to be read-only or not. The primary and each replica have a Hikari pool of their own, named
+ * after them, and publish their metrics separately.
+ */
+class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy
+    implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+  private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+  private final List<HikariDataSource> pools = new ArrayList<>();
+  private final ReplicaLagMonitor lagMonitor;
+  private final DataSourceRoutingProperties properties;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  ReadWriteRoutingDataSource(
+      final DataSourceProperties primaryProperties,
+      final DataSourceRoutingProperties properties,
+      final ReadYourWrites readYourWrites,
+      final Environment environment,
+      final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    final Binder binder = Binder.get(environment);
+    final MicrometerMetricsTrackerFactory metrics =
+        new MicrometerMetricsTrackerFactory(meterRegistry);
+
+    final HikariDataSource primary =
+        primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+    primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+    primary.setMetricsTrackerFactory(metrics);
+    pools.add(primary);
+
+    final Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (int i = 0; i < properties.getReplicas().size(); i++) {
+      final DataSourceRoutingProperties.Replica replica = properties.getReplicas().get(i);
+      final String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+      final HikariDataSource pool = new HikariDataSource();
+      pool.setDriverClassName(primary.getDriverClassName());
+      pool.setJdbcUrl(replica.getUrl());
+      pool.setUsername(
+          replica.getUsername() != null ? replica.getUsername() : primary.getUsername());
+      pool.setPassword(
+          replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+      binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+      pool.setPoolName(name);
+      pool.setReadOnly(true);
+      pool.setMetricsTrackerFactory(metrics);
+      pools.add(pool);
+      replicas.put(name, pool);
+    }
+
+    this.lagMonitor =
+        new ReplicaLagMonitor(primary, replicas, properties.getMaxReplicaLag(), meterRegistry);
+    setTargetDataSource(new WriteTrackingDataSource(primary, readYourWrites));
+    setReadOnlyDataSource(
+        new ReplicaRoutingDataSource(
+            primary, replicas, lagMonitor, readYourWrites, meterRegistry));
+    // Otherwise the proxy connects on startup to find them out
+    setDefaultAutoCommit(primary.isAutoCommit());
+    setDefaultTransactionIsolation(
+        primary.getTransactionIsolation() != null
+            ? isolationLevel(primary.getTransactionIsolation())
+            : Connection.TRANSACTION_READ_COMMITTED);
+    afterPropertiesSet();
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationStartedEvent event) {
+    final long interval = properties.getLagCheckInterval().toMillis();
+    scheduler.scheduleWithFixedDelay(lagMonitor::check, 0, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+    pools.forEach(HikariDataSource::close);
+  }
+
+  private static int isolationLevel(final String name) {
+    return switch (name.replaceFirst("^TRANSACTION_", "")) {
+      case "READ_UNCOMMITTED" -> Connection.TRANSACTION_READ_UNCOMMITTED;
+      case "REPEATABLE_READ" -> Connection.TRANSACTION_REPEATABLE_READ;
+      case "SERIALIZABLE" -> Connection.TRANSACTION_SERIALIZABLE;
+      default -> Connection.TRANSACTION_READ_COMMITTED;
+    };
+  }
+}
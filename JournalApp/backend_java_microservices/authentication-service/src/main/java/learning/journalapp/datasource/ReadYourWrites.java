@@ -0,0 +1,95 @@
+package learning.journalapp.datasource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Users who wrote in the last {@code datasource.routing.read-your-writes-window}: their read-only
+ * transactions stay on the primary, so they never read a replica that has not caught up with
+ * their own changes yet. Writes of the current user are recorded by the routing data source;
+ * writes on behalf of someone not yet signed in (e.g. registration) are recorded explicitly.
+ *
+ * <p>Pins are held per instance. The window should be longer than {@code
+ * datasource.routing.max-replica-lag}, so a user who lands on another instance right after a
+ * write still reads from a replica that is at most that far behind.
+ */
+@Component
+public class ReadYourWrites {
+
+  private final Cache<String, Boolean> pinnedUsers;
+  private final ThreadLocal<String> readingAs = new ThreadLocal<>();
+
+  public ReadYourWrites(
+      @Value("${datasource.routing.read-your-writes-window:10s}") final Duration window,
+      @Value("${datasource.routing.max-pinned-users:100000}") final long maxPinnedUsers) {
+    this.pinnedUsers =
+        CacheBuilder.newBuilder().maximumSize(maxPinnedUsers).expireAfterWrite(window).build();
+  }
+
+  /**
+   * Pin {@code username} to the primary once the current transaction commits, or now if there is
+   * none.
+   */
+  public void recordWrite(final String username) {
+    if (username == null) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              pinnedUsers.put(username, Boolean.TRUE);
+            }
+          });
+    } else {
+      pinnedUsers.put(username, Boolean.TRUE);
+    }
+  }
+
+  public boolean isPinned(final String username) {
+    return username != null && pinnedUsers.getIfPresent(username) != null;
+  }
+
+  /**
+   * Run {@code work} on behalf of {@code username} before they are authenticated, e.g. while
+   * loading them for authentication, so their own recent writes are visible to it.
+   */
+  public <T> T readAs(final String username, final Supplier<T> work) {
+    final String previous = readingAs.get();
+    readingAs.set(username);
+    try {
+      return work.get();
+    } finally {
+      if (previous == null) {
+        readingAs.remove();
+      } else {
+        readingAs.set(previous);
+      }
+    }
+  }
+
+  /** The user the current thread works for: set by {@link #readAs}, else the authenticated one. */
+  String currentUser() {
+    final String username = readingAs.get();
+    if (username != null) {
+      return username;
+    }
+    final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null
+        || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+    return authentication.getName();
+  }
+}
@@ -0,0 +1,132 @@
+package learning.journalapp.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.sql.DataSource;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Measures how far each replica is behind the primary and picks the replica for a read.
+ *
+ * <p>A check first reads the primary's current WAL position, then asks each replica whether it has
+ * replayed up to it. A replica that has is not behind at all, however long ago its last replayed
+ * transaction was (an idle primary sends nothing to replay); one that has not is as far behind as
+ * its last replayed transaction is old. Replicas that cannot be reached or are not in recovery
+ * count as infinitely far behind.
+ *
+ * <p>Reads go to one of the replicas within {@code datasource.routing.max-replica-lag}: of two
+ * picked at random, the one less behind, so load spreads while lagging replicas get less of it.
+ */
+class ReplicaLagMonitor {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(ReplicaLagMonitor.class);
+
+  private static final String PRIMARY_POSITION_SQL = "SELECT CAST(pg_current_wal_lsn() AS text)";
+  private static final String REPLICA_LAG_SQL =
+      "SELECT pg_last_wal_replay_lsn() IS NOT NULL,"
+          + " COALESCE(pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn), false),"
+          + " EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())";
+
+  private final JdbcTemplate primary;
+  private final List<Replica> replicas = new ArrayList<>();
+  private final double maxLagSeconds;
+
+  ReplicaLagMonitor(
+      final DataSource primary,
+      final Map<String, DataSource> replicas,
+      final Duration maxLag,
+      final MeterRegistry meterRegistry) {
+    this.primary = new JdbcTemplate(primary);
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    replicas.forEach(
+        (name, dataSource) -> {
+          final Replica replica = new Replica(name, new JdbcTemplate(dataSource));
+          this.replicas.add(replica);
+          Gauge.builder("journalapp.datasource.replica.lag", replica, r -> r.lagSeconds)
+              .description("Seconds the replica is behind the primary; +Inf if unknown")
+              .tag("replica", name)
+              .baseUnit("seconds")
+              .register(meterRegistry);
+        });
+  }
+
+  /** Measure the lag of every replica. */
+  void check() {
+    String primaryPosition = null;
+    try {
+      primaryPosition = primary.queryForObject(PRIMARY_POSITION_SQL, String.class);
+    } catch (final RuntimeException e) {
+      // Without it, lag is judged by the age of the last replayed transaction alone
+      logger.warn("Could not read the primary's WAL position", e);
+    }
+    for (final Replica replica : replicas) {
+      replica.lagSeconds = measure(replica, primaryPosition);
+    }
+  }
+
+  /** Name of the replica to read from, or null if none is close enough to the primary. */
+  String select() {
+    final List<Replica> eligible = new ArrayList<>(replicas.size());
+    for (final Replica replica : replicas) {
+      if (replica.lagSeconds <= maxLagSeconds) {
+        eligible.add(replica);
+      }
+    }
+    if (eligible.isEmpty()) {
+      return null;
+    }
+    if (eligible.size() == 1) {
+      return eligible.get(0).name;
+    }
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final int first = random.nextInt(eligible.size());
+    final int second = (first + 1 + random.nextInt(eligible.size() - 1)) % eligible.size();
+    final Replica a = eligible.get(first);
+    final Replica b = eligible.get(second);
+    return a.lagSeconds <= b.lagSeconds ? a.name : b.name;
+  }
+
+  private double measure(final Replica replica, final String primaryPosition) {
+    try {
+      final Double lag =
+          replica.jdbcTemplate.query(
+              REPLICA_LAG_SQL,
+              resultSet -> {
+                if (!resultSet.next() || !resultSet.getBoolean(1)) {
+                  // Not a replica (any more), e.g. promoted: its data may have diverged
+                  return Double.POSITIVE_INFINITY;
+                }
+                if (resultSet.getBoolean(2)) {
+                  return 0.0;
+                }
+                final double seconds = resultSet.getDouble(3);
+                return resultSet.wasNull() ? Double.POSITIVE_INFINITY : Math.max(seconds, 0.0);
+              },
+              primaryPosition);
+      return lag == null ? Double.POSITIVE_INFINITY : lag;
+    } catch (final RuntimeException e) {
+      if (replica.lagSeconds != Double.POSITIVE_INFINITY) {
+        logger.warn("Replica unavailable for reads", e, Map.of("replica", replica.name));
+      }
+      return Double.POSITIVE_INFINITY;
+    }
+  }
+
+  private static final class Replica {
+    private final String name;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile double lagSeconds = Double.POSITIVE_INFINITY;
+
+    private Replica(final String name, final JdbcTemplate jdbcTemplate) {
+      this.name = name;
+      this.jdbcTemplate = jdbcTemplate;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package learning.journalapp.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Where read-only transactions get their connection: a replica chosen by the {@link
+ * ReplicaLagMonitor}, or the primary if the user is pinned to it by {@link ReadYourWrites} or no
+ * replica is close enough. The choice is made when the transaction runs its first statement.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  static final String PRIMARY = "primary";
+
+  private final ReplicaLagMonitor lagMonitor;
+  private final ReadYourWrites readYourWrites;
+  private final Map<String, Counter> replicaReads = new HashMap<>();
+  private final Counter pinnedReads;
+  private final Counter fallbackReads;
+
+  ReplicaRoutingDataSource(
+      final DataSource primary,
+      final Map<String, DataSource> replicas,
+      final ReplicaLagMonitor lagMonitor,
+      final ReadYourWrites readYourWrites,
+      final MeterRegistry meterRegistry) {
+    this.lagMonitor = lagMonitor;
+    this.readYourWrites = readYourWrites;
+
+    final Map<Object, Object> targets = new HashMap<>(replicas);
+    targets.put(PRIMARY, primary);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+
+    replicas
+        .keySet()
+        .forEach(name -> replicaReads.put(name, readCounter(meterRegistry, name, "replica")));
+    this.pinnedReads = readCounter(meterRegistry, PRIMARY, "read-your-writes");
+    this.fallbackReads = readCounter(meterRegistry, PRIMARY, "no-replica");
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (readYourWrites.isPinned(readYourWrites.currentUser())) {
+      pinnedReads.increment();
+      return PRIMARY;
+    }
+    final String replica = lagMonitor.select();
+    if (replica == null) {
+      fallbackReads.increment();
+      return PRIMARY;
+    }
+    replicaReads.get(replica).increment();
+    return replica;
+  }
+
+  private static Counter readCounter(
+      final MeterRegistry meterRegistry, final String target, final String reason) {
+    return Counter.builder("journalapp.datasource.reads")
+        .description("Read-only transactions by the pool that served them and why")
+        .tag("target", target)
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,38 @@
+package learning.journalapp.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces the auto-configured data source with a {@link ReadWriteRoutingDataSource} when {@code
+ * datasource.routing.enabled}; JPA, Flyway and {@code JdbcTemplate} all go through it.
+ *
+ * <p>Requires {@code spring.jpa.open-in-view: false}. Open-in-view keeps one entity manager, and
+ * the connection it took first, for the whole request: after a read-only call took a replica
+ * connection, a later read-write transaction of the same request would run on the replica.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfiguration {
+
+  @Bean
+  public ReadWriteRoutingDataSource dataSource(
+      final DataSourceProperties dataSourceProperties,
+      final DataSourceRoutingProperties routingProperties,
+      final ReadYourWrites readYourWrites,
+      final Environment environment,
+      final MeterRegistry meterRegistry) {
+    if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+      throw new IllegalStateException(
+          "datasource.routing.enabled requires spring.jpa.open-in-view: false");
+    }
+    return new ReadWriteRoutingDataSource(
+        dataSourceProperties, routingProperties, readYourWrites, environment, meterRegistry);
+  }
+}
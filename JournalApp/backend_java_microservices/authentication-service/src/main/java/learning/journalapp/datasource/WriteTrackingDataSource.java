@@ -0,0 +1,41 @@
+package learning.journalapp.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The primary as seen by read-write transactions: a transaction that takes a connection from it
+ * pins the current user to the primary for their next reads (see {@link ReadYourWrites}).
+ */
+class WriteTrackingDataSource extends DelegatingDataSource {
+
+  private final ReadYourWrites readYourWrites;
+
+  WriteTrackingDataSource(final DataSource primary, final ReadYourWrites readYourWrites) {
+    super(primary);
+    this.readYourWrites = readYourWrites;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    recordWrite();
+    return super.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    recordWrite();
+    return super.getConnection(username, password);
+  }
+
+  private void recordWrite() {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      readYourWrites.recordWrite(readYourWrites.currentUser());
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package learning.journalapp.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A change to one of the subscriber's journal entries, as pushed by the {@code
+ * journalEntryChanges} subscription. Entry fields are null for heartbeats.
+ */
+public record JournalEntryChange(
+    JournalEntryChangeType type, Long entryId, LocalDate entryDate, Instant occurredAt) {
+
+  public static JournalEntryChange heartbeat(final Instant now) {
+    return new JournalEntryChange(JournalEntryChangeType.HEARTBEAT, null, null, now);
+  }
+}
@@ -0,0 +1,9 @@
+package learning.journalapp.dto;
+
+public enum JournalEntryChangeType {
+  CREATED,
+  UPDATED,
+  DELETED,
+  /** Keep-alive for an otherwise idle subscription; carries no entry. */
+  HEARTBEAT
+}
@@ -0,0 +1,36 @@
+package learning.journalapp.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import learning.journalapp.entity.JournalEntry;
+import learning.journalapp.entity.Mood;
+import learning.journalapp.entity.Season;
+import learning.journalapp.entity.WeatherSnapshot;
+
+public record JournalEntryResponse(
+    Long id,
+    LocalDate entryDate,
+    Mood mood,
+    Season season,
+    String notes,
+    WeatherSnapshot weather,
+    Double latitude,
+    Double longitude,
+    List<MedicationResponse> medications,
+    LocalDateTime updatedAt) {
+
+  public static JournalEntryResponse from(final JournalEntry entry) {
+    return new JournalEntryResponse(
+        entry.getId(),
+        entry.getEntryDate(),
+        entry.getMood(),
+        entry.getSeason(),
+        entry.getNotes(),
+        entry.getWeather(),
+        entry.getLatitude(),
+        entry.getLongitude(),
+        entry.getMedications().stream().map(MedicationResponse::from).toList(),
+        entry.getUpdatedAt());
+  }
+}
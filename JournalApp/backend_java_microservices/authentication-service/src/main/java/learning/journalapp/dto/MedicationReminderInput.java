@@ -0,0 +1,8 @@
+package learning.journalapp.dto;
+
+/**
+ * @param firstDueAt ISO-8601 instant of the first reminder, e.g. 2025-01-31T08:00:00Z
+ * @param repeatIntervalMinutes minutes between reminders, or null for a one-off reminder
+ */
+public record MedicationReminderInput(
+    String medicationName, String dosage, String firstDueAt, Integer repeatIntervalMinutes) {}
@@ -0,0 +1,21 @@
+package learning.journalapp.dto;
+
+import java.time.Instant;
+import learning.journalapp.entity.MedicationReminder;
+
+public record MedicationReminderResponse(
+    Long id,
+    String medicationName,
+    String dosage,
+    Instant nextDueAt,
+    Integer repeatIntervalMinutes) {
+
+  public static MedicationReminderResponse from(final MedicationReminder reminder) {
+    return new MedicationReminderResponse(
+        reminder.getId(),
+        reminder.getMedicationName(),
+        reminder.getDosage(),
+        reminder.getNextDueAt(),
+        reminder.getRepeatIntervalMinutes());
+  }
+}
@@ -0,0 +1,12 @@
+package learning.journalapp.dto;
+
+import java.time.LocalDateTime;
+import learning.journalapp.entity.Medication;
+
+public record MedicationResponse(String name, String dosage, LocalDateTime timeTaken) {
+
+  public static MedicationResponse from(final Medication medication) {
+    return new MedicationResponse(
+        medication.getName(), medication.getDosage(), medication.getTimeTaken());
+  }
+}
@@ -0,0 +1,7 @@
+package learning.journalapp.dto;
+
+import java.util.List;
+import learning.journalapp.entity.Mood;
+
+/** Moods of one year, indexed by day of year minus one; null for days without an entry. */
+public record MoodCalendarResponse(int year, List<Mood> days) {}
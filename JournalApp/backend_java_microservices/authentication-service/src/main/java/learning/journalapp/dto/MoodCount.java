@@ -0,0 +1,6 @@
+package learning.journalapp.dto;
+
+import learning.journalapp.entity.Mood;
+
+/** Number of journal entries with a mood. */
+public record MoodCount(Mood mood, long count) {}
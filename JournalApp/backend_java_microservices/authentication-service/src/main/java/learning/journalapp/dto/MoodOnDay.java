@@ -0,0 +1,6 @@
+package learning.journalapp.dto;
+
+import java.time.LocalDate;
+import learning.journalapp.entity.Mood;
+
+public record MoodOnDay(LocalDate date, Mood mood) {}
@@ -0,0 +1,4 @@
+package learning.journalapp.dto;
+
+/** Consecutive days with a journal entry: the streak still going, and the longest ever. */
+public record MoodStreak(int current, int longest) {}
@@ -0,0 +1,12 @@
+package learning.journalapp.dto;
+
+import java.time.LocalDateTime;
+import learning.journalapp.entity.TemperatureUnit;
+import learning.journalapp.entity.UserPreferences;
+
+public record PreferencesResponse(TemperatureUnit temperatureUnit, LocalDateTime updatedAt) {
+
+  public static PreferencesResponse from(final UserPreferences preferences) {
+    return new PreferencesResponse(preferences.getTemperatureUnit(), preferences.getUpdatedAt());
+  }
+}
@@ -11,6 +11,11 @@ public class RegisterResponse {
       RegisterResponse.builder().success(true).message("User registered successfully");
   public static final RegisterResponse REGISTER_RESPONSE_USERNAME_ALREADY_EXISTS =
       RegisterResponse.builder().success(false).message("Username already exists").build();
+  public static final RegisterResponse REGISTER_RESPONSE_PASSWORD_COMPROMISED =
+      RegisterResponse.builder()
+          .success(false)
+          .message("This password has appeared in a data breach, please choose another one")
+          .build();
 
   private boolean success;
   private String message;
@@ -0,0 +1,14 @@
+package learning.journalapp.dto;
+
+import learning.journalapp.entity.SyncEntityType;
+
+/**
+ * One change in a delta sync page. For a deletion only the type and ID are set; otherwise the
+ * current state of the entity is included under the field matching its type.
+ */
+public record SyncChange(
+    SyncEntityType entityType,
+    Long entityId,
+    boolean deleted,
+    JournalEntryResponse journalEntry,
+    PreferencesResponse preferences) {}
@@ -0,0 +1,12 @@
+package learning.journalapp.dto;
+
+import java.util.List;
+
+/**
+ * A page of the caller's changes. {@code cursor} is the watermark to send with the next request;
+ * it is stable, so an interrupted sync resumes where it stopped.
+ *
+ * @param resync the cursor was older than the tombstone retention, so deletes may have been
+ *     missed: this page starts a full sync, and the client drops whatever it does not receive
+ */
+public record SyncPage(List<SyncChange> changes, String cursor, boolean hasMore, boolean resync) {}
@@ -5,20 +5,36 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import learning.journalapp.crypto.SealedText;
+import learning.journalapp.mood.MoodCalendarListener;
+import learning.journalapp.subscription.JournalEntryChangeListener;
+import learning.journalapp.sync.ChangeSequenceListener;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
+@EntityListeners({
+  ChangeSequenceListener.class,
+  MoodCalendarListener.class,
+  JournalEntryChangeListener.class
+})
 @Table(
     name = "journal_entries",
-    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "entry_date"}))
+    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "entry_date"}),
+    indexes = @Index(name = "idx_journal_entries_user_seq", columnList = "user_id, change_seq"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class JournalEntry {
+public class JournalEntry implements SyncTracked {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,6 +53,11 @@ public class JournalEntry {
 
   @Embedded private WeatherSnapshot weather;
 
+  /** Where the entry was written; lets the server fill in {@link #weather} if it is missing. */
+  private Double latitude;
+
+  private Double longitude;
+
   @OneToMany(mappedBy = "journalEntry", cascade = CascadeType.ALL, orphanRemoval = true)
   @Builder.Default
   private List<Medication> medications = new ArrayList<>();
@@ -44,8 +65,14 @@ public class JournalEntry {
   @Enumerated(EnumType.STRING)
   private Season season;
 
-  @Column(columnDefinition = "TEXT")
-  private String notes;
+  /** Loaded only when the notes are read, so queries over entries don't pay for them. */
+  @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+  @JoinColumn(name = "notes_id")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private JournalEntryNotes entryNotes;
 
   @Column(nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -53,6 +80,13 @@ public class JournalEntry {
   @Column(nullable = false)
   private LocalDateTime updatedAt;
 
+  /** Position in the owner's change sequence; 0 for rows last written before delta sync. */
+  @Column(name = "change_seq", nullable = false, columnDefinition = "bigint default 0 not null")
+  private long changeSeq;
+
+  /** Entry date as last loaded or saved, so a date change can clear the old calendar day. */
+  @Transient @EqualsAndHashCode.Exclude @ToString.Exclude private LocalDate persistedEntryDate;
+
   @PrePersist
   protected void onCreate() {
     createdAt = LocalDateTime.now();
@@ -69,6 +103,41 @@ public class JournalEntry {
     updatedAt = LocalDateTime.now();
   }
 
+  public String getNotes() {
+    return entryNotes == null
+        ? null
+        : SealedText.textOf(entryNotes.getContent(), user == null ? null : user.getId());
+  }
+
+  /**
+   * Notes live in their own row, so a change also touches the entry; otherwise the entry would not
+   * be updated and sync and subscribers would not see the change.
+   */
+  public void setNotes(final String notes) {
+    if (Objects.equals(notes, getNotes())) {
+      return;
+    }
+    if (notes == null) {
+      entryNotes = null;
+    } else {
+      if (user == null || user.getId() == null) {
+        throw new IllegalStateException("Set the entry's user before its notes");
+      }
+      final SealedText content = new SealedText(user.getId(), notes);
+      if (entryNotes == null) {
+        entryNotes = new JournalEntryNotes(content);
+      } else {
+        entryNotes.setContent(content);
+      }
+    }
+    updatedAt = LocalDateTime.now();
+  }
+
+  @Override
+  public SyncEntityType getSyncEntityType() {
+    return SyncEntityType.JOURNAL_ENTRY;
+  }
+
   private Season calculateSeason(final LocalDate date) {
     final int month = date.getMonthValue();
     if (month >= 3 && month <= 5) return Season.SPRING;
@@ -0,0 +1,33 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.*;
+import learning.journalapp.crypto.EncryptedNotesConverter;
+import learning.journalapp.crypto.SealedText;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Free-text notes of a journal entry, kept out of {@code journal_entries} so that queries over
+ * entries don't read them, compressed when long (see {@code NotesCodec}) and encrypted under the
+ * owner's data key.
+ */
+@Entity
+@Table(name = "journal_entry_notes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntryNotes {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Convert(converter = EncryptedNotesConverter.class)
+  @Column(nullable = false, columnDefinition = "bytea")
+  private SealedText content;
+
+  public JournalEntryNotes(final SealedText content) {
+    this.content = content;
+  }
+}
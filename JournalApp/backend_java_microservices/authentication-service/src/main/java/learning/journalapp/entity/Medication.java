@@ -2,15 +2,21 @@ package learning.journalapp.entity;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
-import lombok.AllArgsConstructor;
+import java.util.Objects;
+import learning.journalapp.crypto.EncryptedTextConverter;
+import learning.journalapp.crypto.SealedText;
+import learning.journalapp.sync.ChangeSequenceListener;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 @Entity
+@EntityListeners(ChangeSequenceListener.class)
 @Table(name = "medications")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Medication {
 
   @Id
@@ -21,12 +27,66 @@ public class Medication {
   @JoinColumn(name = "journal_entry_id", nullable = false)
   private JournalEntry journalEntry;
 
-  @Column(nullable = false)
-  private String name;
+  /** Encrypted under the owner's data key; replaces the plaintext {@code name} column. */
+  @Convert(converter = EncryptedTextConverter.class)
+  @Column(name = "name_encrypted", columnDefinition = "bytea")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private SealedText name;
 
-  @Column(nullable = false)
-  private String dosage;
+  /** Encrypted under the owner's data key; replaces the plaintext {@code dosage} column. */
+  @Convert(converter = EncryptedTextConverter.class)
+  @Column(name = "dosage_encrypted", columnDefinition = "bytea")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private SealedText dosage;
 
   @Column(nullable = false)
   private LocalDateTime timeTaken;
+
+  public Medication(
+      final JournalEntry journalEntry,
+      final String name,
+      final String dosage,
+      final LocalDateTime timeTaken) {
+    this.journalEntry = journalEntry;
+    this.name = SealedText.of(null, name);
+    this.dosage = SealedText.of(null, dosage);
+    this.timeTaken = timeTaken;
+  }
+
+  public String getName() {
+    return SealedText.textOf(name, ownerId());
+  }
+
+  public void setName(final String name) {
+    if (!Objects.equals(name, getName())) {
+      this.name = SealedText.of(null, name);
+    }
+  }
+
+  public String getDosage() {
+    return SealedText.textOf(dosage, ownerId());
+  }
+
+  public void setDosage(final String dosage) {
+    if (!Objects.equals(dosage, getDosage())) {
+      this.dosage = SealedText.of(null, dosage);
+    }
+  }
+
+  /** The owner is only known once the medication belongs to an entry, so bind it on write. */
+  @PrePersist
+  @PreUpdate
+  protected void bindOwner() {
+    final long ownerId = journalEntry.getUser().getId();
+    name = name == null ? null : name.boundTo(ownerId);
+    dosage = dosage == null ? null : dosage.boundTo(ownerId);
+  }
+
+  private Long ownerId() {
+    return journalEntry == null || journalEntry.getUser() == null
+        ? null
+        : journalEntry.getUser().getId();
+  }
 }
@@ -0,0 +1,97 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import learning.journalapp.crypto.EncryptedTextConverter;
+import learning.journalapp.crypto.SealedText;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A reminder to take a medication, once or repeatedly. {@code nextDueAt} is the only schedule
+ * state: it moves forward each time the reminder fires and is null once a one-off reminder has
+ * fired. Reminders are sharded by user so that each is delivered by exactly one instance (see
+ * {@link ReminderShardLease}).
+ */
+@Entity
+@Table(
+    name = "medication_reminders",
+    indexes = {
+      @Index(name = "idx_medication_reminders_shard_due", columnList = "shard, next_due_at"),
+      @Index(name = "idx_medication_reminders_user", columnList = "user_id"),
+      @Index(name = "idx_medication_reminders_updated", columnList = "updated_at")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MedicationReminder {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  /** Which scheduler instance delivers the reminder; derived from the user ID. */
+  @Column(nullable = false)
+  private int shard;
+
+  /** Encrypted under the user's data key; replaces the plaintext {@code medication_name}. */
+  @Convert(converter = EncryptedTextConverter.class)
+  @Column(name = "medication_name_encrypted", columnDefinition = "bytea")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private SealedText medicationName;
+
+  /** Encrypted under the user's data key; replaces the plaintext {@code dosage} column. */
+  @Convert(converter = EncryptedTextConverter.class)
+  @Column(name = "dosage_encrypted", columnDefinition = "bytea")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private SealedText dosage;
+
+  @Column(name = "next_due_at")
+  private Instant nextDueAt;
+
+  /** Minutes between reminders, or null for a one-off reminder. */
+  private Integer repeatIntervalMinutes;
+
+  @Column(nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  public String getMedicationName() {
+    return SealedText.textOf(medicationName, userId);
+  }
+
+  public String getDosage() {
+    return SealedText.textOf(dosage, userId);
+  }
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = Instant.now();
+    updatedAt = createdAt;
+    bindOwner();
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = Instant.now();
+    bindOwner();
+  }
+
+  private void bindOwner() {
+    medicationName = medicationName == null ? null : medicationName.boundTo(userId);
+    dosage = dosage == null ? null : dosage.boundTo(userId);
+  }
+}
@@ -0,0 +1,33 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's moods for one year, bit-packed 3 bits per day (see {@code MoodYear}). Derived from
+ * {@link JournalEntry} and maintained on every entry write, so mood views never read the entries.
+ */
+@Entity
+@Table(
+    name = "mood_calendars",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "year"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoodCalendar {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(nullable = false)
+  private int year;
+
+  @Column(nullable = false, columnDefinition = "bytea")
+  private byte[] days;
+}
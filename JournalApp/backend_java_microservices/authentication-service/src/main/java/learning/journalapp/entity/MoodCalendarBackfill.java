@@ -0,0 +1,27 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marks a user whose {@link MoodCalendar} has been built from the entries that predate it. Entry
+ * writes create calendar rows on their own, so the rows existing says nothing about whether the
+ * older days are in them.
+ */
+@Entity
+@Table(name = "mood_calendar_backfills")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoodCalendarBackfill {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(name = "backfilled_at", nullable = false)
+  private LocalDateTime backfilledAt;
+}
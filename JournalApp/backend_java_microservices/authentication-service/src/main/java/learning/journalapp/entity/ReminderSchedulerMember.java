@@ -0,0 +1,27 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A running instance that takes part in reminder delivery, kept alive by heartbeats. Instances
+ * count the live members to decide how many shard leases each should hold, so a new instance gets
+ * its share even while every shard is still leased.
+ */
+@Entity
+@Table(name = "reminder_scheduler_members")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderSchedulerMember {
+
+  @Id
+  @Column(length = 100)
+  private String owner;
+
+  @Column(nullable = false)
+  private Instant expiresAt;
+}
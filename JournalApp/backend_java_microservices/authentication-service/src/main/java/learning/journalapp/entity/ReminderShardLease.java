@@ -0,0 +1,27 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Which instance currently delivers the reminders of a shard, and until when. A lease that is not
+ * renewed before it expires can be taken over by another instance.
+ */
+@Entity
+@Table(name = "reminder_shard_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderShardLease {
+
+  @Id private Integer shard;
+
+  @Column(nullable = false, length = 100)
+  private String owner;
+
+  @Column(nullable = false)
+  private Instant expiresAt;
+}
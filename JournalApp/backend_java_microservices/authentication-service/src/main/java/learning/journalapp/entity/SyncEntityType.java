@@ -0,0 +1,7 @@
+package learning.journalapp.entity;
+
+/** Kinds of entity returned by the delta sync feed. */
+public enum SyncEntityType {
+  JOURNAL_ENTRY,
+  PREFERENCES
+}
@@ -0,0 +1,33 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last change sequence number handed out per user. Incrementing it locks the row until the
+ * transaction ends, so a user's changes commit in sequence order and a sync watermark never skips
+ * a change that commits late. Also records how far the user's tombstones have been purged.
+ */
+@Entity
+@Table(name = "user_sync_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncSequence {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(name = "last_seq", nullable = false)
+  private long lastSeq;
+
+  /** Highest sequence number of a purged tombstone; a client behind it has to resync fully. */
+  @Column(name = "purged_seq", nullable = false, columnDefinition = "bigint default 0 not null")
+  private long purgedSeq;
+}
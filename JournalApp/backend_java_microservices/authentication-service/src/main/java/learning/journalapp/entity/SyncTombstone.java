@@ -0,0 +1,46 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Record of a deleted entity, so that delta sync can tell clients to delete their copy. Purged
+ * after {@code sync.tombstone-retention} by {@code TombstonePurger}.
+ */
+@Entity
+@Table(
+    name = "sync_tombstones",
+    indexes = {
+      @Index(name = "idx_sync_tombstones_user_seq", columnList = "user_id, change_seq"),
+      @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deleted_at")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstone {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "entity_type", nullable = false, length = 32)
+  private SyncEntityType entityType;
+
+  @Column(name = "entity_id", nullable = false)
+  private Long entityId;
+
+  @Column(name = "change_seq", nullable = false)
+  private long changeSeq;
+
+  @Column(nullable = false)
+  private LocalDateTime deletedAt;
+}
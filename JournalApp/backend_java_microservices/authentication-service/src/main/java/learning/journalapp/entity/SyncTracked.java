@@ -0,0 +1,16 @@
+package learning.journalapp.entity;
+
+/**
+ * An entity included in a user's delta sync feed. Every write stamps it with the next value of the
+ * owner's change sequence (see {@code ChangeSequenceListener}).
+ */
+public interface SyncTracked {
+
+  Long getId();
+
+  User getUser();
+
+  void setChangeSeq(long changeSeq);
+
+  SyncEntityType getSyncEntityType();
+}
@@ -0,0 +1,30 @@
+package learning.journalapp.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A user's data encryption key, wrapped by a master key; never stored in the clear. */
+@Entity
+@Table(name = "user_data_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDataKey {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  /** Alias of the master key in the keystore that wrapped this key. */
+  @Column(name = "master_key_alias", nullable = false, length = 100)
+  private String masterKeyAlias;
+
+  @Column(name = "wrapped_key", nullable = false, columnDefinition = "bytea")
+  private byte[] wrappedKey;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+}
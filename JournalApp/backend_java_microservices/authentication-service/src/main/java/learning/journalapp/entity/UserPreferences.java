@@ -2,18 +2,20 @@ package learning.journalapp.entity;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import learning.journalapp.sync.ChangeSequenceListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(ChangeSequenceListener.class)
 @Table(name = "user_preferences")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class UserPreferences {
+public class UserPreferences implements SyncTracked {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +41,10 @@ public class UserPreferences {
   @Column(nullable = false)
   private LocalDateTime updatedAt;
 
+  /** Position in the owner's change sequence; 0 for rows last written before delta sync. */
+  @Column(name = "change_seq", nullable = false, columnDefinition = "bigint default 0 not null")
+  private long changeSeq;
+
   @PrePersist
   protected void onCreate() {
     createdAt = LocalDateTime.now();
@@ -49,4 +55,9 @@ public class UserPreferences {
   protected void onUpdate() {
     updatedAt = LocalDateTime.now();
   }
+
+  @Override
+  public SyncEntityType getSyncEntityType() {
+    return SyncEntityType.PREFERENCES;
+  }
 }
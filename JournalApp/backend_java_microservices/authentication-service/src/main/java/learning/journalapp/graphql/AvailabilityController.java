@@ -0,0 +1,25 @@
+package learning.journalapp.graphql;
+
+import learning.journalapp.availability.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+/** Availability checks for the registration form, answered from the in-memory index. */
+@Controller
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+  private final AvailabilityService availabilityService;
+
+  @QueryMapping
+  public boolean usernameAvailable(@Argument final String username) {
+    return availabilityService.isUsernameAvailable(username);
+  }
+
+  @QueryMapping
+  public boolean emailAvailable(@Argument final String email) {
+    return availabilityService.isEmailAvailable(email);
+  }
+}
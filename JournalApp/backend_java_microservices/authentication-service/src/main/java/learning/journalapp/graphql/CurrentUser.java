@@ -0,0 +1,38 @@
+package learning.journalapp.graphql;
+
+import learning.journalapp.entity.User;
+import learning.journalapp.platform.exception.NotFoundException;
+import learning.journalapp.platform.exception.UnauthenticatedException;
+import learning.journalapp.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/** Resolves the user a GraphQL operation runs as, from the security context. */
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+
+  private static final NotFoundException USER_NOT_FOUND = new NotFoundException("User not found");
+
+  private final UserRepository userRepository;
+
+  /** The authenticated user; unauthenticated if there is none, not found if it was deleted. */
+  public User get() {
+    final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    if (authentication == null || !authentication.isAuthenticated()) {
+      throw UnauthenticatedException.INSTANCE;
+    }
+
+    return userRepository
+        .findByUsername(authentication.getName())
+        .orElseThrow(() -> USER_NOT_FOUND);
+  }
+
+  /** ID of {@link #get()}. */
+  public long id() {
+    return get().getId();
+  }
+}
@@ -0,0 +1,38 @@
+package learning.journalapp.graphql;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import learning.journalapp.platform.exception.BadRequestException;
+
+/**
+ * Parses date arguments of GraphQL operations. Dates more than a year ahead are rejected, so no
+ * query scans far-future years.
+ */
+final class DateArguments {
+
+  private static final BadRequestException INVALID_DATE =
+      new BadRequestException("Dates must be ISO-8601, e.g. 2025-01-31, and at most a year ahead");
+
+  private DateArguments() {
+    // Utility class
+  }
+
+  /** Bad request if the date is not ISO-8601 or more than a year ahead. */
+  static LocalDate parse(final String date) {
+    final LocalDate parsed;
+    try {
+      parsed = LocalDate.parse(date);
+    } catch (final DateTimeParseException e) {
+      throw INVALID_DATE;
+    }
+    if (parsed.isAfter(LocalDate.now().plusYears(1))) {
+      throw INVALID_DATE;
+    }
+    return parsed;
+  }
+
+  /** Like {@link #parse(String)}, with the server's current date if the argument is absent. */
+  static LocalDate parseOrToday(final String date) {
+    return date == null ? LocalDate.now() : parse(date);
+  }
+}
@@ -4,11 +4,14 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import learning.journalapp.dto.*;
 import learning.journalapp.entity.User;
+import learning.journalapp.platform.exception.NotFoundException;
+import learning.journalapp.platform.exception.UnauthenticatedException;
+import learning.journalapp.platform.security.util.JwtTokenProvider;
 import learning.journalapp.repository.UserRepository;
 import learning.journalapp.service.UserService;
-import learning.journalapp.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
@@ -26,9 +29,11 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @RequiredArgsConstructor
 public class GraphQLController {
 
+  private static final NotFoundException USER_NOT_FOUND = new NotFoundException("User not found");
+
   private final UserService userService;
   private final AuthenticationManager authenticationManager;
-  private final JwtUtil jwtUtil;
+  private final JwtTokenProvider jwtTokenProvider;
   private final UserRepository userRepository;
 
   @Value("${jwt.expiration}")
@@ -36,7 +41,16 @@ public class GraphQLController {
 
   @MutationMapping
   public RegisterResponse register(@Argument final RegisterInput input) {
-    return userService.registerUser(input);
+    try {
+      return userService.registerUser(input);
+    } catch (final DataIntegrityViolationException e) {
+      // Two concurrent registrations of the same username can both pass the availability check;
+      // the unique constraint then rejects the one that commits second
+      if (userRepository.existsByUsername(input.username())) {
+        return RegisterResponse.REGISTER_RESPONSE_USERNAME_ALREADY_EXISTS;
+      }
+      throw e;
+    }
   }
 
   @MutationMapping
@@ -46,7 +60,7 @@ public class GraphQLController {
           authenticationManager.authenticate(
               new UsernamePasswordAuthenticationToken(input.username(), input.password()));
 
-      final String token = jwtUtil.generateToken(authentication.getName());
+      final String token = jwtTokenProvider.generateToken(authentication.getName());
 
       // Get response from context
       final HttpServletResponse response =
@@ -98,13 +112,11 @@ public class GraphQLController {
     final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
     if (authentication == null || !authentication.isAuthenticated()) {
-      throw new RuntimeException("Not authenticated");
+      throw UnauthenticatedException.INSTANCE;
     }
 
     final User user =
-        userRepository
-            .findByUsername(authentication.getName())
-            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        userRepository.findByUsername(authentication.getName()).orElseThrow(() -> USER_NOT_FOUND);
 
     return new UserProfileResponse(
         user.getUsername(), user.getFirstName(), user.getLastName(), user.getRole());
@@ -0,0 +1,61 @@
+package learning.journalapp.graphql;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import learning.journalapp.dto.JournalEntryResponse;
+import learning.journalapp.dto.MoodCount;
+import learning.journalapp.platform.exception.BadRequestException;
+import learning.journalapp.repository.JournalEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+/** The current user's past entries and mood counts, archived entries included. */
+@Controller
+@RequiredArgsConstructor
+public class JournalHistoryController {
+
+  /** Longest range of entries returned at once; counts are not limited. */
+  private static final long MAX_ENTRY_RANGE_DAYS = 366;
+
+  private static final BadRequestException INVALID_RANGE =
+      new BadRequestException("Ranges must end on or after their start and span at most a year");
+
+  private final JournalEntryRepository journalEntryRepository;
+  private final CurrentUser currentUser;
+
+  @QueryMapping
+  public List<JournalEntryResponse> journalEntries(
+      @Argument final String from, @Argument final String to) {
+    final LocalDate start = DateArguments.parse(from);
+    final LocalDate end = DateArguments.parse(to);
+    if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= MAX_ENTRY_RANGE_DAYS) {
+      throw INVALID_RANGE;
+    }
+    return journalEntryRepository.findHistory(currentUser.id(), start, end).stream()
+        .map(JournalEntryResponse::from)
+        .toList();
+  }
+
+  @QueryMapping
+  public List<JournalEntryResponse> journalEntriesOnThisDay(@Argument final String date) {
+    final LocalDate day = DateArguments.parseOrToday(date);
+    return journalEntryRepository.findOnThisDay(currentUser.id(), day).stream()
+        .map(JournalEntryResponse::from)
+        .toList();
+  }
+
+  @QueryMapping
+  public List<MoodCount> moodCounts(@Argument final String from, @Argument final String to) {
+    final LocalDate start = DateArguments.parse(from);
+    final LocalDate end = DateArguments.parse(to);
+    if (end.isBefore(start)) {
+      throw INVALID_RANGE;
+    }
+    return journalEntryRepository.countMoods(currentUser.id(), start, end).entrySet().stream()
+        .map(count -> new MoodCount(count.getKey(), count.getValue()))
+        .toList();
+  }
+}
@@ -0,0 +1,25 @@
+package learning.journalapp.graphql;
+
+import learning.journalapp.dto.JournalEntryChange;
+import learning.journalapp.subscription.JournalUpdateBroker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+/**
+ * Live journal updates, over WebSocket ({@code graphql-transport-ws}) or SSE at /graphql. Replaces
+ * polling: clients load once, then apply the pushed changes.
+ */
+@Controller
+@RequiredArgsConstructor
+public class JournalSubscriptionController {
+
+  private final JournalUpdateBroker journalUpdateBroker;
+  private final CurrentUser currentUser;
+
+  @SubscriptionMapping
+  public Flux<JournalEntryChange> journalEntryChanges() {
+    return journalUpdateBroker.subscribe(currentUser.id());
+  }
+}
@@ -0,0 +1,37 @@
+package learning.journalapp.graphql;
+
+import java.util.List;
+import learning.journalapp.dto.MedicationReminderInput;
+import learning.journalapp.dto.MedicationReminderResponse;
+import learning.journalapp.reminder.ReminderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+/** Medication reminders of the current user. */
+@Controller
+@RequiredArgsConstructor
+public class MedicationReminderController {
+
+  private final ReminderService reminderService;
+  private final CurrentUser currentUser;
+
+  @QueryMapping
+  public List<MedicationReminderResponse> medicationReminders() {
+    return reminderService.list(currentUser.id());
+  }
+
+  @MutationMapping
+  public MedicationReminderResponse scheduleMedicationReminder(
+      @Argument final MedicationReminderInput input) {
+    return reminderService.schedule(currentUser.id(), input);
+  }
+
+  @MutationMapping
+  public boolean deleteMedicationReminder(@Argument final long id) {
+    reminderService.delete(currentUser.id(), id);
+    return true;
+  }
+}
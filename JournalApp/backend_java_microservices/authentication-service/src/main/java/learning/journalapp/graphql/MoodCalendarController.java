@@ -0,0 +1,38 @@
+package learning.journalapp.graphql;
+
+import java.util.List;
+import learning.journalapp.dto.MoodCalendarResponse;
+import learning.journalapp.dto.MoodOnDay;
+import learning.journalapp.dto.MoodStreak;
+import learning.journalapp.mood.MoodCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Mood views served from the mood calendar. Dates default to the server's current date; clients
+ * in other time zones should pass their local date. Dates more than a year ahead are rejected.
+ */
+@Controller
+@RequiredArgsConstructor
+public class MoodCalendarController {
+
+  private final MoodCalendarService moodCalendarService;
+  private final CurrentUser currentUser;
+
+  @QueryMapping
+  public MoodCalendarResponse moodCalendar(@Argument final int year) {
+    return moodCalendarService.calendar(currentUser.id(), year);
+  }
+
+  @QueryMapping
+  public MoodStreak moodStreak(@Argument final String today) {
+    return moodCalendarService.streak(currentUser.id(), DateArguments.parseOrToday(today));
+  }
+
+  @QueryMapping
+  public List<MoodOnDay> moodOnThisDay(@Argument final String date) {
+    return moodCalendarService.onThisDay(currentUser.id(), DateArguments.parseOrToday(date));
+  }
+}
@@ -0,0 +1,22 @@
+package learning.journalapp.graphql;
+
+import learning.journalapp.dto.SyncPage;
+import learning.journalapp.sync.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+/** Incremental sync for offline-capable clients. */
+@Controller
+@RequiredArgsConstructor
+public class SyncController {
+
+  private final SyncService syncService;
+  private final CurrentUser currentUser;
+
+  @QueryMapping
+  public SyncPage sync(@Argument final String after, @Argument final Integer first) {
+    return syncService.changesSince(currentUser.id(), after, first);
+  }
+}
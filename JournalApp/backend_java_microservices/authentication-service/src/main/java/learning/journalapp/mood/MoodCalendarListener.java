@@ -0,0 +1,55 @@
+package learning.journalapp.mood;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.time.LocalDate;
+import learning.journalapp.entity.JournalEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@code mood_calendars} in step with {@link JournalEntry} writes, in the same transaction.
+ * The in-memory copies are refreshed by {@link MoodCalendarService} once the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class MoodCalendarListener {
+
+  private final MoodCalendarRepository moodCalendarRepository;
+
+  @PostLoad
+  void onLoaded(final JournalEntry entry) {
+    entry.setPersistedEntryDate(entry.getEntryDate());
+  }
+
+  @PostPersist
+  void onCreated(final JournalEntry entry) {
+    moodCalendarRepository.setDay(userId(entry), entry.getEntryDate(), entry.getMood());
+    entry.setPersistedEntryDate(entry.getEntryDate());
+  }
+
+  @PostUpdate
+  void onUpdated(final JournalEntry entry) {
+    final LocalDate previousDate = entry.getPersistedEntryDate();
+    if (previousDate != null && !previousDate.equals(entry.getEntryDate())) {
+      moodCalendarRepository.setDay(userId(entry), previousDate, null);
+    }
+    moodCalendarRepository.setDay(userId(entry), entry.getEntryDate(), entry.getMood());
+    entry.setPersistedEntryDate(entry.getEntryDate());
+  }
+
+  @PostRemove
+  void onDeleted(final JournalEntry entry) {
+    final LocalDate date =
+        entry.getPersistedEntryDate() != null
+            ? entry.getPersistedEntryDate()
+            : entry.getEntryDate();
+    moodCalendarRepository.setDay(userId(entry), date, null);
+  }
+
+  private static long userId(final JournalEntry entry) {
+    return entry.getUser().getId();
+  }
+}
@@ -0,0 +1,90 @@
+package learning.journalapp.mood;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import learning.journalapp.entity.Mood;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads and writes the {@code mood_calendars} side table. A day is written with a single upsert
+ * that sets its three bits in place with {@code set_bit}, so concurrent writes to different days
+ * of the same year never overwrite each other and no read is needed first.
+ */
+@Repository
+@RequiredArgsConstructor
+class MoodCalendarRepository {
+
+  private static final String SET_DAY_SQL =
+      "INSERT INTO mood_calendars (user_id, year, days) VALUES (?, ?, ?)"
+          + " ON CONFLICT (user_id, year) DO UPDATE SET days ="
+          + " set_bit(set_bit(set_bit(mood_calendars.days, ?, ?), ?, ?), ?, ?)";
+  private static final String SELECT_YEARS_SQL =
+      "SELECT year, days FROM mood_calendars WHERE user_id = ? ORDER BY year";
+  private static final String IS_BACKFILLED_SQL =
+      "SELECT EXISTS (SELECT 1 FROM mood_calendar_backfills WHERE user_id = ?)";
+  private static final String MARK_BACKFILLED_SQL =
+      "INSERT INTO mood_calendar_backfills (user_id, backfilled_at) VALUES (?, now())"
+          + " ON CONFLICT (user_id) DO NOTHING";
+  private static final String LOCK_ENTRIES_SQL =
+      "SELECT entry_date, mood FROM journal_entries WHERE user_id = ? FOR SHARE";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Set one day to {@code mood}, or clear it if null. */
+  void setDay(final long userId, final LocalDate date, final Mood mood) {
+    final int code = MoodYear.codeOf(mood);
+    final int firstBit = (date.getDayOfYear() - 1) * MoodYear.BITS_PER_DAY;
+    jdbcTemplate.update(
+        SET_DAY_SQL,
+        userId,
+        date.getYear(),
+        MoodYear.empty(date.getYear()).with(date.getDayOfYear(), mood).toBytes(),
+        firstBit,
+        code & 1,
+        firstBit + 1,
+        (code >> 1) & 1,
+        firstBit + 2,
+        (code >> 2) & 1);
+  }
+
+  List<MoodYear> findYears(final long userId) {
+    return jdbcTemplate.query(
+        SELECT_YEARS_SQL,
+        (resultSet, rowNum) -> MoodYear.of(resultSet.getInt(1), resultSet.getBytes(2)),
+        userId);
+  }
+
+  boolean isBackfilled(final long userId) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(IS_BACKFILLED_SQL, Boolean.class, userId));
+  }
+
+  /**
+   * Claim the user's backfill. False if it is already done; a concurrent claim waits here until
+   * the first one's transaction ends.
+   */
+  boolean markBackfilled(final long userId) {
+    return jdbcTemplate.update(MARK_BACKFILLED_SQL, userId) > 0;
+  }
+
+  /**
+   * The mood of each of the user's entries, read {@code FOR SHARE}, so a concurrent update or
+   * delete of one of them waits for the backfill and then applies its own change on top, while a
+   * concurrent insert sets a day the backfill does not touch. Must run in a transaction.
+   */
+  Map<LocalDate, Mood> lockEntryMoods(final long userId) {
+    // Entry dates are unique per user
+    final Map<LocalDate, Mood> moods = new HashMap<>();
+    jdbcTemplate.query(
+        LOCK_ENTRIES_SQL,
+        resultSet -> {
+          moods.put(resultSet.getDate(1).toLocalDate(), Mood.valueOf(resultSet.getString(2)));
+        },
+        userId);
+    return moods;
+  }
+}
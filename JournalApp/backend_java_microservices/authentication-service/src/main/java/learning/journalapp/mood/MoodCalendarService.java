@@ -0,0 +1,159 @@
+package learning.journalapp.mood;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import learning.journalapp.archive.EntryArchive;
+import learning.journalapp.dto.MoodCalendarResponse;
+import learning.journalapp.dto.MoodOnDay;
+import learning.journalapp.dto.MoodStreak;
+import learning.journalapp.entity.Mood;
+import learning.journalapp.subscription.JournalEntryChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mood heatmap, streak and "on this day" views, answered from each user's bit-packed mood
+ * calendar instead of their journal entries. A user's whole timeline is a few hundred bytes and is
+ * cached in memory; it is dropped when one of the user's entries changes on this instance, and
+ * expires after {@code mood-calendar.cache-ttl} to pick up changes made on other instances.
+ *
+ * <p>Users whose entries predate the calendar get it built from their entries on first use, once:
+ * a marker row records that it was, since entry writes create calendar rows on their own.
+ */
+@Service
+public class MoodCalendarService {
+
+  private final MoodCalendarRepository moodCalendarRepository;
+  private final EntryArchive entryArchive;
+  private final TransactionTemplate transactionTemplate;
+  private final LoadingCache<Long, MoodTimeline> timelines;
+
+  public MoodCalendarService(
+      final MoodCalendarRepository moodCalendarRepository,
+      final EntryArchive entryArchive,
+      final PlatformTransactionManager transactionManager,
+      @Value("${mood-calendar.cache-size:10000}") final long cacheSize,
+      @Value("${mood-calendar.cache-ttl:10m}") final Duration cacheTtl) {
+    this.moodCalendarRepository = moodCalendarRepository;
+    this.entryArchive = entryArchive;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.timelines =
+        CacheBuilder.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(cacheTtl)
+            .build(CacheLoader.from(this::load));
+  }
+
+  /** Mood of every day of the year, null for days without an entry. */
+  public MoodCalendarResponse calendar(final long userId, final int year) {
+    final MoodYear moodYear = timelines.getUnchecked(userId).year(year);
+    final List<Mood> days = new ArrayList<>(moodYear.lengthInDays());
+    for (int day = 1; day <= moodYear.lengthInDays(); day++) {
+      days.add(moodYear.get(day));
+    }
+    return new MoodCalendarResponse(year, days);
+  }
+
+  /**
+   * Consecutive days with an entry. The current streak ends today, or yesterday if there is no
+   * entry for today yet.
+   *
+   * <p>Only years with a stored calendar are scanned; a year without one breaks the run.
+   */
+  public MoodStreak streak(final long userId, final LocalDate today) {
+    final MoodTimeline timeline = timelines.getUnchecked(userId);
+
+    int longest = 0;
+    int run = 0;
+    Integer previousYear = null;
+    for (final int year : timeline.years().headSet(today.getYear(), true)) {
+      if (previousYear != null && previousYear != year - 1) {
+        run = 0;
+      }
+      final MoodYear moodYear = timeline.year(year);
+      final int lastDay = year == today.getYear() ? today.getDayOfYear() : moodYear.lengthInDays();
+      for (int day = 1; day <= lastDay; day++) {
+        run = moodYear.hasEntry(day) ? run + 1 : 0;
+        longest = Math.max(longest, run);
+      }
+      previousYear = year;
+    }
+    if (previousYear == null || previousYear != today.getYear()) {
+      // The days of this year up to today have no entries
+      run = 0;
+    }
+
+    final int current = run > 0 ? run : trailingRun(timeline, today);
+    return new MoodStreak(current, longest);
+  }
+
+  /** The user's moods on the same day in earlier years, most recent first. */
+  public List<MoodOnDay> onThisDay(final long userId, final LocalDate date) {
+    final MoodTimeline timeline = timelines.getUnchecked(userId);
+    final List<MoodOnDay> days = new ArrayList<>();
+    for (final int year : timeline.years().headSet(date.getYear(), false).descendingSet()) {
+      final LocalDate sameDay = date.withYear(year);
+      // withYear() turns February 29 into the 28th in non-leap years, which have no such day
+      if (sameDay.getDayOfMonth() != date.getDayOfMonth()) {
+        continue;
+      }
+      final Mood mood = timeline.get(sameDay);
+      if (mood != null) {
+        days.add(new MoodOnDay(sameDay, mood));
+      }
+    }
+    return days;
+  }
+
+  /**
+   * Build the user's calendar from their entries now if that has not been done yet, e.g. before
+   * the entries are archived.
+   */
+  public void ensureBuilt(final long userId) {
+    timelines.getUnchecked(userId);
+  }
+
+  /** Drop the cached timeline once a change to the user's entries has committed. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onJournalEntryChanged(final JournalEntryChangedEvent event) {
+    timelines.invalidate(event.userId());
+  }
+
+  /** Length of the run of entries ending the day before {@code today}. */
+  private static int trailingRun(final MoodTimeline timeline, final LocalDate today) {
+    int run = 0;
+    for (LocalDate date = today.minusDays(1); timeline.hasEntry(date); date = date.minusDays(1)) {
+      run++;
+    }
+    return run;
+  }
+
+  private MoodTimeline load(final long userId) {
+    if (!moodCalendarRepository.isBackfilled(userId)) {
+      transactionTemplate.executeWithoutResult(status -> backfill(userId));
+    }
+    return new MoodTimeline(moodCalendarRepository.findYears(userId));
+  }
+
+  private void backfill(final long userId) {
+    if (!moodCalendarRepository.markBackfilled(userId)) {
+      return;
+    }
+    final Map<LocalDate, Mood> moods = moodCalendarRepository.lockEntryMoods(userId);
+    // Entries archived before the calendar was built are only in the archive
+    for (final int year : entryArchive.years(userId)) {
+      entryArchive.forEachMood(
+          userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), moods::putIfAbsent);
+    }
+    moods.forEach((date, mood) -> moodCalendarRepository.setDay(userId, date, mood));
+  }
+}
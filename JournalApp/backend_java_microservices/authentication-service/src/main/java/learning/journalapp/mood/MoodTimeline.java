@@ -0,0 +1,41 @@
+package learning.journalapp.mood;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import learning.journalapp.entity.Mood;
+
+/** All of a user's mood years, as cached by {@link MoodCalendarService}. Immutable. */
+final class MoodTimeline {
+
+  private final TreeMap<Integer, MoodYear> years = new TreeMap<>();
+
+  MoodTimeline(final List<MoodYear> moodYears) {
+    for (final MoodYear moodYear : moodYears) {
+      years.put(moodYear.getYear(), moodYear);
+    }
+  }
+
+  /** The given year, empty if the user has no entries in it. */
+  MoodYear year(final int year) {
+    final MoodYear moodYear = years.get(year);
+    return moodYear != null ? moodYear : MoodYear.empty(year);
+  }
+
+  Mood get(final LocalDate date) {
+    final MoodYear moodYear = years.get(date.getYear());
+    return moodYear != null ? moodYear.get(date) : null;
+  }
+
+  boolean hasEntry(final LocalDate date) {
+    final MoodYear moodYear = years.get(date.getYear());
+    return moodYear != null && moodYear.hasEntry(date.getDayOfYear());
+  }
+
+  /** Years with a stored calendar, in ascending order. */
+  NavigableSet<Integer> years() {
+    return Collections.unmodifiableNavigableSet(years.navigableKeySet());
+  }
+}
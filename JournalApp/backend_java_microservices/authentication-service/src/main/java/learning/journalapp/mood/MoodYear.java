@@ -0,0 +1,103 @@
+package learning.journalapp.mood;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import learning.journalapp.entity.Mood;
+
+/**
+ * One year of a user's moods, 3 bits per day: 0 for no entry, otherwise the {@link Mood} ordinal
+ * plus one. 366 days take 138 bytes.
+ *
+ * <p>Bit {@code n} of the array is bit {@code n % 8} (counting from the least significant) of byte
+ * {@code n / 8}, the numbering of PostgreSQL's {@code set_bit}, so the database can update a single
+ * day in place (see {@link MoodCalendarRepository}). Day {@code d} of the year (1-based) occupies
+ * bits {@code 3(d-1)} to {@code 3(d-1)+2}, least significant first.
+ *
+ * <p>Immutable; {@link #with} returns a modified copy.
+ */
+public final class MoodYear {
+
+  static final int BITS_PER_DAY = 3;
+
+  /** Enough for a leap year. */
+  static final int SIZE_BYTES = (366 * BITS_PER_DAY + 7) / 8;
+
+  private static final Mood[] MOODS = Mood.values();
+
+  private final int year;
+  private final byte[] days;
+
+  private MoodYear(final int year, final byte[] days) {
+    this.year = year;
+    this.days = days;
+  }
+
+  public static MoodYear empty(final int year) {
+    return new MoodYear(year, new byte[SIZE_BYTES]);
+  }
+
+  /** Wrap stored bytes; shorter arrays are padded with empty days. */
+  public static MoodYear of(final int year, final byte[] days) {
+    return new MoodYear(year, Arrays.copyOf(days, SIZE_BYTES));
+  }
+
+  public int getYear() {
+    return year;
+  }
+
+  public int lengthInDays() {
+    return Year.isLeap(year) ? 366 : 365;
+  }
+
+  /** Mood on the given day of the year (1-based), or null if there is no entry. */
+  public Mood get(final int dayOfYear) {
+    final int code = code(dayOfYear);
+    return code == 0 || code > MOODS.length ? null : MOODS[code - 1];
+  }
+
+  public Mood get(final LocalDate date) {
+    return get(date.getDayOfYear());
+  }
+
+  /** Whether the user has an entry on the given day of the year. */
+  public boolean hasEntry(final int dayOfYear) {
+    return code(dayOfYear) != 0;
+  }
+
+  /** Copy with the given day set to {@code mood}, or cleared if null. */
+  public MoodYear with(final int dayOfYear, final Mood mood) {
+    final byte[] copy = days.clone();
+    final int code = codeOf(mood);
+    final int firstBit = (dayOfYear - 1) * BITS_PER_DAY;
+    for (int k = 0; k < BITS_PER_DAY; k++) {
+      final int bit = firstBit + k;
+      if (((code >> k) & 1) != 0) {
+        copy[bit >> 3] |= (byte) (1 << (bit & 7));
+      } else {
+        copy[bit >> 3] &= (byte) ~(1 << (bit & 7));
+      }
+    }
+    return new MoodYear(year, copy);
+  }
+
+  /** Copy of the packed days, for storage. */
+  public byte[] toBytes() {
+    return days.clone();
+  }
+
+  /** Storage code of a mood: 0 for none, otherwise ordinal plus one. */
+  static int codeOf(final Mood mood) {
+    return mood == null ? 0 : mood.ordinal() + 1;
+  }
+
+  private int code(final int dayOfYear) {
+    final int firstBit = (dayOfYear - 1) * BITS_PER_DAY;
+    int code = 0;
+    for (int k = 0; k < BITS_PER_DAY; k++) {
+      final int bit = firstBit + k;
+      code |= ((days[bit >> 3] >> (bit & 7)) & 1) << k;
+    }
+    return code;
+  }
+}
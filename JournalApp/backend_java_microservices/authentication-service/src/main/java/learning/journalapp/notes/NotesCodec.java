@@ -0,0 +1,139 @@
+package learning.journalapp.notes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Storage format of journal entry notes. Short notes are stored as plain UTF-8; longer ones are
+ * deflated with a preset dictionary of phrases common in journal entries, which is what makes
+ * compression pay off for texts of a few hundred bytes that share little with themselves.
+ *
+ * <p>Every stored value starts with a format byte:
+ *
+ * <ul>
+ *   <li>{@code 0}: the rest is the UTF-8 text.
+ *   <li>{@code 1}: one byte of dictionary version, the UTF-8 length as an int, then raw deflate.
+ * </ul>
+ *
+ * <p>Dictionaries are versioned resources ({@code notes-dictionaries/v<N>.dict}, built with {@link
+ * NotesDictionaryTrainer}) and are never changed once released: new notes use {@code
+ * notes.compression.dictionary-version}, while old notes keep the version they were written with.
+ */
+@Component
+public class NotesCodec {
+
+  static final byte FORMAT_PLAIN = 0;
+  static final byte FORMAT_DEFLATE = 1;
+
+  private static final int DEFLATE_HEADER_LENGTH = 1 + 1 + Integer.BYTES;
+
+  private final int threshold;
+  private final int dictionaryVersion;
+  private final ConcurrentMap<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+
+  public NotesCodec(
+      @Value("${notes.compression.threshold:256}") final int threshold,
+      @Value("${notes.compression.dictionary-version:1}") final int dictionaryVersion) {
+    if (dictionaryVersion < 1 || dictionaryVersion > 255) {
+      throw new IllegalArgumentException("Dictionary version out of range: " + dictionaryVersion);
+    }
+    this.threshold = threshold;
+    this.dictionaryVersion = dictionaryVersion;
+    // Fail at startup rather than on the first long note
+    dictionary(dictionaryVersion);
+  }
+
+  public byte[] encode(final String notes) {
+    final byte[] utf8 = notes.getBytes(StandardCharsets.UTF_8);
+    if (utf8.length >= threshold) {
+      final byte[] compressed = deflate(utf8);
+      if (compressed != null) {
+        return compressed;
+      }
+    }
+    final byte[] plain = new byte[utf8.length + 1];
+    plain[0] = FORMAT_PLAIN;
+    System.arraycopy(utf8, 0, plain, 1, utf8.length);
+    return plain;
+  }
+
+  public String decode(final byte[] stored) {
+    return switch (stored[0]) {
+      case FORMAT_PLAIN -> new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+      case FORMAT_DEFLATE -> inflate(stored);
+      default -> throw new IllegalStateException("Unknown notes format: " + stored[0]);
+    };
+  }
+
+  /** Deflate with the current dictionary, or null if that would not save anything. */
+  private byte[] deflate(final byte[] utf8) {
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    try {
+      deflater.setDictionary(dictionary(dictionaryVersion));
+      deflater.setInput(utf8);
+      deflater.finish();
+      // Only worth storing if smaller than plain, so never write more than that
+      final byte[] output = new byte[utf8.length + 1];
+      final ByteBuffer header = ByteBuffer.wrap(output, 0, DEFLATE_HEADER_LENGTH);
+      header.put(FORMAT_DEFLATE).put((byte) dictionaryVersion).putInt(utf8.length);
+      int length = DEFLATE_HEADER_LENGTH;
+      while (!deflater.finished() && length < output.length) {
+        length += deflater.deflate(output, length, output.length - length);
+      }
+      return deflater.finished() ? Arrays.copyOf(output, length) : null;
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private String inflate(final byte[] stored) {
+    final ByteBuffer header = ByteBuffer.wrap(stored, 1, DEFLATE_HEADER_LENGTH - 1);
+    final int version = Byte.toUnsignedInt(header.get());
+    final byte[] utf8 = new byte[header.getInt()];
+    final Inflater inflater = new Inflater(true);
+    try {
+      inflater.setDictionary(dictionary(version));
+      inflater.setInput(stored, DEFLATE_HEADER_LENGTH, stored.length - DEFLATE_HEADER_LENGTH);
+      int length = 0;
+      while (length < utf8.length) {
+        final int read = inflater.inflate(utf8, length, utf8.length - length);
+        if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new IllegalStateException("Truncated compressed notes");
+        }
+        length += read;
+      }
+      return new String(utf8, StandardCharsets.UTF_8);
+    } catch (final DataFormatException e) {
+      throw new IllegalStateException("Corrupt compressed notes", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private byte[] dictionary(final int version) {
+    return dictionaries.computeIfAbsent(version, NotesCodec::loadDictionary);
+  }
+
+  private static byte[] loadDictionary(final int version) {
+    final String path = "notes-dictionaries/v" + version + ".dict";
+    try (InputStream in = NotesCodec.class.getClassLoader().getResourceAsStream(path)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing notes dictionary " + path);
+      }
+      return in.readAllBytes();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
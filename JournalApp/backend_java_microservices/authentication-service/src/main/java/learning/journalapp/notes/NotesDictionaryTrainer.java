@@ -0,0 +1,117 @@
+package learning.journalapp.notes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Builds a preset dictionary for {@link NotesCodec} from a corpus of sample notes.
+ *
+ * <p>Candidates are runs of one to {@value #MAX_WORDS} words. Each scores the bytes it would save
+ * across the corpus: its length times the number of samples it appears in, less one (a phrase
+ * repeated within one note is already compressed by deflate itself). The best candidates are
+ * packed until the dictionary is full, skipping any already contained in a better one, and the
+ * best are placed last, where deflate reaches them with the shortest distances.
+ *
+ * <p>The dictionary ships inside the application, so train it on text that may be published, not
+ * on users' notes. Usage: {@code NotesDictionaryTrainer <corpus-dir> <output-file> [max-bytes]},
+ * where every file under the corpus directory is one sample; save the result as the next {@code
+ * notes-dictionaries/v<N>.dict} and raise {@code notes.compression.dictionary-version}.
+ */
+public final class NotesDictionaryTrainer {
+
+  static final int MAX_WORDS = 4;
+
+  /** Deflate can only refer back 32 KiB, so a larger dictionary would be partly unreachable. */
+  static final int MAX_DICTIONARY_BYTES = 32 * 1024;
+
+  private static final int DEFAULT_DICTIONARY_BYTES = 16 * 1024;
+
+  private NotesDictionaryTrainer() {}
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: NotesDictionaryTrainer <corpus-dir> <output-file> [max-bytes]");
+      System.exit(2);
+    }
+    final int maxBytes = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DICTIONARY_BYTES;
+
+    final List<String> samples = new ArrayList<>();
+    try (Stream<Path> files = Files.walk(Path.of(args[0]))) {
+      for (final Path file : files.filter(Files::isRegularFile).toList()) {
+        samples.add(Files.readString(file, StandardCharsets.UTF_8));
+      }
+    }
+    final byte[] dictionary = train(samples, maxBytes);
+    Files.write(Path.of(args[1]), dictionary);
+    System.out.printf(
+        "Wrote %d dictionary bytes from %d samples to %s%n",
+        dictionary.length, samples.size(), args[1]);
+  }
+
+  /** Dictionary of at most {@code maxBytes} (capped at 32 KiB) trained on the samples. */
+  public static byte[] train(final Iterable<String> samples, final int maxBytes) {
+    final int limit = Math.min(maxBytes, MAX_DICTIONARY_BYTES);
+
+    final Map<String, Integer> documentFrequency = new HashMap<>();
+    for (final String sample : samples) {
+      final String[] words = sample.trim().split("\\s+");
+      final Set<String> seen = new HashSet<>();
+      for (int start = 0; start < words.length; start++) {
+        final StringBuilder phrase = new StringBuilder();
+        for (int end = start; end < Math.min(words.length, start + MAX_WORDS); end++) {
+          phrase.append(words[end]).append(' ');
+          if (seen.add(phrase.toString())) {
+            documentFrequency.merge(phrase.toString(), 1, Integer::sum);
+          }
+        }
+      }
+    }
+
+    final List<Candidate> candidates = new ArrayList<>();
+    documentFrequency.forEach(
+        (phrase, frequency) -> {
+          final int length = phrase.getBytes(StandardCharsets.UTF_8).length;
+          // A phrase shorter than a deflate match (3 bytes) saves nothing
+          if (frequency > 1 && length > 3) {
+            candidates.add(new Candidate(phrase, length, (long) (frequency - 1) * length));
+          }
+        });
+    candidates.sort(Comparator.comparingLong(Candidate::score).reversed());
+
+    final List<Candidate> chosen = new ArrayList<>();
+    final StringBuilder packed = new StringBuilder();
+    int size = 0;
+    for (final Candidate candidate : candidates) {
+      if (limit - size <= 3) {
+        break;
+      }
+      if (size + candidate.length() > limit) {
+        continue;
+      }
+      if (packed.indexOf(candidate.phrase()) >= 0) {
+        continue;
+      }
+      chosen.add(candidate);
+      packed.append(candidate.phrase());
+      size += candidate.length();
+    }
+
+    final StringBuilder dictionary = new StringBuilder(size);
+    for (int i = chosen.size() - 1; i >= 0; i--) {
+      dictionary.append(chosen.get(i).phrase());
+    }
+    return dictionary.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private record Candidate(String phrase, int length, long score) {}
+}
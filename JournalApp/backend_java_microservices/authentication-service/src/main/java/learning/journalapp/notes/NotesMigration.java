@@ -0,0 +1,118 @@
+package learning.journalapp.notes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import learning.journalapp.crypto.DataKeyService;
+import learning.journalapp.crypto.EncryptedNotesConverter;
+import learning.journalapp.crypto.SealedText;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves notes written before {@code journal_entry_notes} existed out of the old {@code
+ * journal_entries.notes} column, compressing and encrypting them on the way, in batches on a
+ * background thread. Does nothing once the column is gone or empty; it can be dropped once every
+ * environment has run this to the end.
+ *
+ * <p>Rows are locked with {@code SKIP LOCKED}, so several instances starting together share the
+ * work instead of moving the same notes twice.
+ */
+@Component
+public class NotesMigration
+    implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+  private static final StructuredLogger logger = StructuredLogger.getLogger(NotesMigration.class);
+
+  private static final String HAS_LEGACY_COLUMN_SQL =
+      "SELECT EXISTS (SELECT 1 FROM information_schema.columns"
+          + " WHERE table_schema = current_schema() AND table_name = 'journal_entries'"
+          + " AND column_name = 'notes')";
+  private static final String SELECT_BATCH_SQL =
+      "SELECT id, user_id, notes FROM journal_entries WHERE notes IS NOT NULL AND notes_id IS NULL"
+          + " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+  private static final String INSERT_NOTES_SQL =
+      "INSERT INTO journal_entry_notes (content) VALUES (?) RETURNING id";
+  private static final String LINK_NOTES_SQL =
+      "UPDATE journal_entries SET notes_id = ?, notes = NULL WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EncryptedNotesConverter notesConverter;
+  private final DataKeyService dataKeyService;
+  private final TransactionTemplate transaction;
+  private final int batchSize;
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "notes-migration");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public NotesMigration(
+      final JdbcTemplate jdbcTemplate,
+      final EncryptedNotesConverter notesConverter,
+      final DataKeyService dataKeyService,
+      final PlatformTransactionManager transactionManager,
+      @Value("${notes.migration.batch-size:500}") final int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.notesConverter = notesConverter;
+    this.dataKeyService = dataKeyService;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationStartedEvent event) {
+    executor.execute(this::migrate);
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private void migrate() {
+    try {
+      if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_LEGACY_COLUMN_SQL, Boolean.class))) {
+        return;
+      }
+      long moved = 0;
+      int batch;
+      do {
+        batch = transaction.execute(status -> moveBatch());
+        moved += batch;
+      } while (batch == batchSize && !Thread.currentThread().isInterrupted());
+      if (moved > 0) {
+        logger.info("Moved journal entry notes", Map.of("entries", String.valueOf(moved)));
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Notes migration failed; it resumes on the next start", e);
+    }
+  }
+
+  private int moveBatch() {
+    final List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_BATCH_SQL, batchSize);
+    dataKeyService.preload(rows.stream().map(NotesMigration::userId).toList());
+    for (final Map<String, Object> row : rows) {
+      final SealedText notes = new SealedText(userId(row), (String) row.get("notes"));
+      final Long notesId =
+          jdbcTemplate.queryForObject(
+              INSERT_NOTES_SQL, Long.class, notesConverter.convertToDatabaseColumn(notes));
+      jdbcTemplate.update(LINK_NOTES_SQL, notesId, row.get("id"));
+    }
+    return rows.size();
+  }
+
+  private static long userId(final Map<String, Object> row) {
+    return ((Number) row.get("user_id")).longValue();
+  }
+}
@@ -0,0 +1,50 @@
+package learning.journalapp.reminder;
+
+import java.time.Duration;
+import java.time.Instant;
+import learning.journalapp.entity.MedicationReminder;
+
+/** One occurrence of a reminder, as held by the timing wheel. */
+record DueReminder(
+    long id,
+    long userId,
+    int shard,
+    String medicationName,
+    String dosage,
+    Instant dueAt,
+    Integer repeatIntervalMinutes) {
+
+  static DueReminder of(final MedicationReminder reminder) {
+    return new DueReminder(
+        reminder.getId(),
+        reminder.getUserId(),
+        reminder.getShard(),
+        reminder.getMedicationName(),
+        reminder.getDosage(),
+        reminder.getNextDueAt(),
+        reminder.getRepeatIntervalMinutes());
+  }
+
+  /**
+   * The first occurrence after {@code now}, skipping any that were missed, or null for a one-off
+   * reminder.
+   */
+  DueReminder next(final Instant now) {
+    if (repeatIntervalMinutes == null) {
+      return null;
+    }
+    final long periods = Duration.between(dueAt, now).toMinutes() / repeatIntervalMinutes + 1;
+    return new DueReminder(
+        id,
+        userId,
+        shard,
+        medicationName,
+        dosage,
+        dueAt.plus(Duration.ofMinutes(periods * repeatIntervalMinutes)),
+        repeatIntervalMinutes);
+  }
+
+  ReminderNotification toNotification() {
+    return new ReminderNotification(id, userId, medicationName, dosage, dueAt);
+  }
+}
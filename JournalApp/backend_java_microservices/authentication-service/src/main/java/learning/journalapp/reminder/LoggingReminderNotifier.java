@@ -0,0 +1,30 @@
+package learning.journalapp.reminder;
+
+import java.util.List;
+import java.util.Map;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in notifier that logs each reminder, until a real delivery channel is configured. Logs
+ * only IDs: medication names and dosages are health data, encrypted at rest.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(LoggingReminderNotifier.class);
+
+  @Override
+  public void deliver(final List<ReminderNotification> batch) {
+    for (final ReminderNotification notification : batch) {
+      logger.info(
+          "Medication reminder due",
+          Map.of(
+              "reminderId", String.valueOf(notification.reminderId()),
+              "userId", String.valueOf(notification.userId())));
+    }
+  }
+}
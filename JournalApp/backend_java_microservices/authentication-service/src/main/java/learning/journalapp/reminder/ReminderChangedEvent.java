@@ -0,0 +1,9 @@
+package learning.journalapp.reminder;
+
+/**
+ * Published when a reminder is scheduled or deleted, so the instance that made the change can
+ * update its timers without waiting for the next load.
+ *
+ * @param scheduled the reminder's next occurrence, or null if it was deleted
+ */
+record ReminderChangedEvent(long reminderId, DueReminder scheduled) {}
@@ -0,0 +1,106 @@
+package learning.journalapp.reminder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares the reminder shards between running instances through leases in the database. Each
+ * renewal extends this instance's leases, then takes free shards or gives some up so that every
+ * live instance holds about {@code ceil(shards / instances)}. A shard whose owner stopped renewing
+ * is free once its lease expires.
+ *
+ * <p>All times are the database's, so instance clocks don't need to agree. Leases only decide who
+ * should load a shard; delivery itself re-checks the lease (see {@link ReminderStore#claim}), so an
+ * instance that was paused past its lease cannot deliver a reminder its successor also delivers.
+ */
+@Component
+public class ReminderLeaseManager {
+
+  private static final String HEARTBEAT_SQL =
+      "INSERT INTO reminder_scheduler_members (owner, expires_at)"
+          + " VALUES (?, now() + ? * interval '1 millisecond')"
+          + " ON CONFLICT (owner) DO UPDATE SET expires_at = EXCLUDED.expires_at";
+  private static final String PURGE_MEMBERS_SQL =
+      "DELETE FROM reminder_scheduler_members WHERE expires_at < now()";
+  private static final String COUNT_MEMBERS_SQL =
+      "SELECT count(*) FROM reminder_scheduler_members WHERE expires_at > now()";
+  private static final String RENEW_SQL =
+      "UPDATE reminder_shard_leases SET expires_at = now() + ? * interval '1 millisecond'"
+          + " WHERE owner = ? RETURNING shard";
+  private static final String FREE_SHARDS_SQL =
+      "SELECT s FROM generate_series(0, ?) AS s WHERE NOT EXISTS"
+          + " (SELECT 1 FROM reminder_shard_leases l WHERE l.shard = s AND l.expires_at > now())";
+  private static final String ACQUIRE_SQL =
+      "INSERT INTO reminder_shard_leases (shard, owner, expires_at)"
+          + " VALUES (?, ?, now() + ? * interval '1 millisecond')"
+          + " ON CONFLICT (shard) DO UPDATE SET owner = EXCLUDED.owner,"
+          + " expires_at = EXCLUDED.expires_at WHERE reminder_shard_leases.expires_at < now()";
+  private static final String RELEASE_SQL =
+      "DELETE FROM reminder_shard_leases WHERE shard = ? AND owner = ?";
+  private static final String RELEASE_ALL_SQL = "DELETE FROM reminder_shard_leases WHERE owner = ?";
+  private static final String LEAVE_SQL = "DELETE FROM reminder_scheduler_members WHERE owner = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final long leaseMillis;
+
+  /** Identifies this instance in the lease table; unique per process start. */
+  @Getter private final String owner = UUID.randomUUID().toString();
+
+  public ReminderLeaseManager(
+      final JdbcTemplate jdbcTemplate,
+      @Value("${reminders.lease-duration:30s}") final Duration leaseDuration) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.leaseMillis = leaseDuration.toMillis();
+  }
+
+  /**
+   * Renew this instance's leases and rebalance. Must run well within the lease duration.
+   *
+   * @return the shards this instance holds
+   */
+  public Set<Integer> renew() {
+    jdbcTemplate.update(HEARTBEAT_SQL, owner, leaseMillis);
+    jdbcTemplate.update(PURGE_MEMBERS_SQL);
+    final long members = Math.max(1, jdbcTemplate.queryForObject(COUNT_MEMBERS_SQL, Long.class));
+    final int target = (int) ((ReminderShards.COUNT + members - 1) / members);
+
+    final List<Integer> owned =
+        new ArrayList<>(jdbcTemplate.queryForList(RENEW_SQL, Integer.class, leaseMillis, owner));
+    if (owned.size() > target) {
+      // Give up the surplus so that instances that joined can take it
+      Collections.sort(owned);
+      while (owned.size() > target) {
+        jdbcTemplate.update(RELEASE_SQL, owned.remove(owned.size() - 1), owner);
+      }
+    } else if (owned.size() < target) {
+      final List<Integer> free =
+          jdbcTemplate.queryForList(FREE_SHARDS_SQL, Integer.class, ReminderShards.COUNT - 1);
+      // Instances that start together would otherwise all race for the same shards
+      Collections.shuffle(free);
+      for (final Integer shard : free) {
+        if (owned.size() >= target) {
+          break;
+        }
+        if (jdbcTemplate.update(ACQUIRE_SQL, shard, owner, leaseMillis) > 0) {
+          owned.add(shard);
+        }
+      }
+    }
+    return new HashSet<>(owned);
+  }
+
+  /** Give up every lease at shutdown, so other instances take over without waiting for expiry. */
+  public void releaseAll() {
+    jdbcTemplate.update(RELEASE_ALL_SQL, owner);
+    jdbcTemplate.update(LEAVE_SQL, owner);
+  }
+}
@@ -0,0 +1,7 @@
+package learning.journalapp.reminder;
+
+import java.time.Instant;
+
+/** A reminder that is due, as handed to the {@link ReminderNotifier}. */
+public record ReminderNotification(
+    long reminderId, long userId, String medicationName, String dosage, Instant dueAt) {}
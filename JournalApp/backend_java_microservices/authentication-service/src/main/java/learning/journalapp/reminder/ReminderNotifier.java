@@ -0,0 +1,15 @@
+package learning.journalapp.reminder;
+
+import java.util.List;
+
+/**
+ * Delivers due reminders to users, e.g. as push notifications or emails. Called with batches of
+ * reminders that fell due on the same tick, so an implementation can use a provider's bulk API.
+ *
+ * <p>Called on a virtual thread, so it may block; it should not return before the batch has been
+ * handed off, since reminders are marked as sent before delivery and are not retried.
+ */
+public interface ReminderNotifier {
+
+  void deliver(List<ReminderNotification> batch);
+}
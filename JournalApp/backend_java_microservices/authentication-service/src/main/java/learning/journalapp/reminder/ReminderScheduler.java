@@ -0,0 +1,284 @@
+package learning.journalapp.reminder;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.platform.util.timer.HierarchicalTimingWheel;
+import learning.journalapp.platform.util.timer.HierarchicalTimingWheel.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Delivers medication reminders from an in-memory {@link HierarchicalTimingWheel} instead of
+ * polling the reminders table for due rows.
+ *
+ * <ul>
+ *   <li>Each instance leases a share of the {@link ReminderShards} (see {@link
+ *       ReminderLeaseManager}) and only handles reminders of its own shards.
+ *   <li>Every {@code reminders.load-interval} it loads the reminders of its shards that fall due
+ *       in the next {@code reminders.load-ahead}, plus any written since the last load, and puts
+ *       them on the wheel. Reminders written on this instance are put on the wheel immediately.
+ *   <li>Every {@code reminders.tick} the wheel is advanced; the reminders that expired are claimed
+ *       in the database in one batch and handed to the {@link ReminderNotifier}.
+ * </ul>
+ *
+ * <p>Scheduling a reminder is O(1) and memory holds only the current window, so the cost follows
+ * the number of reminders due, not the number of users. Delivery is at most once: a reminder is
+ * moved on to its next occurrence before it is delivered, so a crash in between loses it rather
+ * than sending it twice. Reminders more than {@code reminders.max-lateness} overdue (e.g. after an
+ * outage) are moved on without being delivered.
+ *
+ * <p>The wheel, the timer map and the shard set are confined to the scheduler thread.
+ */
+@Component
+public class ReminderScheduler
+    implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(ReminderScheduler.class);
+
+  /** Re-reads changes this far before the last load, to catch transactions that committed late. */
+  private static final Duration CHANGE_SCAN_OVERLAP = Duration.ofMinutes(1);
+
+  private static final int WHEEL_SIZE = 64;
+  private static final int WHEEL_LEVELS = 3;
+
+  private final ReminderLeaseManager leaseManager;
+  private final ReminderStore reminderStore;
+  private final ReminderNotifier notifier;
+  private final Duration tick;
+  private final Duration loadInterval;
+  private final Duration loadAhead;
+  private final Duration leaseRenewInterval;
+  private final Duration maxLateness;
+  private final int batchSize;
+  private final Counter deliveredReminders;
+  private final Counter skippedReminders;
+  private final AtomicInteger pendingReminders = new AtomicInteger();
+  private final AtomicInteger ownedShardCount = new AtomicInteger();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "reminder-scheduler");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final HierarchicalTimingWheel<DueReminder> wheel;
+  private final Map<Long, Timeout<DueReminder>> timers = new HashMap<>();
+  private Set<Integer> ownedShards = Set.of();
+  private Instant loadedUntil;
+  private Instant lastLoad;
+
+  public ReminderScheduler(
+      final ReminderLeaseManager leaseManager,
+      final ReminderStore reminderStore,
+      final ReminderNotifier notifier,
+      final MeterRegistry meterRegistry,
+      @Value("${reminders.tick:1s}") final Duration tick,
+      @Value("${reminders.load-interval:1m}") final Duration loadInterval,
+      @Value("${reminders.load-ahead:5m}") final Duration loadAhead,
+      @Value("${reminders.lease-renew-interval:10s}") final Duration leaseRenewInterval,
+      @Value("${reminders.max-lateness:1h}") final Duration maxLateness,
+      @Value("${reminders.delivery-batch-size:500}") final int batchSize) {
+    this.leaseManager = leaseManager;
+    this.reminderStore = reminderStore;
+    this.notifier = notifier;
+    this.tick = tick;
+    this.loadInterval = loadInterval;
+    this.loadAhead = loadAhead;
+    this.leaseRenewInterval = leaseRenewInterval;
+    this.maxLateness = maxLateness;
+    this.batchSize = batchSize;
+
+    final Instant now = Instant.now();
+    this.wheel =
+        new HierarchicalTimingWheel<>(
+            now.toEpochMilli(), tick.toMillis(), WHEEL_SIZE, WHEEL_LEVELS);
+    this.loadedUntil = now;
+    this.lastLoad = now;
+
+    this.deliveredReminders =
+        Counter.builder("journalapp.reminders.delivered")
+            .description("Reminders handed to the notifier")
+            .register(meterRegistry);
+    this.skippedReminders =
+        Counter.builder("journalapp.reminders.skipped")
+            .description("Expired timers not delivered: stale, shard lost, or too late")
+            .register(meterRegistry);
+    Gauge.builder("journalapp.reminders.pending", pendingReminders, AtomicInteger::get)
+        .description("Reminders waiting on this instance's timing wheel")
+        .register(meterRegistry);
+    Gauge.builder("journalapp.reminders.shards.owned", ownedShardCount, AtomicInteger::get)
+        .description("Reminder shards leased by this instance")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationStartedEvent event) {
+    // Leases first: the first load needs to know which shards are this instance's
+    scheduler.scheduleWithFixedDelay(
+        this::renewLeases, 0, leaseRenewInterval.toMillis(), TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(this::load, 0, loadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    scheduler.scheduleAtFixedRate(
+        this::advance, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    scheduler.shutdownNow();
+    deliveryExecutor.shutdown();
+    deliveryExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    try {
+      leaseManager.releaseAll();
+    } catch (final RuntimeException e) {
+      logger.warn("Could not release reminder shard leases", e);
+    }
+  }
+
+  @TransactionalEventListener
+  void onReminderChanged(final ReminderChangedEvent event) {
+    scheduler.execute(
+        () -> {
+          if (event.scheduled() != null) {
+            track(event.scheduled());
+          } else {
+            untrack(event.reminderId());
+          }
+        });
+  }
+
+  private void renewLeases() {
+    try {
+      final Set<Integer> owned = leaseManager.renew();
+      final Set<Integer> gained = Set.copyOf(Sets.difference(owned, ownedShards));
+      final Set<Integer> lost = Set.copyOf(Sets.difference(ownedShards, owned));
+      ownedShards = owned;
+      ownedShardCount.set(owned.size());
+
+      if (!lost.isEmpty()) {
+        timers
+            .values()
+            .removeIf(timeout -> lost.contains(timeout.task().shard()) && wheel.cancel(timeout));
+      }
+      if (!gained.isEmpty()) {
+        // Everything up to the loaded window, including reminders the previous owner missed
+        reminderStore.findDue(gained, Instant.EPOCH, loadedUntil).forEach(this::track);
+      }
+      pendingReminders.set(wheel.size());
+      if (!gained.isEmpty() || !lost.isEmpty()) {
+        logger.info(
+            "Reminder shards rebalanced",
+            Map.of(
+                "owned", String.valueOf(owned.size()),
+                "gained", String.valueOf(gained.size()),
+                "lost", String.valueOf(lost.size())));
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Could not renew reminder shard leases", e);
+    }
+  }
+
+  private void load() {
+    try {
+      final Instant now = Instant.now();
+      final Instant horizon = now.plus(loadAhead);
+      final List<DueReminder> loaded = new ArrayList<>();
+      loaded.addAll(reminderStore.findDue(ownedShards, loadedUntil, horizon));
+      loaded.addAll(
+          reminderStore.findChanged(ownedShards, lastLoad.minus(CHANGE_SCAN_OVERLAP), horizon));
+      loadedUntil = horizon;
+      lastLoad = now;
+      loaded.forEach(this::track);
+      pendingReminders.set(wheel.size());
+    } catch (final RuntimeException e) {
+      logger.error("Could not load due reminders", e);
+    }
+  }
+
+  private void advance() {
+    final List<DueReminder> due = new ArrayList<>();
+    wheel.advance(System.currentTimeMillis(), due::add);
+    pendingReminders.set(wheel.size());
+    if (due.isEmpty()) {
+      return;
+    }
+    due.forEach(reminder -> timers.remove(reminder.id()));
+    for (final List<DueReminder> batch : Lists.partition(due, batchSize)) {
+      final List<DueReminder> copy = List.copyOf(batch);
+      deliveryExecutor.execute(() -> deliver(copy));
+    }
+  }
+
+  /** Put a reminder on the wheel if this instance handles it now, replacing a stale timer. */
+  private void track(final DueReminder reminder) {
+    if (!ownedShards.contains(reminder.shard()) || !reminder.dueAt().isBefore(loadedUntil)) {
+      // Not ours, or the load of its window will pick it up
+      return;
+    }
+    final Timeout<DueReminder> existing = timers.get(reminder.id());
+    if (existing != null) {
+      if (existing.task().dueAt().equals(reminder.dueAt())) {
+        return;
+      }
+      wheel.cancel(existing);
+    }
+    timers.put(reminder.id(), wheel.schedule(reminder, reminder.dueAt().toEpochMilli()));
+  }
+
+  private void untrack(final long reminderId) {
+    final Timeout<DueReminder> existing = timers.remove(reminderId);
+    if (existing != null) {
+      wheel.cancel(existing);
+    }
+  }
+
+  /** Runs on a virtual thread, so a slow notifier does not hold up the wheel. */
+  private void deliver(final List<DueReminder> batch) {
+    try {
+      final Instant now = Instant.now();
+      final List<DueReminder> claimed = reminderStore.claim(batch, leaseManager.getOwner(), now);
+      final Instant oldest = now.minus(maxLateness);
+      final List<ReminderNotification> notifications =
+          claimed.stream()
+              .filter(reminder -> !reminder.dueAt().isBefore(oldest))
+              .map(DueReminder::toNotification)
+              .toList();
+      if (!notifications.isEmpty()) {
+        notifier.deliver(notifications);
+      }
+      deliveredReminders.increment(notifications.size());
+      skippedReminders.increment(batch.size() - notifications.size());
+
+      final List<DueReminder> next =
+          claimed.stream().map(reminder -> reminder.next(now)).filter(Objects::nonNull).toList();
+      if (!next.isEmpty()) {
+        scheduler.execute(() -> next.forEach(this::track));
+      }
+    } catch (final RuntimeException e) {
+      logger.error(
+          "Reminder delivery failed", e, Map.of("reminders", String.valueOf(batch.size())));
+    }
+  }
+}
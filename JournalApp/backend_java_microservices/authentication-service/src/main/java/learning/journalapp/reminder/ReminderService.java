@@ -0,0 +1,92 @@
+package learning.journalapp.reminder;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import learning.journalapp.crypto.SealedText;
+import learning.journalapp.dto.MedicationReminderInput;
+import learning.journalapp.dto.MedicationReminderResponse;
+import learning.journalapp.entity.MedicationReminder;
+import learning.journalapp.platform.exception.BadRequestException;
+import learning.journalapp.platform.exception.NotFoundException;
+import learning.journalapp.repository.MedicationReminderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/** Creates, lists and deletes a user's medication reminders; delivery is the scheduler's job. */
+@Service
+@RequiredArgsConstructor
+public class ReminderService {
+
+  private static final NotFoundException REMINDER_NOT_FOUND =
+      new NotFoundException("Reminder not found");
+  private static final BadRequestException MISSING_MEDICATION =
+      new BadRequestException("Medication name and dosage are required");
+  private static final BadRequestException INVALID_DUE_AT =
+      new BadRequestException("firstDueAt must be an ISO-8601 instant, e.g. 2025-01-31T08:00:00Z");
+  private static final BadRequestException INVALID_INTERVAL =
+      new BadRequestException("repeatIntervalMinutes must be positive");
+
+  private final MedicationReminderRepository medicationReminderRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Transactional
+  public MedicationReminderResponse schedule(
+      final long userId, final MedicationReminderInput input) {
+    if (!StringUtils.hasText(input.medicationName()) || !StringUtils.hasText(input.dosage())) {
+      throw MISSING_MEDICATION;
+    }
+    if (input.repeatIntervalMinutes() != null && input.repeatIntervalMinutes() <= 0) {
+      throw INVALID_INTERVAL;
+    }
+
+    final MedicationReminder reminder =
+        medicationReminderRepository.save(
+            MedicationReminder.builder()
+                .userId(userId)
+                .shard(ReminderShards.shardOf(userId))
+                .medicationName(SealedText.of(userId, input.medicationName()))
+                .dosage(SealedText.of(userId, input.dosage()))
+                .nextDueAt(parseDueAt(input.firstDueAt()))
+                .repeatIntervalMinutes(input.repeatIntervalMinutes())
+                .build());
+    eventPublisher.publishEvent(
+        new ReminderChangedEvent(reminder.getId(), DueReminder.of(reminder)));
+    return MedicationReminderResponse.from(reminder);
+  }
+
+  @Transactional(readOnly = true)
+  public List<MedicationReminderResponse> list(final long userId) {
+    return medicationReminderRepository
+        .findAllByUserIdAndNextDueAtNotNullOrderByNextDueAt(userId)
+        .stream()
+        .map(MedicationReminderResponse::from)
+        .toList();
+  }
+
+  @Transactional
+  public void delete(final long userId, final long reminderId) {
+    final MedicationReminder reminder =
+        medicationReminderRepository
+            .findByIdAndUserId(reminderId, userId)
+            .orElseThrow(() -> REMINDER_NOT_FOUND);
+    medicationReminderRepository.delete(reminder);
+    eventPublisher.publishEvent(new ReminderChangedEvent(reminderId, null));
+  }
+
+  /** Whole seconds, so the time the scheduler holds always equals the stored one. */
+  private static Instant parseDueAt(final String dueAt) {
+    if (dueAt == null) {
+      throw INVALID_DUE_AT;
+    }
+    try {
+      return Instant.parse(dueAt).truncatedTo(ChronoUnit.SECONDS);
+    } catch (final DateTimeParseException e) {
+      throw INVALID_DUE_AT;
+    }
+  }
+}
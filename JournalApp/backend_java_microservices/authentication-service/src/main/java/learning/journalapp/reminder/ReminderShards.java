@@ -0,0 +1,22 @@
+package learning.journalapp.reminder;
+
+/** Maps users to reminder shards, the unit of work that instances lease from each other. */
+public final class ReminderShards {
+
+  /**
+   * Number of shards. Stored with every reminder, so changing it needs the shard column rewritten;
+   * it also caps how many instances can share the delivery work.
+   */
+  public static final int COUNT = 64;
+
+  private ReminderShards() {}
+
+  /** Shard of a user's reminders; user IDs are sequential, so they are mixed before the modulo. */
+  public static int shardOf(final long userId) {
+    long hash = userId;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return (int) Long.remainderUnsigned(hash, COUNT);
+  }
+}
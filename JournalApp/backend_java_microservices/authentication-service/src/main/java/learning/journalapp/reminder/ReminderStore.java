@@ -0,0 +1,126 @@
+package learning.journalapp.reminder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import learning.journalapp.crypto.EncryptedTextConverter;
+import learning.journalapp.crypto.SealedText;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Schedule queries of the reminder scheduler. Reads go through the {@code (shard, next_due_at)}
+ * index, so loading a window costs the reminders due in it, however many users there are.
+ * Medication names and dosages are decrypted as they are loaded.
+ */
+@Repository
+@RequiredArgsConstructor
+class ReminderStore {
+
+  private static final String COLUMNS =
+      "SELECT id, user_id, shard, medication_name_encrypted, dosage_encrypted, next_due_at,"
+          + " repeat_interval_minutes FROM medication_reminders";
+  private static final String SELECT_DUE_SQL =
+      COLUMNS + " WHERE shard = ANY(?) AND next_due_at >= ? AND next_due_at < ?";
+  private static final String SELECT_CHANGED_SQL =
+      COLUMNS + " WHERE shard = ANY(?) AND updated_at >= ? AND next_due_at < ?";
+  private static final String CLAIM_SQL =
+      "UPDATE medication_reminders r SET next_due_at = ? WHERE r.id = ? AND r.next_due_at = ?"
+          + " AND EXISTS (SELECT 1 FROM reminder_shard_leases l"
+          + " WHERE l.shard = r.shard AND l.owner = ? AND l.expires_at > now())";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EncryptedTextConverter textConverter;
+
+  /** Reminders of the given shards due in {@code [from, before)}. */
+  List<DueReminder> findDue(
+      final Collection<Integer> shards, final Instant from, final Instant before) {
+    return query(SELECT_DUE_SQL, shards, from, before);
+  }
+
+  /** Reminders of the given shards written since {@code since} and due before {@code before}. */
+  List<DueReminder> findChanged(
+      final Collection<Integer> shards, final Instant since, final Instant before) {
+    return query(SELECT_CHANGED_SQL, shards, since, before);
+  }
+
+  /**
+   * Move each reminder on to its next occurrence (or mark a one-off reminder as done), provided it
+   * is still due at the time it was loaded with and {@code owner} still holds the lease of its
+   * shard. The conditions make a stale timer (the reminder was edited or deleted) and a timer of a
+   * shard that was lost to another instance fire nothing.
+   *
+   * @return the reminders that were claimed and should be delivered
+   */
+  List<DueReminder> claim(final List<DueReminder> due, final String owner, final Instant now) {
+    final int[] counts =
+        jdbcTemplate.batchUpdate(
+            CLAIM_SQL,
+            new BatchPreparedStatementSetter() {
+              @Override
+              public void setValues(final PreparedStatement statement, final int i)
+                  throws SQLException {
+                final DueReminder reminder = due.get(i);
+                final DueReminder next = reminder.next(now);
+                statement.setTimestamp(1, next == null ? null : Timestamp.from(next.dueAt()));
+                statement.setLong(2, reminder.id());
+                statement.setTimestamp(3, Timestamp.from(reminder.dueAt()));
+                statement.setString(4, owner);
+              }
+
+              @Override
+              public int getBatchSize() {
+                return due.size();
+              }
+            });
+    final List<DueReminder> claimed = new ArrayList<>(due.size());
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] > 0) {
+        claimed.add(due.get(i));
+      }
+    }
+    return claimed;
+  }
+
+  private List<DueReminder> query(
+      final String sql, final Collection<Integer> shards, final Instant from, final Instant to) {
+    if (shards.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(
+        connection -> {
+          final PreparedStatement statement = connection.prepareStatement(sql);
+          statement.setArray(1, connection.createArrayOf("integer", shards.toArray()));
+          statement.setTimestamp(2, Timestamp.from(from));
+          statement.setTimestamp(3, Timestamp.from(to));
+          return statement;
+        },
+        (resultSet, rowNum) -> toDueReminder(resultSet));
+  }
+
+  private DueReminder toDueReminder(final ResultSet resultSet) throws SQLException {
+    final int repeat = resultSet.getInt("repeat_interval_minutes");
+    final Integer repeatIntervalMinutes = resultSet.wasNull() ? null : repeat;
+    final long userId = resultSet.getLong("user_id");
+    return new DueReminder(
+        resultSet.getLong("id"),
+        userId,
+        resultSet.getInt("shard"),
+        SealedText.textOf(
+            textConverter.convertToEntityAttribute(
+                resultSet.getBytes("medication_name_encrypted")),
+            userId),
+        SealedText.textOf(
+            textConverter.convertToEntityAttribute(resultSet.getBytes("dosage_encrypted")),
+            userId),
+        resultSet.getTimestamp("next_due_at").toInstant(),
+        repeatIntervalMinutes);
+  }
+}
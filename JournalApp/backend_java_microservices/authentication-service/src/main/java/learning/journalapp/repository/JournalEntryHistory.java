@@ -0,0 +1,28 @@
+package learning.journalapp.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import learning.journalapp.entity.JournalEntry;
+import learning.journalapp.entity.Mood;
+
+/**
+ * Queries over a user's whole journal, answered from {@code journal_entries} and the entry archive
+ * together, so callers need not know which entries have been archived. Archived entries come back
+ * as detached {@link JournalEntry} instances, with their notes and medications; they are read-only
+ * and must not be saved.
+ *
+ * <p>Should an entry have been written for a day that is also archived, the one in {@code
+ * journal_entries} is returned.
+ */
+public interface JournalEntryHistory {
+
+  /** The user's entries dated {@code from} to {@code to} inclusive, in date order. */
+  List<JournalEntry> findHistory(long userId, LocalDate from, LocalDate to);
+
+  /** The user's entries on the same day as {@code date} in earlier years, most recent first. */
+  List<JournalEntry> findOnThisDay(long userId, LocalDate date);
+
+  /** Number of the user's entries of each mood dated {@code from} to {@code to} inclusive. */
+  Map<Mood, Long> countMoods(long userId, LocalDate from, LocalDate to);
+}
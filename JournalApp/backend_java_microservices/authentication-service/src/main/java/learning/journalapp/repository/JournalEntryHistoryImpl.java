@@ -0,0 +1,181 @@
+package learning.journalapp.repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import learning.journalapp.archive.ArchivedEntry;
+import learning.journalapp.archive.EntryArchive;
+import learning.journalapp.crypto.DataKeyService;
+import learning.journalapp.crypto.EncryptedNotesConverter;
+import learning.journalapp.crypto.EncryptedTextConverter;
+import learning.journalapp.crypto.SealedText;
+import learning.journalapp.entity.JournalEntry;
+import learning.journalapp.entity.JournalEntryNotes;
+import learning.journalapp.entity.Medication;
+import learning.journalapp.entity.Mood;
+import learning.journalapp.entity.User;
+import learning.journalapp.entity.WeatherSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads {@code journal_entries} before the archive: entries archived in between are then found in
+ * both, rather than in neither.
+ */
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+class JournalEntryHistoryImpl implements JournalEntryHistory {
+
+  private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+  private final EntityManager entityManager;
+  private final EntryArchive entryArchive;
+  private final DataKeyService dataKeyService;
+  private final EncryptedNotesConverter notesConverter;
+  private final EncryptedTextConverter textConverter;
+
+  @Override
+  public List<JournalEntry> findHistory(
+      final long userId, final LocalDate from, final LocalDate to) {
+    dataKeyService.preload(List.of(userId));
+    final TreeMap<LocalDate, JournalEntry> entries = new TreeMap<>();
+    for (final JournalEntry entry :
+        entityManager
+            .createQuery(
+                "select e from JournalEntry e where e.user.id = :userId"
+                    + " and e.entryDate between :from and :to",
+                JournalEntry.class)
+            .setParameter("userId", userId)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .setHint(FETCH_GRAPH_HINT, withNotesAndMedications())
+            .getResultList()) {
+      entries.put(entry.getEntryDate(), entry);
+    }
+    final User user = entityManager.getReference(User.class, userId);
+    for (final ArchivedEntry archived : entryArchive.find(userId, from, to)) {
+      entries.computeIfAbsent(archived.entryDate(), date -> toEntity(user, archived));
+    }
+    return new ArrayList<>(entries.values());
+  }
+
+  @Override
+  public List<JournalEntry> findOnThisDay(final long userId, final LocalDate date) {
+    dataKeyService.preload(List.of(userId));
+    final Map<LocalDate, JournalEntry> entries = new HashMap<>();
+    for (final JournalEntry entry :
+        entityManager
+            .createQuery(
+                "select e from JournalEntry e where e.user.id = :userId"
+                    + " and extract(month from e.entryDate) = :month"
+                    + " and extract(day from e.entryDate) = :day and e.entryDate < :date",
+                JournalEntry.class)
+            .setParameter("userId", userId)
+            .setParameter("month", date.getMonthValue())
+            .setParameter("day", date.getDayOfMonth())
+            .setParameter("date", date)
+            .setHint(FETCH_GRAPH_HINT, withNotesAndMedications())
+            .getResultList()) {
+      entries.put(entry.getEntryDate(), entry);
+    }
+    final MonthDay day = MonthDay.from(date);
+    final User user = entityManager.getReference(User.class, userId);
+    for (final int year : entryArchive.years(userId)) {
+      // February 29 only exists in leap years
+      if (year >= date.getYear() || !day.isValidYear(year)) {
+        continue;
+      }
+      final LocalDate sameDay = day.atYear(year);
+      if (!entries.containsKey(sameDay)) {
+        entryArchive
+            .findByDate(userId, sameDay)
+            .ifPresent(archived -> entries.put(sameDay, toEntity(user, archived)));
+      }
+    }
+    final List<JournalEntry> sorted = new ArrayList<>(entries.values());
+    sorted.sort(Comparator.comparing(JournalEntry::getEntryDate).reversed());
+    return sorted;
+  }
+
+  @Override
+  public Map<Mood, Long> countMoods(final long userId, final LocalDate from, final LocalDate to) {
+    final Map<LocalDate, Mood> moods = new HashMap<>();
+    for (final Tuple row :
+        entityManager
+            .createQuery(
+                "select e.entryDate, e.mood from JournalEntry e where e.user.id = :userId"
+                    + " and e.entryDate between :from and :to",
+                Tuple.class)
+            .setParameter("userId", userId)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList()) {
+      moods.put(row.get(0, LocalDate.class), row.get(1, Mood.class));
+    }
+    entryArchive.forEachMood(userId, from, to, moods::putIfAbsent);
+
+    final Map<Mood, Long> counts = new EnumMap<>(Mood.class);
+    moods.values().forEach(mood -> counts.merge(mood, 1L, Long::sum));
+    return counts;
+  }
+
+  private EntityGraph<JournalEntry> withNotesAndMedications() {
+    final EntityGraph<JournalEntry> graph = entityManager.createEntityGraph(JournalEntry.class);
+    graph.addAttributeNodes("medications", "entryNotes");
+    return graph;
+  }
+
+  private JournalEntry toEntity(final User user, final ArchivedEntry archived) {
+    final boolean hasWeather =
+        archived.weatherCondition() != null
+            || archived.temperatureCelsius() != null
+            || archived.humidity() != null;
+    final JournalEntry entry =
+        JournalEntry.builder()
+            .id(archived.id())
+            .user(user)
+            .entryDate(archived.entryDate())
+            .mood(archived.mood())
+            .season(archived.season())
+            .weather(
+                hasWeather
+                    ? new WeatherSnapshot(
+                        archived.weatherCondition(),
+                        archived.temperatureCelsius(),
+                        archived.humidity())
+                    : null)
+            .latitude(archived.latitude())
+            .longitude(archived.longitude())
+            .entryNotes(
+                archived.notes() == null
+                    ? null
+                    : new JournalEntryNotes(
+                        notesConverter.convertToEntityAttribute(archived.notes())))
+            .createdAt(archived.createdAt())
+            .updatedAt(archived.updatedAt())
+            .changeSeq(archived.changeSeq())
+            .build();
+    for (final ArchivedEntry.ArchivedMedication medication : archived.medications()) {
+      entry
+          .getMedications()
+          .add(
+              new Medication(
+                  entry,
+                  SealedText.textOf(
+                      textConverter.convertToEntityAttribute(medication.name()), user.getId()),
+                  SealedText.textOf(
+                      textConverter.convertToEntityAttribute(medication.dosage()), user.getId()),
+                  medication.timeTaken()));
+    }
+    return entry;
+  }
+}
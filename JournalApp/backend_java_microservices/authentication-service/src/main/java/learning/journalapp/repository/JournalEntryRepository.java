@@ -0,0 +1,28 @@
+package learning.journalapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+import learning.journalapp.entity.JournalEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface JournalEntryRepository
+    extends JpaRepository<JournalEntry, Long>, JournalEntryHistory {
+
+  /** Load entries together with their medications and notes, in one query. */
+  @EntityGraph(attributePaths = {"medications", "entryNotes"})
+  List<JournalEntry> findAllByIdIn(Collection<Long> ids);
+
+  /** Entries with a location but no weather and an ID above {@code afterId}, in ID order. */
+  @Query(
+      "select e from JournalEntry e where e.id > :afterId and e.latitude is not null"
+          + " and e.longitude is not null and e.weather.condition is null order by e.id")
+  List<JournalEntry> findMissingWeather(@Param("afterId") long afterId, Pageable page);
+}
@@ -0,0 +1,16 @@
+package learning.journalapp.repository;
+
+import java.util.List;
+import java.util.Optional;
+import learning.journalapp.entity.MedicationReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MedicationReminderRepository extends JpaRepository<MedicationReminder, Long> {
+
+  /** A user's reminders that have not finished, soonest first. */
+  List<MedicationReminder> findAllByUserIdAndNextDueAtNotNullOrderByNextDueAt(long userId);
+
+  Optional<MedicationReminder> findByIdAndUserId(long id, long userId);
+}
@@ -0,0 +1,11 @@
+package learning.journalapp.repository;
+
+/** The columns of a user that must be unique, for bulk loading without entities. */
+public interface UserIdentity {
+
+  Long getId();
+
+  String getUsername();
+
+  String getEmail();
+}
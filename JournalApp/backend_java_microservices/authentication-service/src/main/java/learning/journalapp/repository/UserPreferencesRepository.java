@@ -4,8 +4,10 @@ import java.util.Optional;
 import learning.journalapp.entity.UserPreferences;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface UserPreferencesRepository extends JpaRepository<UserPreferences, Long> {
   Optional<UserPreferences> findByUserId(final Long userId);
 }
@@ -1,15 +1,36 @@
 package learning.journalapp.repository;
 
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import java.util.stream.Stream;
 import learning.journalapp.entity.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByUsername(String username);
 
   boolean existsByUsername(String username);
 
   boolean existsByEmail(String email);
+
+  /**
+   * Stream the unique columns of users with an ID above {@code afterId}, in ID order, fetching
+   * rows in batches instead of materializing the table. Must be consumed inside a transaction.
+   */
+  @Query(
+      "select u.id as id, u.username as username, u.email as email from User u"
+          + " where u.id > :afterId order by u.id")
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<UserIdentity> streamIdentitiesAfter(@Param("afterId") long afterId);
 }
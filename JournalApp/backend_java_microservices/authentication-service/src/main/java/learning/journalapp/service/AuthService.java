@@ -1,8 +1,12 @@
 package learning.journalapp.service;
 
 import java.util.Map;
+import learning.journalapp.availability.AvailabilityService;
+import learning.journalapp.datasource.ReadYourWrites;
 import learning.journalapp.entity.User;
+import learning.journalapp.platform.exception.ConflictException;
 import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.platform.logging.SyntheticTraffic;
 import learning.journalapp.platform.security.util.JwtTokenProvider;
 import learning.journalapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,11 +22,17 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
   private static final StructuredLogger logger = StructuredLogger.getLogger(AuthService.class);
+  private static final ConflictException USERNAME_ALREADY_EXISTS =
+      new ConflictException("Username already exists");
+  private static final ConflictException EMAIL_ALREADY_EXISTS =
+      new ConflictException("Email already exists");
 
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder; // From platform!
   private final JwtTokenProvider jwtTokenProvider; // From platform!
   private final AuthenticationManager authenticationManager;
+  private final AvailabilityService availabilityService;
+  private final ReadYourWrites readYourWrites;
 
   @Transactional
   public String login(final String username, final String password) {
@@ -42,7 +52,12 @@ public class AuthService {
       return token;
 
     } catch (Exception e) {
-      logger.error("Login failed", e, Map.of("username", username));
+      // Warm-up logins are expected to fail
+      if (SyntheticTraffic.isSynthetic()) {
+        logger.debug("Login failed", Map.of("username", username));
+      } else {
+        logger.error("Login failed", e, Map.of("username", username));
+      }
       throw e;
     }
   }
@@ -54,12 +69,12 @@ public class AuthService {
     // Check if user already exists
     if (userRepository.existsByUsername(username)) {
       logger.warn("Registration failed - username already exists", Map.of("username", username));
-      throw new RuntimeException("Username already exists");
+      throw USERNAME_ALREADY_EXISTS;
     }
 
     if (userRepository.existsByEmail(email)) {
       logger.warn("Registration failed - email already exists", Map.of("email", email));
-      throw new RuntimeException("Email already exists");
+      throw EMAIL_ALREADY_EXISTS;
     }
 
     // Create new user
@@ -69,6 +84,9 @@ public class AuthService {
     user.setPassword(passwordEncoder.encode(password)); // Use platform encoder!
 
     final User savedUser = userRepository.save(user);
+    availabilityService.recordRegistration(username, email);
+    // So the login that follows finds the new user even if replicas have not caught up
+    readYourWrites.recordWrite(username);
 
     logger.info(
         "User registered successfully",
@@ -1,6 +1,8 @@
 package learning.journalapp.service;
 
 import java.util.Collections;
+import learning.journalapp.datasource.ReadYourWrites;
+import learning.journalapp.platform.security.exception.UserNotFoundException;
 import learning.journalapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -9,19 +11,23 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
   private final UserRepository userRepository;
+  private final ReadYourWrites readYourWrites;
 
   @Override
+  @Transactional(readOnly = true)
   public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
+    // Not authenticated yet, so name the user: right after registering they read the primary
     final var user =
-        userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        readYourWrites
+            .readAs(username, () -> userRepository.findByUsername(username))
+            .orElseThrow(UserNotFoundException::new);
 
     return User.builder()
         .username(user.getUsername())
@@ -1,11 +1,15 @@
 package learning.journalapp.service;
 
 import jakarta.transaction.Transactional;
+import learning.journalapp.availability.AvailabilityService;
+import learning.journalapp.datasource.ReadYourWrites;
 import learning.journalapp.dto.RegisterInput;
 import learning.journalapp.dto.RegisterResponse;
 import learning.journalapp.entity.User;
 import learning.journalapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -15,9 +19,18 @@ public class UserService {
 
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
+  private final AvailabilityService availabilityService;
+  private final ObjectProvider<CompromisedPasswordChecker> compromisedPasswordChecker;
+  private final ReadYourWrites readYourWrites;
 
   @Transactional
   public RegisterResponse registerUser(final RegisterInput request) {
+    // Screen against known breached passwords first: it is in-memory and cheaper than BCrypt
+    final CompromisedPasswordChecker checker = compromisedPasswordChecker.getIfAvailable();
+    if (checker != null && checker.check(request.password()).isCompromised()) {
+      return RegisterResponse.REGISTER_RESPONSE_PASSWORD_COMPROMISED;
+    }
+
     // Check if username already exists
     if (userRepository.existsByUsername(request.username())) {
       return RegisterResponse.REGISTER_RESPONSE_USERNAME_ALREADY_EXISTS;
@@ -36,6 +49,9 @@ public class UserService {
 
     // Save to database
     final User savedUser = userRepository.save(user);
+    availabilityService.recordRegistration(savedUser.getUsername(), savedUser.getEmail());
+    // Not signed in yet, so the routing data source cannot tell whose write this is
+    readYourWrites.recordWrite(savedUser.getUsername());
 
     return RegisterResponse.REGISTER_RESPONSE_SUCCESS_TEMPLATE.userId(savedUser.getId()).build();
   }
@@ -0,0 +1,48 @@
+package learning.journalapp.subscription;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.time.Instant;
+import learning.journalapp.dto.JournalEntryChange;
+import learning.journalapp.dto.JournalEntryChangeType;
+import learning.journalapp.entity.JournalEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link JournalEntry} that publishes a {@link JournalEntryChangedEvent} for every
+ * write, wherever it comes from. Hibernate obtains it from the Spring context, so it can be
+ * injected. Events are published inside the transaction; {@link JournalUpdateBroker} only delivers
+ * them once it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class JournalEntryChangeListener {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PostPersist
+  void onCreated(final JournalEntry entry) {
+    publish(JournalEntryChangeType.CREATED, entry);
+  }
+
+  @PostUpdate
+  void onUpdated(final JournalEntry entry) {
+    publish(JournalEntryChangeType.UPDATED, entry);
+  }
+
+  @PostRemove
+  void onDeleted(final JournalEntry entry) {
+    publish(JournalEntryChangeType.DELETED, entry);
+  }
+
+  private void publish(final JournalEntryChangeType type, final JournalEntry entry) {
+    // getId() on the lazy user proxy does not load the user
+    eventPublisher.publishEvent(
+        new JournalEntryChangedEvent(
+            entry.getUser().getId(),
+            new JournalEntryChange(type, entry.getId(), entry.getEntryDate(), Instant.now())));
+  }
+}
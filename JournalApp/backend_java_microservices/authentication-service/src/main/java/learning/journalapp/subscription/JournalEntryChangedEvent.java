@@ -0,0 +1,6 @@
+package learning.journalapp.subscription;
+
+import learning.journalapp.dto.JournalEntryChange;
+
+/** Published when a journal entry of {@code userId} is created, updated or deleted. */
+public record JournalEntryChangedEvent(long userId, JournalEntryChange change) {}
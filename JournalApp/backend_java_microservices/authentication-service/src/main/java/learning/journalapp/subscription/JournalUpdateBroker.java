@@ -0,0 +1,228 @@
+package learning.journalapp.subscription;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import learning.journalapp.dto.JournalEntryChange;
+import learning.journalapp.platform.exception.ConflictException;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fans out journal entry changes to the owner's live subscriptions.
+ *
+ * <ul>
+ *   <li>Subscriptions are grouped per user. Publishing reads the user's subscriber list without
+ *       locking (a copy-on-write list: subscribing and unsubscribing copy it, which is rare next to
+ *       reads), and every subscriber gets the same change instance.
+ *   <li>Each subscription buffers at most {@code subscriptions.buffer-size} undelivered changes. A
+ *       client that falls that far behind is evicted with a CONFLICT error instead of growing the
+ *       buffer; it should resubscribe and resync.
+ *   <li>Heartbeats come from a single timer for all subscriptions, and only go to subscriptions
+ *       that received nothing during the last interval.
+ * </ul>
+ *
+ * <p>An idle subscription is a subscriber object, a small buffer and its transport session; no
+ * thread is held, so one instance can hold tens of thousands of them.
+ */
+@Component
+public class JournalUpdateBroker implements InitializingBean, DisposableBean {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(JournalUpdateBroker.class);
+
+  private static final ConflictException SLOW_CONSUMER =
+      new ConflictException("Subscription dropped because the client fell behind; resubscribe");
+
+  private final ConcurrentMap<Long, List<Subscriber>> subscribersByUser =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger activeSubscriptions = new AtomicInteger();
+  private final int bufferSize;
+  private final Duration heartbeatInterval;
+  private final Counter evictions;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "subscription-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public JournalUpdateBroker(
+      final MeterRegistry meterRegistry,
+      @Value("${subscriptions.buffer-size:32}") final int bufferSize,
+      @Value("${subscriptions.heartbeat-interval:30s}") final Duration heartbeatInterval) {
+    this.bufferSize = bufferSize;
+    this.heartbeatInterval = heartbeatInterval;
+    this.evictions =
+        Counter.builder("journalapp.subscriptions.evicted")
+            .description("Subscriptions dropped because the client did not keep up")
+            .register(meterRegistry);
+    Gauge.builder("journalapp.subscriptions.active", activeSubscriptions, AtomicInteger::get)
+        .description("Open journal update subscriptions")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    scheduler.scheduleAtFixedRate(
+        this::sendHeartbeats,
+        heartbeatInterval.toMillis(),
+        heartbeatInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+    subscribersByUser.values().forEach(list -> list.forEach(Subscriber::complete));
+  }
+
+  /** Changes to the user's journal entries, from the time of subscription on. */
+  public Flux<JournalEntryChange> subscribe(final long userId) {
+    return Flux.defer(
+        () -> {
+          final Subscriber subscriber = new Subscriber(bufferSize);
+          subscribersByUser.compute(
+              userId,
+              (id, list) -> {
+                final List<Subscriber> subscribers =
+                    list != null ? list : new CopyOnWriteArrayList<>();
+                subscribers.add(subscriber);
+                return subscribers;
+              });
+          activeSubscriptions.incrementAndGet();
+          return subscriber.sink.asFlux().doFinally(signal -> unsubscribe(userId, subscriber));
+        });
+  }
+
+  /** Deliver a change once the transaction that made it has committed. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onJournalEntryChanged(final JournalEntryChangedEvent event) {
+    final List<Subscriber> subscribers = subscribersByUser.get(event.userId());
+    if (subscribers == null) {
+      return;
+    }
+    final long now = System.nanoTime();
+    for (final Subscriber subscriber : subscribers) {
+      deliver(subscriber, event.change(), now);
+    }
+  }
+
+  /** Number of open subscriptions. */
+  public int getActiveSubscriptions() {
+    return activeSubscriptions.get();
+  }
+
+  private void sendHeartbeats() {
+    try {
+      final long now = System.nanoTime();
+      final long idleSince = now - heartbeatInterval.toNanos();
+      JournalEntryChange heartbeat = null;
+      for (final List<Subscriber> subscribers : subscribersByUser.values()) {
+        for (final Subscriber subscriber : subscribers) {
+          if (subscriber.lastSentNanos - idleSince <= 0) {
+            if (heartbeat == null) {
+              heartbeat = JournalEntryChange.heartbeat(Instant.now());
+            }
+            deliver(subscriber, heartbeat, now);
+          }
+        }
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Could not send subscription heartbeats", e);
+    }
+  }
+
+  private void deliver(
+      final Subscriber subscriber, final JournalEntryChange change, final long now) {
+    if (!subscriber.emit(change, now)) {
+      evictions.increment();
+      logger.debug(
+          "Evicted slow subscriber",
+          Map.of("bufferSize", String.valueOf(bufferSize), "change", change.type().name()));
+      subscriber.evict();
+    }
+  }
+
+  private void unsubscribe(final long userId, final Subscriber subscriber) {
+    subscribersByUser.computeIfPresent(
+        userId,
+        (id, list) -> {
+          if (list.remove(subscriber)) {
+            activeSubscriptions.decrementAndGet();
+          }
+          return list.isEmpty() ? null : list;
+        });
+  }
+
+  /** One subscription: a bounded buffer in front of the transport. */
+  private static final class Subscriber {
+
+    final Sinks.Many<JournalEntryChange> sink;
+    volatile long lastSentNanos = System.nanoTime();
+
+    /** Not {@code synchronized}: emitting on a virtual thread would pin its carrier thread. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    Subscriber(final int bufferSize) {
+      this.sink = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(bufferSize));
+    }
+
+    /**
+     * Emit a change. Locked because changes and heartbeats come from different threads.
+     *
+     * @return false if the buffer is full
+     */
+    boolean emit(final JournalEntryChange change, final long now) {
+      lock.lock();
+      try {
+        final Sinks.EmitResult result = sink.tryEmitNext(change);
+        if (result.isSuccess()) {
+          lastSentNanos = now;
+        }
+        // Anything but an overflow means the subscription is already terminated
+        return result != Sinks.EmitResult.FAIL_OVERFLOW;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void evict() {
+      lock.lock();
+      try {
+        sink.tryEmitError(SLOW_CONSUMER);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void complete() {
+      lock.lock();
+      try {
+        sink.tryEmitComplete();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package learning.journalapp.sync;
+
+import java.util.List;
+import learning.journalapp.entity.SyncEntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads a user's change feed: live journal entries, preferences and tombstones after a cursor, in
+ * feed order. Each branch is a range scan on its (user_id, change_seq) index limited to the page
+ * size, so a page costs O(page) regardless of how much history the user has.
+ */
+@Repository
+@RequiredArgsConstructor
+class ChangeFeedRepository {
+
+  private static final String CHANGES_SQL =
+      "(SELECT 'JOURNAL_ENTRY'::text AS entity_type, id AS entity_id, change_seq, FALSE AS deleted"
+          + " FROM journal_entries"
+          + " WHERE user_id = ? AND change_seq >= ?"
+          + " AND (change_seq, 'JOURNAL_ENTRY'::text, id) > (?, ?, ?)"
+          + " ORDER BY change_seq, id LIMIT ?)"
+          + " UNION ALL"
+          + " (SELECT 'PREFERENCES'::text, id, change_seq, FALSE"
+          + " FROM user_preferences"
+          + " WHERE user_id = ? AND change_seq >= ?"
+          + " AND (change_seq, 'PREFERENCES'::text, id) > (?, ?, ?)"
+          + " ORDER BY change_seq, id LIMIT ?)"
+          + " UNION ALL"
+          + " (SELECT entity_type::text, entity_id, change_seq, TRUE"
+          + " FROM sync_tombstones"
+          + " WHERE user_id = ? AND change_seq >= ?"
+          + " AND (change_seq, entity_type::text, entity_id) > (?, ?, ?)"
+          + " ORDER BY change_seq, entity_type, entity_id LIMIT ?)"
+          + " ORDER BY change_seq, entity_type, entity_id LIMIT ?";
+  private static final String PURGED_SEQ_SQL =
+      "SELECT purged_seq FROM user_sync_sequences WHERE user_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Up to {@code limit} changes after the cursor. */
+  List<ChangeRef> findChanges(final long userId, final SyncCursor after, final int limit) {
+    final Object[] branch = {
+      userId, after.changeSeq(), after.changeSeq(), after.entityType(), after.entityId(), limit
+    };
+    final Object[] args = new Object[branch.length * 3 + 1];
+    for (int i = 0; i < 3; i++) {
+      System.arraycopy(branch, 0, args, i * branch.length, branch.length);
+    }
+    args[args.length - 1] = limit;
+
+    return jdbcTemplate.query(
+        CHANGES_SQL,
+        (resultSet, rowNum) ->
+            new ChangeRef(
+                SyncEntityType.valueOf(resultSet.getString(1)),
+                resultSet.getLong(2),
+                resultSet.getLong(3),
+                resultSet.getBoolean(4)),
+        args);
+  }
+
+  /** Highest sequence number of the user's purged tombstones; 0 if none were purged. */
+  long purgedSeq(final long userId) {
+    final List<Long> purged = jdbcTemplate.queryForList(PURGED_SEQ_SQL, Long.class, userId);
+    return purged.isEmpty() ? 0 : purged.get(0);
+  }
+}
@@ -0,0 +1,11 @@
+package learning.journalapp.sync;
+
+import learning.journalapp.entity.SyncEntityType;
+
+/** One row of the change feed: which entity changed, at which sequence number, and how. */
+record ChangeRef(SyncEntityType entityType, long entityId, long changeSeq, boolean deleted) {
+
+  SyncCursor cursor() {
+    return new SyncCursor(changeSeq, entityType.name(), entityId);
+  }
+}
@@ -0,0 +1,79 @@
+package learning.journalapp.sync;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import learning.journalapp.entity.JournalEntry;
+import learning.journalapp.entity.Medication;
+import learning.journalapp.entity.SyncTracked;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps every write to a {@link SyncTracked} entity with the next number of its owner's change
+ * sequence, and records a tombstone for every delete. Medications belong to their journal entry,
+ * so a medication change re-stamps the entry.
+ *
+ * <p>The sequence is a per-user counter row incremented with an upsert on the transaction's own
+ * connection; the row stays locked until commit, so two transactions of the same user commit in
+ * sequence order and a client watermark never skips a change that committed after a higher one.
+ * Tombstones and medication re-stamps are written with plain SQL, since entities cannot be
+ * persisted while Hibernate is flushing.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeSequenceListener {
+
+  private static final String NEXT_SEQ_SQL =
+      "INSERT INTO user_sync_sequences (user_id, last_seq) VALUES (?, 1)"
+          + " ON CONFLICT (user_id) DO UPDATE SET last_seq = user_sync_sequences.last_seq + 1"
+          + " RETURNING last_seq";
+  private static final String INSERT_TOMBSTONE_SQL =
+      "INSERT INTO sync_tombstones (user_id, entity_type, entity_id, change_seq, deleted_at)"
+          + " VALUES (?, ?, ?, ?, ?)";
+  private static final String RESTAMP_ENTRY_SQL =
+      "UPDATE journal_entries SET change_seq = ? WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @PrePersist
+  @PreUpdate
+  void onWrite(final Object entity) {
+    if (entity instanceof final SyncTracked tracked) {
+      tracked.setChangeSeq(nextSeq(tracked.getUser().getId()));
+    } else if (entity instanceof final Medication medication) {
+      restamp(medication.getJournalEntry());
+    }
+  }
+
+  @PreRemove
+  void onRemove(final Object entity) {
+    if (entity instanceof final SyncTracked tracked) {
+      final long userId = tracked.getUser().getId();
+      jdbcTemplate.update(
+          INSERT_TOMBSTONE_SQL,
+          userId,
+          tracked.getSyncEntityType().name(),
+          tracked.getId(),
+          nextSeq(userId),
+          Timestamp.valueOf(LocalDateTime.now()));
+    } else if (entity instanceof final Medication medication) {
+      restamp(medication.getJournalEntry());
+    }
+  }
+
+  /** Bump a journal entry whose medications changed; an unsaved entry is stamped on insert. */
+  private void restamp(final JournalEntry entry) {
+    if (entry != null && entry.getId() != null) {
+      // Not set on the entity: that would make it dirty and stamp it a second time
+      jdbcTemplate.update(RESTAMP_ENTRY_SQL, nextSeq(entry.getUser().getId()), entry.getId());
+    }
+  }
+
+  private long nextSeq(final long userId) {
+    return jdbcTemplate.queryForObject(NEXT_SEQ_SQL, Long.class, userId);
+  }
+}
@@ -0,0 +1,50 @@
+package learning.journalapp.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import learning.journalapp.entity.SyncEntityType;
+import learning.journalapp.platform.exception.BadRequestException;
+
+/**
+ * Position in a user's change feed: the last change the client has seen. Changes are ordered by
+ * (change sequence, entity type, entity ID); the type and ID only break ties between rows written
+ * before delta sync, which all share sequence 0. Opaque to clients.
+ */
+record SyncCursor(long changeSeq, String entityType, long entityId) {
+
+  /** Before every change, including those from before delta sync. */
+  static final SyncCursor START = new SyncCursor(0, "", 0);
+
+  private static final BadRequestException INVALID_CURSOR =
+      new BadRequestException("Invalid sync cursor");
+
+  static SyncCursor decode(final String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return START;
+    }
+    try {
+      final String[] parts =
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+      if (parts.length != 3) {
+        throw INVALID_CURSOR;
+      }
+      // Only START has no type; it is handed back after an empty first page
+      if (parts[1].isEmpty()) {
+        return START;
+      }
+      return new SyncCursor(
+          Long.parseLong(parts[0]),
+          SyncEntityType.valueOf(parts[1]).name(),
+          Long.parseLong(parts[2]));
+    } catch (final IllegalArgumentException e) {
+      throw INVALID_CURSOR;
+    }
+  }
+
+  String encode() {
+    final String value = changeSeq + ":" + entityType + ":" + entityId;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
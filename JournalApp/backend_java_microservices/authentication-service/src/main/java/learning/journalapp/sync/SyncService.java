@@ -0,0 +1,123 @@
+package learning.journalapp.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import learning.journalapp.crypto.DataKeyService;
+import learning.journalapp.dto.JournalEntryResponse;
+import learning.journalapp.dto.PreferencesResponse;
+import learning.journalapp.dto.SyncChange;
+import learning.journalapp.dto.SyncPage;
+import learning.journalapp.entity.JournalEntry;
+import learning.journalapp.entity.SyncEntityType;
+import learning.journalapp.entity.UserPreferences;
+import learning.journalapp.repository.JournalEntryRepository;
+import learning.journalapp.repository.UserPreferencesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Delta sync: returns what changed in a user's data since the client's watermark, so a client that
+ * is up to date pays for a single index probe and one that is behind pays for its missed changes,
+ * not for its whole history.
+ *
+ * <p>Each entity appears at most once per feed (at its latest sequence number), with its current
+ * state; deleted entities appear as tombstones. A page reads the feed first, then loads the
+ * changed entities in one query per type.
+ *
+ * <p>Tombstones are purged after a retention period (see {@link TombstonePurger}). A client whose
+ * cursor is older than the newest purged tombstone may have missed deletes, so it gets a full sync
+ * from the start, flagged as {@code resync}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+  private final ChangeFeedRepository changeFeedRepository;
+  private final DataKeyService dataKeyService;
+  private final JournalEntryRepository journalEntryRepository;
+  private final UserPreferencesRepository userPreferencesRepository;
+
+  @Value("${sync.max-page-size:500}")
+  private int maxPageSize;
+
+  @Transactional(readOnly = true)
+  public SyncPage changesSince(final long userId, final String after, final Integer first) {
+    SyncCursor cursor = SyncCursor.decode(after);
+    final int limit = Math.clamp(first != null ? first : maxPageSize, 1, maxPageSize);
+
+    // One extra row tells whether there is another page
+    List<ChangeRef> refs = changeFeedRepository.findChanges(userId, cursor, limit + 1);
+    // Checked after reading the feed, so a purge the read may have missed shows up here
+    final boolean resync =
+        !cursor.equals(SyncCursor.START)
+            && changeFeedRepository.purgedSeq(userId) > cursor.changeSeq();
+    if (resync) {
+      cursor = SyncCursor.START;
+      refs = changeFeedRepository.findChanges(userId, cursor, limit + 1);
+    }
+    final boolean hasMore = refs.size() > limit;
+    final List<ChangeRef> page = hasMore ? refs.subList(0, limit) : refs;
+
+    // Unwrap the data key before loading, rather than from inside row hydration
+    dataKeyService.preload(List.of(userId));
+    final Map<Long, JournalEntry> entries =
+        journalEntryRepository.findAllByIdIn(idsOf(page, SyncEntityType.JOURNAL_ENTRY)).stream()
+            .collect(Collectors.toMap(JournalEntry::getId, Function.identity()));
+    final Map<Long, UserPreferences> preferences =
+        userPreferencesRepository.findAllById(idsOf(page, SyncEntityType.PREFERENCES)).stream()
+            .collect(Collectors.toMap(UserPreferences::getId, Function.identity()));
+
+    final List<SyncChange> changes = new ArrayList<>(page.size());
+    for (final ChangeRef ref : page) {
+      final SyncChange change = toChange(ref, entries, preferences);
+      // Null if deleted since the feed was read; its tombstone comes with the next sync
+      if (change != null) {
+        changes.add(change);
+      }
+    }
+
+    final SyncCursor next = page.isEmpty() ? cursor : page.get(page.size() - 1).cursor();
+    return new SyncPage(changes, next.encode(), hasMore, resync);
+  }
+
+  private static SyncChange toChange(
+      final ChangeRef ref,
+      final Map<Long, JournalEntry> entries,
+      final Map<Long, UserPreferences> preferences) {
+    if (ref.deleted()) {
+      return new SyncChange(ref.entityType(), ref.entityId(), true, null, null);
+    }
+    return switch (ref.entityType()) {
+      case JOURNAL_ENTRY -> {
+        final JournalEntry entry = entries.get(ref.entityId());
+        yield entry == null
+            ? null
+            : new SyncChange(
+                ref.entityType(), ref.entityId(), false, JournalEntryResponse.from(entry), null);
+      }
+      case PREFERENCES -> {
+        final UserPreferences userPreferences = preferences.get(ref.entityId());
+        yield userPreferences == null
+            ? null
+            : new SyncChange(
+                ref.entityType(),
+                ref.entityId(),
+                false,
+                null,
+                PreferencesResponse.from(userPreferences));
+      }
+    };
+  }
+
+  private static List<Long> idsOf(final List<ChangeRef> refs, final SyncEntityType type) {
+    return refs.stream()
+        .filter(ref -> !ref.deleted() && ref.entityType() == type)
+        .map(ChangeRef::entityId)
+        .toList();
+  }
+}
@@ -0,0 +1,100 @@
+package learning.journalapp.sync;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes sync tombstones older than {@code sync.tombstone-retention}, every {@code
+ * sync.tombstone-purge-interval} on a background thread, so {@code sync_tombstones} does not grow
+ * with every delete ever made.
+ *
+ * <p>Each batch deletes its tombstones and raises their owners' {@code purged_seq} in the same
+ * statement, so {@link SyncService} never sees a tombstone gone without the watermark that sends
+ * clients behind it to a full resync. Rows are locked with {@code SKIP LOCKED}, so several
+ * instances purging at once share the work.
+ */
+@Component
+public class TombstonePurger
+    implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+  private static final StructuredLogger logger = StructuredLogger.getLogger(TombstonePurger.class);
+
+  private static final String PURGE_BATCH_SQL =
+      "WITH purged AS (DELETE FROM sync_tombstones WHERE id IN"
+          + " (SELECT id FROM sync_tombstones WHERE deleted_at < ? ORDER BY deleted_at LIMIT ?"
+          + " FOR UPDATE SKIP LOCKED) RETURNING user_id, change_seq)"
+          + " UPDATE user_sync_sequences s SET purged_seq = GREATEST(s.purged_seq, p.max_seq)"
+          + " FROM (SELECT user_id, MAX(change_seq) AS max_seq, COUNT(*) AS deleted FROM purged"
+          + " GROUP BY user_id) p WHERE s.user_id = p.user_id"
+          + " RETURNING p.deleted";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Duration retention;
+  private final Duration interval;
+  private final int batchSize;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "tombstone-purger");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public TombstonePurger(
+      final JdbcTemplate jdbcTemplate,
+      @Value("${sync.tombstone-retention:90d}") final Duration retention,
+      @Value("${sync.tombstone-purge-interval:1h}") final Duration interval,
+      @Value("${sync.tombstone-purge-batch-size:1000}") final int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.retention = retention;
+    this.interval = interval;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationStartedEvent event) {
+    scheduler.scheduleWithFixedDelay(
+        this::purge, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+
+  /** Purge every tombstone past the retention. Runs on the scheduler thread only. */
+  void purge() {
+    try {
+      final Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+      long purged = 0;
+      while (true) {
+        // One row per user in the batch, holding how many of their tombstones went
+        final long deleted =
+            jdbcTemplate.queryForList(PURGE_BATCH_SQL, Long.class, cutoff, batchSize).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        purged += deleted;
+        if (deleted < batchSize) {
+          break;
+        }
+      }
+      if (purged > 0) {
+        logger.info("Purged sync tombstones", Map.of("tombstones", String.valueOf(purged)));
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Could not purge sync tombstones", e);
+    }
+  }
+}
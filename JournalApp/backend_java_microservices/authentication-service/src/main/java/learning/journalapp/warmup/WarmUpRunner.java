@@ -0,0 +1,197 @@
+package learning.journalapp.warmup;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.platform.logging.SyntheticTraffic;
+import learning.journalapp.platform.security.util.JwtTokenProvider;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exercises the login hot paths with synthetic data before the instance takes traffic, so the first
+ * real logins run compiled code instead of the interpreter.
+ *
+ * <p>Runs in rounds until JIT compilation settles (a round adds less than {@code
+ * warmup.settle-compilation-ms} of compile time, twice in a row) or {@code warmup.max-duration}
+ * passes. Each round covers:
+ *
+ * <ul>
+ *   <li>JWT generation, validation and parsing (Nimbus)
+ *   <li>BCrypt hashing and matching
+ *   <li>{@code login} and {@code profile} over HTTP against this instance, which runs the servlet
+ *       filters, the security filter chain, and GraphQL parsing, validation and execution. Both
+ *       use a user that does not exist, so they write nothing: the login is rejected after one
+ *       lookup and a BCrypt check, and the profile request carries a short-lived token for that
+ *       user, so the JWT filter validates and parses it and looks the user up, then the request
+ *       goes on unauthenticated. The profile resolver is therefore only reached on its
+ *       unauthenticated path; loading a real user's profile is left to the first real request.
+ * </ul>
+ *
+ * <p>All of it is {@link SyntheticTraffic}: the auth timers and the concurrency limiter's latency
+ * samples leave it out, its log lines carry {@code synthetic=true}, and its failed logins are
+ * logged at DEBUG.
+ *
+ * <p>Application runners complete before Spring Boot switches readiness to ACCEPTING_TRAFFIC, so
+ * {@code /actuator/health/readiness} stays down until warm-up finishes. A failing warm-up is
+ * logged and never blocks startup.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+  private static final StructuredLogger logger = StructuredLogger.getLogger(WarmUpRunner.class);
+
+  private static final String SYNTHETIC_USERNAME = "warmup-synthetic-user";
+  private static final String SYNTHETIC_PASSWORD = "warmup-synthetic-password";
+  private static final String LOGIN_REQUEST =
+      "{\"query\":\"mutation($input: LoginInput!) { login(input: $input) { success message"
+          + " username } }\",\"variables\":{\"input\":{\"username\":\""
+          + SYNTHETIC_USERNAME
+          + "\",\"password\":\""
+          + SYNTHETIC_PASSWORD
+          + "\"}}}";
+  private static final String PROFILE_REQUEST =
+      "{\"query\":\"{ profile { username firstName lastName role } }\"}";
+  private static final int SETTLED_ROUNDS = 2;
+
+  /** Long enough for a round of requests; the token never leaves this process. */
+  private static final Duration SYNTHETIC_TOKEN_VALIDITY = Duration.ofMinutes(1);
+
+  private final JwtTokenProvider jwtTokenProvider;
+  private final PasswordEncoder passwordEncoder;
+  private final Environment environment;
+  private final Duration maxDuration;
+  private final long settleCompilationMs;
+  private final int tokenIterations;
+  private final int passwordIterations;
+  private final int requestIterations;
+  private final HttpClient httpClient =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+  public WarmUpRunner(
+      final JwtTokenProvider jwtTokenProvider,
+      final PasswordEncoder passwordEncoder,
+      final Environment environment,
+      @Value("${warmup.max-duration:30s}") final Duration maxDuration,
+      @Value("${warmup.settle-compilation-ms:20}") final long settleCompilationMs,
+      @Value("${warmup.token-iterations:2000}") final int tokenIterations,
+      @Value("${warmup.password-iterations:2}") final int passwordIterations,
+      @Value("${warmup.request-iterations:5}") final int requestIterations) {
+    this.jwtTokenProvider = jwtTokenProvider;
+    this.passwordEncoder = passwordEncoder;
+    this.environment = environment;
+    this.maxDuration = maxDuration;
+    this.settleCompilationMs = settleCompilationMs;
+    this.tokenIterations = tokenIterations;
+    this.passwordIterations = passwordIterations;
+    this.requestIterations = requestIterations;
+  }
+
+  @Override
+  public void run(final ApplicationArguments args) {
+    final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+    final boolean monitorCompilation =
+        compilation != null && compilation.isCompilationTimeMonitoringSupported();
+    final URI graphqlUri = graphqlUri();
+    final long start = System.nanoTime();
+    final long deadline = start + maxDuration.toNanos();
+
+    int rounds = 0;
+    int quietRounds = 0;
+    long compilationMs = monitorCompilation ? compilation.getTotalCompilationTime() : 0;
+    try (MDC.MDCCloseable synthetic = SyntheticTraffic.mark()) {
+      while (System.nanoTime() < deadline && quietRounds < SETTLED_ROUNDS) {
+        exerciseTokens();
+        exercisePasswords();
+        if (graphqlUri != null) {
+          exerciseRequests(graphqlUri);
+        }
+        rounds++;
+
+        if (monitorCompilation) {
+          final long total = compilation.getTotalCompilationTime();
+          quietRounds = total - compilationMs < settleCompilationMs ? quietRounds + 1 : 0;
+          compilationMs = total;
+        }
+      }
+    } catch (final IOException | RuntimeException e) {
+      logger.warn("Warm-up aborted, accepting traffic anyway", e);
+      return;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    logger.info(
+        "Warm-up finished",
+        Map.of(
+            "rounds", String.valueOf(rounds),
+            "settled", String.valueOf(quietRounds >= SETTLED_ROUNDS),
+            "durationMs", String.valueOf((System.nanoTime() - start) / 1_000_000),
+            "compilationMs", String.valueOf(compilationMs)));
+  }
+
+  private void exerciseTokens() {
+    for (int i = 0; i < tokenIterations; i++) {
+      final String token = jwtTokenProvider.generateToken(SYNTHETIC_USERNAME);
+      if (jwtTokenProvider.validateToken(token)) {
+        jwtTokenProvider.getUsernameFromToken(token);
+      }
+    }
+  }
+
+  private void exercisePasswords() {
+    for (int i = 0; i < passwordIterations; i++) {
+      passwordEncoder.matches(SYNTHETIC_PASSWORD, passwordEncoder.encode(SYNTHETIC_PASSWORD));
+    }
+  }
+
+  private void exerciseRequests(final URI graphqlUri) throws IOException, InterruptedException {
+    final String token =
+        jwtTokenProvider.generateToken(SYNTHETIC_USERNAME, SYNTHETIC_TOKEN_VALIDITY);
+    for (int i = 0; i < requestIterations; i++) {
+      post(graphqlUri, LOGIN_REQUEST, null);
+      post(graphqlUri, PROFILE_REQUEST, token);
+    }
+  }
+
+  private void post(final URI uri, final String body, final String token)
+      throws IOException, InterruptedException {
+    final HttpRequest.Builder request =
+        HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofSeconds(5))
+            .header("Content-Type", "application/json")
+            .header("X-Correlation-Id", "warmup")
+            .header(SyntheticTraffic.HEADER, SyntheticTraffic.token())
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    if (token != null) {
+      request.header("Authorization", "Bearer " + token);
+    }
+    httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+  }
+
+  /** The GraphQL endpoint of this instance, or null if no web server is running. */
+  private URI graphqlUri() {
+    final String port = environment.getProperty("local.server.port");
+    if (port == null) {
+      return null;
+    }
+    final String contextPath = environment.getProperty("server.servlet.context-path", "");
+    final String path = environment.getProperty("spring.graphql.path", "/graphql");
+    return URI.create("http://localhost:" + port + contextPath + path);
+  }
+}
@@ -0,0 +1,112 @@
+package learning.journalapp.weather;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import learning.journalapp.entity.WeatherCondition;
+import learning.journalapp.entity.WeatherSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Historical weather from <a href="https://open-meteo.com">Open-Meteo</a>, which needs no API key.
+ * Active with {@code weather.provider: open-meteo}.
+ *
+ * <p>Hours older than a week come from the reanalysis archive. The archive trails the present by
+ * a few days, so more recent hours come from the forecast API, which also serves the past days.
+ * Either may have no value yet for the last few hours; that lookup fails and is retried later.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.provider", havingValue = "open-meteo")
+public class OpenMeteoWeatherProvider implements WeatherProvider {
+
+  private static final Duration ARCHIVE_LAG = Duration.ofDays(7);
+  private static final String QUERY =
+      "?latitude={latitude}&longitude={longitude}&start_date={date}&end_date={date}"
+          + "&hourly=temperature_2m,relative_humidity_2m,weather_code&timezone=GMT";
+
+  private final RestClient restClient;
+  private final String archiveUrl;
+  private final String forecastUrl;
+  private final Clock clock = Clock.systemUTC();
+
+  public OpenMeteoWeatherProvider(
+      final RestClient.Builder restClientBuilder,
+      @Value("${weather.open-meteo.archive-url:https://archive-api.open-meteo.com/v1/archive}")
+          final String archiveUrl,
+      @Value("${weather.open-meteo.forecast-url:https://api.open-meteo.com/v1/forecast}")
+          final String forecastUrl,
+      @Value("${weather.open-meteo.timeout:10s}") final Duration timeout) {
+    // A hung call would keep one of WeatherService's provider permits forever
+    final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(timeout);
+    requestFactory.setReadTimeout(timeout);
+    this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    this.archiveUrl = archiveUrl;
+    this.forecastUrl = forecastUrl;
+  }
+
+  @Override
+  public WeatherSnapshot fetch(final WeatherKey key) {
+    final LocalDateTime hour = LocalDateTime.ofInstant(key.hour(), ZoneOffset.UTC);
+    final String url =
+        key.hour().isBefore(clock.instant().minus(ARCHIVE_LAG)) ? archiveUrl : forecastUrl;
+    final JsonNode response =
+        restClient
+            .get()
+            .uri(
+                url + QUERY,
+                Map.of(
+                    "latitude", key.latitude(),
+                    "longitude", key.longitude(),
+                    "date", hour.toLocalDate()))
+            .retrieve()
+            .body(JsonNode.class);
+    if (response == null) {
+      throw new IllegalStateException("Empty weather response for " + key);
+    }
+
+    final JsonNode hourly = response.path("hourly");
+    final String time = hour.toString();
+    final JsonNode times = hourly.path("time");
+    for (int i = 0; i < times.size(); i++) {
+      if (time.equals(times.get(i).asText())) {
+        final JsonNode code = hourly.path("weather_code").path(i);
+        final JsonNode temperature = hourly.path("temperature_2m").path(i);
+        final JsonNode humidity = hourly.path("relative_humidity_2m").path(i);
+        if (!code.isNumber() || !temperature.isNumber()) {
+          break;
+        }
+        return new WeatherSnapshot(
+            condition(code.asInt()),
+            temperature.asDouble(),
+            humidity.isNumber() ? humidity.asInt() : null);
+      }
+    }
+    throw new IllegalStateException("No weather yet for " + key);
+  }
+
+  /** Maps a WMO weather interpretation code, as Open-Meteo reports it. */
+  static WeatherCondition condition(final int wmoCode) {
+    if (wmoCode <= 1) {
+      return WeatherCondition.SUNNY;
+    } else if (wmoCode == 2) {
+      return WeatherCondition.CLOUDY;
+    } else if (wmoCode < 50) {
+      // Overcast, fog
+      return WeatherCondition.OVERCAST;
+    } else if ((wmoCode >= 71 && wmoCode <= 77) || wmoCode == 85 || wmoCode == 86) {
+      return WeatherCondition.SNOW;
+    } else if (wmoCode >= 95) {
+      return WeatherCondition.STORM;
+    }
+    // Drizzle, rain, freezing rain, showers
+    return WeatherCondition.RAINY;
+  }
+}
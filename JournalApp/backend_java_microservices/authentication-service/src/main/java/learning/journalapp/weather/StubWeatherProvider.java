@@ -0,0 +1,30 @@
+package learning.journalapp.weather;
+
+import learning.journalapp.entity.WeatherCondition;
+import learning.journalapp.entity.WeatherSnapshot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offline provider for development and tests: plausible weather derived from the key alone, so
+ * the same key always gives the same answer and no network is needed. Only active with {@code
+ * weather.provider: stub}; its made-up weather must never reach real journal entries, so {@link
+ * WeatherBackfill} does not run with it. {@link OpenMeteoWeatherProvider} is the real one.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.provider", havingValue = "stub")
+public class StubWeatherProvider implements WeatherProvider {
+
+  private static final WeatherCondition[] CONDITIONS = WeatherCondition.values();
+
+  @Override
+  public WeatherSnapshot fetch(final WeatherKey key) {
+    final int hash = key.hashCode() & Integer.MAX_VALUE;
+    // Colder towards the poles
+    final double temperature = 30 - Math.abs(key.latitude()) * 0.5 + (hash % 100) / 10.0 - 5;
+    return new WeatherSnapshot(
+        CONDITIONS[hash % CONDITIONS.length],
+        Math.round(temperature * 10) / 10.0,
+        30 + hash % 60);
+  }
+}
@@ -0,0 +1,233 @@
+package learning.journalapp.weather;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import learning.journalapp.dto.JournalEntryChangeType;
+import learning.journalapp.entity.JournalEntry;
+import learning.journalapp.entity.WeatherSnapshot;
+import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.repository.JournalEntryRepository;
+import learning.journalapp.subscription.JournalEntryChangedEvent;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills in the weather of journal entries saved with a location but without weather, in the
+ * background, so saving an entry never waits for a weather provider.
+ *
+ * <p>A sweep starts shortly after entries are written (bursts are batched into one sweep) and
+ * periodically, to pick up anything a failed or interrupted sweep left behind. Each batch of
+ * entries is grouped by {@link WeatherKey} and each key is looked up once; the entries are then
+ * updated in one transaction, without holding a connection while waiting for the provider.
+ * Entries whose lookup failed stay as they are until the next sweep.
+ *
+ * <p>Each batch is claimed in a short transaction that takes a transaction-level advisory lock, so
+ * only one instance claims at a time and no connection is held between claims. An instance that
+ * cannot take the lock skips its turn. Two instances can still claim the same entries if one
+ * claims while the other is waiting on the provider; the update skips entries that have weather
+ * by then, so that costs a lookup, not a wrong value. Only registered when {@code
+ * weather.provider} names a real provider, never the stub.
+ */
+@Component
+@ConditionalOnExpression("'${weather.provider:stub}' != 'stub'")
+public class WeatherBackfill
+    implements ApplicationListener<ApplicationStartedEvent>, DisposableBean {
+
+  private static final StructuredLogger logger = StructuredLogger.getLogger(WeatherBackfill.class);
+
+  /** Lets a burst of writes finish before sweeping, so it is handled in one batch. */
+  private static final long SWEEP_DELAY_MILLIS = 1_000;
+
+  /** Entries without a time of day are matched with the weather at noon. */
+  private static final int DEFAULT_HOUR = 12;
+
+  /** Negative, so it never collides with the per-user keys of {@code EntryArchiver}. */
+  private static final long SWEEP_LOCK_KEY = -1;
+
+  private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+
+  private final JournalEntryRepository journalEntryRepository;
+  private final WeatherService weatherService;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transaction;
+  private final Duration interval;
+  private final Duration lookupTimeout;
+  private final int batchSize;
+  private final AtomicBoolean sweepScheduled = new AtomicBoolean();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "weather-backfill");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public WeatherBackfill(
+      final JournalEntryRepository journalEntryRepository,
+      final WeatherService weatherService,
+      final JdbcTemplate jdbcTemplate,
+      final PlatformTransactionManager transactionManager,
+      @Value("${weather.backfill-interval:5m}") final Duration interval,
+      @Value("${weather.lookup-timeout:30s}") final Duration lookupTimeout,
+      @Value("${weather.backfill-batch-size:200}") final int batchSize) {
+    this.journalEntryRepository = journalEntryRepository;
+    this.weatherService = weatherService;
+    this.jdbcTemplate = jdbcTemplate;
+    // Not read-only, even for claims: a replica's advisory locks don't exclude the primary's
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.interval = interval;
+    this.lookupTimeout = lookupTimeout;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationStartedEvent event) {
+    scheduler.scheduleWithFixedDelay(
+        this::sweep, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+
+  /** Sweep soon after entries are saved; the sweep itself skips entries that have weather. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onJournalEntryChanged(final JournalEntryChangedEvent event) {
+    final JournalEntryChangeType type = event.change().type();
+    if ((type == JournalEntryChangeType.CREATED || type == JournalEntryChangeType.UPDATED)
+        && sweepScheduled.compareAndSet(false, true)) {
+      scheduler.schedule(this::sweep, SWEEP_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** Enrich every entry that is missing weather. Runs on the scheduler thread only. */
+  void sweep() {
+    sweepScheduled.set(false);
+    try {
+      sweepBatches();
+    } catch (final RuntimeException e) {
+      logger.error("Weather backfill failed", e);
+    }
+  }
+
+  private void sweepBatches() {
+    long afterId = 0;
+    int enriched = 0;
+    while (true) {
+      final long from = afterId;
+      final Map<Long, WeatherKey> keys = transaction.execute(status -> claim(from));
+      if (keys == null || keys.isEmpty()) {
+        break;
+      }
+      enriched += enrich(keys);
+      afterId = keys.keySet().stream().mapToLong(Long::longValue).max().orElseThrow();
+      if (keys.size() < batchSize) {
+        break;
+      }
+    }
+    if (enriched > 0) {
+      logger.info("Backfilled entry weather", Map.of("entries", String.valueOf(enriched)));
+    }
+  }
+
+  /** The next batch after {@code afterId}; empty if another instance is claiming right now. */
+  private Map<Long, WeatherKey> claim(final long afterId) {
+    final Map<Long, WeatherKey> keys = new HashMap<>();
+    if (!Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, SWEEP_LOCK_KEY))) {
+      return keys;
+    }
+    for (final JournalEntry entry :
+        journalEntryRepository.findMissingWeather(afterId, PageRequest.ofSize(batchSize))) {
+      keys.put(
+          entry.getId(),
+          WeatherKey.of(entry.getLatitude(), entry.getLongitude(), observedAt(entry)));
+    }
+    return keys;
+  }
+
+  /** Look up each distinct key once and store the results. Returns the number of entries set. */
+  private int enrich(final Map<Long, WeatherKey> keys) {
+    final Map<WeatherKey, List<Long>> entriesByKey = new HashMap<>();
+    keys.forEach(
+        (id, key) -> entriesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(id));
+
+    final Map<WeatherKey, CompletableFuture<WeatherSnapshot>> lookups = new HashMap<>();
+    entriesByKey.keySet().forEach(key -> lookups.put(key, weatherService.lookup(key)));
+
+    final Map<Long, WeatherSnapshot> weatherByEntry = new HashMap<>();
+    final long deadline = System.nanoTime() + lookupTimeout.toNanos();
+    for (final Map.Entry<WeatherKey, CompletableFuture<WeatherSnapshot>> lookup :
+        lookups.entrySet()) {
+      try {
+        final WeatherSnapshot weather =
+            lookup.getValue().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        entriesByKey.get(lookup.getKey()).forEach(id -> weatherByEntry.put(id, weather));
+      } catch (final ExecutionException | TimeoutException e) {
+        logger.warn(
+            "Weather lookup failed",
+            Map.of("key", lookup.getKey().toString(), "error", String.valueOf(e)));
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return 0;
+      }
+    }
+    if (weatherByEntry.isEmpty()) {
+      return 0;
+    }
+
+    final Integer updated =
+        transaction.execute(
+            status -> {
+              int count = 0;
+              for (final JournalEntry entry :
+                  journalEntryRepository.findAllById(weatherByEntry.keySet())) {
+                // The client may have supplied weather in the meantime
+                if (entry.getWeather() == null || entry.getWeather().getCondition() == null) {
+                  final WeatherSnapshot weather = weatherByEntry.get(entry.getId());
+                  entry.setWeather(
+                      new WeatherSnapshot(
+                          weather.getCondition(),
+                          weather.getTemperatureCelsius(),
+                          weather.getHumidity()));
+                  count++;
+                }
+              }
+              return count;
+            });
+    return updated != null ? updated : 0;
+  }
+
+  /** When the entry's weather applies: its creation time if written on the day, else noon. */
+  static Instant observedAt(final JournalEntry entry) {
+    final LocalDateTime createdAt = entry.getCreatedAt();
+    final LocalDateTime time =
+        createdAt != null && createdAt.toLocalDate().equals(entry.getEntryDate())
+            ? createdAt
+            : entry.getEntryDate().atTime(DEFAULT_HOUR, 0);
+    return time.atZone(ZoneId.systemDefault()).toInstant();
+  }
+}
@@ -0,0 +1,26 @@
+package learning.journalapp.weather;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * What a weather lookup is keyed by: a location rounded to 0.1 degrees (about 11 km, so one city
+ * shares a key) and a UTC hour. Everything asking for the same key gets the same answer.
+ */
+public record WeatherKey(int latitudeTenths, int longitudeTenths, Instant hour) {
+
+  public static WeatherKey of(final double latitude, final double longitude, final Instant time) {
+    return new WeatherKey(
+        (int) Math.round(latitude * 10),
+        (int) Math.round(longitude * 10),
+        time.truncatedTo(ChronoUnit.HOURS));
+  }
+
+  public double latitude() {
+    return latitudeTenths / 10.0;
+  }
+
+  public double longitude() {
+    return longitudeTenths / 10.0;
+  }
+}
@@ -0,0 +1,17 @@
+package learning.journalapp.weather;
+
+import learning.journalapp.entity.WeatherSnapshot;
+
+/**
+ * Source of historical weather. Implementations may be slow and rate limited; {@link
+ * WeatherService} caches and coalesces calls, so a provider only sees each key about once.
+ */
+public interface WeatherProvider {
+
+  /**
+   * Weather at the key's location during its hour.
+   *
+   * @throws RuntimeException if the weather cannot be determined; the lookup is retried later
+   */
+  WeatherSnapshot fetch(WeatherKey key);
+}
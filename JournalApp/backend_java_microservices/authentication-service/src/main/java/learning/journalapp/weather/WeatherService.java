@@ -0,0 +1,132 @@
+package learning.journalapp.weather;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import learning.journalapp.entity.WeatherSnapshot;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Weather lookups in front of the {@link WeatherProvider}, so provider calls scale with distinct
+ * location-hours rather than with journal entries:
+ *
+ * <ul>
+ *   <li>Results are cached per {@link WeatherKey}; past weather does not change.
+ *   <li>Concurrent lookups of a key that is not cached yet share one provider call (single
+ *       flight), so a burst of entries from one city costs a single call.
+ *   <li>At most {@code weather.max-concurrent-calls} provider calls run at once, each on a
+ *       virtual thread, so waiting on a slow provider holds no platform thread.
+ * </ul>
+ *
+ * <p>Failures are not cached; the next lookup of the key calls the provider again. Only present
+ * when {@code weather.provider} names a provider.
+ */
+@Service
+@ConditionalOnProperty(name = "weather.provider")
+public class WeatherService implements DisposableBean {
+
+  private final WeatherProvider weatherProvider;
+  private final Cache<WeatherKey, WeatherSnapshot> cache;
+  private final ConcurrentMap<WeatherKey, CompletableFuture<WeatherSnapshot>> inFlight =
+      new ConcurrentHashMap<>();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore providerPermits;
+  private final Counter cacheLookups;
+  private final Counter coalescedLookups;
+  private final Counter providerLookups;
+  private final Timer providerLatency;
+
+  public WeatherService(
+      final WeatherProvider weatherProvider,
+      final MeterRegistry meterRegistry,
+      @Value("${weather.cache-size:50000}") final long cacheSize,
+      @Value("${weather.cache-ttl:6h}") final Duration cacheTtl,
+      @Value("${weather.max-concurrent-calls:8}") final int maxConcurrentCalls) {
+    this.weatherProvider = weatherProvider;
+    this.cache =
+        CacheBuilder.newBuilder().maximumSize(cacheSize).expireAfterWrite(cacheTtl).build();
+    this.providerPermits = new Semaphore(maxConcurrentCalls);
+    this.cacheLookups = lookupCounter(meterRegistry, "cache");
+    this.coalescedLookups = lookupCounter(meterRegistry, "coalesced");
+    this.providerLookups = lookupCounter(meterRegistry, "provider");
+    this.providerLatency =
+        Timer.builder("journalapp.weather.provider.latency")
+            .description("Latency of weather provider calls")
+            .register(meterRegistry);
+  }
+
+  /** Weather for the key; completes exceptionally if the provider fails. */
+  public CompletableFuture<WeatherSnapshot> lookup(final WeatherKey key) {
+    final WeatherSnapshot cached = cache.getIfPresent(key);
+    if (cached != null) {
+      cacheLookups.increment();
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    final CompletableFuture<WeatherSnapshot> call = new CompletableFuture<>();
+    final CompletableFuture<WeatherSnapshot> running = inFlight.putIfAbsent(key, call);
+    if (running != null) {
+      coalescedLookups.increment();
+      return running;
+    }
+
+    // A call for the key may have completed between the cache check and registering this one
+    final WeatherSnapshot completed = cache.getIfPresent(key);
+    if (completed != null) {
+      inFlight.remove(key, call);
+      cacheLookups.increment();
+      call.complete(completed);
+      return call;
+    }
+
+    providerLookups.increment();
+    executor.execute(() -> fetch(key, call));
+    return call;
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private void fetch(final WeatherKey key, final CompletableFuture<WeatherSnapshot> call) {
+    try {
+      providerPermits.acquire();
+      try {
+        final WeatherSnapshot snapshot =
+            providerLatency.recordCallable(() -> weatherProvider.fetch(key));
+        // Cache before leaving the in-flight map, so no lookup finds neither
+        cache.put(key, snapshot);
+        call.complete(snapshot);
+      } finally {
+        providerPermits.release();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      call.completeExceptionally(e);
+    } catch (final Exception e) {
+      call.completeExceptionally(e);
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  private static Counter lookupCounter(final MeterRegistry meterRegistry, final String source) {
+    return Counter.builder("journalapp.weather.lookups")
+        .description("Weather lookups by where the answer came from")
+        .tag("source", source)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,94 @@
+package learning.journalapp.datasource;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** The proxy wiring of {@link ReadWriteRoutingDataSource}, over mocked pools. */
+class ReadWriteRoutingTest {
+
+  private final DataSource primary = mock(DataSource.class);
+  private final DataSource replica = mock(DataSource.class);
+  private final Statement primaryStatement = mock(Statement.class);
+  private final Statement replicaStatement = mock(Statement.class);
+  private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+  private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(10), 100);
+
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readOnlyTransaction;
+  private TransactionTemplate writeTransaction;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    stubConnection(primary, primaryStatement);
+    stubConnection(replica, replicaStatement);
+    when(lagMonitor.select()).thenReturn("replica-1");
+
+    final LazyConnectionDataSourceProxy dataSource =
+        new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary, readYourWrites));
+    dataSource.setReadOnlyDataSource(
+        new ReplicaRoutingDataSource(
+            primary,
+            Map.of("replica-1", replica),
+            lagMonitor,
+            readYourWrites,
+            new SimpleMeterRegistry()));
+    dataSource.setDefaultAutoCommit(true);
+    dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+
+    final DataSourceTransactionManager transactionManager =
+        new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    writeTransaction = new TransactionTemplate(transactionManager);
+  }
+
+  @Test
+  void readThenWriteInOneRequestWritesToPrimary() throws SQLException {
+    readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.execute("SELECT 1"));
+    writeTransaction.executeWithoutResult(status -> jdbcTemplate.execute("UPDATE t SET x = 1"));
+
+    verify(replicaStatement).execute("SELECT 1");
+    verify(primaryStatement).execute("UPDATE t SET x = 1");
+    verify(replicaStatement, never()).execute("UPDATE t SET x = 1");
+  }
+
+  @Test
+  void readAfterOwnWriteGoesToPrimary() throws SQLException {
+    readYourWrites.readAs(
+        "alice",
+        () -> {
+          writeTransaction.executeWithoutResult(
+              status -> jdbcTemplate.execute("UPDATE t SET x = 1"));
+          readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.execute("SELECT 1"));
+          return null;
+        });
+
+    verify(primaryStatement).execute("SELECT 1");
+    verify(replicaStatement, never()).execute(anyString());
+  }
+
+  private static void stubConnection(final DataSource dataSource, final Statement statement)
+      throws SQLException {
+    final Connection connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(statement);
+    when(dataSource.getConnection()).thenReturn(connection);
+  }
+}
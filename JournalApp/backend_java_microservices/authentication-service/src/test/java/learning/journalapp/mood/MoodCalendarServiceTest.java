@@ -0,0 +1,74 @@
+package learning.journalapp.mood;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import learning.journalapp.archive.EntryArchive;
+import learning.journalapp.dto.MoodOnDay;
+import learning.journalapp.dto.MoodStreak;
+import learning.journalapp.entity.Mood;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class MoodCalendarServiceTest {
+
+  private static final long USER_ID = 1L;
+
+  private final MoodCalendarRepository repository = mock(MoodCalendarRepository.class);
+  private final MoodCalendarService service =
+      new MoodCalendarService(
+          repository,
+          mock(EntryArchive.class),
+          mock(PlatformTransactionManager.class),
+          100,
+          Duration.ofMinutes(1));
+
+  @Test
+  void streakRunsAcrossTheTurnOfTheYear() {
+    givenEntries(
+        LocalDate.of(2023, 12, 30),
+        LocalDate.of(2023, 12, 31),
+        LocalDate.of(2024, 1, 1),
+        LocalDate.of(2024, 1, 2));
+
+    assertThat(service.streak(USER_ID, LocalDate.of(2024, 1, 2))).isEqualTo(new MoodStreak(4, 4));
+    assertThat(service.streak(USER_ID, LocalDate.of(2024, 1, 3))).isEqualTo(new MoodStreak(4, 4));
+    assertThat(service.streak(USER_ID, LocalDate.of(2024, 1, 4))).isEqualTo(new MoodStreak(0, 4));
+  }
+
+  @Test
+  void yearWithoutCalendarBreaksTheStreak() {
+    givenEntries(LocalDate.of(2020, 12, 31), LocalDate.of(2022, 1, 1));
+
+    assertThat(service.streak(USER_ID, LocalDate.of(2022, 1, 1))).isEqualTo(new MoodStreak(1, 1));
+  }
+
+  @Test
+  void farFutureDatesOnlyScanStoredYears() {
+    givenEntries(LocalDate.of(2024, 3, 1), LocalDate.of(2025, 3, 1));
+
+    assertThat(service.streak(USER_ID, LocalDate.MAX)).isEqualTo(new MoodStreak(0, 1));
+    assertThat(service.onThisDay(USER_ID, LocalDate.MAX.withMonth(3).withDayOfMonth(1)))
+        .containsExactly(
+            new MoodOnDay(LocalDate.of(2025, 3, 1), Mood.NEUTRAL),
+            new MoodOnDay(LocalDate.of(2024, 3, 1), Mood.NEUTRAL));
+  }
+
+  private void givenEntries(final LocalDate... dates) {
+    final Map<Integer, MoodYear> years = new TreeMap<>();
+    for (final LocalDate date : dates) {
+      years.merge(
+          date.getYear(),
+          MoodYear.empty(date.getYear()).with(date.getDayOfYear(), Mood.NEUTRAL),
+          (existing, added) -> existing.with(date.getDayOfYear(), Mood.NEUTRAL));
+    }
+    when(repository.isBackfilled(USER_ID)).thenReturn(true);
+    when(repository.findYears(USER_ID)).thenReturn(List.copyOf(years.values()));
+  }
+}
@@ -0,0 +1,144 @@
+package learning.journalapp.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import learning.journalapp.crypto.DataKeyService;
+import learning.journalapp.dto.SyncChange;
+import learning.journalapp.dto.SyncPage;
+import learning.journalapp.entity.SyncEntityType;
+import learning.journalapp.repository.JournalEntryRepository;
+import learning.journalapp.repository.UserPreferencesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SyncServiceTest {
+
+  private final ChangeFeedRepository changeFeedRepository = mock(ChangeFeedRepository.class);
+  private final SyncService syncService =
+      new SyncService(
+          changeFeedRepository,
+          mock(DataKeyService.class),
+          mock(JournalEntryRepository.class),
+          mock(UserPreferencesRepository.class));
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(syncService, "maxPageSize", 500);
+  }
+
+  @Test
+  void cursorOfEmptyFirstPageCanBeSentBack() {
+    when(changeFeedRepository.findChanges(anyLong(), any(), anyInt())).thenReturn(List.of());
+
+    final SyncPage first = syncService.changesSince(1L, null, null);
+    final SyncPage second = syncService.changesSince(1L, first.cursor(), null);
+
+    assertThat(second.changes()).isEmpty();
+    assertThat(second.cursor()).isEqualTo(first.cursor());
+    verify(changeFeedRepository, times(2)).findChanges(eq(1L), eq(SyncCursor.START), anyInt());
+  }
+
+  @Test
+  void startSurvivesEncoding() {
+    assertThat(SyncCursor.decode(SyncCursor.START.encode())).isEqualTo(SyncCursor.START);
+  }
+
+  @Test
+  void pageEndsAtTheLimitAndNextPageResumesAfterItsLastChange() {
+    final List<ChangeRef> refs =
+        List.of(
+            tombstone(SyncEntityType.JOURNAL_ENTRY, 1, 4),
+            tombstone(SyncEntityType.JOURNAL_ENTRY, 2, 5),
+            tombstone(SyncEntityType.JOURNAL_ENTRY, 3, 6));
+    when(changeFeedRepository.findChanges(1L, SyncCursor.START, 3)).thenReturn(refs);
+
+    final SyncPage first = syncService.changesSince(1L, null, 2);
+
+    assertThat(first.changes()).extracting(SyncChange::entityId).containsExactly(1L, 2L);
+    assertThat(first.hasMore()).isTrue();
+    assertThat(first.resync()).isFalse();
+    assertThat(SyncCursor.decode(first.cursor())).isEqualTo(refs.get(1).cursor());
+
+    when(changeFeedRepository.findChanges(1L, refs.get(1).cursor(), 3))
+        .thenReturn(refs.subList(2, 3));
+    final SyncPage second = syncService.changesSince(1L, first.cursor(), 2);
+
+    assertThat(second.changes()).extracting(SyncChange::entityId).containsExactly(3L);
+    assertThat(second.hasMore()).isFalse();
+    assertThat(SyncCursor.decode(second.cursor())).isEqualTo(refs.get(2).cursor());
+  }
+
+  @Test
+  void pageSizeIsClampedToTheMaximum() {
+    when(changeFeedRepository.findChanges(anyLong(), any(), anyInt())).thenReturn(List.of());
+
+    syncService.changesSince(1L, null, 10_000);
+    syncService.changesSince(1L, null, 0);
+
+    verify(changeFeedRepository).findChanges(1L, SyncCursor.START, 501);
+    verify(changeFeedRepository).findChanges(1L, SyncCursor.START, 2);
+  }
+
+  @Test
+  void cursorKeepsTheTieBreakBetweenChangesWithTheSameSequence() {
+    // Rows written before delta sync all have sequence 0; type and ID order them
+    final ChangeRef entry = tombstone(SyncEntityType.JOURNAL_ENTRY, 9, 0);
+    final ChangeRef preferences = tombstone(SyncEntityType.PREFERENCES, 3, 0);
+    when(changeFeedRepository.findChanges(1L, SyncCursor.START, 2))
+        .thenReturn(List.of(entry, preferences));
+
+    final SyncPage page = syncService.changesSince(1L, null, 1);
+
+    final SyncCursor cursor = SyncCursor.decode(page.cursor());
+    assertThat(cursor).isEqualTo(new SyncCursor(0, "JOURNAL_ENTRY", 9));
+    assertThat(cursor).isNotEqualTo(SyncCursor.START);
+
+    when(changeFeedRepository.findChanges(1L, cursor, 2)).thenReturn(List.of(preferences));
+    assertThat(syncService.changesSince(1L, page.cursor(), 1).changes())
+        .extracting(SyncChange::entityType)
+        .containsExactly(SyncEntityType.PREFERENCES);
+  }
+
+  @Test
+  void cursorOlderThanPurgedTombstonesGetsAFullResync() {
+    final SyncCursor stale = new SyncCursor(5, "JOURNAL_ENTRY", 1);
+    final ChangeRef change = tombstone(SyncEntityType.JOURNAL_ENTRY, 2, 20);
+    when(changeFeedRepository.findChanges(1L, stale, 501)).thenReturn(List.of());
+    when(changeFeedRepository.purgedSeq(1L)).thenReturn(10L);
+    when(changeFeedRepository.findChanges(1L, SyncCursor.START, 501)).thenReturn(List.of(change));
+
+    final SyncPage page = syncService.changesSince(1L, stale.encode(), null);
+
+    assertThat(page.resync()).isTrue();
+    assertThat(page.changes()).extracting(SyncChange::entityId).containsExactly(2L);
+    assertThat(SyncCursor.decode(page.cursor())).isEqualTo(change.cursor());
+  }
+
+  @Test
+  void cursorAtOrAfterPurgedTombstonesKeepsSyncingDeltas() {
+    final SyncCursor current = new SyncCursor(10, "JOURNAL_ENTRY", 1);
+    when(changeFeedRepository.findChanges(anyLong(), any(), anyInt())).thenReturn(List.of());
+    when(changeFeedRepository.purgedSeq(1L)).thenReturn(10L);
+
+    final SyncPage page = syncService.changesSince(1L, current.encode(), null);
+
+    assertThat(page.resync()).isFalse();
+    verify(changeFeedRepository, never()).findChanges(1L, SyncCursor.START, 501);
+  }
+
+  private static ChangeRef tombstone(
+      final SyncEntityType entityType, final long entityId, final long changeSeq) {
+    return new ChangeRef(entityType, entityId, changeSeq, true);
+  }
+}
@@ -0,0 +1,35 @@
+package learning.journalapp.platform.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of benchmarks.jar. Delegates to the JMH command line, but writes machine-readable
+ * results to jmh-result.json by default so runs can be diffed between releases.
+ *
+ * <p>Examples:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar                        # everything, JSON to ./jmh-result.json
+ * java -jar target/benchmarks.jar Jwt -rff jwt-1.0.0.json  # only JWT benchmarks, named output
+ * java -jar target/benchmarks.jar -rf text               # human-readable results instead
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+  private static final String RESULT_FORMAT_OPTION = "-rf";
+  private static final String DEFAULT_RESULT_FORMAT = "json";
+
+  private BenchmarkRunner() {}
+
+  public static void main(final String[] args) throws Exception {
+    final List<String> options = new ArrayList<>(Arrays.asList(args));
+    if (!options.contains(RESULT_FORMAT_OPTION)) {
+      options.add(RESULT_FORMAT_OPTION);
+      options.add(DEFAULT_RESULT_FORMAT);
+    }
+    Main.main(options.toArray(String[]::new));
+  }
+}
@@ -0,0 +1,114 @@
+package learning.journalapp.platform.benchmarks.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.dto.codec.EventCodecRegistry;
+import learning.journalapp.platform.dto.event.JournalEntryEvent;
+import learning.journalapp.platform.dto.event.JournalEntryEventType;
+import learning.journalapp.platform.dto.event.PlatformEventCodecs;
+import learning.journalapp.platform.dto.journal.Mood;
+import learning.journalapp.platform.dto.journal.Season;
+import learning.journalapp.platform.dto.journal.WeatherCondition;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Binary event codec against Jackson for a typical JournalEntryEvent. Payload sizes are reported
+ * as the secondary "binaryBytes" and "jsonBytes" results.
+ *
+ * <p>Run: {@code java -jar target/benchmarks.jar EventCodecBenchmark -prof gc}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventCodecBenchmark {
+
+  private static final JournalEntryEvent EVENT =
+      new JournalEntryEvent(
+          184_467L,
+          9_321L,
+          JournalEntryEventType.UPDATED,
+          LocalDate.of(2025, 3, 14),
+          Mood.GOOD,
+          Season.SPRING,
+          WeatherCondition.CLOUDY,
+          11.5,
+          72,
+          "Slept well, long walk in the afternoon. Felt a bit tired after lunch.",
+          Instant.parse("2025-03-14T18:42:07.123Z"));
+
+  private final EventCodecRegistry registry = PlatformEventCodecs.REGISTRY;
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+          .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+  private byte[] binary;
+  private byte[] json;
+
+  /** Payload sizes, reported once per iteration next to the timings. */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class PayloadSize {
+    public long binaryBytes;
+    public long jsonBytes;
+  }
+
+  @Setup
+  public void setUp() throws Exception {
+    binary = registry.encode(EVENT);
+    json = objectMapper.writeValueAsBytes(EVENT);
+  }
+
+  /** Encode into a reused (e.g. pooled or network) buffer: no allocation at all. */
+  @Benchmark
+  public ByteBuffer binaryEncodeToBuffer() {
+    buffer.clear();
+    registry.encode(EVENT, buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public byte[] binaryEncode(final PayloadSize size) {
+    final byte[] bytes = registry.encode(EVENT);
+    size.binaryBytes = bytes.length;
+    return bytes;
+  }
+
+  @Benchmark
+  public byte[] jsonEncode(final PayloadSize size) throws Exception {
+    final byte[] bytes = objectMapper.writeValueAsBytes(EVENT);
+    size.jsonBytes = bytes.length;
+    return bytes;
+  }
+
+  @Benchmark
+  public Object binaryDecode() {
+    return registry.decode(binary);
+  }
+
+  @Benchmark
+  public JournalEntryEvent jsonDecode() throws Exception {
+    return objectMapper.readValue(json, JournalEntryEvent.class);
+  }
+}
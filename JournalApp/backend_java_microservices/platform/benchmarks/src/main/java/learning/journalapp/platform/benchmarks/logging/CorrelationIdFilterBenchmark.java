@@ -0,0 +1,55 @@
+package learning.journalapp.platform.benchmarks.logging;
+
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.logging.filter.CorrelationIdFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Per-request cost of CorrelationIdFilter, for requests that carry an X-Correlation-Id (validated
+ * and reused) and requests that don't (a new ID is generated).
+ *
+ * <p>Run: {@code java -jar target/benchmarks.jar CorrelationIdFilterBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CorrelationIdFilterBenchmark {
+
+  private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+  private final CorrelationIdFilter filter = new CorrelationIdFilter();
+  private final MockHttpServletRequest withHeader = new MockHttpServletRequest("POST", "/graphql");
+  private final MockHttpServletRequest withoutHeader =
+      new MockHttpServletRequest("POST", "/graphql");
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+  public CorrelationIdFilterBenchmark() {
+    withHeader.addHeader("X-Correlation-Id", "01JABCDEFGHJKMNPQRSTVWXYZ0");
+  }
+
+  @Benchmark
+  public MockHttpServletResponse incomingId() throws Exception {
+    filter.doFilter(withHeader, response, NO_OP_CHAIN);
+    return response;
+  }
+
+  @Benchmark
+  public MockHttpServletResponse generatedId() throws Exception {
+    filter.doFilter(withoutHeader, response, NO_OP_CHAIN);
+    return response;
+  }
+}
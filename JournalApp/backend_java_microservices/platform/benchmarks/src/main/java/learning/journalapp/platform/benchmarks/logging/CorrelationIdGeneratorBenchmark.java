@@ -0,0 +1,57 @@
+package learning.journalapp.platform.benchmarks.logging;
+
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.logging.id.CorrelationIdGenerator;
+import learning.journalapp.platform.logging.id.RandomUuidCorrelationIdGenerator;
+import learning.journalapp.platform.logging.id.UlidCorrelationIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares correlation ID generation strategies, single-threaded and with every core generating
+ * IDs at once (the contended case is where {@code UUID.randomUUID()} and its shared SecureRandom
+ * fall behind).
+ *
+ * <p>Run: {@code java -jar target/benchmarks.jar CorrelationIdGeneratorBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CorrelationIdGeneratorBenchmark {
+
+  private final CorrelationIdGenerator randomUuid = new RandomUuidCorrelationIdGenerator();
+  private final CorrelationIdGenerator ulid = new UlidCorrelationIdGenerator();
+
+  @Benchmark
+  public String randomUuid() {
+    return randomUuid.generate();
+  }
+
+  @Benchmark
+  public String ulid() {
+    return ulid.generate();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String randomUuidContended() {
+    return randomUuid.generate();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String ulidContended() {
+    return ulid.generate();
+  }
+}
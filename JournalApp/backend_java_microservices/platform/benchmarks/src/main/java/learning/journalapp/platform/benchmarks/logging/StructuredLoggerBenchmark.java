@@ -0,0 +1,91 @@
+package learning.journalapp.platform.benchmarks.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.logging.StructuredLogger;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cost of a StructuredLogger call with and without MDC context, encoded to JSON by the same
+ * LogstashEncoder the services use. Output is discarded, so this measures formatting and MDC
+ * handling rather than I/O.
+ *
+ * <p>Run: {@code java -jar target/benchmarks.jar StructuredLoggerBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StructuredLoggerBenchmark {
+
+  private static final Map<String, String> CONTEXT =
+      Map.of(
+          "userId", "42",
+          "username", "benchmark-user",
+          "operation", "login");
+
+  private final StructuredLogger logger =
+      StructuredLogger.getLogger(StructuredLoggerBenchmark.class);
+
+  private OutputStreamAppender<ILoggingEvent> appender;
+
+  @Setup
+  public void setUp() {
+    final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    context.reset();
+
+    final LogstashEncoder encoder = new LogstashEncoder();
+    encoder.setContext(context);
+    encoder.start();
+
+    appender = new OutputStreamAppender<>();
+    appender.setContext(context);
+    appender.setEncoder(encoder);
+    appender.setOutputStream(OutputStream.nullOutputStream());
+    appender.start();
+
+    final Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+    root.setLevel(ch.qos.logback.classic.Level.INFO);
+    root.addAppender(appender);
+  }
+
+  @TearDown
+  public void tearDown() {
+    appender.stop();
+  }
+
+  @Benchmark
+  public void infoWithoutContext() {
+    logger.info("User logged in");
+  }
+
+  @Benchmark
+  public void infoWithContext() {
+    logger.info("User logged in", CONTEXT);
+  }
+
+  /** A disabled level should cost next to nothing, even when context is passed. */
+  @Benchmark
+  public void debugDisabledWithContext() {
+    logger.debug("User logged in", CONTEXT);
+  }
+}
@@ -0,0 +1,86 @@
+package learning.journalapp.platform.benchmarks.security;
+
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.security.filter.JwtAuthenticationFilter;
+import learning.journalapp.platform.security.util.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter with a no-op chain and an in-memory
+ * UserDetailsService, so the numbers cover token validation, parsing and security context setup
+ * but not the database lookup.
+ *
+ * <p>Run: {@code java -jar target/benchmarks.jar JwtAuthenticationFilterBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+  private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+  private JwtAuthenticationFilter filter;
+  private MockHttpServletRequest authenticatedRequest;
+  private MockHttpServletRequest anonymousRequest;
+  private MockHttpServletResponse response;
+
+  @Setup
+  public void setUp() {
+    final JwtTokenProvider jwtTokenProvider = JwtTokenProviderBenchmark.newJwtTokenProvider();
+    final UserDetails user =
+        User.withUsername(JwtTokenProviderBenchmark.USERNAME)
+            .password("{noop}unused")
+            .authorities("ROLE_USER")
+            .build();
+    final UserDetailsService userDetailsService = username -> user;
+    filter = new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+
+    authenticatedRequest = new MockHttpServletRequest("POST", "/graphql");
+    authenticatedRequest.addHeader(
+        "Authorization",
+        "Bearer " + jwtTokenProvider.generateToken(JwtTokenProviderBenchmark.USERNAME));
+    anonymousRequest = new MockHttpServletRequest("POST", "/graphql");
+    response = new MockHttpServletResponse();
+  }
+
+  @TearDown
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  public MockHttpServletResponse authenticated() throws Exception {
+    try {
+      filter.doFilter(authenticatedRequest, response, NO_OP_CHAIN);
+      return response;
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+
+  @Benchmark
+  public MockHttpServletResponse anonymous() throws Exception {
+    filter.doFilter(anonymousRequest, response, NO_OP_CHAIN);
+    return response;
+  }
+}
@@ -0,0 +1,74 @@
+package learning.journalapp.platform.benchmarks.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.security.util.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JWT signing and validation (HS512) as a function of the number of additional claims in the
+ * token. Validation is the per-request cost for every authenticated call.
+ *
+ * <p>Run: {@code java -jar target/benchmarks.jar JwtTokenProviderBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+  /** HS512 needs a key of at least 512 bits. */
+  static final String SECRET =
+      "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+  static final String USERNAME = "benchmark-user";
+
+  @Param({"0", "5", "20"})
+  private int claimCount;
+
+  private JwtTokenProvider jwtTokenProvider;
+  private Map<String, Object> claims;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtTokenProvider = newJwtTokenProvider();
+    claims = new HashMap<>();
+    for (int i = 0; i < claimCount; i++) {
+      claims.put("claim" + i, "value-" + i + "-0123456789abcdef0123456789abcdef");
+    }
+    token = jwtTokenProvider.generateToken(USERNAME, claims);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtTokenProvider.generateToken(USERNAME, claims);
+  }
+
+  @Benchmark
+  public boolean validateToken() {
+    return jwtTokenProvider.validateToken(token);
+  }
+
+  /** A provider configured as jwt.secret / jwt.expiration would configure it in a service. */
+  static JwtTokenProvider newJwtTokenProvider() {
+    final JwtTokenProvider provider = new JwtTokenProvider();
+    ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+    ReflectionTestUtils.setField(provider, "jwtExpirationMs", TimeUnit.HOURS.toMillis(24));
+    return provider;
+  }
+}
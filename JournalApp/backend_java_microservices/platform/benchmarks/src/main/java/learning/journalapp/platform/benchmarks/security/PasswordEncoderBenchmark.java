@@ -0,0 +1,54 @@
+package learning.journalapp.platform.benchmarks.security;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt hashing and verification at several strengths. Each step doubles the cost; the platform
+ * default is 10. These are the dominant costs of the register and login paths.
+ *
+ * <p>Run: {@code java -jar target/benchmarks.jar PasswordEncoderBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+  private static final String PASSWORD = "correct horse battery staple";
+
+  @Param({"4", "10", "12"})
+  private int strength;
+
+  private BCryptPasswordEncoder encoder;
+  private String encoded;
+
+  @Setup
+  public void setUp() {
+    encoder = new BCryptPasswordEncoder(strength);
+    encoded = encoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public String encode() {
+    return encoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return encoder.matches(PASSWORD, encoded);
+  }
+}
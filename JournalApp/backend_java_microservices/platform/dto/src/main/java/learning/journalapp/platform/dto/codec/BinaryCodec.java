@@ -0,0 +1,42 @@
+package learning.journalapp.platform.dto.codec;
+
+/**
+ * Encodes one message type as a set of numbered fields. Registered with an {@link
+ * EventCodecRegistry}, which frames the body with the type id and schema version.
+ *
+ * <p>Compatibility rules, so producers and consumers can be deployed in any order:
+ *
+ * <ol>
+ *   <li>Never change the number or wire type of a released field, and never reuse the number of a
+ *       removed field.
+ *   <li>New fields are optional. Old readers skip them; new readers must accept their absence and
+ *       fall back to a default (missing fields read as null, 0 or false).
+ *   <li>Enum constants keep their {@link WireEnum} code forever. Unknown codes read as null.
+ *   <li>Bump {@link #schemaVersion()} when the meaning of an existing field changes, and branch on
+ *       the version passed to {@link #read}. Changes that need neither are not version bumps.
+ *   <li>Never change {@link #typeId()}. Readers skip message types they do not know.
+ * </ol>
+ *
+ * @param <T> the message type
+ */
+public interface BinaryCodec<T> {
+
+  /** Stable id written in the frame header to identify the message type. */
+  int typeId();
+
+  /** Version of the schema this codec writes. */
+  int schemaVersion();
+
+  /** The message class, used to find the codec when encoding. */
+  Class<T> type();
+
+  void write(T message, WireWriter writer);
+
+  /**
+   * Read a message body.
+   *
+   * @param reader reader positioned at the first field, limited to this message's body
+   * @param schemaVersion schema version the message was written with
+   */
+  T read(WireReader reader, int schemaVersion);
+}
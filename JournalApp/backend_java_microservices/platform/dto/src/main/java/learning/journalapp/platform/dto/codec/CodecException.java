@@ -0,0 +1,9 @@
+package learning.journalapp.platform.dto.codec;
+
+/** Thrown when a binary payload is malformed or was written in an unsupported format. */
+public class CodecException extends RuntimeException {
+
+  public CodecException(final String message) {
+    super(message);
+  }
+}
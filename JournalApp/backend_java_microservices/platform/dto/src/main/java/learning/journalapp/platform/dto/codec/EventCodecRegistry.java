@@ -0,0 +1,167 @@
+package learning.journalapp.platform.dto.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Frames and unframes messages for the registered codecs. Each frame is laid out as:
+ *
+ * <pre>
+ * format (1 byte) | type id (varint) | schema version (varint) | body length (4 bytes LE) | body
+ * </pre>
+ *
+ * <p>The length prefix lets several frames share one buffer and lets readers skip message types
+ * they have no codec for. The registry is immutable and thread-safe.
+ */
+public final class EventCodecRegistry {
+
+  /** Version of the frame layout itself, independent of any message schema. */
+  public static final byte FORMAT_VERSION = 1;
+
+  private static final int INITIAL_SCRATCH_SIZE = 512;
+  private static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+  /** Larger scratch buffers, grown for a rare oversized frame, are dropped instead of pooled. */
+  private static final int MAX_POOLED_SCRATCH_SIZE = 64 * 1024;
+
+  /**
+   * Scratch buffers shared by all threads. Not per thread: on virtual threads, which are created
+   * per task, a thread-local buffer would be allocated for nearly every call.
+   */
+  private static final BlockingQueue<ByteBuffer> SCRATCH =
+      new ArrayBlockingQueue<>(2 * Runtime.getRuntime().availableProcessors());
+
+  private final Map<Class<?>, BinaryCodec<?>> codecsByType = new HashMap<>();
+  private final Map<Integer, BinaryCodec<?>> codecsById = new HashMap<>();
+
+  public EventCodecRegistry(final BinaryCodec<?>... codecs) {
+    for (final BinaryCodec<?> codec : codecs) {
+      if (codecsById.putIfAbsent(codec.typeId(), codec) != null) {
+        throw new IllegalArgumentException("Duplicate codec type id: " + codec.typeId());
+      }
+      codecsByType.put(codec.type(), codec);
+    }
+  }
+
+  /**
+   * Write one frame at the buffer's position.
+   *
+   * @throws BufferOverflowException if the buffer is too small; its position is then undefined
+   */
+  public void encode(final Object message, final ByteBuffer target) {
+    final BinaryCodec<Object> codec = codecFor(message);
+    final WireWriter writer = new WireWriter(target);
+
+    target.put(FORMAT_VERSION);
+    writer.putVarint(codec.typeId());
+    writer.putVarint(codec.schemaVersion());
+    if (target.remaining() < Integer.BYTES) {
+      throw new BufferOverflowException();
+    }
+    final int lengthIndex = target.position();
+    target.position(lengthIndex + Integer.BYTES);
+
+    final int bodyStart = target.position();
+    codec.write(message, writer);
+    writer.putFixed32(lengthIndex, target.position() - bodyStart);
+  }
+
+  /**
+   * Encode one frame into a new array, sized exactly. Uses a pooled scratch buffer, so usually
+   * only the returned array is allocated.
+   */
+  public byte[] encode(final Object message) {
+    final ByteBuffer pooled = SCRATCH.poll();
+    ByteBuffer scratch = pooled != null ? pooled : ByteBuffer.allocate(INITIAL_SCRATCH_SIZE);
+    try {
+      while (true) {
+        scratch.clear();
+        try {
+          encode(message, scratch);
+          return Arrays.copyOf(scratch.array(), scratch.position());
+        } catch (final BufferOverflowException e) {
+          if (scratch.capacity() >= MAX_FRAME_SIZE) {
+            throw new CodecException("Message exceeds " + MAX_FRAME_SIZE + " bytes");
+          }
+          scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+        }
+      }
+    } finally {
+      // Dropped if the pool is full
+      if (scratch.capacity() <= MAX_POOLED_SCRATCH_SIZE) {
+        SCRATCH.offer(scratch);
+      }
+    }
+  }
+
+  /**
+   * Read one frame from the buffer's position and advance past it. The body is read through a
+   * slice of the buffer, not a copy.
+   *
+   * @return the message, or null if no codec is registered for its type id
+   * @throws CodecException if the frame is malformed, truncated or uses an unknown format version
+   */
+  public Object decode(final ByteBuffer source) {
+    final WireReader header = new WireReader(source);
+
+    if (!source.hasRemaining()) {
+      throw new CodecException("Empty frame");
+    }
+    final byte format = source.get();
+    if (format != FORMAT_VERSION) {
+      throw new CodecException("Unsupported frame format: " + format);
+    }
+    final long typeId = header.readVarint();
+    final long schemaVersion = header.readVarint();
+    if (typeId >>> 31 != 0 || schemaVersion >>> 31 != 0) {
+      throw new CodecException("Invalid frame header");
+    }
+    final int length = header.readFixed32();
+    if (length < 0 || length > source.remaining()) {
+      throw new CodecException("Invalid frame length: " + length);
+    }
+
+    final ByteBuffer body = source.slice(source.position(), length);
+    source.position(source.position() + length);
+
+    final BinaryCodec<?> codec = codecsById.get((int) typeId);
+    if (codec == null) {
+      return null;
+    }
+    return codec.read(new WireReader(body), (int) schemaVersion);
+  }
+
+  /** Decode from an array holding exactly one frame. */
+  public Object decode(final byte[] frame) {
+    return decode(ByteBuffer.wrap(frame));
+  }
+
+  /**
+   * Decode one frame expected to hold a given type.
+   *
+   * @return the message, or null if its type is unknown to this registry
+   * @throws CodecException if the frame holds a different known type
+   */
+  public <T> T decode(final ByteBuffer source, final Class<T> type) {
+    final Object message = decode(source);
+    if (message != null && !type.isInstance(message)) {
+      throw new CodecException(
+          "Expected " + type.getSimpleName() + " but got " + message.getClass().getSimpleName());
+    }
+    return type.cast(message);
+  }
+
+  @SuppressWarnings("unchecked")
+  private BinaryCodec<Object> codecFor(final Object message) {
+    final BinaryCodec<?> codec = codecsByType.get(message.getClass());
+    if (codec == null) {
+      throw new CodecException("No codec registered for " + message.getClass().getName());
+    }
+    return (BinaryCodec<Object>) codec;
+  }
+}
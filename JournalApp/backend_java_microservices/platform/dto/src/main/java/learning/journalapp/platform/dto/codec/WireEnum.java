@@ -0,0 +1,41 @@
+package learning.journalapp.platform.dto.codec;
+
+import java.util.Arrays;
+
+/**
+ * An enum with a fixed wire code. Codes are assigned explicitly instead of using {@code ordinal()},
+ * so constants can be reordered or added without changing what is on the wire. Code 0 is reserved
+ * for "not set".
+ */
+public interface WireEnum {
+
+  /** Stable, positive code of this constant. Never change or reuse a code once released. */
+  int wireCode();
+
+  /**
+   * Build a code-to-constant lookup table for an enum.
+   *
+   * @param values the enum constants
+   * @return an array indexed by wire code, with null for unassigned codes
+   */
+  static <E extends Enum<E> & WireEnum> E[] lookupTable(final E[] values) {
+    int max = 0;
+    for (final E value : values) {
+      max = Math.max(max, value.wireCode());
+    }
+    final E[] table = Arrays.copyOf(values, max + 1);
+    Arrays.fill(table, null);
+    for (final E value : values) {
+      table[value.wireCode()] = value;
+    }
+    return table;
+  }
+
+  /**
+   * Resolve a wire code. Codes written by a newer schema that this reader does not know decode as
+   * null, the same as a missing field.
+   */
+  static <E> E fromWireCode(final E[] table, final long code) {
+    return code > 0 && code < table.length ? table[(int) code] : null;
+  }
+}
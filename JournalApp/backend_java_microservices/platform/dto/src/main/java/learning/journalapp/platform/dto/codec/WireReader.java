@@ -0,0 +1,149 @@
+package learning.journalapp.platform.dto.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads tagged fields from a {@link ByteBuffer} written by {@link WireWriter}. Strings are decoded
+ * directly from the backing array of heap buffers; nothing else is copied. Every read checks the
+ * bytes remaining first, so truncated input fails with a {@link CodecException}.
+ *
+ * <p>Typical read loop, which skips fields added by newer writers:
+ *
+ * <pre>
+ * while (reader.hasRemaining()) {
+ *   final int tag = reader.readTag();
+ *   switch (WireReader.fieldNumber(tag)) {
+ *     case USER_ID -> userId = reader.readVarint();
+ *     default -> reader.skipField(tag);
+ *   }
+ * }
+ * </pre>
+ */
+public final class WireReader {
+
+  private final ByteBuffer buffer;
+
+  public WireReader(final ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  public static int fieldNumber(final int tag) {
+    return tag >>> 3;
+  }
+
+  public static int wireType(final int tag) {
+    return tag & 0x7;
+  }
+
+  public boolean hasRemaining() {
+    return buffer.hasRemaining();
+  }
+
+  public int readTag() {
+    final long tag = readVarint();
+    if (tag >>> 32 != 0 || fieldNumber((int) tag) == 0) {
+      throw new CodecException("Invalid field tag: " + tag);
+    }
+    return (int) tag;
+  }
+
+  public long readVarint() {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      if (!buffer.hasRemaining()) {
+        throw new CodecException("Truncated varint");
+      }
+      final byte b = buffer.get();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new CodecException("Malformed varint");
+  }
+
+  public long readSignedVarint() {
+    final long value = readVarint();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  public int readInt() {
+    return (int) readSignedVarint();
+  }
+
+  public boolean readBoolean() {
+    return readVarint() != 0;
+  }
+
+  public double readDouble() {
+    require(8);
+    long bits = 0;
+    for (int i = 0; i < 8; i++) {
+      bits |= (buffer.get() & 0xFFL) << (8 * i);
+    }
+    return Double.longBitsToDouble(bits);
+  }
+
+  public String readString() {
+    final int length = readLength();
+    final String value;
+    if (buffer.hasArray()) {
+      value =
+          new String(
+              buffer.array(),
+              buffer.arrayOffset() + buffer.position(),
+              length,
+              StandardCharsets.UTF_8);
+      buffer.position(buffer.position() + length);
+    } else {
+      final byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return value;
+  }
+
+  /** Skip the value of a field this reader does not know. */
+  public void skipField(final int tag) {
+    switch (wireType(tag)) {
+      case WireType.VARINT -> readVarint();
+      case WireType.FIXED64 -> advance(8);
+      case WireType.LENGTH_DELIMITED -> advance(readLength());
+      case WireType.FIXED32 -> advance(4);
+      default -> throw new CodecException("Unknown wire type in tag: " + tag);
+    }
+  }
+
+  int readFixed32() {
+    require(4);
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      value |= (buffer.get() & 0xFF) << (8 * i);
+    }
+    return value;
+  }
+
+  ByteBuffer buffer() {
+    return buffer;
+  }
+
+  private int readLength() {
+    final long length = readVarint();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new CodecException("Invalid length: " + length);
+    }
+    return (int) length;
+  }
+
+  private void advance(final int bytes) {
+    require(bytes);
+    buffer.position(buffer.position() + bytes);
+  }
+
+  private void require(final int bytes) {
+    if (bytes > buffer.remaining()) {
+      throw new CodecException("Truncated field");
+    }
+  }
+}
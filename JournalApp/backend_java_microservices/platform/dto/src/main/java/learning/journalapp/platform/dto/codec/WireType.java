@@ -0,0 +1,24 @@
+package learning.journalapp.platform.dto.codec;
+
+/**
+ * Wire types of encoded fields. The wire type is stored in the low 3 bits of every field tag, so a
+ * reader can skip fields it does not know without knowing their schema.
+ */
+public final class WireType {
+
+  /** Unsigned LEB128 varint: integers, booleans, enum codes. */
+  public static final int VARINT = 0;
+
+  /** 8 bytes, little-endian: doubles. */
+  public static final int FIXED64 = 1;
+
+  /** Varint length followed by that many bytes: UTF-8 strings. */
+  public static final int LENGTH_DELIMITED = 2;
+
+  /** 4 bytes, little-endian. */
+  public static final int FIXED32 = 5;
+
+  private WireType() {
+    // Constants class
+  }
+}
@@ -0,0 +1,155 @@
+package learning.journalapp.platform.dto.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes tagged fields straight into a caller-supplied {@link ByteBuffer}, without intermediate
+ * byte arrays. Every field is written as a varint tag ({@code fieldNumber << 3 | wireType})
+ * followed by its value.
+ *
+ * <p>Null values, zero numbers and false booleans are not written at all; readers treat a missing
+ * field as its default. Throws {@link java.nio.BufferOverflowException} if the buffer is too small.
+ */
+public final class WireWriter {
+
+  private final ByteBuffer buffer;
+
+  public WireWriter(final ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /** Write an unsigned integer (ids, counts, epoch millis). */
+  public void writeVarint(final int fieldNumber, final long value) {
+    if (value != 0) {
+      writeTag(fieldNumber, WireType.VARINT);
+      putVarint(value);
+    }
+  }
+
+  /** Write an integer that may be negative, zigzag-encoded so small negatives stay small. */
+  public void writeSignedVarint(final int fieldNumber, final long value) {
+    writeVarint(fieldNumber, zigzag(value));
+  }
+
+  /** Write a nullable integer. Unlike {@link #writeVarint}, zero is written. */
+  public void writeInt(final int fieldNumber, final Integer value) {
+    if (value != null) {
+      writeTag(fieldNumber, WireType.VARINT);
+      putVarint(zigzag(value));
+    }
+  }
+
+  public void writeBoolean(final int fieldNumber, final boolean value) {
+    writeVarint(fieldNumber, value ? 1 : 0);
+  }
+
+  public void writeEnum(final int fieldNumber, final WireEnum value) {
+    if (value != null) {
+      writeVarint(fieldNumber, value.wireCode());
+    }
+  }
+
+  public void writeDouble(final int fieldNumber, final Double value) {
+    if (value != null) {
+      writeTag(fieldNumber, WireType.FIXED64);
+      putLongLittleEndian(Double.doubleToRawLongBits(value));
+    }
+  }
+
+  /** Write a string as its UTF-8 length followed by the UTF-8 bytes, encoded in place. */
+  public void writeString(final int fieldNumber, final String value) {
+    if (value == null) {
+      return;
+    }
+    writeTag(fieldNumber, WireType.LENGTH_DELIMITED);
+    putVarint(utf8Length(value));
+    putUtf8(value);
+  }
+
+  /** Write a fixed 4-byte little-endian int at an absolute index (used for frame lengths). */
+  void putFixed32(final int index, final int value) {
+    for (int i = 0; i < 4; i++) {
+      buffer.put(index + i, (byte) (value >>> (8 * i)));
+    }
+  }
+
+  void putVarint(long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  ByteBuffer buffer() {
+    return buffer;
+  }
+
+  private void writeTag(final int fieldNumber, final int wireType) {
+    putVarint(((long) fieldNumber << 3) | wireType);
+  }
+
+  private void putLongLittleEndian(final long value) {
+    // Byte by byte, so the caller's buffer order is left alone
+    for (int i = 0; i < 8; i++) {
+      buffer.put((byte) (value >>> (8 * i)));
+    }
+  }
+
+  private static long zigzag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private void putUtf8(final String value) {
+    final int length = value.length();
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c < 0x800) {
+        buffer.put((byte) (0xC0 | (c >>> 6)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      } else if (isSurrogatePair(value, i)) {
+        final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer.put((byte) (0xF0 | (codePoint >>> 18)));
+        buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+        buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+      } else if (Character.isSurrogate(c)) {
+        // Unpaired surrogate, replaced the same way String.getBytes(UTF_8) does
+        buffer.put((byte) '?');
+      } else {
+        buffer.put((byte) (0xE0 | (c >>> 12)));
+        buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      }
+    }
+  }
+
+  private static int utf8Length(final String value) {
+    final int length = value.length();
+    int bytes = length;
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        continue;
+      }
+      if (c < 0x800) {
+        bytes += 1;
+      } else if (isSurrogatePair(value, i)) {
+        // Two chars, four bytes
+        bytes += 2;
+        i++;
+      } else if (!Character.isSurrogate(c)) {
+        bytes += 2;
+      }
+    }
+    return bytes;
+  }
+
+  private static boolean isSurrogatePair(final String value, final int index) {
+    return Character.isHighSurrogate(value.charAt(index))
+        && index + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(index + 1));
+  }
+}
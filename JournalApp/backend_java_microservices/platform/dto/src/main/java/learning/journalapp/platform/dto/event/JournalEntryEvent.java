@@ -0,0 +1,36 @@
+package learning.journalapp.platform.dto.event;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import learning.journalapp.platform.dto.journal.Mood;
+import learning.journalapp.platform.dto.journal.Season;
+import learning.journalapp.platform.dto.journal.WeatherCondition;
+
+/**
+ * A change to a journal entry. Medications are not carried; consumers that need them read the
+ * entry from the journal service.
+ *
+ * @param entryId id of the entry
+ * @param userId id of the owning user
+ * @param type what happened
+ * @param entryDate day the entry is for
+ * @param mood recorded mood
+ * @param season season of the entry date, may be null
+ * @param weatherCondition weather condition, may be null
+ * @param temperatureCelsius temperature, may be null
+ * @param humidity relative humidity in percent, may be null
+ * @param notes free text, may be null
+ * @param occurredAt when the change happened (millisecond precision on the wire)
+ */
+public record JournalEntryEvent(
+    long entryId,
+    long userId,
+    JournalEntryEventType type,
+    LocalDate entryDate,
+    Mood mood,
+    Season season,
+    WeatherCondition weatherCondition,
+    Double temperatureCelsius,
+    Integer humidity,
+    String notes,
+    Instant occurredAt) {}
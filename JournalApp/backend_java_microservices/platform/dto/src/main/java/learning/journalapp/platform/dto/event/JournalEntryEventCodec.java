@@ -0,0 +1,111 @@
+package learning.journalapp.platform.dto.event;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import learning.journalapp.platform.dto.codec.BinaryCodec;
+import learning.journalapp.platform.dto.codec.WireReader;
+import learning.journalapp.platform.dto.codec.WireWriter;
+import learning.journalapp.platform.dto.journal.Mood;
+import learning.journalapp.platform.dto.journal.Season;
+import learning.journalapp.platform.dto.journal.WeatherCondition;
+
+/** Binary codec for {@link JournalEntryEvent}. Dates are written as epoch days. */
+public final class JournalEntryEventCodec implements BinaryCodec<JournalEntryEvent> {
+
+  public static final int TYPE_ID = 2;
+
+  // Field numbers are part of the wire format: never renumber or reuse them
+  private static final int ENTRY_ID = 1;
+  private static final int USER_ID = 2;
+  private static final int TYPE = 3;
+  private static final int ENTRY_DATE = 4;
+  private static final int MOOD = 5;
+  private static final int SEASON = 6;
+  private static final int WEATHER_CONDITION = 7;
+  private static final int TEMPERATURE_CELSIUS = 8;
+  private static final int HUMIDITY = 9;
+  private static final int NOTES = 10;
+  private static final int OCCURRED_AT = 11;
+
+  @Override
+  public int typeId() {
+    return TYPE_ID;
+  }
+
+  @Override
+  public int schemaVersion() {
+    return 1;
+  }
+
+  @Override
+  public Class<JournalEntryEvent> type() {
+    return JournalEntryEvent.class;
+  }
+
+  @Override
+  public void write(final JournalEntryEvent event, final WireWriter writer) {
+    writer.writeVarint(ENTRY_ID, event.entryId());
+    writer.writeVarint(USER_ID, event.userId());
+    writer.writeEnum(TYPE, event.type());
+    if (event.entryDate() != null) {
+      // Epoch day 0 is 1970-01-01, which would otherwise be indistinguishable from "not set"
+      writer.writeInt(ENTRY_DATE, Math.toIntExact(event.entryDate().toEpochDay()));
+    }
+    writer.writeEnum(MOOD, event.mood());
+    writer.writeEnum(SEASON, event.season());
+    writer.writeEnum(WEATHER_CONDITION, event.weatherCondition());
+    writer.writeDouble(TEMPERATURE_CELSIUS, event.temperatureCelsius());
+    writer.writeInt(HUMIDITY, event.humidity());
+    writer.writeString(NOTES, event.notes());
+    if (event.occurredAt() != null) {
+      writer.writeSignedVarint(OCCURRED_AT, event.occurredAt().toEpochMilli());
+    }
+  }
+
+  @Override
+  public JournalEntryEvent read(final WireReader reader, final int schemaVersion) {
+    long entryId = 0;
+    long userId = 0;
+    JournalEntryEventType type = null;
+    LocalDate entryDate = null;
+    Mood mood = null;
+    Season season = null;
+    WeatherCondition weatherCondition = null;
+    Double temperatureCelsius = null;
+    Integer humidity = null;
+    String notes = null;
+    Instant occurredAt = null;
+
+    while (reader.hasRemaining()) {
+      final int tag = reader.readTag();
+      switch (WireReader.fieldNumber(tag)) {
+        case ENTRY_ID -> entryId = reader.readVarint();
+        case USER_ID -> userId = reader.readVarint();
+        case TYPE -> type = JournalEntryEventType.fromWireCode(reader.readVarint());
+        case ENTRY_DATE -> entryDate = LocalDate.ofEpochDay(reader.readInt());
+        case MOOD -> mood = Mood.fromWireCode(reader.readVarint());
+        case SEASON -> season = Season.fromWireCode(reader.readVarint());
+        case WEATHER_CONDITION ->
+            weatherCondition = WeatherCondition.fromWireCode(reader.readVarint());
+        case TEMPERATURE_CELSIUS -> temperatureCelsius = reader.readDouble();
+        case HUMIDITY -> humidity = reader.readInt();
+        case NOTES -> notes = reader.readString();
+        case OCCURRED_AT -> occurredAt = Instant.ofEpochMilli(reader.readSignedVarint());
+        default -> reader.skipField(tag);
+      }
+    }
+
+    return new JournalEntryEvent(
+        entryId,
+        userId,
+        type,
+        entryDate,
+        mood,
+        season,
+        weatherCondition,
+        temperatureCelsius,
+        humidity,
+        notes,
+        occurredAt);
+  }
+}
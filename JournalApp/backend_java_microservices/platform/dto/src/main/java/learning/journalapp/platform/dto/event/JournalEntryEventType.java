@@ -0,0 +1,28 @@
+package learning.journalapp.platform.dto.event;
+
+import learning.journalapp.platform.dto.codec.WireEnum;
+
+/** What happened to a journal entry. */
+public enum JournalEntryEventType implements WireEnum {
+  CREATED(1),
+  UPDATED(2),
+  DELETED(3);
+
+  private static final JournalEntryEventType[] BY_WIRE_CODE = WireEnum.lookupTable(values());
+
+  private final int wireCode;
+
+  JournalEntryEventType(final int wireCode) {
+    this.wireCode = wireCode;
+  }
+
+  @Override
+  public int wireCode() {
+    return wireCode;
+  }
+
+  /** Resolve a wire code, or null if it is unknown to this version. */
+  public static JournalEntryEventType fromWireCode(final long wireCode) {
+    return WireEnum.fromWireCode(BY_WIRE_CODE, wireCode);
+  }
+}
@@ -0,0 +1,15 @@
+package learning.journalapp.platform.dto.event;
+
+import learning.journalapp.platform.dto.codec.EventCodecRegistry;
+
+/** Codec registry for every event defined in this module. */
+public final class PlatformEventCodecs {
+
+  /** Shared, thread-safe registry for UserEvent and JournalEntryEvent. */
+  public static final EventCodecRegistry REGISTRY =
+      new EventCodecRegistry(new UserEventCodec(), new JournalEntryEventCodec());
+
+  private PlatformEventCodecs() {
+    // Constants class
+  }
+}
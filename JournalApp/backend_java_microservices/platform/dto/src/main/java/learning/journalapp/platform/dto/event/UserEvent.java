@@ -0,0 +1,30 @@
+package learning.journalapp.platform.dto.event;
+
+import java.time.Instant;
+
+/**
+ * A change to a user account, published by the authentication service.
+ *
+ * @param userId id of the user
+ * @param type what happened
+ * @param username login name
+ * @param email email address, may be null
+ * @param firstName first name, may be null
+ * @param lastName last name, may be null
+ * @param role role name without the ROLE_ prefix
+ * @param enabled whether the account can log in
+ * @param occurredAt when the change happened (millisecond precision on the wire)
+ * @param version monotonically increasing version of the user row, so consumers can drop stale or
+ *     duplicate events
+ */
+public record UserEvent(
+    long userId,
+    UserEventType type,
+    String username,
+    String email,
+    String firstName,
+    String lastName,
+    String role,
+    boolean enabled,
+    Instant occurredAt,
+    long version) {}
@@ -0,0 +1,89 @@
+package learning.journalapp.platform.dto.event;
+
+import java.time.Instant;
+import learning.journalapp.platform.dto.codec.BinaryCodec;
+import learning.journalapp.platform.dto.codec.WireReader;
+import learning.journalapp.platform.dto.codec.WireWriter;
+
+/** Binary codec for {@link UserEvent}. */
+public final class UserEventCodec implements BinaryCodec<UserEvent> {
+
+  public static final int TYPE_ID = 1;
+
+  // Field numbers are part of the wire format: never renumber or reuse them
+  private static final int USER_ID = 1;
+  private static final int TYPE = 2;
+  private static final int USERNAME = 3;
+  private static final int EMAIL = 4;
+  private static final int FIRST_NAME = 5;
+  private static final int LAST_NAME = 6;
+  private static final int ROLE = 7;
+  private static final int ENABLED = 8;
+  private static final int OCCURRED_AT = 9;
+  private static final int VERSION = 10;
+
+  @Override
+  public int typeId() {
+    return TYPE_ID;
+  }
+
+  @Override
+  public int schemaVersion() {
+    return 1;
+  }
+
+  @Override
+  public Class<UserEvent> type() {
+    return UserEvent.class;
+  }
+
+  @Override
+  public void write(final UserEvent event, final WireWriter writer) {
+    writer.writeVarint(USER_ID, event.userId());
+    writer.writeEnum(TYPE, event.type());
+    writer.writeString(USERNAME, event.username());
+    writer.writeString(EMAIL, event.email());
+    writer.writeString(FIRST_NAME, event.firstName());
+    writer.writeString(LAST_NAME, event.lastName());
+    writer.writeString(ROLE, event.role());
+    writer.writeBoolean(ENABLED, event.enabled());
+    if (event.occurredAt() != null) {
+      writer.writeSignedVarint(OCCURRED_AT, event.occurredAt().toEpochMilli());
+    }
+    writer.writeVarint(VERSION, event.version());
+  }
+
+  @Override
+  public UserEvent read(final WireReader reader, final int schemaVersion) {
+    long userId = 0;
+    UserEventType type = null;
+    String username = null;
+    String email = null;
+    String firstName = null;
+    String lastName = null;
+    String role = null;
+    boolean enabled = false;
+    Instant occurredAt = null;
+    long version = 0;
+
+    while (reader.hasRemaining()) {
+      final int tag = reader.readTag();
+      switch (WireReader.fieldNumber(tag)) {
+        case USER_ID -> userId = reader.readVarint();
+        case TYPE -> type = UserEventType.fromWireCode(reader.readVarint());
+        case USERNAME -> username = reader.readString();
+        case EMAIL -> email = reader.readString();
+        case FIRST_NAME -> firstName = reader.readString();
+        case LAST_NAME -> lastName = reader.readString();
+        case ROLE -> role = reader.readString();
+        case ENABLED -> enabled = reader.readBoolean();
+        case OCCURRED_AT -> occurredAt = Instant.ofEpochMilli(reader.readSignedVarint());
+        case VERSION -> version = reader.readVarint();
+        default -> reader.skipField(tag);
+      }
+    }
+
+    return new UserEvent(
+        userId, type, username, email, firstName, lastName, role, enabled, occurredAt, version);
+  }
+}
@@ -0,0 +1,30 @@
+package learning.journalapp.platform.dto.event;
+
+import learning.journalapp.platform.dto.codec.WireEnum;
+
+/** What happened to a user. */
+public enum UserEventType implements WireEnum {
+  CREATED(1),
+  UPDATED(2),
+  DELETED(3),
+  ENABLED(4),
+  DISABLED(5);
+
+  private static final UserEventType[] BY_WIRE_CODE = WireEnum.lookupTable(values());
+
+  private final int wireCode;
+
+  UserEventType(final int wireCode) {
+    this.wireCode = wireCode;
+  }
+
+  @Override
+  public int wireCode() {
+    return wireCode;
+  }
+
+  /** Resolve a wire code, or null if it is unknown to this version. */
+  public static UserEventType fromWireCode(final long wireCode) {
+    return WireEnum.fromWireCode(BY_WIRE_CODE, wireCode);
+  }
+}
@@ -0,0 +1,30 @@
+package learning.journalapp.platform.dto.journal;
+
+import learning.journalapp.platform.dto.codec.WireEnum;
+
+/** Mood recorded for a journal entry. Wire codes are fixed; see {@link WireEnum}. */
+public enum Mood implements WireEnum {
+  POOR(1),
+  FAIR(2),
+  NEUTRAL(3),
+  GOOD(4),
+  GREAT(5);
+
+  private static final Mood[] BY_WIRE_CODE = WireEnum.lookupTable(values());
+
+  private final int wireCode;
+
+  Mood(final int wireCode) {
+    this.wireCode = wireCode;
+  }
+
+  @Override
+  public int wireCode() {
+    return wireCode;
+  }
+
+  /** Resolve a wire code, or null if it is unknown to this version. */
+  public static Mood fromWireCode(final long wireCode) {
+    return WireEnum.fromWireCode(BY_WIRE_CODE, wireCode);
+  }
+}
@@ -0,0 +1,29 @@
+package learning.journalapp.platform.dto.journal;
+
+import learning.journalapp.platform.dto.codec.WireEnum;
+
+/** Season a journal entry falls in. */
+public enum Season implements WireEnum {
+  SPRING(1),
+  SUMMER(2),
+  FALL(3),
+  WINTER(4);
+
+  private static final Season[] BY_WIRE_CODE = WireEnum.lookupTable(values());
+
+  private final int wireCode;
+
+  Season(final int wireCode) {
+    this.wireCode = wireCode;
+  }
+
+  @Override
+  public int wireCode() {
+    return wireCode;
+  }
+
+  /** Resolve a wire code, or null if it is unknown to this version. */
+  public static Season fromWireCode(final long wireCode) {
+    return WireEnum.fromWireCode(BY_WIRE_CODE, wireCode);
+  }
+}
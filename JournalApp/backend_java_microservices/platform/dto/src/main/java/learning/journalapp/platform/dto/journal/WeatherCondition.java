@@ -0,0 +1,31 @@
+package learning.journalapp.platform.dto.journal;
+
+import learning.journalapp.platform.dto.codec.WireEnum;
+
+/** Weather at the time of a journal entry. */
+public enum WeatherCondition implements WireEnum {
+  SUNNY(1),
+  RAINY(2),
+  SNOW(3),
+  CLOUDY(4),
+  OVERCAST(5),
+  STORM(6);
+
+  private static final WeatherCondition[] BY_WIRE_CODE = WireEnum.lookupTable(values());
+
+  private final int wireCode;
+
+  WeatherCondition(final int wireCode) {
+    this.wireCode = wireCode;
+  }
+
+  @Override
+  public int wireCode() {
+    return wireCode;
+  }
+
+  /** Resolve a wire code, or null if it is unknown to this version. */
+  public static WeatherCondition fromWireCode(final long wireCode) {
+    return WireEnum.fromWireCode(BY_WIRE_CODE, wireCode);
+  }
+}
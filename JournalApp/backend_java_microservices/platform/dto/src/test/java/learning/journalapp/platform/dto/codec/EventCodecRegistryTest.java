@@ -0,0 +1,143 @@
+package learning.journalapp.platform.dto.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import learning.journalapp.platform.dto.event.JournalEntryEvent;
+import learning.journalapp.platform.dto.event.JournalEntryEventType;
+import learning.journalapp.platform.dto.event.PlatformEventCodecs;
+import learning.journalapp.platform.dto.event.UserEvent;
+import learning.journalapp.platform.dto.event.UserEventCodec;
+import learning.journalapp.platform.dto.event.UserEventType;
+import learning.journalapp.platform.dto.journal.Mood;
+import learning.journalapp.platform.dto.journal.Season;
+import learning.journalapp.platform.dto.journal.WeatherCondition;
+import org.junit.jupiter.api.Test;
+
+class EventCodecRegistryTest {
+
+  private static final Instant OCCURRED_AT = Instant.parse("2025-03-01T12:34:56.789Z");
+
+  private final EventCodecRegistry registry = PlatformEventCodecs.REGISTRY;
+
+  @Test
+  void userEventRoundTrips() {
+    final UserEvent event =
+        new UserEvent(
+            42,
+            UserEventType.UPDATED,
+            "ada",
+            "ada@example.com",
+            "Ada",
+            null,
+            "USER",
+            true,
+            OCCURRED_AT,
+            7);
+
+    assertThat(registry.decode(registry.encode(event))).isEqualTo(event);
+  }
+
+  @Test
+  void journalEntryEventRoundTrips() {
+    final JournalEntryEvent full = journalEntryEvent("Went for a walk.");
+    final JournalEntryEvent sparse =
+        new JournalEntryEvent(
+            1,
+            2,
+            JournalEntryEventType.DELETED,
+            LocalDate.EPOCH,
+            Mood.POOR,
+            null,
+            null,
+            null,
+            null,
+            null,
+            OCCURRED_AT);
+
+    assertThat(registry.decode(registry.encode(full))).isEqualTo(full);
+    assertThat(registry.decode(registry.encode(sparse))).isEqualTo(sparse);
+  }
+
+  @Test
+  void framesLargerThanTheScratchBufferRoundTrip() {
+    // Past the initial scratch size, and past the largest one that is pooled
+    for (final int length : new int[] {1_000, 100_000}) {
+      final JournalEntryEvent event = journalEntryEvent("x".repeat(length));
+
+      assertThat(registry.decode(registry.encode(event))).isEqualTo(event);
+    }
+    final JournalEntryEvent small = journalEntryEvent("short");
+    assertThat(registry.decode(registry.encode(small))).isEqualTo(small);
+  }
+
+  @Test
+  void framesShareABuffer() {
+    final UserEvent user =
+        new UserEvent(
+            1, UserEventType.CREATED, "bob", null, null, null, "USER", true, OCCURRED_AT, 1);
+    final JournalEntryEvent entry = journalEntryEvent(null);
+    final ByteBuffer buffer = ByteBuffer.allocate(1024);
+    registry.encode(user, buffer);
+    registry.encode(entry, buffer);
+    buffer.flip();
+
+    assertThat(registry.decode(buffer, UserEvent.class)).isEqualTo(user);
+    assertThat(registry.decode(buffer, JournalEntryEvent.class)).isEqualTo(entry);
+    assertThat(buffer.hasRemaining()).isFalse();
+  }
+
+  @Test
+  void truncatedFramesAreRejected() {
+    final byte[] frame = registry.encode(journalEntryEvent("Went for a walk."));
+
+    for (int length = 0; length < frame.length; length++) {
+      final byte[] truncated = Arrays.copyOf(frame, length);
+      assertThatThrownBy(() -> registry.decode(truncated))
+          .as("frame truncated to %d of %d bytes", length, frame.length)
+          .isInstanceOf(CodecException.class);
+    }
+  }
+
+  @Test
+  void unknownFormatVersionIsRejected() {
+    final byte[] frame = registry.encode(journalEntryEvent(null));
+    frame[0] = EventCodecRegistry.FORMAT_VERSION + 1;
+
+    assertThatThrownBy(() -> registry.decode(frame)).isInstanceOf(CodecException.class);
+  }
+
+  @Test
+  void unknownTypesDecodeToNull() {
+    final byte[] frame = registry.encode(journalEntryEvent(null));
+
+    assertThat(new EventCodecRegistry(new UserEventCodec()).decode(frame)).isNull();
+  }
+
+  @Test
+  void decodingAsAnotherKnownTypeIsRejected() {
+    final ByteBuffer frame = ByteBuffer.wrap(registry.encode(journalEntryEvent(null)));
+
+    assertThatThrownBy(() -> registry.decode(frame, UserEvent.class))
+        .isInstanceOf(CodecException.class);
+  }
+
+  private static JournalEntryEvent journalEntryEvent(final String notes) {
+    return new JournalEntryEvent(
+        10,
+        20,
+        JournalEntryEventType.UPDATED,
+        LocalDate.of(2025, 2, 28),
+        Mood.GOOD,
+        Season.WINTER,
+        WeatherCondition.SNOW,
+        -3.5,
+        80,
+        notes,
+        OCCURRED_AT);
+  }
+}
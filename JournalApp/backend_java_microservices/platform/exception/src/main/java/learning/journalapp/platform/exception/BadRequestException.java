@@ -0,0 +1,13 @@
+package learning.journalapp.platform.exception;
+
+/** The request is invalid, e.g. a failed business validation. */
+public class BadRequestException extends DomainException {
+
+  public BadRequestException(final String message) {
+    super(ErrorCode.BAD_REQUEST, message);
+  }
+
+  public BadRequestException(final String message, final Throwable cause) {
+    super(ErrorCode.BAD_REQUEST, message, cause);
+  }
+}
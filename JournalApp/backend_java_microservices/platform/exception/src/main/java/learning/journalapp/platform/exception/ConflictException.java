@@ -0,0 +1,13 @@
+package learning.journalapp.platform.exception;
+
+/** The operation conflicts with existing state, e.g. a duplicate username. */
+public class ConflictException extends DomainException {
+
+  public ConflictException(final String message) {
+    super(ErrorCode.CONFLICT, message);
+  }
+
+  public ConflictException(final String message, final Throwable cause) {
+    super(ErrorCode.CONFLICT, message, cause);
+  }
+}
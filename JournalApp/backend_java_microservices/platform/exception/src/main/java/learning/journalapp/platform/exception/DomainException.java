@@ -0,0 +1,44 @@
+package learning.journalapp.platform.exception;
+
+/**
+ * Base class for expected business failures (not found, duplicates, not authenticated, ...).
+ *
+ * <p>These are ordinary outcomes rather than bugs, so they are created without a stack trace and
+ * without suppressed exceptions. That makes them cheap to throw and immutable, which means a
+ * service can preallocate one instance per failure and rethrow it:
+ *
+ * <pre>
+ * private static final ConflictException USERNAME_TAKEN =
+ *     new ConflictException("Username already exists");
+ *
+ * if (userRepository.existsByUsername(username)) {
+ *   throw USERNAME_TAKEN;
+ * }
+ * </pre>
+ *
+ * <p>Messages are returned to clients, so they must not contain user input or internal details.
+ * Use a regular exception for unexpected failures, where the stack trace matters.
+ */
+public abstract class DomainException extends RuntimeException {
+
+  private final ErrorCode errorCode;
+
+  protected DomainException(final ErrorCode errorCode, final String message) {
+    super(message, null, false, false);
+    this.errorCode = errorCode;
+  }
+
+  /**
+   * Wrap a lower-level failure. The cause keeps its own stack trace; only this wrapper skips it.
+   * Instances created with a cause should not be shared.
+   */
+  protected DomainException(
+      final ErrorCode errorCode, final String message, final Throwable cause) {
+    super(message, cause, false, false);
+    this.errorCode = errorCode;
+  }
+
+  public ErrorCode getErrorCode() {
+    return errorCode;
+  }
+}
@@ -0,0 +1,25 @@
+package learning.journalapp.platform.exception;
+
+/**
+ * Typed error codes shared by the REST and GraphQL error responses. Clients should branch on the
+ * code, never on the message.
+ */
+public enum ErrorCode {
+  BAD_REQUEST(400),
+  UNAUTHENTICATED(401),
+  FORBIDDEN(403),
+  NOT_FOUND(404),
+  CONFLICT(409),
+  INTERNAL(500);
+
+  private final int httpStatus;
+
+  ErrorCode(final int httpStatus) {
+    this.httpStatus = httpStatus;
+  }
+
+  /** HTTP status used when the error is returned from a REST endpoint. */
+  public int getHttpStatus() {
+    return httpStatus;
+  }
+}
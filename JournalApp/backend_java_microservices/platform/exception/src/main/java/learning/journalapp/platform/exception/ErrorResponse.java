@@ -0,0 +1,14 @@
+package learning.journalapp.platform.exception;
+
+import java.time.Instant;
+
+/**
+ * Standard error body returned by REST endpoints.
+ *
+ * @param code typed error code
+ * @param message client-safe message
+ * @param correlationId correlation ID of the request, if any
+ * @param timestamp when the error was produced
+ */
+public record ErrorResponse(
+    ErrorCode code, String message, String correlationId, Instant timestamp) {}
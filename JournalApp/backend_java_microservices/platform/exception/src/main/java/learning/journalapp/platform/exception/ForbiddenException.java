@@ -0,0 +1,13 @@
+package learning.journalapp.platform.exception;
+
+/** The caller is authenticated but not allowed to perform the operation. */
+public class ForbiddenException extends DomainException {
+
+  public ForbiddenException(final String message) {
+    super(ErrorCode.FORBIDDEN, message);
+  }
+
+  public ForbiddenException(final String message, final Throwable cause) {
+    super(ErrorCode.FORBIDDEN, message, cause);
+  }
+}
@@ -0,0 +1,13 @@
+package learning.journalapp.platform.exception;
+
+/** The requested resource does not exist. */
+public class NotFoundException extends DomainException {
+
+  public NotFoundException(final String message) {
+    super(ErrorCode.NOT_FOUND, message);
+  }
+
+  public NotFoundException(final String message, final Throwable cause) {
+    super(ErrorCode.NOT_FOUND, message, cause);
+  }
+}
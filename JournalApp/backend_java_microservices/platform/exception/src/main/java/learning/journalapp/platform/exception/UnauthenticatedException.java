@@ -0,0 +1,17 @@
+package learning.journalapp.platform.exception;
+
+/** The caller is not authenticated. */
+public class UnauthenticatedException extends DomainException {
+
+  /** Shared instance for the common case, where there is nothing more to say. */
+  public static final UnauthenticatedException INSTANCE =
+      new UnauthenticatedException("Not authenticated");
+
+  public UnauthenticatedException(final String message) {
+    super(ErrorCode.UNAUTHENTICATED, message);
+  }
+
+  public UnauthenticatedException(final String message, final Throwable cause) {
+    super(ErrorCode.UNAUTHENTICATED, message, cause);
+  }
+}
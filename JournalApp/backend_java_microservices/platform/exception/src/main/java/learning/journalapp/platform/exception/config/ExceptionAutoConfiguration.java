@@ -0,0 +1,46 @@
+package learning.journalapp.platform.exception.config;
+
+import learning.journalapp.platform.exception.graphql.DomainExceptionResolver;
+import learning.journalapp.platform.exception.graphql.DomainSubscriptionExceptionResolver;
+import learning.journalapp.platform.exception.handler.GlobalExceptionHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+
+/** Auto-configuration for exception commons beans. */
+@Configuration
+public class ExceptionAutoConfiguration {
+
+  /** Map domain exceptions thrown from REST controllers to error responses. */
+  @Bean
+  @ConditionalOnMissingBean
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+  public GlobalExceptionHandler globalExceptionHandler() {
+    return new GlobalExceptionHandler();
+  }
+
+  /**
+   * Map domain exceptions thrown from GraphQL data fetchers to typed errors. This only activates if
+   * Spring for GraphQL is on the classpath.
+   */
+  @Configuration
+  @ConditionalOnClass(DataFetcherExceptionResolverAdapter.class)
+  static class GraphQLExceptionConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DomainExceptionResolver domainExceptionResolver() {
+      return new DomainExceptionResolver();
+    }
+
+    /** The same mapping for errors that end a subscription stream. */
+    @Bean
+    @ConditionalOnMissingBean
+    public DomainSubscriptionExceptionResolver domainSubscriptionExceptionResolver() {
+      return new DomainSubscriptionExceptionResolver();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package learning.journalapp.platform.exception.graphql;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.Map;
+import learning.journalapp.platform.exception.DomainException;
+import learning.journalapp.platform.exception.ErrorCode;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+
+/**
+ * Maps {@link DomainException}s thrown from data fetchers to GraphQL errors. The Spring GraphQL
+ * {@link ErrorType} is set as the error classification and the typed code is added under the
+ * "code" extension:
+ *
+ * <pre>
+ * { "message": "Not authenticated", "extensions": { "classification": "UNAUTHORIZED",
+ *   "code": "UNAUTHENTICATED" } }
+ * </pre>
+ *
+ * <p>Other exceptions fall through to the next resolver (ultimately INTERNAL_ERROR).
+ */
+public class DomainExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+  @Override
+  protected GraphQLError resolveToSingleError(
+      final Throwable ex, final DataFetchingEnvironment env) {
+    if (!(ex instanceof final DomainException domainException)) {
+      return null;
+    }
+
+    return GraphqlErrorBuilder.newError(env)
+        .errorType(toErrorType(domainException.getErrorCode()))
+        .message(domainException.getMessage())
+        .extensions(Map.of("code", domainException.getErrorCode().name()))
+        .build();
+  }
+
+  static ErrorType toErrorType(final ErrorCode errorCode) {
+    return switch (errorCode) {
+      case BAD_REQUEST, CONFLICT -> ErrorType.BAD_REQUEST;
+      case UNAUTHENTICATED -> ErrorType.UNAUTHORIZED;
+      case FORBIDDEN -> ErrorType.FORBIDDEN;
+      case NOT_FOUND -> ErrorType.NOT_FOUND;
+      case INTERNAL -> ErrorType.INTERNAL_ERROR;
+    };
+  }
+}
@@ -0,0 +1,28 @@
+package learning.journalapp.platform.exception.graphql;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import java.util.Map;
+import learning.journalapp.platform.exception.DomainException;
+import org.springframework.graphql.execution.SubscriptionExceptionResolverAdapter;
+
+/**
+ * Maps {@link DomainException}s that terminate a subscription stream to GraphQL errors, in the same
+ * shape as {@link DomainExceptionResolver} does for data fetchers. Other exceptions fall through
+ * to the default (a generic error).
+ */
+public class DomainSubscriptionExceptionResolver extends SubscriptionExceptionResolverAdapter {
+
+  @Override
+  protected GraphQLError resolveToSingleError(final Throwable ex) {
+    if (!(ex instanceof final DomainException domainException)) {
+      return null;
+    }
+
+    return GraphqlErrorBuilder.newError()
+        .errorType(DomainExceptionResolver.toErrorType(domainException.getErrorCode()))
+        .message(domainException.getMessage())
+        .extensions(Map.of("code", domainException.getErrorCode().name()))
+        .build();
+  }
+}
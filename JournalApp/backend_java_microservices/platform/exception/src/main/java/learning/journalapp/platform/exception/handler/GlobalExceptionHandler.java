@@ -0,0 +1,36 @@
+package learning.journalapp.platform.exception.handler;
+
+import java.time.Instant;
+import java.util.Map;
+import learning.journalapp.platform.exception.DomainException;
+import learning.journalapp.platform.exception.ErrorResponse;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.slf4j.MDC;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps {@link DomainException}s thrown from REST controllers to an {@link ErrorResponse} with the
+ * HTTP status of their {@code ErrorCode}. Other exceptions are left to Spring's default handling.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(GlobalExceptionHandler.class);
+
+  @ExceptionHandler(DomainException.class)
+  public ResponseEntity<ErrorResponse> handleDomainException(final DomainException ex) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Request failed with domain error",
+          Map.of("errorCode", ex.getErrorCode().name(), "errorMessage", ex.getMessage()));
+    }
+
+    return ResponseEntity.status(ex.getErrorCode().getHttpStatus())
+        .body(
+            new ErrorResponse(
+                ex.getErrorCode(), ex.getMessage(), MDC.get("correlationId"), Instant.now()));
+  }
+}
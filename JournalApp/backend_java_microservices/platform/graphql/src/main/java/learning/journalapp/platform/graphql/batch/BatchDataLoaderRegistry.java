@@ -0,0 +1,20 @@
+package learning.journalapp.platform.graphql.batch;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+/**
+ * Registry shared by all operations of one batch. Spring registers the application's DataLoaders
+ * again for every execution; this keeps the first one under each name, so all operations of the
+ * batch use the same loaders: a key loaded by one operation is served from the loader's cache to
+ * the others, and loads from operations that are in flight at the same time are dispatched
+ * together.
+ */
+class BatchDataLoaderRegistry extends DataLoaderRegistry {
+
+  @Override
+  public DataLoaderRegistry register(final String key, final DataLoader<?, ?> dataLoader) {
+    computeIfAbsent(key, name -> dataLoader);
+    return this;
+  }
+}
@@ -0,0 +1,324 @@
+package learning.journalapp.platform.graphql.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.InlineFragment;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import learning.journalapp.platform.logging.CorrelationIdHolder;
+import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.platform.util.concurrency.BodyPrefixRequestWrapper;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Accepts several GraphQL operations in one HTTP request: a POST to the GraphQL endpoint whose body
+ * is a JSON array of ordinary request objects is answered with a JSON array of their responses, in
+ * the same order. Non-array bodies pass through to the regular GraphQL handler.
+ *
+ * <p>The filter runs after Spring Security, so the whole batch pays for the filter chain, the JWT
+ * check and the user lookup once. Each operation then goes through {@link WebGraphQlHandler} like
+ * a single request would, interceptors included, with:
+ *
+ * <ul>
+ *   <li>its own result: a failing or invalid operation yields an entry with {@code errors} and does
+ *       not affect the others;
+ *   <li>its own correlation ID, {@code <request id>-<index>}, in MDC while it executes, as its
+ *       execution ID, and in the {@code extensions} of its result;
+ *   <li>the request thread's context (security context, observation, and any other registered
+ *       thread-locals) captured into its Reactor context, as {@code GraphQlHttpHandler} does, so
+ *       asynchronous data fetchers see it too;
+ *   <li>DataLoaders shared with the rest of the batch (see {@link BatchDataLoaderRegistry}).
+ * </ul>
+ *
+ * <p>All operations are started before any result is awaited, so operations with asynchronous
+ * data fetchers overlap.
+ *
+ * <p>The whole batch holds one concurrency limiter permit, so operations selecting one of the
+ * {@code unbatchableFields} (login and register, which hash passwords) are rejected with an error
+ * entry: they must be sent on their own.
+ */
+public class BatchGraphQlFilter extends OncePerRequestFilter {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(BatchGraphQlFilter.class);
+
+  /** Enough to skip leading whitespace before the first JSON token. */
+  private static final int PEEK_SIZE = 64;
+
+  private final WebGraphQlHandler graphQlHandler;
+  private final ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+  private final ObjectMapper objectMapper;
+  private final String path;
+  private final int maxOperations;
+  private final Duration timeout;
+  private final List<String> perOperationHeaders;
+  private final Set<String> unbatchableFields;
+
+  public BatchGraphQlFilter(
+      final WebGraphQlHandler graphQlHandler,
+      final ObjectMapper objectMapper,
+      final BatchProperties properties) {
+    this.graphQlHandler = graphQlHandler;
+    this.objectMapper = objectMapper;
+    this.path = properties.getPath();
+    this.maxOperations = properties.getMaxOperations();
+    this.timeout = properties.getTimeout();
+    this.perOperationHeaders = List.copyOf(properties.getPerOperationHeaders());
+    this.unbatchableFields = Set.copyOf(properties.getUnbatchableFields());
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    return !"POST".equals(request.getMethod())
+        || !path.equals(request.getRequestURI().substring(request.getContextPath().length()));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    final BodyPrefixRequestWrapper wrapper = new BodyPrefixRequestWrapper(request, PEEK_SIZE);
+    if (!isArray(wrapper.getPrefix())) {
+      filterChain.doFilter(wrapper, response);
+      return;
+    }
+
+    final JsonNode batch;
+    try {
+      batch = objectMapper.readTree(wrapper.getInputStream());
+    } catch (final IOException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed GraphQL batch");
+      return;
+    }
+    if (batch.isEmpty() || batch.size() > maxOperations) {
+      response.sendError(
+          HttpServletResponse.SC_BAD_REQUEST,
+          "A GraphQL batch must contain 1 to " + maxOperations + " operations");
+      return;
+    }
+
+    final List<Map<String, Object>> results = execute(request, response, batch);
+
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), results);
+  }
+
+  private List<Map<String, Object>> execute(
+      final HttpServletRequest request, final HttpServletResponse response, final JsonNode batch) {
+    final String batchId = CorrelationIdHolder.getCorrelationId();
+    final String idPrefix = (batchId != null ? batchId : "batch") + "-";
+    final ServletServerHttpRequest httpRequest = new ServletServerHttpRequest(request);
+    final MultiValueMap<String, HttpCookie> cookies = cookies(request);
+    final BatchDataLoaderRegistry dataLoaderRegistry = new BatchDataLoaderRegistry();
+
+    // Start every operation first; each runs on this thread until it reaches async work
+    final List<CompletableFuture<WebGraphQlResponse>> executions = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      final String operationId = idPrefix + i;
+      CorrelationIdHolder.setCorrelationId(operationId);
+      try {
+        final Map<String, Object> body = body(batch.get(i));
+        checkBatchable(body);
+        final WebGraphQlRequest operation =
+            new WebGraphQlRequest(
+                httpRequest.getURI(),
+                headers(httpRequest.getHeaders(), i),
+                cookies,
+                httpRequest.getRemoteAddress(),
+                new HashMap<>(),
+                body,
+                operationId,
+                request.getLocale());
+        operation.configureExecutionInput(
+            (input, builder) -> builder.dataLoaderRegistry(dataLoaderRegistry).build());
+        // Captured after setting the operation's correlation ID
+        final ContextSnapshot snapshot = snapshotFactory.captureAll();
+        executions.add(
+            graphQlHandler
+                .handleRequest(operation)
+                .contextWrite(snapshot::updateContext)
+                .toFuture());
+      } catch (final RuntimeException e) {
+        executions.add(CompletableFuture.failedFuture(e));
+      } finally {
+        if (batchId != null) {
+          CorrelationIdHolder.setCorrelationId(batchId);
+        } else {
+          CorrelationIdHolder.clearCorrelationId();
+        }
+      }
+    }
+
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    final List<Map<String, Object>> results = new ArrayList<>(executions.size());
+    for (int i = 0; i < executions.size(); i++) {
+      final String operationId = idPrefix + i;
+      final Map<String, Object> result = new LinkedHashMap<>();
+      try {
+        final WebGraphQlResponse operationResponse =
+            executions.get(i).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        result.putAll(operationResponse.toMap());
+        operationResponse
+            .getResponseHeaders()
+            .forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+      } catch (final ExecutionException e) {
+        logger.warn(
+            "GraphQL batch operation failed",
+            Map.of("operationId", operationId, "error", String.valueOf(e.getCause())));
+        result.put("errors", List.of(Map.of("message", message(e.getCause()))));
+      } catch (final TimeoutException e) {
+        executions.get(i).cancel(true);
+        result.put("errors", List.of(Map.of("message", "Operation timed out")));
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        result.put("errors", List.of(Map.of("message", "Operation interrupted")));
+      }
+      result.put("extensions", extensions(result.get("extensions"), operationId));
+      results.add(result);
+    }
+    return results;
+  }
+
+  /** The request headers, with per-operation headers made unique to operation {@code index}. */
+  private HttpHeaders headers(final HttpHeaders requestHeaders, final int index) {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.putAll(requestHeaders);
+    for (final String name : perOperationHeaders) {
+      final String value = requestHeaders.getFirst(name);
+      if (value != null) {
+        headers.set(name, value + "-" + index);
+      }
+    }
+    return headers;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> body(final JsonNode operation) {
+    if (operation == null || !operation.isObject()) {
+      throw new IllegalArgumentException("Each batch entry must be a GraphQL request object");
+    }
+    return objectMapper.convertValue(operation, Map.class);
+  }
+
+  /** Reject an operation whose document selects an unbatchable field at the top level. */
+  private void checkBatchable(final Map<String, Object> body) {
+    if (unbatchableFields.isEmpty() || !(body.get("query") instanceof String query)) {
+      return;
+    }
+    final Document document;
+    try {
+      document = Parser.parse(query);
+    } catch (final InvalidSyntaxException e) {
+      // Let the engine report it
+      return;
+    }
+    for (final Definition<?> definition : document.getDefinitions()) {
+      SelectionSet selectionSet = null;
+      if (definition instanceof OperationDefinition operation) {
+        selectionSet = operation.getSelectionSet();
+      } else if (definition instanceof FragmentDefinition fragment) {
+        // Fragments may be spread into a top-level selection
+        selectionSet = fragment.getSelectionSet();
+      }
+      final String field = unbatchableField(selectionSet);
+      if (field != null) {
+        throw new IllegalArgumentException(field + " cannot be batched; send it on its own");
+      }
+    }
+  }
+
+  /** An unbatchable field selected at the top of the set, looking into inline fragments. */
+  private String unbatchableField(final SelectionSet selectionSet) {
+    if (selectionSet == null) {
+      return null;
+    }
+    for (final Selection<?> selection : selectionSet.getSelections()) {
+      if (selection instanceof Field field && unbatchableFields.contains(field.getName())) {
+        return field.getName();
+      }
+      if (selection instanceof InlineFragment fragment) {
+        final String field = unbatchableField(fragment.getSelectionSet());
+        if (field != null) {
+          return field;
+        }
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> extensions(final Object existing, final String operationId) {
+    final Map<String, Object> extensions = new LinkedHashMap<>();
+    if (existing instanceof Map<?, ?> map) {
+      extensions.putAll((Map<String, Object>) map);
+    }
+    extensions.put("correlationId", operationId);
+    return extensions;
+  }
+
+  private static MultiValueMap<String, HttpCookie> cookies(final HttpServletRequest request) {
+    final MultiValueMap<String, HttpCookie> cookies = new LinkedMultiValueMap<>();
+    if (request.getCookies() != null) {
+      for (final Cookie cookie : request.getCookies()) {
+        cookies.add(cookie.getName(), new HttpCookie(cookie.getName(), cookie.getValue()));
+      }
+    }
+    return cookies;
+  }
+
+  /** Only messages of invalid entries are returned to the client; anything else is generic. */
+  private static String message(final Throwable error) {
+    if (error instanceof ResponseStatusException statusException) {
+      return statusException.getReason();
+    }
+    return error instanceof IllegalArgumentException ? error.getMessage() : "Internal error";
+  }
+
+  private static boolean isArray(final byte[] prefix) {
+    for (final byte b : prefix) {
+      if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+        return b == '[';
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,49 @@
+package learning.journalapp.platform.graphql.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for array-batched GraphQL requests.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * platform:
+ *   graphql:
+ *     batch:
+ *       max-operations: 20
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "platform.graphql.batch")
+public class BatchProperties {
+
+  /** Whether a JSON array of operations is accepted at the GraphQL endpoint. */
+  private boolean enabled = true;
+
+  /** Path of the GraphQL HTTP endpoint; should match spring.graphql.http.path. */
+  private String path = "/graphql";
+
+  /** Larger batches are rejected with 400. */
+  private int maxOperations = 10;
+
+  /** How long to wait for all operations of a batch; slower ones get an error entry. */
+  private Duration timeout = Duration.ofSeconds(30);
+
+  /**
+   * Request headers that identify a single operation. Each operation gets the value suffixed with
+   * its index, e.g. {@code Idempotency-Key: abc} becomes {@code abc-0}, {@code abc-1}, ...
+   */
+  private List<String> perOperationHeaders = new ArrayList<>(List.of("Idempotency-Key"));
+
+  /**
+   * Fields that cannot be selected in a batch, only in a request of their own. The whole batch
+   * holds a single concurrency limiter permit, so expensive fields (password hashing) in it would
+   * bypass load shedding and multiply password guesses per request.
+   */
+  private List<String> unbatchableFields = new ArrayList<>(List.of("login", "register"));
+}
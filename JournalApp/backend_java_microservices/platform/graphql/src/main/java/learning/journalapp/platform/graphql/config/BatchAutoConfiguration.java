@@ -0,0 +1,45 @@
+package learning.journalapp.platform.graphql.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import learning.journalapp.platform.graphql.batch.BatchGraphQlFilter;
+import learning.journalapp.platform.graphql.batch.BatchProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.server.WebGraphQlHandler;
+
+/**
+ * Auto-configuration for array-batched GraphQL requests in servlet applications. Enabled by
+ * default; plain single-operation requests are unaffected.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(WebGraphQlHandler.class)
+@EnableConfigurationProperties(BatchProperties.class)
+@ConditionalOnProperty(
+    prefix = "platform.graphql.batch",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class BatchAutoConfiguration {
+
+  /** Right after the Spring Security filter chain, so a batch is authenticated once. */
+  public static final int FILTER_ORDER = SecurityProperties.DEFAULT_FILTER_ORDER + 10;
+
+  @Bean
+  public FilterRegistrationBean<BatchGraphQlFilter> batchGraphQlFilter(
+      final WebGraphQlHandler webGraphQlHandler,
+      final ObjectMapper objectMapper,
+      final BatchProperties properties) {
+    final FilterRegistrationBean<BatchGraphQlFilter> registration =
+        new FilterRegistrationBean<>(
+            new BatchGraphQlFilter(webGraphQlHandler, objectMapper, properties));
+    registration.setOrder(FILTER_ORDER);
+    return registration;
+  }
+}
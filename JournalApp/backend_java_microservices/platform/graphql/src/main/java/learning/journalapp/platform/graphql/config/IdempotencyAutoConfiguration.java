@@ -0,0 +1,111 @@
+package learning.journalapp.platform.graphql.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import learning.journalapp.platform.graphql.idempotency.IdempotencyKeyInterceptor;
+import learning.journalapp.platform.graphql.idempotency.IdempotencyProperties;
+import learning.journalapp.platform.graphql.idempotency.IdempotencyStore;
+import learning.journalapp.platform.graphql.idempotency.InMemoryIdempotencyStore;
+import learning.journalapp.platform.graphql.idempotency.JdbcIdempotencyStore;
+import learning.journalapp.platform.graphql.idempotency.PrincipalResolver;
+import learning.journalapp.platform.graphql.idempotency.SecurityContextPrincipalResolver;
+import learning.journalapp.platform.graphql.idempotency.TieredIdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Auto-configuration for idempotency keys on GraphQL mutations. Enabled by default; responses are
+ * kept in memory unless {@code platform.graphql.idempotency.persistent=true}.
+ */
+@Configuration
+@ConditionalOnClass(WebGraphQlInterceptor.class)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(
+    prefix = "platform.graphql.idempotency",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class IdempotencyAutoConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public IdempotencyStore idempotencyStore(final IdempotencyProperties properties) {
+    return memoryStore(properties);
+  }
+
+  /** Without Spring Security every caller is anonymous, so all share one scope. */
+  @Bean
+  @ConditionalOnMissingBean
+  public PrincipalResolver idempotencyPrincipalResolver() {
+    return request -> null;
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public IdempotencyKeyInterceptor idempotencyKeyInterceptor(
+      final IdempotencyStore idempotencyStore,
+      final PrincipalResolver principalResolver,
+      final ObjectMapper objectMapper,
+      final IdempotencyProperties properties) {
+    return new IdempotencyKeyInterceptor(
+        idempotencyStore, principalResolver, objectMapper, properties, Clock.systemUTC());
+  }
+
+  private static IdempotencyStore memoryStore(final IdempotencyProperties properties) {
+    return new InMemoryIdempotencyStore(properties.getMaxEntries(), properties.getTtl());
+  }
+
+  /** Keys scoped to the authenticated user, when Spring Security is present. */
+  @Configuration
+  @ConditionalOnClass(
+      name = "org.springframework.security.core.context.SecurityContextHolder")
+  static class SecurityPrincipalConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PrincipalResolver securityContextPrincipalResolver() {
+      return new SecurityContextPrincipalResolver();
+    }
+  }
+
+  /** Database-backed store behind the in-memory one, so replays survive restarts and failover. */
+  @Configuration
+  @ConditionalOnClass(JdbcTemplate.class)
+  @ConditionalOnProperty(
+      prefix = "platform.graphql.idempotency",
+      name = "persistent",
+      havingValue = "true")
+  static class PersistentStoreConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JdbcIdempotencyStore jdbcIdempotencyStore(
+        final JdbcTemplate jdbcTemplate,
+        final ObjectMapper objectMapper,
+        final IdempotencyProperties properties) {
+      return new JdbcIdempotencyStore(
+          jdbcTemplate,
+          objectMapper,
+          properties.getTableName(),
+          properties.getTtl(),
+          properties.getPurgeInterval(),
+          Clock.systemUTC());
+    }
+
+    /** Primary, since the JDBC store on its own is an {@link IdempotencyStore} too. */
+    @Bean
+    @Primary
+    @ConditionalOnMissingBean(value = IdempotencyStore.class, ignored = JdbcIdempotencyStore.class)
+    public TieredIdempotencyStore idempotencyStore(
+        final JdbcIdempotencyStore jdbcIdempotencyStore, final IdempotencyProperties properties) {
+      return new TieredIdempotencyStore(memoryStore(properties), jdbcIdempotencyStore);
+    }
+  }
+}
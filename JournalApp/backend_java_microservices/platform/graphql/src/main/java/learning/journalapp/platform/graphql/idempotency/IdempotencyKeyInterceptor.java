@@ -0,0 +1,244 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Makes mutations sent with an {@code Idempotency-Key} header safe to retry: the first execution's
+ * response is stored, and retries with the same key get it back without running the mutation
+ * again (no second BCrypt hash, no second insert, no unique-constraint error).
+ *
+ * <ul>
+ *   <li>A retry that arrives while the first execution is still running waits for it and shares
+ *       its response.
+ *   <li>Only responses without errors are stored; after a failure, a retry executes again.
+ *   <li>Keys are scoped to the principal that sends them (see {@link PrincipalResolver}): the
+ *       same key from another user is a different key. Anonymous requests share one scope.
+ *   <li>Each key is bound to a hash of the request (principal, document, operation name and
+ *       variables). Reusing a key for a different request is an error rather than a replay of
+ *       another response.
+ *   <li>Replays carry an {@code Idempotent-Replayed: true} response header.
+ * </ul>
+ *
+ * <p>Requests without the header, queries, and mutations selecting an excluded field pass through
+ * untouched; the document is only parsed here when the header is present.
+ */
+public class IdempotencyKeyInterceptor implements WebGraphQlInterceptor {
+
+  static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private final IdempotencyStore store;
+  private final PrincipalResolver principalResolver;
+  private final ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+  private final ObjectMapper objectMapper;
+  private final String headerName;
+  private final int maxKeyLength;
+  private final Set<String> excludedFields;
+  private final Clock clock;
+  private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight =
+      new ConcurrentHashMap<>();
+
+  public IdempotencyKeyInterceptor(
+      final IdempotencyStore store,
+      final PrincipalResolver principalResolver,
+      final ObjectMapper objectMapper,
+      final IdempotencyProperties properties,
+      final Clock clock) {
+    this.store = store;
+    this.principalResolver = principalResolver;
+    this.objectMapper = objectMapper;
+    this.headerName = properties.getHeaderName();
+    this.maxKeyLength = properties.getMaxKeyLength();
+    this.excludedFields = Set.copyOf(properties.getExcludedFields());
+    this.clock = clock;
+  }
+
+  @Override
+  public Mono<WebGraphQlResponse> intercept(final WebGraphQlRequest request, final Chain chain) {
+    final String key = request.getHeaders().getFirst(headerName);
+    if (key == null || key.isBlank() || !isIdempotentMutation(request)) {
+      return chain.next(request);
+    }
+    if (key.length() > maxKeyLength) {
+      return Mono.just(error(request, headerName + " must be at most " + maxKeyLength + " chars"));
+    }
+    return Mono.deferContextual(
+        context -> {
+          final String principal = principalName(context, request);
+          return intercept(
+              request, chain, scopedKey(principal, key), fingerprint(request, principal));
+        });
+  }
+
+  /** Deduplicate by {@code key}, already scoped to the principal. */
+  private Mono<WebGraphQlResponse> intercept(
+      final WebGraphQlRequest request,
+      final Chain chain,
+      final String key,
+      final String fingerprint) {
+    final StoredResponse stored = store.find(key);
+    if (stored != null) {
+      return Mono.just(replay(request, stored, fingerprint));
+    }
+
+    final CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+    final CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, execution);
+    if (running != null) {
+      // Share the running execution's response; if it fails, execute this one normally
+      return Mono.fromFuture(running)
+          .map(response -> replay(request, response, fingerprint))
+          .switchIfEmpty(Mono.defer(() -> chain.next(request)));
+    }
+
+    // The first execution may have completed between the lookup and registering this one
+    final StoredResponse completed = store.find(key);
+    if (completed != null) {
+      inFlight.remove(key, execution);
+      execution.complete(completed);
+      return Mono.just(replay(request, completed, fingerprint));
+    }
+
+    return chain
+        .next(request)
+        .doOnNext(
+            response -> {
+              if (response.isValid() && response.getErrors().isEmpty()) {
+                final StoredResponse result =
+                    new StoredResponse(fingerprint, response.getData(), clock.instant());
+                store.save(key, result);
+                execution.complete(result);
+              }
+            })
+        .doFinally(
+            signal -> {
+              inFlight.remove(key, execution);
+              // Errors, failures and cancellations release waiters to execute themselves
+              execution.complete(null);
+            });
+  }
+
+  /** The principal, with the thread-locals captured by the transport restored to find it. */
+  private String principalName(final ContextView context, final WebGraphQlRequest request) {
+    try (ContextSnapshot.Scope scope = snapshotFactory.setThreadLocalsFrom(context)) {
+      return principalResolver.principalName(request);
+    }
+  }
+
+  private boolean isIdempotentMutation(final WebGraphQlRequest request) {
+    final Document document;
+    try {
+      document = Parser.parse(request.getDocument());
+    } catch (final InvalidSyntaxException e) {
+      // Let the engine report it
+      return false;
+    }
+
+    final List<OperationDefinition> operations =
+        document.getDefinitionsOfType(OperationDefinition.class);
+    final String operationName = request.getOperationName();
+    for (final OperationDefinition operation : operations) {
+      if (operationName == null
+          ? operations.size() == 1
+          : operationName.equals(operation.getName())) {
+        return operation.getOperation() == OperationDefinition.Operation.MUTATION
+            && operation.getSelectionSet().getSelectionsOfType(Field.class).stream()
+                .noneMatch(field -> excludedFields.contains(field.getName()));
+      }
+    }
+    return false;
+  }
+
+  private WebGraphQlResponse replay(
+      final WebGraphQlRequest request, final StoredResponse stored, final String fingerprint) {
+    if (!stored.fingerprint().equals(fingerprint)) {
+      return error(request, headerName + " was already used for a different request");
+    }
+    final WebGraphQlResponse response =
+        response(request, ExecutionResult.newExecutionResult().data(stored.data()).build());
+    response.getResponseHeaders().set(REPLAYED_HEADER, "true");
+    return response;
+  }
+
+  private WebGraphQlResponse error(final WebGraphQlRequest request, final String message) {
+    final GraphQLError error =
+        GraphQLError.newError()
+            .message(message)
+            .errorType(ErrorType.BAD_REQUEST)
+            .extensions(Map.of("code", "BAD_REQUEST"))
+            .build();
+    return response(request, ExecutionResult.newExecutionResult().addError(error).build());
+  }
+
+  private static WebGraphQlResponse response(
+      final WebGraphQlRequest request, final ExecutionResult result) {
+    return new WebGraphQlResponse(
+        new DefaultExecutionGraphQlResponse(request.toExecutionInput(), result));
+  }
+
+  /** Store key: SHA-256 of the principal and the client's key, so it fits the key column. */
+  private static String scopedKey(final String principal, final String key) {
+    final MessageDigest digest = sha256();
+    if (principal != null) {
+      digest.update(principal.getBytes(StandardCharsets.UTF_8));
+    }
+    digest.update((byte) 0);
+    digest.update(key.getBytes(StandardCharsets.UTF_8));
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /** SHA-256 of the principal, document, operation name and variables. */
+  private String fingerprint(final WebGraphQlRequest request, final String principal) {
+    try {
+      final MessageDigest digest = sha256();
+      if (principal != null) {
+        digest.update(principal.getBytes(StandardCharsets.UTF_8));
+      }
+      digest.update((byte) 0);
+      digest.update(request.getDocument().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      if (request.getOperationName() != null) {
+        digest.update(request.getOperationName().getBytes(StandardCharsets.UTF_8));
+      }
+      digest.update((byte) 0);
+      digest.update(objectMapper.writeValueAsBytes(request.getVariables()));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (final JsonProcessingException e) {
+      throw new IllegalStateException("Cannot fingerprint GraphQL request", e);
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for idempotency-key handling of GraphQL mutations.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * platform:
+ *   graphql:
+ *     idempotency:
+ *       ttl: 24h
+ *       persistent: true
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "platform.graphql.idempotency")
+public class IdempotencyProperties {
+
+  /** Whether mutations sent with an idempotency key are deduplicated. */
+  private boolean enabled = true;
+
+  /** Request header carrying the client-generated key. */
+  private String headerName = "Idempotency-Key";
+
+  /** Longer keys are rejected. */
+  private int maxKeyLength = 255;
+
+  /** How long a response is replayed for retries of the same key. */
+  private Duration ttl = Duration.ofHours(24);
+
+  /** Responses kept in memory; the least recently used are evicted first. */
+  private long maxEntries = 10_000;
+
+  /**
+   * Mutations that are never deduplicated, because their effect is not only in the response body
+   * (e.g. login sets a cookie, which a replay would not).
+   */
+  private List<String> excludedFields = new ArrayList<>(List.of("login", "logout"));
+
+  /** Whether to also keep responses in the database, across restarts and instances. */
+  private boolean persistent = false;
+
+  /** Table of the persistent store. */
+  private String tableName = "platform_idempotency";
+
+  /** How often expired rows are deleted from the persistent store. */
+  private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,15 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+/** Where responses to idempotent mutations are kept, keyed by idempotency key. */
+public interface IdempotencyStore {
+
+  /**
+   * Look up a response.
+   *
+   * @return the stored response, or null if there is none or it has expired
+   */
+  StoredResponse find(String key);
+
+  /** Store a response. If the key is already stored, the existing response wins. */
+  void save(String key, StoredResponse response);
+}
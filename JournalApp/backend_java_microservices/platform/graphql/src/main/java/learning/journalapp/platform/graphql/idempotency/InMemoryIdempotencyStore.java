@@ -0,0 +1,25 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+
+/** Bounded in-memory store; entries expire after the TTL or are evicted least-recently-used. */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+  private final Cache<String, StoredResponse> cache;
+
+  public InMemoryIdempotencyStore(final long maxEntries, final Duration ttl) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).build();
+  }
+
+  @Override
+  public StoredResponse find(final String key) {
+    return cache.getIfPresent(key);
+  }
+
+  @Override
+  public void save(final String key, final StoredResponse response) {
+    cache.asMap().putIfAbsent(key, response);
+  }
+}
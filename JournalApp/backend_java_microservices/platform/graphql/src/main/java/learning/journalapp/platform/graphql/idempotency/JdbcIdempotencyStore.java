@@ -0,0 +1,135 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Persistent store in the table created by {@code db/platform_idempotency.sql}. Responses are kept
+ * as JSON; expired rows are ignored on lookup and deleted in the background.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore, InitializingBean, DisposableBean {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(JdbcIdempotencyStore.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final Duration ttl;
+  private final Duration purgeInterval;
+  private final Clock clock;
+  private final String selectSql;
+  private final String insertSql;
+  private final String deleteSql;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public JdbcIdempotencyStore(
+      final JdbcTemplate jdbcTemplate,
+      final ObjectMapper objectMapper,
+      final String tableName,
+      final Duration ttl,
+      final Duration purgeInterval,
+      final Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.ttl = ttl;
+    this.purgeInterval = purgeInterval;
+    this.clock = clock;
+    this.selectSql =
+        "SELECT fingerprint, response, created_at FROM "
+            + tableName
+            + " WHERE idempotency_key = ? AND created_at >= ?";
+    this.insertSql =
+        "INSERT INTO "
+            + tableName
+            + " (idempotency_key, fingerprint, response, created_at) VALUES (?, ?, ?, ?)"
+            + " ON CONFLICT (idempotency_key) DO NOTHING";
+    this.deleteSql = "DELETE FROM " + tableName + " WHERE created_at < ?";
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    scheduler.scheduleWithFixedDelay(
+        this::purgeExpired,
+        purgeInterval.toMillis(),
+        purgeInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+
+  @Override
+  public StoredResponse find(final String key) {
+    final List<StoredResponse> rows =
+        jdbcTemplate.query(
+            selectSql,
+            (resultSet, rowNum) ->
+                new StoredResponse(
+                    resultSet.getString(1),
+                    readData(resultSet.getString(2)),
+                    resultSet.getTimestamp(3).toInstant()),
+            key,
+            Timestamp.from(clock.instant().minus(ttl)));
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  @Override
+  public void save(final String key, final StoredResponse response) {
+    jdbcTemplate.update(
+        insertSql,
+        key,
+        response.fingerprint(),
+        writeData(response.data()),
+        Timestamp.from(response.createdAt()));
+  }
+
+  /** Delete rows past the TTL now. */
+  public void purgeExpired() {
+    try {
+      final Timestamp cutoff = Timestamp.from(clock.instant().minus(ttl));
+      final int deleted = jdbcTemplate.update(deleteSql, cutoff);
+      if (deleted > 0) {
+        logger.debug(
+            "Purged expired idempotency records", Map.of("deleted", String.valueOf(deleted)));
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Could not purge expired idempotency records", e);
+    }
+  }
+
+  private Object readData(final String json) {
+    try {
+      return objectMapper.readValue(json, Object.class);
+    } catch (final JsonProcessingException e) {
+      throw new IllegalStateException("Unreadable stored idempotent response", e);
+    }
+  }
+
+  private String writeData(final Object data) {
+    try {
+      return objectMapper.writeValueAsString(data);
+    } catch (final JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize idempotent response", e);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+import org.springframework.graphql.server.WebGraphQlRequest;
+
+/**
+ * Who sent a GraphQL request. Idempotency keys belong to the principal that used them, so one
+ * caller's key never replays another caller's response.
+ */
+@FunctionalInterface
+public interface PrincipalResolver {
+
+  /**
+   * Name of the authenticated caller, or null if anonymous. Called with the request's
+   * thread-locals (e.g. the security context) in place.
+   */
+  String principalName(WebGraphQlRequest request);
+}
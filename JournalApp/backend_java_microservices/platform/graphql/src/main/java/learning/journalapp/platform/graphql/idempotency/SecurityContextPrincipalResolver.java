@@ -0,0 +1,21 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/** Takes the principal from Spring Security's context. */
+public class SecurityContextPrincipalResolver implements PrincipalResolver {
+
+  @Override
+  public String principalName(final WebGraphQlRequest request) {
+    final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null
+        || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+    return authentication.getName();
+  }
+}
@@ -0,0 +1,12 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+import java.time.Instant;
+
+/**
+ * Result of a mutation executed with an idempotency key.
+ *
+ * @param fingerprint hash of the request it answered, to detect a key reused for another request
+ * @param data the "data" part of the GraphQL response
+ * @param createdAt when the mutation completed
+ */
+public record StoredResponse(String fingerprint, Object data, Instant createdAt) {}
@@ -0,0 +1,35 @@
+package learning.journalapp.platform.graphql.idempotency;
+
+/**
+ * In-memory store in front of a persistent one. Lookups hit memory first and fall back to the
+ * persistent store, which covers restarts and retries that land on another instance.
+ */
+public class TieredIdempotencyStore implements IdempotencyStore {
+
+  private final IdempotencyStore memory;
+  private final IdempotencyStore persistent;
+
+  public TieredIdempotencyStore(final IdempotencyStore memory, final IdempotencyStore persistent) {
+    this.memory = memory;
+    this.persistent = persistent;
+  }
+
+  @Override
+  public StoredResponse find(final String key) {
+    final StoredResponse cached = memory.find(key);
+    if (cached != null) {
+      return cached;
+    }
+    final StoredResponse stored = persistent.find(key);
+    if (stored != null) {
+      memory.save(key, stored);
+    }
+    return stored;
+  }
+
+  @Override
+  public void save(final String key, final StoredResponse response) {
+    persistent.save(key, response);
+    memory.save(key, response);
+  }
+}
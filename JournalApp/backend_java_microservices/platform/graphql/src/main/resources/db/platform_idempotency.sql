@@ -0,0 +1,11 @@
+-- Persistent idempotency store for GraphQL mutations (learning.journalapp.platform.graphql.idempotency).
+-- Add to the service's migrations when platform.graphql.idempotency.persistent=true; rename via
+-- platform.graphql.idempotency.table-name if needed.
+CREATE TABLE IF NOT EXISTS platform_idempotency (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    response        TEXT         NOT NULL,
+    created_at      TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_platform_idempotency_created_at ON platform_idempotency (created_at);
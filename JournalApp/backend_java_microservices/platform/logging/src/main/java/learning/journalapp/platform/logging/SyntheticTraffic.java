@@ -0,0 +1,55 @@
+package learning.journalapp.platform.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import org.slf4j.MDC;
+
+/**
+ * Marks traffic a service generates against itself, such as start-up warm-up, so it can be told
+ * apart from real users. Synthetic work is tagged {@code synthetic=true} in MDC, and components
+ * that feed metrics or adaptive limits leave it out.
+ *
+ * <p>In-process work is marked with {@link #mark()}. Requests a service sends itself carry {@link
+ * #HEADER} with {@link #token()}, a random value generated per process, so clients cannot mark
+ * their own requests as synthetic; {@link
+ * learning.journalapp.platform.logging.filter.CorrelationIdFilter} marks those requests.
+ */
+public final class SyntheticTraffic {
+
+  public static final String HEADER = "X-Synthetic-Token";
+  private static final String MDC_KEY = "synthetic";
+  private static final String TOKEN = UUID.randomUUID().toString();
+
+  private SyntheticTraffic() {
+    // Utility class
+  }
+
+  /** The value of {@link #HEADER} that marks a request from this process as synthetic. */
+  public static String token() {
+    return TOKEN;
+  }
+
+  /**
+   * Mark work on the current thread as synthetic until the returned handle is closed.
+   *
+   * @return handle that removes the mark
+   */
+  public static MDC.MDCCloseable mark() {
+    return MDC.putCloseable(MDC_KEY, "true");
+  }
+
+  /** Whether work on the current thread is synthetic. */
+  public static boolean isSynthetic() {
+    return MDC.get(MDC_KEY) != null;
+  }
+
+  /** Whether a request carries this process's synthetic token. */
+  public static boolean isSynthetic(final HttpServletRequest request) {
+    final String token = request.getHeader(HEADER);
+    return token != null
+        && MessageDigest.isEqual(
+            token.getBytes(StandardCharsets.UTF_8), TOKEN.getBytes(StandardCharsets.UTF_8));
+  }
+}
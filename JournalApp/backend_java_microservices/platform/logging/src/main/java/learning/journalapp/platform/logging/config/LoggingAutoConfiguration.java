@@ -1,22 +1,39 @@
 package learning.journalapp.platform.logging.config;
 
 import learning.journalapp.platform.logging.filter.CorrelationIdFilter;
+import learning.journalapp.platform.logging.id.CorrelationIdGenerator;
+import learning.journalapp.platform.logging.id.UlidCorrelationIdGenerator;
 import learning.journalapp.platform.logging.interceptor.RestTemplateCorrelationIdInterceptor;
+import learning.journalapp.platform.logging.interceptor.WebClientCorrelationIdFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.web.client.RestClientCustomizer;
 import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
 /** Auto-configuration for logging commons beans. */
 @Configuration
 public class LoggingAutoConfiguration {
 
+  /** Time-ordered, contention-free IDs for requests without an incoming correlation ID. */
   @Bean
   @ConditionalOnMissingBean
-  public CorrelationIdFilter correlationIdFilter() {
-    return new CorrelationIdFilter();
+  public CorrelationIdGenerator correlationIdGenerator() {
+    return new UlidCorrelationIdGenerator();
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public CorrelationIdFilter correlationIdFilter(
+      final CorrelationIdGenerator correlationIdGenerator,
+      @Value("${platform.logging.correlation-id.max-length:64}") final int maxLength) {
+    return new CorrelationIdFilter(correlationIdGenerator, maxLength);
   }
 
   /**
@@ -29,4 +46,28 @@ public class LoggingAutoConfiguration {
     return restTemplate ->
         restTemplate.getInterceptors().add(new RestTemplateCorrelationIdInterceptor());
   }
+
+  /**
+   * Automatically configure RestClient to propagate correlation IDs. RestClient shares the
+   * interceptor contract with RestTemplate, so the same interceptor is reused.
+   */
+  @Bean
+  @ConditionalOnClass(RestClient.class)
+  public RestClientCustomizer restClientCorrelationIdCustomizer() {
+    return builder -> builder.requestInterceptor(new RestTemplateCorrelationIdInterceptor());
+  }
+
+  /**
+   * Automatically configure WebClient to propagate correlation IDs. This only activates if WebFlux
+   * is on the classpath.
+   */
+  @Configuration
+  @ConditionalOnClass(WebClient.class)
+  static class WebClientCorrelationIdConfiguration {
+
+    @Bean
+    public WebClientCustomizer webClientCorrelationIdCustomizer() {
+      return builder -> builder.filter(new WebClientCorrelationIdFilter());
+    }
+  }
 }
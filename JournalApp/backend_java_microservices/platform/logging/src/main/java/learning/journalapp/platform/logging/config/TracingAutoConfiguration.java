@@ -0,0 +1,118 @@
+package learning.journalapp.platform.logging.config;
+
+import graphql.execution.instrumentation.Instrumentation;
+import java.nio.file.Path;
+import learning.journalapp.platform.logging.tracing.Sampler;
+import learning.journalapp.platform.logging.tracing.Tracer;
+import learning.journalapp.platform.logging.tracing.TracingProperties;
+import learning.journalapp.platform.logging.tracing.export.BatchSpanProcessor;
+import learning.journalapp.platform.logging.tracing.export.FileSpanExporter;
+import learning.journalapp.platform.logging.tracing.export.LoggingSpanExporter;
+import learning.journalapp.platform.logging.tracing.export.SpanExporter;
+import learning.journalapp.platform.logging.tracing.instrument.RepositoryTracingAspect;
+import learning.journalapp.platform.logging.tracing.instrument.TracingClientHttpRequestInterceptor;
+import learning.journalapp.platform.logging.tracing.instrument.TracingFilter;
+import learning.journalapp.platform.logging.tracing.instrument.TracingInstrumentation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Auto-configuration for span instrumentation. Spans are started around the servlet filter chain,
+ * GraphQL field fetchers, Spring Data repository calls and outbound RestTemplate/RestClient calls,
+ * and exported in batches to the configured {@link SpanExporter}.
+ *
+ * <p>Disable with {@code platform.tracing.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+@ConditionalOnProperty(
+    prefix = "platform.tracing",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class TracingAutoConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public Sampler tracingSampler(final TracingProperties properties) {
+    return Sampler.ratio(properties.getSampleRatio());
+  }
+
+  /** Default exporter: a JSON lines file if configured, otherwise the application log. */
+  @Bean
+  @ConditionalOnMissingBean
+  public SpanExporter spanExporter(final TracingProperties properties) {
+    if (properties.getExportFile() != null && !properties.getExportFile().isBlank()) {
+      return new FileSpanExporter(Path.of(properties.getExportFile()));
+    }
+    return new LoggingSpanExporter();
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConditionalOnMissingBean
+  public BatchSpanProcessor batchSpanProcessor(
+      final SpanExporter spanExporter, final TracingProperties properties) {
+    return new BatchSpanProcessor(
+        spanExporter,
+        properties.getMaxQueueSize(),
+        properties.getMaxExportBatchSize(),
+        properties.getScheduleDelay());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public Tracer tracer(final Sampler tracingSampler, final BatchSpanProcessor batchSpanProcessor) {
+    return new Tracer(tracingSampler, batchSpanProcessor);
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public TracingFilter tracingFilter(final Tracer tracer) {
+    return new TracingFilter(tracer);
+  }
+
+  /** Record outbound RestTemplate calls and propagate the traceparent header. */
+  @Bean
+  public RestTemplateCustomizer restTemplateTracingCustomizer(final Tracer tracer) {
+    return restTemplate ->
+        restTemplate.getInterceptors().add(new TracingClientHttpRequestInterceptor(tracer));
+  }
+
+  /** Record outbound RestClient calls and propagate the traceparent header. */
+  @Bean
+  public RestClientCustomizer restClientTracingCustomizer(final Tracer tracer) {
+    return builder -> builder.requestInterceptor(new TracingClientHttpRequestInterceptor(tracer));
+  }
+
+  /** Record GraphQL field fetches. Only activates if GraphQL Java is on the classpath. */
+  @Configuration
+  @ConditionalOnClass(Instrumentation.class)
+  static class GraphQLTracingConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TracingInstrumentation tracingInstrumentation(final Tracer tracer) {
+      return new TracingInstrumentation(tracer);
+    }
+  }
+
+  /** Record repository calls. Only activates if Spring Data and AspectJ are on the classpath. */
+  @Configuration
+  @ConditionalOnClass({Repository.class, ProceedingJoinPoint.class})
+  static class RepositoryTracingConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RepositoryTracingAspect repositoryTracingAspect(final Tracer tracer) {
+      return new RepositoryTracingAspect(tracer);
+    }
+  }
+}
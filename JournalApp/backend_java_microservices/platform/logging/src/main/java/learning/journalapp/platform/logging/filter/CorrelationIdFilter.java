@@ -4,7 +4,9 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
+import learning.journalapp.platform.logging.SyntheticTraffic;
+import learning.journalapp.platform.logging.id.CorrelationIdGenerator;
+import learning.journalapp.platform.logging.id.UlidCorrelationIdGenerator;
 import org.slf4j.MDC;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -12,8 +14,16 @@ import org.springframework.stereotype.Component;
 
 /**
  * Filter that adds a correlation ID to every HTTP request. The correlation ID is: 1. Extracted from
- * the X-Correlation-Id header if present 2. Generated as a new UUID if not present 3. Added to MDC
- * for logging 4. Added to the response header
+ * the X-Correlation-Id header if present and valid 2. Generated by the configured {@link
+ * CorrelationIdGenerator} (a ULID by default) if not present 3. Added to MDC for logging 4. Added
+ * to the response header
+ *
+ * <p>Incoming IDs are truncated to a maximum length and rejected if they contain anything other
+ * than letters, digits, '-', '_', '.' or ':', so clients cannot inject large or malformed values
+ * into MDC and logs.
+ *
+ * <p>Requests carrying this process's {@link SyntheticTraffic} token are marked synthetic for the
+ * rest of the chain.
  *
  * <p>This enables request tracing across multiple microservices.
  */
@@ -21,9 +31,24 @@ import org.springframework.stereotype.Component;
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class CorrelationIdFilter implements Filter {
 
+  /** Default maximum length of an accepted incoming correlation ID. */
+  public static final int DEFAULT_MAX_LENGTH = 64;
+
   private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
   private static final String CORRELATION_ID_MDC_KEY = "correlationId";
 
+  private final CorrelationIdGenerator generator;
+  private final int maxLength;
+
+  public CorrelationIdFilter() {
+    this(new UlidCorrelationIdGenerator(), DEFAULT_MAX_LENGTH);
+  }
+
+  public CorrelationIdFilter(final CorrelationIdGenerator generator, final int maxLength) {
+    this.generator = generator;
+    this.maxLength = maxLength;
+  }
+
   @Override
   public void doFilter(
       final ServletRequest request, final ServletResponse response, final FilterChain chain)
@@ -33,9 +58,9 @@ public class CorrelationIdFilter implements Filter {
     final HttpServletResponse httpResponse = (HttpServletResponse) response;
 
     // Get or generate correlation ID
-    String correlationId = httpRequest.getHeader(CORRELATION_ID_HEADER);
-    if (correlationId == null || correlationId.trim().isEmpty()) {
-      correlationId = UUID.randomUUID().toString();
+    String correlationId = sanitize(httpRequest.getHeader(CORRELATION_ID_HEADER), maxLength);
+    if (correlationId == null) {
+      correlationId = generator.generate();
     }
 
     // Add to MDC for logging
@@ -44,11 +69,53 @@ public class CorrelationIdFilter implements Filter {
     // Add to response headers
     httpResponse.setHeader(CORRELATION_ID_HEADER, correlationId);
 
+    final MDC.MDCCloseable synthetic =
+        SyntheticTraffic.isSynthetic(httpRequest) ? SyntheticTraffic.mark() : null;
     try {
       chain.doFilter(request, response);
     } finally {
       // Clean up MDC
       MDC.remove(CORRELATION_ID_MDC_KEY);
+      if (synthetic != null) {
+        synthetic.close();
+      }
     }
   }
+
+  /**
+   * Validate an incoming correlation ID.
+   *
+   * @param headerValue the raw header value, may be null
+   * @param maxLength values longer than this are truncated
+   * @return the (possibly truncated) ID, or null if it is missing or contains invalid characters
+   */
+  static String sanitize(final String headerValue, final int maxLength) {
+    if (headerValue == null) {
+      return null;
+    }
+
+    final String trimmed = headerValue.strip();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+
+    final String candidate =
+        trimmed.length() > maxLength ? trimmed.substring(0, maxLength) : trimmed;
+    for (int i = 0; i < candidate.length(); i++) {
+      if (!isAllowed(candidate.charAt(i))) {
+        return null;
+      }
+    }
+    return candidate;
+  }
+
+  private static boolean isAllowed(final char c) {
+    return (c >= 'a' && c <= 'z')
+        || (c >= 'A' && c <= 'Z')
+        || (c >= '0' && c <= '9')
+        || c == '-'
+        || c == '_'
+        || c == '.'
+        || c == ':';
+  }
 }
@@ -0,0 +1,17 @@
+package learning.journalapp.platform.logging.id;
+
+/**
+ * Generates correlation IDs for requests that arrive without one. Provide a bean of this type to
+ * replace the default {@link UlidCorrelationIdGenerator}.
+ */
+@FunctionalInterface
+public interface CorrelationIdGenerator {
+
+  /**
+   * Generate a new correlation ID. Called once per request, so implementations must be thread-safe
+   * and should avoid shared locks.
+   *
+   * @return a new, non-empty correlation ID
+   */
+  String generate();
+}
@@ -0,0 +1,16 @@
+package learning.journalapp.platform.logging.id;
+
+import java.util.UUID;
+
+/**
+ * Generates random (version 4) UUIDs. This was the original behavior of {@code
+ * CorrelationIdFilter}; it draws from a shared {@code SecureRandom}, which can contend under high
+ * request rates, so prefer {@link UlidCorrelationIdGenerator} unless UUID formatting is required.
+ */
+public class RandomUuidCorrelationIdGenerator implements CorrelationIdGenerator {
+
+  @Override
+  public String generate() {
+    return UUID.randomUUID().toString();
+  }
+}
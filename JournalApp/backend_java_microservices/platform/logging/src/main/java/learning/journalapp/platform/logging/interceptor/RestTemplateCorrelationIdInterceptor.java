@@ -13,7 +13,7 @@ import org.springframework.http.client.ClientHttpResponse;
  * <p>This ensures that when Service A calls Service B, the correlation ID is propagated, allowing
  * you to trace requests across multiple services.
  *
- * <p>Usage: Register this interceptor with your RestTemplate bean.
+ * <p>Usage: Register this interceptor with your RestTemplate or RestClient bean.
  */
 public class RestTemplateCorrelationIdInterceptor implements ClientHttpRequestInterceptor {
 
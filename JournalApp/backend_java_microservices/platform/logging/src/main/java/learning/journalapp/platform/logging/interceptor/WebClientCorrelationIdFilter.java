@@ -0,0 +1,47 @@
+package learning.journalapp.platform.logging.interceptor;
+
+import learning.journalapp.platform.logging.CorrelationIdHolder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient filter that adds the correlation ID to outgoing HTTP requests.
+ *
+ * <p>The correlation ID is taken from the Reactor context when a caller has put it there under
+ * {@link #CORRELATION_ID_CONTEXT_KEY}, and otherwise from the MDC of the thread that subscribes to
+ * the request (for example a servlet thread calling {@code block()}).
+ *
+ * <p>Usage: Register this filter with your WebClient.Builder, or rely on the auto-configured
+ * WebClientCustomizer.
+ */
+public class WebClientCorrelationIdFilter implements ExchangeFilterFunction {
+
+  /** Reactor context key that takes precedence over MDC in reactive pipelines. */
+  public static final String CORRELATION_ID_CONTEXT_KEY = "correlationId";
+
+  @Override
+  public Mono<ClientResponse> filter(final ClientRequest request, final ExchangeFunction next) {
+    if (request.headers().containsKey(CorrelationIdHolder.CORRELATION_ID_HEADER)) {
+      return next.exchange(request);
+    }
+
+    return Mono.deferContextual(
+        context -> {
+          final String correlationId =
+              context.getOrDefault(
+                  CORRELATION_ID_CONTEXT_KEY, CorrelationIdHolder.getCorrelationId());
+
+          if (correlationId == null) {
+            return next.exchange(request);
+          }
+
+          return next.exchange(
+              ClientRequest.from(request)
+                  .header(CorrelationIdHolder.CORRELATION_ID_HEADER, correlationId)
+                  .build());
+        });
+  }
+}
@@ -0,0 +1,45 @@
+package learning.journalapp.platform.logging.tracing;
+
+/**
+ * Decides whether a new trace is recorded. Only root spans consult the sampler; child spans and
+ * spans continuing an incoming traceparent inherit the parent's decision, so a trace is either
+ * recorded by every service or by none.
+ */
+@FunctionalInterface
+public interface Sampler {
+
+  /**
+   * Decide whether to record a new trace.
+   *
+   * @param traceIdLow the lower 64 bits of the new trace ID, which are uniformly random
+   * @return true if the trace should be recorded and exported
+   */
+  boolean isSampled(long traceIdLow);
+
+  /** Record every trace. */
+  static Sampler always() {
+    return traceIdLow -> true;
+  }
+
+  /** Record no traces (IDs are still generated and propagated). */
+  static Sampler never() {
+    return traceIdLow -> false;
+  }
+
+  /**
+   * Record a fixed fraction of traces. The decision is a single comparison against the random bits
+   * of the trace ID, so it needs no random number generation or shared state.
+   *
+   * @param ratio fraction of traces to record, between 0.0 and 1.0
+   */
+  static Sampler ratio(final double ratio) {
+    if (ratio >= 1.0) {
+      return always();
+    }
+    if (ratio <= 0.0) {
+      return never();
+    }
+    final long threshold = (long) (ratio * Long.MAX_VALUE);
+    return traceIdLow -> (traceIdLow & Long.MAX_VALUE) < threshold;
+  }
+}
@@ -0,0 +1,120 @@
+package learning.journalapp.platform.logging.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed operation within a trace. Spans are started through {@link Tracer} and must be ended
+ * exactly once; ending a recorded span hands it to the span processor for batched export.
+ *
+ * <p>Spans that were not sampled still carry IDs, so the trace context keeps propagating, but they
+ * skip timing and attributes entirely.
+ */
+public final class Span {
+
+  private final String name;
+  private final SpanKind kind;
+  private final TraceContext context;
+  private final long parentSpanId;
+  private final SpanProcessor processor;
+  private final long startEpochMicros;
+  private final long startNanos;
+  private final AtomicBoolean ended = new AtomicBoolean();
+
+  private Map<String, String> attributes;
+  private volatile long durationNanos = -1;
+  private volatile String error;
+
+  Span(
+      final String name,
+      final SpanKind kind,
+      final TraceContext context,
+      final long parentSpanId,
+      final SpanProcessor processor) {
+    this.name = name;
+    this.kind = kind;
+    this.context = context;
+    this.parentSpanId = parentSpanId;
+    this.processor = processor;
+
+    if (context.isSampled()) {
+      this.startEpochMicros = System.currentTimeMillis() * 1000L;
+      this.startNanos = System.nanoTime();
+    } else {
+      this.startEpochMicros = 0;
+      this.startNanos = 0;
+    }
+  }
+
+  /** Add an attribute to the span. Ignored when the span is not recorded. */
+  public Span tag(final String key, final String value) {
+    if (context.isSampled() && value != null) {
+      synchronized (this) {
+        if (attributes == null) {
+          attributes = new LinkedHashMap<>(4);
+        }
+        attributes.put(key, value);
+      }
+    }
+    return this;
+  }
+
+  /** Mark the span as failed. Ignored when the span is not recorded. */
+  public Span error(final Throwable throwable) {
+    if (context.isSampled() && throwable != null) {
+      error = throwable.getClass().getName();
+    }
+    return this;
+  }
+
+  /** End the span. Subsequent calls are ignored. */
+  public void end() {
+    if (!ended.compareAndSet(false, true) || !context.isSampled()) {
+      return;
+    }
+    durationNanos = System.nanoTime() - startNanos;
+    processor.onEnd(this);
+  }
+
+  public boolean isRecording() {
+    return context.isSampled();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public SpanKind getKind() {
+    return kind;
+  }
+
+  public TraceContext getContext() {
+    return context;
+  }
+
+  /** Parent span ID, or 0 for a root span. */
+  public long getParentSpanId() {
+    return parentSpanId;
+  }
+
+  /** Wall-clock start time in microseconds since the epoch. */
+  public long getStartEpochMicros() {
+    return startEpochMicros;
+  }
+
+  /** Duration in nanoseconds, or -1 while the span is still running. */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /** Exception class name if the span failed, otherwise null. */
+  public String getError() {
+    return error;
+  }
+
+  public synchronized Map<String, String> getAttributes() {
+    return attributes == null ? Collections.emptyMap() : Map.copyOf(attributes);
+  }
+}
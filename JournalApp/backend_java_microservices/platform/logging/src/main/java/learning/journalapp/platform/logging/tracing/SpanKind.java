@@ -0,0 +1,11 @@
+package learning.journalapp.platform.logging.tracing;
+
+/** The role a span plays in a request, following the OpenTelemetry span kinds. */
+public enum SpanKind {
+  /** Handling of an inbound request, such as the servlet filter chain. */
+  SERVER,
+  /** An outbound call to another service. */
+  CLIENT,
+  /** Work inside the service, such as a GraphQL field fetch or a repository call. */
+  INTERNAL
+}
@@ -0,0 +1,13 @@
+package learning.journalapp.platform.logging.tracing;
+
+/** Receives spans as they end. */
+@FunctionalInterface
+public interface SpanProcessor {
+
+  /**
+   * Called once when a recorded span ends. Must not block the calling thread.
+   *
+   * @param span the ended span
+   */
+  void onEnd(Span span);
+}
@@ -0,0 +1,146 @@
+package learning.journalapp.platform.logging.tracing;
+
+/**
+ * Immutable W3C Trace Context identifiers for one span: a 128-bit trace ID, a 64-bit span ID and
+ * the sampled flag. The IDs are kept as primitives and only rendered to hex when they are logged
+ * or propagated.
+ *
+ * <p>Header format: {@code traceparent: 00-<32 hex trace id>-<16 hex span id>-<2 hex flags>}
+ */
+public final class TraceContext {
+
+  public static final String TRACEPARENT_HEADER = "traceparent";
+
+  private static final int TRACEPARENT_LENGTH = 55;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final long traceIdHigh;
+  private final long traceIdLow;
+  private final long spanId;
+  private final boolean sampled;
+
+  public TraceContext(
+      final long traceIdHigh, final long traceIdLow, final long spanId, final boolean sampled) {
+    this.traceIdHigh = traceIdHigh;
+    this.traceIdLow = traceIdLow;
+    this.spanId = spanId;
+    this.sampled = sampled;
+  }
+
+  /**
+   * Parse a traceparent header.
+   *
+   * @param header the header value, may be null
+   * @return the parsed context, or null if the header is missing or malformed
+   */
+  public static TraceContext parse(final String header) {
+    if (header == null || header.length() < TRACEPARENT_LENGTH) {
+      return null;
+    }
+    if (header.charAt(2) != '-' || header.charAt(35) != '-' || header.charAt(52) != '-') {
+      return null;
+    }
+    // Version ff is forbidden; later versions may append fields after the flags, version 00 not
+    if (!isHex(header, 0, 2) || header.startsWith("ff")) {
+      return null;
+    }
+    if (header.length() > TRACEPARENT_LENGTH
+        && (header.startsWith("00") || header.charAt(TRACEPARENT_LENGTH) != '-')) {
+      return null;
+    }
+    if (!isHex(header, 3, 35) || !isHex(header, 36, 52) || !isHex(header, 53, 55)) {
+      return null;
+    }
+
+    final long traceIdHigh = parseHex(header, 3, 19);
+    final long traceIdLow = parseHex(header, 19, 35);
+    final long spanId = parseHex(header, 36, 52);
+    if ((traceIdHigh == 0 && traceIdLow == 0) || spanId == 0) {
+      return null;
+    }
+
+    final boolean sampled = (parseHex(header, 53, 55) & 0x01) == 0x01;
+    return new TraceContext(traceIdHigh, traceIdLow, spanId, sampled);
+  }
+
+  public long getTraceIdHigh() {
+    return traceIdHigh;
+  }
+
+  public long getTraceIdLow() {
+    return traceIdLow;
+  }
+
+  public long getSpanId() {
+    return spanId;
+  }
+
+  public boolean isSampled() {
+    return sampled;
+  }
+
+  /** Trace ID as 32 lowercase hex characters. */
+  public String traceId() {
+    final char[] chars = new char[32];
+    writeHex(chars, 0, traceIdHigh);
+    writeHex(chars, 16, traceIdLow);
+    return new String(chars);
+  }
+
+  /** Span ID as 16 lowercase hex characters. */
+  public String spanId() {
+    return toHex(spanId);
+  }
+
+  /** Render this context as a traceparent header value. */
+  public String toTraceparent() {
+    final char[] chars = new char[TRACEPARENT_LENGTH];
+    chars[0] = '0';
+    chars[1] = '0';
+    chars[2] = '-';
+    writeHex(chars, 3, traceIdHigh);
+    writeHex(chars, 19, traceIdLow);
+    chars[35] = '-';
+    writeHex(chars, 36, spanId);
+    chars[52] = '-';
+    chars[53] = '0';
+    chars[54] = sampled ? '1' : '0';
+    return new String(chars);
+  }
+
+  @Override
+  public String toString() {
+    return toTraceparent();
+  }
+
+  /** Render a 64-bit ID as 16 lowercase hex characters. */
+  public static String toHex(final long value) {
+    final char[] chars = new char[16];
+    writeHex(chars, 0, value);
+    return new String(chars);
+  }
+
+  private static void writeHex(final char[] target, final int offset, final long value) {
+    for (int i = 15; i >= 0; i--) {
+      target[offset + 15 - i] = HEX[(int) ((value >>> (i * 4)) & 0xF)];
+    }
+  }
+
+  private static boolean isHex(final String value, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      final char c = value.charAt(i);
+      if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long parseHex(final String value, final int from, final int to) {
+    long result = 0;
+    for (int i = from; i < to; i++) {
+      result = (result << 4) | Character.digit(value.charAt(i), 16);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,114 @@
+package learning.journalapp.platform.logging.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.MDC;
+
+/**
+ * Creates spans and tracks the active span of the current thread. The active span's IDs are also
+ * put in MDC as traceId and spanId, next to the correlation ID, so log lines can be joined with
+ * exported spans.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * final Span span = tracer.startSpan("loadProfile", SpanKind.INTERNAL);
+ * try (Tracer.Scope ignored = tracer.activate(span)) {
+ *   ...
+ * } catch (RuntimeException e) {
+ *   span.error(e);
+ *   throw e;
+ * } finally {
+ *   span.end();
+ * }
+ * </pre>
+ */
+public class Tracer {
+
+  public static final String TRACE_ID_MDC_KEY = "traceId";
+  public static final String SPAN_ID_MDC_KEY = "spanId";
+
+  private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+  private final Sampler sampler;
+  private final SpanProcessor processor;
+
+  public Tracer(final Sampler sampler, final SpanProcessor processor) {
+    this.sampler = sampler;
+    this.processor = processor;
+  }
+
+  /** Restores the previously active span when closed. */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /**
+   * Get the active span of the current thread.
+   *
+   * @return the active span, or null if none
+   */
+  public Span currentSpan() {
+    return CURRENT.get();
+  }
+
+  /** Start a span that is a child of the active span, or a new root span if there is none. */
+  public Span startSpan(final String name, final SpanKind kind) {
+    final Span parent = CURRENT.get();
+    return startSpan(name, kind, parent != null ? parent.getContext() : null);
+  }
+
+  /**
+   * Start a span that continues the given parent context, for example one parsed from an incoming
+   * traceparent header.
+   *
+   * @param parent the parent context, or null to start a new trace
+   */
+  public Span startSpan(final String name, final SpanKind kind, final TraceContext parent) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final long spanId = nonZero(random.nextLong());
+
+    if (parent == null) {
+      final long traceIdHigh = random.nextLong();
+      final long traceIdLow = nonZero(random.nextLong());
+      final TraceContext context =
+          new TraceContext(traceIdHigh, traceIdLow, spanId, sampler.isSampled(traceIdLow));
+      return new Span(name, kind, context, 0L, processor);
+    }
+
+    final TraceContext context =
+        new TraceContext(
+            parent.getTraceIdHigh(), parent.getTraceIdLow(), spanId, parent.isSampled());
+    return new Span(name, kind, context, parent.getSpanId(), processor);
+  }
+
+  /**
+   * Make the span the active span of the current thread until the returned scope is closed.
+   *
+   * @param span the span to activate
+   * @return scope that restores the previous span and MDC values
+   */
+  public Scope activate(final Span span) {
+    final Span previous = CURRENT.get();
+    CURRENT.set(span);
+    MDC.put(TRACE_ID_MDC_KEY, span.getContext().traceId());
+    MDC.put(SPAN_ID_MDC_KEY, span.getContext().spanId());
+
+    return () -> {
+      if (previous == null) {
+        CURRENT.remove();
+        MDC.remove(TRACE_ID_MDC_KEY);
+        MDC.remove(SPAN_ID_MDC_KEY);
+      } else {
+        CURRENT.set(previous);
+        MDC.put(TRACE_ID_MDC_KEY, previous.getContext().traceId());
+        MDC.put(SPAN_ID_MDC_KEY, previous.getContext().spanId());
+      }
+    };
+  }
+
+  private static long nonZero(final long value) {
+    return value == 0 ? 1 : value;
+  }
+}
@@ -0,0 +1,29 @@
+package learning.journalapp.platform.logging.tracing;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Settings for the lightweight span instrumentation. */
+@Data
+@ConfigurationProperties(prefix = "platform.tracing")
+public class TracingProperties {
+
+  /** Whether spans are created and traceparent headers propagated. */
+  private boolean enabled = true;
+
+  /** Fraction of new traces to record (0.0 - 1.0). Incoming sampled flags are always honored. */
+  private double sampleRatio = 0.1;
+
+  /** Maximum number of ended spans buffered for export; further spans are dropped. */
+  private int maxQueueSize = 2048;
+
+  /** Maximum number of spans handed to the exporter at once. */
+  private int maxExportBatchSize = 512;
+
+  /** Maximum time an ended span waits in the buffer before being exported. */
+  private Duration scheduleDelay = Duration.ofSeconds(2);
+
+  /** If set, spans are appended to this file as JSON lines instead of being logged. */
+  private String exportFile;
+}
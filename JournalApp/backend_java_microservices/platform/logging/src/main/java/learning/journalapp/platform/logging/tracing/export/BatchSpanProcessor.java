@@ -0,0 +1,117 @@
+package learning.journalapp.platform.logging.tracing.export;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.platform.logging.tracing.Span;
+import learning.journalapp.platform.logging.tracing.SpanProcessor;
+
+/**
+ * Buffers ended spans in a bounded queue and exports them in batches from one background thread.
+ * Request threads only pay for a non-blocking queue offer; when the queue is full, spans are
+ * dropped and counted instead of slowing requests down.
+ *
+ * <p>{@link #close()} never interrupts the worker: an interrupt during an export would close the
+ * exporter's channel and lose the batch. It clears a flag instead, which the worker sees at its
+ * next poll, then waits for the worker to flush the queue.
+ */
+public class BatchSpanProcessor implements SpanProcessor, AutoCloseable {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(BatchSpanProcessor.class);
+
+  /** How long {@link #close()} waits for the final flush, on top of one schedule delay. */
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+  private final SpanExporter exporter;
+  private final BlockingQueue<Span> queue;
+  private final int maxExportBatchSize;
+  private final long scheduleDelayNanos;
+  private final AtomicLong droppedSpans = new AtomicLong();
+  private final Thread worker;
+
+  private volatile boolean running = true;
+
+  public BatchSpanProcessor(
+      final SpanExporter exporter,
+      final int maxQueueSize,
+      final int maxExportBatchSize,
+      final Duration scheduleDelay) {
+    this.exporter = exporter;
+    this.queue = new ArrayBlockingQueue<>(maxQueueSize);
+    this.maxExportBatchSize = maxExportBatchSize;
+    this.scheduleDelayNanos = scheduleDelay.toNanos();
+    this.worker = new Thread(this::run, "span-exporter");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  @Override
+  public void onEnd(final Span span) {
+    if (!queue.offer(span)) {
+      droppedSpans.incrementAndGet();
+    }
+  }
+
+  /** Number of spans dropped because the export queue was full. */
+  public long getDroppedSpans() {
+    return droppedSpans.get();
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    try {
+      worker.join(Duration.ofNanos(scheduleDelayNanos).plus(SHUTDOWN_TIMEOUT).toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (worker.isAlive()) {
+      logger.warn(
+          "Span exporter did not finish flushing before shutdown",
+          Map.of("queuedSpans", String.valueOf(queue.size())));
+    }
+    exporter.shutdown();
+  }
+
+  private void run() {
+    final List<Span> batch = new ArrayList<>(maxExportBatchSize);
+
+    while (running) {
+      try {
+        final Span first = queue.poll(scheduleDelayNanos, TimeUnit.NANOSECONDS);
+        if (first != null) {
+          batch.add(first);
+          queue.drainTo(batch, maxExportBatchSize - 1);
+        }
+      } catch (InterruptedException e) {
+        // Not used to signal shutdown; the loop condition checks the flag
+      }
+      export(batch);
+    }
+
+    // Flush whatever is left after shutdown was requested
+    while (queue.drainTo(batch, maxExportBatchSize) > 0) {
+      export(batch);
+    }
+  }
+
+  private void export(final List<Span> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      exporter.export(batch);
+    } catch (RuntimeException e) {
+      logger.warn("Span export failed, dropping batch", e);
+    } finally {
+      batch.clear();
+    }
+  }
+}
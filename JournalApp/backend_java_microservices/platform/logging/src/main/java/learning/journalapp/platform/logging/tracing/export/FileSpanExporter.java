@@ -0,0 +1,91 @@
+package learning.journalapp.platform.logging.tracing.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import learning.journalapp.platform.logging.tracing.Span;
+import learning.journalapp.platform.logging.tracing.TraceContext;
+
+/**
+ * Appends spans to a file as JSON lines, one span per line. Useful for tests and for local
+ * debugging without a tracing backend; the file can be loaded into any JSON tool.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+  private final OutputStream output;
+  private final JsonGenerator generator;
+
+  public FileSpanExporter(final Path file) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      this.output =
+          Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      this.generator = new JsonFactory().createGenerator(output, JsonEncoding.UTF8);
+      this.generator.setRootValueSeparator(null);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not open span export file " + file, e);
+    }
+  }
+
+  @Override
+  public synchronized void export(final List<Span> spans) {
+    try {
+      for (final Span span : spans) {
+        write(span);
+      }
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write spans", e);
+    }
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    try {
+      generator.close();
+      output.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not close span export file", e);
+    }
+  }
+
+  private void write(final Span span) throws IOException {
+    final TraceContext context = span.getContext();
+
+    generator.writeStartObject();
+    generator.writeStringField("traceId", context.traceId());
+    generator.writeStringField("spanId", context.spanId());
+    if (span.getParentSpanId() != 0) {
+      generator.writeStringField("parentSpanId", TraceContext.toHex(span.getParentSpanId()));
+    }
+    generator.writeStringField("name", span.getName());
+    generator.writeStringField("kind", span.getKind().name());
+    generator.writeNumberField("startEpochMicros", span.getStartEpochMicros());
+    generator.writeNumberField("durationMicros", span.getDurationNanos() / 1000);
+    if (span.getError() != null) {
+      generator.writeStringField("error", span.getError());
+    }
+
+    final Map<String, String> attributes = span.getAttributes();
+    if (!attributes.isEmpty()) {
+      generator.writeObjectFieldStart("attributes");
+      for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+        generator.writeStringField(attribute.getKey(), attribute.getValue());
+      }
+      generator.writeEndObject();
+    }
+
+    generator.writeEndObject();
+    generator.writeRaw('\n');
+  }
+}
@@ -0,0 +1,27 @@
+package learning.journalapp.platform.logging.tracing.export;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import learning.journalapp.platform.logging.tracing.Span;
+
+/** Keeps exported spans in memory. Intended for tests that assert on recorded spans. */
+public class InMemorySpanExporter implements SpanExporter {
+
+  private final ConcurrentLinkedQueue<Span> spans = new ConcurrentLinkedQueue<>();
+
+  @Override
+  public void export(final List<Span> batch) {
+    spans.addAll(batch);
+  }
+
+  /** Get a snapshot of every span exported so far. */
+  public List<Span> getFinishedSpans() {
+    return new ArrayList<>(spans);
+  }
+
+  /** Forget all exported spans. */
+  public void reset() {
+    spans.clear();
+  }
+}
@@ -0,0 +1,41 @@
+package learning.journalapp.platform.logging.tracing.export;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.platform.logging.tracing.Span;
+import learning.journalapp.platform.logging.tracing.TraceContext;
+
+/**
+ * Writes spans to the application log at DEBUG level. This is the default exporter when no export
+ * file or custom exporter is configured; with JSON logging the span fields become searchable.
+ */
+public class LoggingSpanExporter implements SpanExporter {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(LoggingSpanExporter.class);
+
+  @Override
+  public void export(final List<Span> spans) {
+    if (!logger.isDebugEnabled()) {
+      return;
+    }
+
+    for (final Span span : spans) {
+      final Map<String, String> context = new HashMap<>(span.getAttributes());
+      context.put("traceId", span.getContext().traceId());
+      context.put("spanId", span.getContext().spanId());
+      if (span.getParentSpanId() != 0) {
+        context.put("parentSpanId", TraceContext.toHex(span.getParentSpanId()));
+      }
+      context.put("spanKind", span.getKind().name());
+      context.put("durationMicros", String.valueOf(span.getDurationNanos() / 1000));
+      if (span.getError() != null) {
+        context.put("error", span.getError());
+      }
+
+      logger.debug("Span " + span.getName(), context);
+    }
+  }
+}
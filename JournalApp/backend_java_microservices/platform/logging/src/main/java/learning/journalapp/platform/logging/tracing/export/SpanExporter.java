@@ -0,0 +1,26 @@
+package learning.journalapp.platform.logging.tracing.export;
+
+import java.util.List;
+import learning.journalapp.platform.logging.tracing.Span;
+
+/**
+ * Sink for finished spans. Exporters are called from the single export thread of {@link
+ * BatchSpanProcessor}, one batch at a time.
+ *
+ * <p>Provide a bean of this type to send spans somewhere other than the defaults.
+ */
+public interface SpanExporter {
+
+  /**
+   * Export a batch of ended spans. The list is reused after this call returns, so implementations
+   * must copy it if they keep a reference.
+   *
+   * @param spans the spans to export
+   */
+  void export(List<Span> spans);
+
+  /** Flush and release resources. Called once when the application shuts down. */
+  default void shutdown() {
+    // Nothing to release by default
+  }
+}
@@ -0,0 +1,54 @@
+package learning.journalapp.platform.logging.tracing.instrument;
+
+import learning.journalapp.platform.logging.tracing.Span;
+import learning.journalapp.platform.logging.tracing.SpanKind;
+import learning.journalapp.platform.logging.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Records an INTERNAL span around every Spring Data repository call made inside a sampled request.
+ * Span names use the repository interface and method, for example {@code
+ * UserRepository.findByUsername}.
+ */
+@Aspect
+public class RepositoryTracingAspect {
+
+  private static final ClassValue<String> REPOSITORY_NAMES =
+      new ClassValue<>() {
+        @Override
+        protected String computeValue(final Class<?> proxyClass) {
+          // Spring Data proxies implement the declared repository interface first
+          final Class<?>[] interfaces = proxyClass.getInterfaces();
+          return interfaces.length > 0 ? interfaces[0].getSimpleName() : proxyClass.getSimpleName();
+        }
+      };
+
+  private final Tracer tracer;
+
+  public RepositoryTracingAspect(final Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+  public Object trace(final ProceedingJoinPoint joinPoint) throws Throwable {
+    final Span parent = tracer.currentSpan();
+    if (parent == null || !parent.isRecording()) {
+      return joinPoint.proceed();
+    }
+
+    final String repository = REPOSITORY_NAMES.get(joinPoint.getThis().getClass());
+    final Span span =
+        tracer.startSpan(repository + "." + joinPoint.getSignature().getName(), SpanKind.INTERNAL);
+
+    try (Tracer.Scope ignored = tracer.activate(span)) {
+      return joinPoint.proceed();
+    } catch (Throwable t) {
+      span.error(t);
+      throw t;
+    } finally {
+      span.end();
+    }
+  }
+}
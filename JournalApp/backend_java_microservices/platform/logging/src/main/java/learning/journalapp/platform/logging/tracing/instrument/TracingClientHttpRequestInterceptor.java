@@ -0,0 +1,49 @@
+package learning.journalapp.platform.logging.tracing.instrument;
+
+import java.io.IOException;
+import learning.journalapp.platform.logging.tracing.Span;
+import learning.journalapp.platform.logging.tracing.SpanKind;
+import learning.journalapp.platform.logging.tracing.TraceContext;
+import learning.journalapp.platform.logging.tracing.Tracer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * RestTemplate/RestClient interceptor that records a CLIENT span for each outgoing request and
+ * sends the span's traceparent header, so the downstream service continues the same trace.
+ */
+public class TracingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+  private final Tracer tracer;
+
+  public TracingClientHttpRequestInterceptor(final Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      final HttpRequest request, final byte[] body, final ClientHttpRequestExecution execution)
+      throws IOException {
+
+    final Span span =
+        tracer.startSpan(
+            request.getMethod().name() + " " + request.getURI().getHost(), SpanKind.CLIENT);
+    request.getHeaders().set(TraceContext.TRACEPARENT_HEADER, span.getContext().toTraceparent());
+
+    try {
+      final ClientHttpResponse response = execution.execute(request, body);
+      if (span.isRecording()) {
+        span.tag("http.url", request.getURI().getPath());
+        span.tag("http.status", String.valueOf(response.getStatusCode().value()));
+      }
+      return response;
+    } catch (IOException | RuntimeException e) {
+      span.error(e);
+      throw e;
+    } finally {
+      span.end();
+    }
+  }
+}
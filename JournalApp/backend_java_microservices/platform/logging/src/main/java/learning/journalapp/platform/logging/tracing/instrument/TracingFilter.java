@@ -0,0 +1,56 @@
+package learning.journalapp.platform.logging.tracing.instrument;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import learning.journalapp.platform.logging.tracing.Span;
+import learning.journalapp.platform.logging.tracing.SpanKind;
+import learning.journalapp.platform.logging.tracing.TraceContext;
+import learning.journalapp.platform.logging.tracing.Tracer;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Filter that wraps the rest of the servlet filter chain in a SERVER span. The span continues the
+ * trace from an incoming traceparent header when present, and otherwise starts a new trace.
+ *
+ * <p>Runs directly after {@code CorrelationIdFilter}, so the measured time covers security, CORS
+ * and the handler.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TracingFilter implements Filter {
+
+  private final Tracer tracer;
+
+  public TracingFilter(final Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  public void doFilter(
+      final ServletRequest request, final ServletResponse response, final FilterChain chain)
+      throws IOException, ServletException {
+
+    final HttpServletRequest httpRequest = (HttpServletRequest) request;
+    final HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+    final TraceContext parent =
+        TraceContext.parse(httpRequest.getHeader(TraceContext.TRACEPARENT_HEADER));
+    final Span span =
+        tracer.startSpan(
+            httpRequest.getMethod() + " " + httpRequest.getRequestURI(), SpanKind.SERVER, parent);
+
+    try (Tracer.Scope ignored = tracer.activate(span)) {
+      chain.doFilter(request, response);
+    } catch (IOException | ServletException | RuntimeException e) {
+      span.error(e);
+      throw e;
+    } finally {
+      if (span.isRecording()) {
+        span.tag("http.status", String.valueOf(httpResponse.getStatus()));
+      }
+      span.end();
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package learning.journalapp.platform.logging.tracing.instrument;
+
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.concurrent.CompletionStage;
+import learning.journalapp.platform.logging.tracing.Span;
+import learning.journalapp.platform.logging.tracing.SpanKind;
+import learning.journalapp.platform.logging.tracing.Tracer;
+
+/**
+ * GraphQL instrumentation that records an INTERNAL span around every non-trivial field fetch, such
+ * as the controller methods behind queries and mutations. Trivial property fetches are left alone,
+ * and nothing is recorded outside of a sampled request.
+ */
+public class TracingInstrumentation extends SimplePerformantInstrumentation {
+
+  private final Tracer tracer;
+
+  public TracingInstrumentation(final Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  public DataFetcher<?> instrumentDataFetcher(
+      final DataFetcher<?> dataFetcher,
+      final InstrumentationFieldFetchParameters parameters,
+      final InstrumentationState state) {
+    if (parameters.isTrivialDataFetcher()) {
+      return dataFetcher;
+    }
+    return environment -> fetch(dataFetcher, environment);
+  }
+
+  private Object fetch(final DataFetcher<?> dataFetcher, final DataFetchingEnvironment environment)
+      throws Exception {
+    final Span parent = tracer.currentSpan();
+    if (parent == null || !parent.isRecording()) {
+      return dataFetcher.get(environment);
+    }
+
+    final String fieldName =
+        environment.getExecutionStepInfo().getObjectType().getName()
+            + "."
+            + environment.getFieldDefinition().getName();
+    final Span span = tracer.startSpan("graphql " + fieldName, SpanKind.INTERNAL);
+
+    final Object result;
+    try (Tracer.Scope ignored = tracer.activate(span)) {
+      result = dataFetcher.get(environment);
+    } catch (Exception e) {
+      span.error(e).end();
+      throw e;
+    }
+
+    if (result instanceof CompletionStage<?> stage) {
+      stage.whenComplete(
+          (value, throwable) -> {
+            span.error(throwable);
+            span.end();
+          });
+    } else {
+      span.end();
+    }
+    return result;
+  }
+}
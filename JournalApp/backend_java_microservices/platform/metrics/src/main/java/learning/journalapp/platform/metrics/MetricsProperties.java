@@ -0,0 +1,45 @@
+package learning.journalapp.platform.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Settings for the latency distributions published by the platform modules. */
+@Data
+@ConfigurationProperties(prefix = "platform.metrics")
+public class MetricsProperties {
+
+  /** Meter name prefixes that get percentiles and a percentile histogram. */
+  private List<String> timedPrefixes =
+      new ArrayList<>(
+          List.of(
+              PlatformMetrics.PREFIX,
+              "spring.data.repository.invocations",
+              "http.server.requests"));
+
+  /** Percentiles computed in the service, per instance. */
+  private double[] percentiles = {0.5, 0.9, 0.99};
+
+  /**
+   * Whether to also publish histogram buckets, so percentiles can be aggregated across the fleet
+   * with histogram_quantile in Prometheus.
+   */
+  private boolean percentileHistogram = true;
+
+  /** Window over which the per-instance percentiles are computed. */
+  private Duration percentileExpiry = Duration.ofMinutes(1);
+
+  /** Smallest latency the histogram needs to resolve. */
+  private Duration minimumExpectedValue = Duration.ofMillis(1);
+
+  /** Largest latency the histogram needs to resolve. */
+  private Duration maximumExpectedValue = Duration.ofSeconds(10);
+
+  /**
+   * Maximum number of distinct GraphQL operation names tagged on the operation timer. Client
+   * chosen names beyond this limit are reported as "other".
+   */
+  private int maxGraphqlOperationNames = 100;
+}
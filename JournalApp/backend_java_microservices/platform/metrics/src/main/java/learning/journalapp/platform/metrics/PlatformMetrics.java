@@ -0,0 +1,36 @@
+package learning.journalapp.platform.metrics;
+
+/**
+ * Names of the timers published by the platform modules. Every timer is recorded in seconds and
+ * exposed with p50/p90/p99 and histogram buckets through /actuator/prometheus.
+ *
+ * <p>Repository query latency comes from Spring Boot's own {@code
+ * spring.data.repository.invocations} timer, which is given the same distribution settings.
+ */
+public final class PlatformMetrics {
+
+  /** Common prefix of every platform timer. */
+  public static final String PREFIX = "journalapp.";
+
+  /** JWT signing in JwtTokenProvider.generateToken. */
+  public static final String JWT_GENERATE = PREFIX + "jwt.generate";
+
+  /** JWT parsing, signature and expiry checks in JwtTokenProvider.validateToken. */
+  public static final String JWT_VALIDATE = PREFIX + "jwt.validate";
+
+  /** UserDetailsService lookups made by JwtAuthenticationFilter. */
+  public static final String AUTH_USER_LOAD = PREFIX + "auth.user.load";
+
+  /** Password hashing (PasswordEncoder.encode). */
+  public static final String PASSWORD_ENCODE = PREFIX + "password.encode";
+
+  /** Password verification (PasswordEncoder.matches). */
+  public static final String PASSWORD_MATCHES = PREFIX + "password.matches";
+
+  /** Whole GraphQL operations, tagged by operation type and name. */
+  public static final String GRAPHQL_OPERATION = PREFIX + "graphql.operation";
+
+  private PlatformMetrics() {
+    // Constants class
+  }
+}
@@ -0,0 +1,76 @@
+package learning.journalapp.platform.metrics.config;
+
+import graphql.execution.instrumentation.Instrumentation;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import learning.journalapp.platform.metrics.MetricsProperties;
+import learning.journalapp.platform.metrics.graphql.GraphQLOperationMetricsInstrumentation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-configuration for platform metrics. Gives the platform timers, repository invocations and
+ * HTTP server requests percentile distributions, and times GraphQL operations by name.
+ *
+ * <p>The timers themselves are recorded where the work happens (JwtTokenProvider,
+ * JwtAuthenticationFilter, the password encoder); see {@code PlatformMetrics} for names. Expose
+ * them with {@code management.endpoints.web.exposure.include=prometheus}.
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsProperties.class)
+public class MetricsAutoConfiguration {
+
+  /**
+   * Percentiles and histogram buckets for the configured timer prefixes. Micrometer keeps these in
+   * fixed-size, lock-free bucket arrays, so recording stays O(1) per sample.
+   */
+  @Bean
+  public MeterFilter platformDistributionMeterFilter(final MetricsProperties properties) {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(
+          final Meter.Id id, final DistributionStatisticConfig config) {
+        if (id.getType() != Meter.Type.TIMER || !isTimed(id.getName())) {
+          return config;
+        }
+        return DistributionStatisticConfig.builder()
+            .percentiles(properties.getPercentiles())
+            .percentilesHistogram(properties.isPercentileHistogram())
+            .expiry(properties.getPercentileExpiry())
+            .bufferLength(3)
+            .minimumExpectedValue((double) properties.getMinimumExpectedValue().toNanos())
+            .maximumExpectedValue((double) properties.getMaximumExpectedValue().toNanos())
+            .build()
+            .merge(config);
+      }
+
+      private boolean isTimed(final String name) {
+        for (final String prefix : properties.getTimedPrefixes()) {
+          if (name.startsWith(prefix)) {
+            return true;
+          }
+        }
+        return false;
+      }
+    };
+  }
+
+  /** Time GraphQL operations. Only activates if GraphQL Java is on the classpath. */
+  @Configuration
+  @ConditionalOnClass(Instrumentation.class)
+  static class GraphQLMetricsConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GraphQLOperationMetricsInstrumentation graphQLOperationMetricsInstrumentation(
+        final MeterRegistry meterRegistry, final MetricsProperties properties) {
+      return new GraphQLOperationMetricsInstrumentation(
+          meterRegistry, properties.getMaxGraphqlOperationNames());
+    }
+  }
+}
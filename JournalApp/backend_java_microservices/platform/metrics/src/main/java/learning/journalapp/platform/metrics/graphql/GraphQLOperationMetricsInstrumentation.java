@@ -0,0 +1,112 @@
+package learning.journalapp.platform.metrics.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import learning.journalapp.platform.metrics.PlatformMetrics;
+
+/**
+ * Times each GraphQL request from parse to result, tagged with the operation type and name.
+ * Anonymous operations such as {@code mutation { login(...) }} are named after their top-level
+ * fields, so the login, register and profile paths show up separately.
+ */
+public class GraphQLOperationMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+  private static final String OPERATION_KEY =
+      GraphQLOperationMetricsInstrumentation.class.getName() + ".operation";
+  private static final String UNKNOWN = "unknown";
+  private static final String OTHER = "other";
+
+  private final MeterRegistry meterRegistry;
+  private final int maxOperationNames;
+  private final Set<String> knownOperationNames = ConcurrentHashMap.newKeySet();
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public GraphQLOperationMetricsInstrumentation(
+      final MeterRegistry meterRegistry, final int maxOperationNames) {
+    this.meterRegistry = meterRegistry;
+    this.maxOperationNames = maxOperationNames;
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecution(
+      final InstrumentationExecutionParameters parameters, final InstrumentationState state) {
+    final long start = System.nanoTime();
+    final GraphQLContext context = parameters.getExecutionInput().getGraphQLContext();
+
+    return SimpleInstrumentationContext.whenCompleted(
+        (result, throwable) -> {
+          final boolean failed =
+              throwable != null || (result != null && !result.getErrors().isEmpty());
+          final String operation = context.getOrDefault(OPERATION_KEY, "query:" + UNKNOWN);
+          timer(operation, failed ? "error" : "success")
+              .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+      final InstrumentationExecuteOperationParameters parameters,
+      final InstrumentationState state) {
+    final OperationDefinition operation =
+        parameters.getExecutionContext().getOperationDefinition();
+    parameters
+        .getExecutionContext()
+        .getGraphQLContext()
+        .put(
+            OPERATION_KEY,
+            operation.getOperation().name().toLowerCase(Locale.ROOT) + ":" + nameOf(operation));
+    return SimpleInstrumentationContext.noOp();
+  }
+
+  private String nameOf(final OperationDefinition operation) {
+    if (operation.getName() != null) {
+      // Client-chosen names are unbounded, so cap how many distinct ones become tags
+      final String name = operation.getName();
+      if (knownOperationNames.contains(name)) {
+        return name;
+      }
+      if (knownOperationNames.size() < maxOperationNames && knownOperationNames.add(name)) {
+        return name;
+      }
+      return OTHER;
+    }
+
+    // Top-level field names come from the schema, so they are naturally bounded
+    final String fields =
+        operation.getSelectionSet().getSelectionsOfType(Field.class).stream()
+            .map(Field::getName)
+            .sorted()
+            .collect(Collectors.joining("+"));
+    return fields.isEmpty() ? UNKNOWN : fields;
+  }
+
+  private Timer timer(final String operation, final String outcome) {
+    return timers.computeIfAbsent(
+        operation + "|" + outcome,
+        key -> {
+          final int separator = operation.indexOf(':');
+          return Timer.builder(PlatformMetrics.GRAPHQL_OPERATION)
+              .description("GraphQL operation latency")
+              .tag("type", operation.substring(0, separator))
+              .tag("operation", operation.substring(separator + 1))
+              .tag("outcome", outcome)
+              .register(meterRegistry);
+        });
+  }
+}
@@ -0,0 +1,70 @@
+package learning.journalapp.platform.outbox.config;
+
+import java.time.Clock;
+import learning.journalapp.platform.outbox.inbox.Inbox;
+import learning.journalapp.platform.outbox.inbox.InboxProperties;
+import learning.journalapp.platform.outbox.inbox.InboxPurger;
+import learning.journalapp.platform.outbox.inbox.InboxStore;
+import learning.journalapp.platform.outbox.inbox.ProcessedMessageCache;
+import learning.journalapp.platform.outbox.inbox.RotatingBloomFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Auto-configuration for the idempotent consumer inbox. Opt-in with {@code
+ * platform.inbox.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(InboxProperties.class)
+@ConditionalOnProperty(prefix = "platform.inbox", name = "enabled", havingValue = "true")
+public class InboxAutoConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public InboxStore inboxStore(final JdbcTemplate jdbcTemplate, final InboxProperties properties) {
+    return new InboxStore(jdbcTemplate, properties.getTableName());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public ProcessedMessageCache processedMessageCache(final InboxProperties properties) {
+    final RotatingBloomFilter bloomFilter =
+        new RotatingBloomFilter(
+            properties.getBloomExpectedInsertions(),
+            properties.getBloomFalsePositiveRate(),
+            properties.getRotationInterval(),
+            Clock.systemUTC());
+    return new ProcessedMessageCache(bloomFilter, properties.getRecentSize());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public Inbox inbox(
+      final InboxStore inboxStore,
+      final ProcessedMessageCache processedMessageCache,
+      final PlatformTransactionManager transactionManager,
+      final InboxProperties properties) {
+    final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    return new Inbox(
+        inboxStore,
+        processedMessageCache,
+        transactionTemplate,
+        properties.getRotationInterval(),
+        Clock.systemUTC());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public InboxPurger inboxPurger(final InboxStore inboxStore, final InboxProperties properties) {
+    return new InboxPurger(
+        inboxStore, properties.getRetention(), properties.getPurgeInterval(), Clock.systemUTC());
+  }
+}
@@ -0,0 +1,187 @@
+package learning.journalapp.platform.outbox.inbox;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Idempotent consumer for at-least-once messages (e.g. from a transactional outbox).
+ *
+ * <p>Handlers run in one transaction per batch, and the batch's IDs are recorded in the same
+ * transaction with a single {@code INSERT ... ON CONFLICT DO NOTHING}. So a message is either
+ * processed and recorded, or neither.
+ *
+ * <p>Duplicate checks go through {@link ProcessedMessageCache} first. In the common case, a
+ * message never seen before, the bloom filter rules out a duplicate and no lookup query is made:
+ * the insert the transaction needs anyway is the only extra statement. Only bloom hits that the
+ * exact LRU cannot confirm are checked against the store, in one query per batch.
+ *
+ * <p>If the insert reports fewer new rows than expected, a duplicate slipped past the bloom
+ * filter, e.g. because another instance processed it or because this one restarted. The
+ * transaction is rolled back and the batch is retried with every ID checked against the store.
+ * That rollback must not take a caller's transaction with it, so the transaction template has to
+ * use {@link TransactionDefinition#PROPAGATION_REQUIRES_NEW}.
+ *
+ * <pre>
+ * inbox.process("journal-projection", messages, event -&gt; projection.apply(event));
+ * </pre>
+ */
+public class Inbox implements InitializingBean {
+
+  private static final StructuredLogger logger = StructuredLogger.getLogger(Inbox.class);
+
+  private final InboxStore store;
+  private final ProcessedMessageCache cache;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration warmUpWindow;
+  private final Clock clock;
+
+  public Inbox(
+      final InboxStore store,
+      final ProcessedMessageCache cache,
+      final TransactionTemplate transactionTemplate,
+      final Duration warmUpWindow,
+      final Clock clock) {
+    if (transactionTemplate.getPropagationBehavior()
+        != TransactionDefinition.PROPAGATION_REQUIRES_NEW) {
+      throw new IllegalArgumentException(
+          "Inbox transactions must use PROPAGATION_REQUIRES_NEW, so a duplicate rolls back only"
+              + " the inbox batch");
+    }
+    this.store = store;
+    this.cache = cache;
+    this.transactionTemplate = transactionTemplate;
+    this.warmUpWindow = warmUpWindow;
+    this.clock = clock;
+  }
+
+  /**
+   * Load recently processed IDs into the bloom filter, so duplicates redelivered right after a
+   * restart are caught without the rollback-and-retry path.
+   */
+  @Override
+  public void afterPropertiesSet() {
+    final long start = System.nanoTime();
+    final int[] loaded = {0};
+    transactionTemplate.executeWithoutResult(
+        status ->
+            store.forEachProcessedSince(
+                clock.instant().minus(warmUpWindow),
+                (consumer, messageId) -> {
+                  cache.markKnown(consumer, messageId);
+                  loaded[0]++;
+                }));
+    logger.info(
+        "Inbox warmed up",
+        Map.of(
+            "messageIds", String.valueOf(loaded[0]),
+            "durationMs", String.valueOf((System.nanoTime() - start) / 1_000_000)));
+  }
+
+  /**
+   * Process one message unless it was processed before.
+   *
+   * @return true if the handler ran
+   */
+  public <T> boolean process(
+      final String consumer, final String messageId, final T payload, final Consumer<T> handler) {
+    return process(consumer, List.of(new InboxMessage<>(messageId, payload)), handler) == 1;
+  }
+
+  /**
+   * Process a batch, skipping messages processed before and duplicates within the batch. Handlers
+   * run in order, in one transaction; if one throws, nothing in the batch is recorded.
+   *
+   * @return how many messages were handled
+   */
+  public <T> int process(
+      final String consumer, final List<InboxMessage<T>> messages, final Consumer<T> handler) {
+    final List<InboxMessage<T>> pending = unprocessed(consumer, messages, false);
+    if (pending.isEmpty()) {
+      return 0;
+    }
+
+    if (handleAndMark(consumer, pending, handler)) {
+      return pending.size();
+    }
+
+    logger.debug(
+        "Inbox batch contained an already processed message, retrying with exact checks",
+        Map.of("consumer", consumer, "batchSize", String.valueOf(pending.size())));
+    final List<InboxMessage<T>> verified = unprocessed(consumer, pending, true);
+    if (verified.isEmpty()) {
+      return 0;
+    }
+    if (!handleAndMark(consumer, verified, handler)) {
+      // Another instance is processing the same messages right now; let redelivery sort it out
+      throw new IllegalStateException("Concurrent processing of inbox messages for " + consumer);
+    }
+    return verified.size();
+  }
+
+  /**
+   * Drop messages already processed and duplicate IDs within the batch.
+   *
+   * @param exact check every ID against the store, ignoring the bloom filter
+   */
+  private <T> List<InboxMessage<T>> unprocessed(
+      final String consumer, final List<InboxMessage<T>> messages, final boolean exact) {
+    final Map<String, InboxMessage<T>> candidates = new LinkedHashMap<>();
+    final List<String> toVerify = new ArrayList<>();
+
+    for (final InboxMessage<T> message : messages) {
+      if (candidates.putIfAbsent(message.messageId(), message) != null) {
+        continue;
+      }
+      final ProcessedMessageCache.Status status = cache.check(consumer, message.messageId());
+      if (status == ProcessedMessageCache.Status.PROCESSED) {
+        candidates.remove(message.messageId());
+      } else if (exact || status == ProcessedMessageCache.Status.MAYBE_PROCESSED) {
+        toVerify.add(message.messageId());
+      }
+    }
+
+    if (!toVerify.isEmpty()) {
+      final Set<String> processed = store.findProcessed(consumer, toVerify);
+      candidates.keySet().removeAll(processed);
+      processed.forEach(messageId -> cache.markProcessed(consumer, messageId));
+    }
+    return new ArrayList<>(candidates.values());
+  }
+
+  /** Run the handlers and record the IDs in one transaction. False if a duplicate was detected. */
+  private <T> boolean handleAndMark(
+      final String consumer, final List<InboxMessage<T>> messages, final Consumer<T> handler) {
+    final List<String> messageIds = new ArrayList<>(messages.size());
+    messages.forEach(message -> messageIds.add(message.messageId()));
+
+    final Boolean committed =
+        transactionTemplate.execute(
+            status -> {
+              for (final InboxMessage<T> message : messages) {
+                handler.accept(message.payload());
+              }
+              final int recorded = store.markProcessed(consumer, messageIds, clock.instant());
+              if (recorded != messageIds.size()) {
+                status.setRollbackOnly();
+                return false;
+              }
+              return true;
+            });
+
+    if (!Boolean.TRUE.equals(committed)) {
+      return false;
+    }
+    messageIds.forEach(messageId -> cache.markProcessed(consumer, messageId));
+    return true;
+  }
+}
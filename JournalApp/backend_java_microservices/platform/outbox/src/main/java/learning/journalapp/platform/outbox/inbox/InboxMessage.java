@@ -0,0 +1,10 @@
+package learning.journalapp.platform.outbox.inbox;
+
+/**
+ * A received message and the ID it is deduplicated by (typically the outbox event ID).
+ *
+ * @param messageId producer-assigned unique ID
+ * @param payload the message
+ * @param <T> payload type
+ */
+public record InboxMessage<T>(String messageId, T payload) {}
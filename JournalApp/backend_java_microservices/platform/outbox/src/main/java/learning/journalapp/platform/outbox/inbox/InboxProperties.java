@@ -0,0 +1,50 @@
+package learning.journalapp.platform.outbox.inbox;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the idempotent consumer inbox. The table is created by {@code
+ * db/platform_inbox.sql}.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * platform:
+ *   inbox:
+ *     enabled: true
+ *     retention: 14d
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "platform.inbox")
+public class InboxProperties {
+
+  /** Whether to create the Inbox bean. */
+  private boolean enabled = false;
+
+  /** Table holding processed message IDs. */
+  private String tableName = "platform_inbox";
+
+  /** Messages expected per rotation interval, to size each bloom filter generation. */
+  private int bloomExpectedInsertions = 1_000_000;
+
+  /** Share of new messages that still need a lookup because of a bloom false positive. */
+  private double bloomFalsePositiveRate = 0.001;
+
+  /**
+   * How long a processed ID stays in the bloom filter (between one and two intervals). Also how far
+   * back the filter is warmed from the store on startup.
+   */
+  private Duration rotationInterval = Duration.ofHours(1);
+
+  /** Number of recently processed IDs known exactly, without a lookup. */
+  private int recentSize = 10_000;
+
+  /** How long processed IDs are kept in the store. */
+  private Duration retention = Duration.ofDays(7);
+
+  /** How often expired IDs are deleted. */
+  private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,67 @@
+package learning.journalapp.platform.outbox.inbox;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Periodically deletes processed-message records older than the retention period. The retention
+ * must exceed the longest time a message can be redelivered (e.g. the outbox relay's retry window),
+ * or a late duplicate would be processed again.
+ */
+public class InboxPurger implements InitializingBean, DisposableBean {
+
+  private static final StructuredLogger logger = StructuredLogger.getLogger(InboxPurger.class);
+
+  private final InboxStore store;
+  private final Duration retention;
+  private final Duration interval;
+  private final Clock clock;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "inbox-purge");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public InboxPurger(
+      final InboxStore store,
+      final Duration retention,
+      final Duration interval,
+      final Clock clock) {
+    this.store = store;
+    this.retention = retention;
+    this.interval = interval;
+    this.clock = clock;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    scheduler.scheduleWithFixedDelay(
+        this::purge, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+
+  /** Delete records past the retention period now. */
+  public void purge() {
+    try {
+      final int deleted = store.purgeOlderThan(clock.instant().minus(retention));
+      if (deleted > 0) {
+        logger.debug("Purged processed inbox messages", Map.of("deleted", String.valueOf(deleted)));
+      }
+    } catch (final RuntimeException e) {
+      logger.error("Could not purge processed inbox messages", e);
+    }
+  }
+}
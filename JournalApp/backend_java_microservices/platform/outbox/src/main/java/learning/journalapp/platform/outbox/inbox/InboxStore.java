@@ -0,0 +1,94 @@
+package learning.journalapp.platform.outbox.inbox;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Persistent record of processed message IDs per consumer, in the table created by {@code
+ * db/platform_inbox.sql}. Uses PostgreSQL arrays so every operation on a batch of IDs is a single
+ * statement and a single round trip.
+ */
+public class InboxStore {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String insertSql;
+  private final String selectSql;
+  private final String selectSinceSql;
+  private final String deleteSql;
+
+  public InboxStore(final JdbcTemplate jdbcTemplate, final String tableName) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.insertSql =
+        "INSERT INTO "
+            + tableName
+            + " (consumer, message_id, processed_at)"
+            + " SELECT ?, id, ? FROM unnest(?) AS t(id)"
+            + " ON CONFLICT (consumer, message_id) DO NOTHING";
+    this.selectSql =
+        "SELECT message_id FROM " + tableName + " WHERE consumer = ? AND message_id = ANY(?)";
+    this.selectSinceSql =
+        "SELECT consumer, message_id FROM " + tableName + " WHERE processed_at >= ?";
+    this.deleteSql = "DELETE FROM " + tableName + " WHERE processed_at < ?";
+  }
+
+  /**
+   * Record message IDs as processed. Must run in the transaction of the handler that processed
+   * them.
+   *
+   * @return how many IDs were newly recorded; fewer than given means some were already processed
+   */
+  public int markProcessed(
+      final String consumer, final Collection<String> messageIds, final Instant processedAt) {
+    return jdbcTemplate.update(
+        connection -> {
+          final PreparedStatement statement = connection.prepareStatement(insertSql);
+          statement.setString(1, consumer);
+          statement.setTimestamp(2, Timestamp.from(processedAt));
+          statement.setArray(3, connection.createArrayOf("text", messageIds.toArray()));
+          return statement;
+        });
+  }
+
+  /** Which of the given IDs have already been processed, in one query. */
+  public Set<String> findProcessed(final String consumer, final Collection<String> messageIds) {
+    final Set<String> processed = new HashSet<>();
+    jdbcTemplate.query(
+        connection -> {
+          final PreparedStatement statement = connection.prepareStatement(selectSql);
+          statement.setString(1, consumer);
+          final Array ids = connection.createArrayOf("text", messageIds.toArray());
+          statement.setArray(2, ids);
+          return statement;
+        },
+        resultSet -> {
+          processed.add(resultSet.getString(1));
+        });
+    return processed;
+  }
+
+  /** Stream every (consumer, message ID) processed since the given time, without buffering. */
+  public void forEachProcessedSince(final Instant since, final BiConsumer<String, String> action) {
+    jdbcTemplate.query(
+        connection -> {
+          final PreparedStatement statement = connection.prepareStatement(selectSinceSql);
+          statement.setFetchSize(10_000);
+          statement.setTimestamp(1, Timestamp.from(since));
+          return statement;
+        },
+        resultSet -> {
+          action.accept(resultSet.getString(1), resultSet.getString(2));
+        });
+  }
+
+  /** Delete records older than the given time. */
+  public int purgeOlderThan(final Instant cutoff) {
+    return jdbcTemplate.update(deleteSql, Timestamp.from(cutoff));
+  }
+}
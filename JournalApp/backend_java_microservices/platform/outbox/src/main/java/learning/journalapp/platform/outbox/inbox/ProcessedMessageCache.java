@@ -0,0 +1,57 @@
+package learning.journalapp.platform.outbox.inbox;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * In-memory knowledge of processed messages: a rotating bloom filter over everything processed
+ * recently, plus a small exact LRU of the latest IDs. Together they answer most duplicate checks
+ * without touching the database:
+ *
+ * <ul>
+ *   <li>bloom miss: never processed (within the bloom window), no lookup needed
+ *   <li>LRU hit: definitely processed
+ *   <li>bloom hit, LRU miss: maybe processed, confirm against the store
+ * </ul>
+ */
+public class ProcessedMessageCache {
+
+  /** Result of a duplicate check. */
+  public enum Status {
+    NEW,
+    PROCESSED,
+    MAYBE_PROCESSED
+  }
+
+  private final RotatingBloomFilter bloomFilter;
+  private final Cache<String, Boolean> recent;
+
+  public ProcessedMessageCache(final RotatingBloomFilter bloomFilter, final int recentSize) {
+    this.bloomFilter = bloomFilter;
+    this.recent = CacheBuilder.newBuilder().maximumSize(recentSize).build();
+  }
+
+  public Status check(final String consumer, final String messageId) {
+    final String key = key(consumer, messageId);
+    if (!bloomFilter.mightContain(key)) {
+      return Status.NEW;
+    }
+    return recent.getIfPresent(key) != null ? Status.PROCESSED : Status.MAYBE_PROCESSED;
+  }
+
+  /** Record a message whose processing has been committed. */
+  public void markProcessed(final String consumer, final String messageId) {
+    final String key = key(consumer, messageId);
+    bloomFilter.put(key);
+    recent.put(key, Boolean.TRUE);
+  }
+
+  /** Record a message known from the store (e.g. on warm-up), without promoting it in the LRU. */
+  public void markKnown(final String consumer, final String messageId) {
+    bloomFilter.put(key(consumer, messageId));
+  }
+
+  private static String key(final String consumer, final String messageId) {
+    return consumer + '\0' + messageId;
+  }
+}
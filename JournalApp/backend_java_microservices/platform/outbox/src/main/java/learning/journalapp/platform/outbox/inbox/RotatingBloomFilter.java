@@ -0,0 +1,73 @@
+package learning.journalapp.platform.outbox.inbox;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Bloom filter that forgets old entries. It keeps two generations: new keys go into the current
+ * one, lookups check both, and every {@code rotationInterval} the older generation is dropped. A
+ * key is therefore remembered for at least one and at most two intervals, and memory stays bounded
+ * however long the service runs.
+ *
+ * <p>Thread-safe: Guava bloom filters support concurrent puts and lookups; rotation swaps both
+ * generations under a lock.
+ */
+public class RotatingBloomFilter {
+
+  private final int expectedInsertionsPerGeneration;
+  private final double falsePositiveRate;
+  private final long rotationIntervalMillis;
+  private final Clock clock;
+
+  private volatile Generations generations;
+
+  public RotatingBloomFilter(
+      final int expectedInsertionsPerGeneration,
+      final double falsePositiveRate,
+      final Duration rotationInterval,
+      final Clock clock) {
+    this.expectedInsertionsPerGeneration = expectedInsertionsPerGeneration;
+    this.falsePositiveRate = falsePositiveRate;
+    this.rotationIntervalMillis = rotationInterval.toMillis();
+    this.clock = clock;
+    this.generations = new Generations(newFilter(), newFilter(), clock.millis());
+  }
+
+  /** False means definitely not added within the last rotation interval. */
+  public boolean mightContain(final String key) {
+    final Generations current = currentGenerations();
+    return current.current.mightContain(key) || current.previous.mightContain(key);
+  }
+
+  public void put(final String key) {
+    currentGenerations().current.put(key);
+  }
+
+  private Generations currentGenerations() {
+    final Generations current = generations;
+    if (clock.millis() - current.createdAtMillis < rotationIntervalMillis) {
+      return current;
+    }
+    synchronized (this) {
+      if (generations == current) {
+        generations = new Generations(newFilter(), current.current, clock.millis());
+      }
+      return generations;
+    }
+  }
+
+  private BloomFilter<CharSequence> newFilter() {
+    return BloomFilter.create(
+        Funnels.stringFunnel(StandardCharsets.UTF_8),
+        expectedInsertionsPerGeneration,
+        falsePositiveRate);
+  }
+
+  private record Generations(
+      BloomFilter<CharSequence> current,
+      BloomFilter<CharSequence> previous,
+      long createdAtMillis) {}
+}
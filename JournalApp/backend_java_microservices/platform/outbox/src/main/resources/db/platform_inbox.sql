@@ -0,0 +1,10 @@
+-- Processed-message store for the platform inbox (learning.journalapp.platform.outbox.inbox).
+-- Add to the consuming service's migrations; rename via platform.inbox.table-name if needed.
+CREATE TABLE IF NOT EXISTS platform_inbox (
+    consumer     VARCHAR(100) NOT NULL,
+    message_id   VARCHAR(200) NOT NULL,
+    processed_at TIMESTAMP    NOT NULL,
+    PRIMARY KEY (consumer, message_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_platform_inbox_processed_at ON platform_inbox (processed_at);
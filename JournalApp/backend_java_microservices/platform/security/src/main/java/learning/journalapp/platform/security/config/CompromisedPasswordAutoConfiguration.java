@@ -0,0 +1,34 @@
+package learning.journalapp.platform.security.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import learning.journalapp.platform.security.password.CompromisedPasswordFilter;
+import learning.journalapp.platform.security.password.CompromisedPasswordProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.password.CompromisedPasswordChecker;
+
+/**
+ * Auto-configuration for offline breached-password screening. Active when {@code
+ * platform.security.compromised-passwords.filter-file} is set; a configured file that cannot be
+ * opened fails startup rather than silently disabling the check.
+ */
+@Configuration
+@EnableConfigurationProperties(CompromisedPasswordProperties.class)
+@ConditionalOnProperty(prefix = "platform.security.compromised-passwords", name = "filter-file")
+public class CompromisedPasswordAutoConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public CompromisedPasswordChecker compromisedPasswordChecker(
+      final CompromisedPasswordProperties properties) {
+    try {
+      return CompromisedPasswordFilter.open(properties.getFilterFile());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -1,7 +1,11 @@
 package learning.journalapp.platform.security.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import learning.journalapp.platform.security.crypto.TimedPasswordEncoder;
 import learning.journalapp.platform.security.filter.JwtAuthenticationFilter;
 import learning.journalapp.platform.security.util.JwtTokenProvider;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +17,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * Auto-configuration for security commons beans. These beans are automatically available to any
  * microservice that includes security module. Microservices can override any of these beans by
  * providing their own.
+ *
+ * <p>When a MeterRegistry is present (e.g. through the metrics module), JWT handling, user loading
+ * and password hashing are timed against it.
  */
 @Configuration
 public class SecurityAutoConfiguration {
@@ -20,15 +27,15 @@ public class SecurityAutoConfiguration {
   /** Provide BCrypt password encoder. Can be overridden by microservices if needed. */
   @Bean
   @ConditionalOnMissingBean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new TimedPasswordEncoder(new BCryptPasswordEncoder(), registry(meterRegistry));
   }
 
   /** Provide JWT token provider. Can be overridden by microservices if needed. */
   @Bean
   @ConditionalOnMissingBean
-  public JwtTokenProvider jwtTokenProvider() {
-    return new JwtTokenProvider();
+  public JwtTokenProvider jwtTokenProvider(final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new JwtTokenProvider(registry(meterRegistry));
   }
 
   /**
@@ -38,7 +45,14 @@ public class SecurityAutoConfiguration {
   @Bean
   @ConditionalOnMissingBean
   public JwtAuthenticationFilter jwtAuthenticationFilter(
-      final JwtTokenProvider jwtTokenProvider, final UserDetailsService userDetailsService) {
-    return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+      final JwtTokenProvider jwtTokenProvider,
+      final UserDetailsService userDetailsService,
+      final ObjectProvider<MeterRegistry> meterRegistry) {
+    return new JwtAuthenticationFilter(
+        jwtTokenProvider, userDetailsService, registry(meterRegistry));
+  }
+
+  private static MeterRegistry registry(final ObjectProvider<MeterRegistry> meterRegistry) {
+    return meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
   }
 }
@@ -0,0 +1,73 @@
+package learning.journalapp.platform.security.config;
+
+import learning.journalapp.platform.security.projection.KafkaUserEventListener;
+import learning.journalapp.platform.security.projection.ProjectionUserDetailsService;
+import learning.journalapp.platform.security.projection.SnapshotFile;
+import learning.journalapp.platform.security.projection.UserProjection;
+import learning.journalapp.platform.security.projection.UserProjectionProperties;
+import learning.journalapp.platform.security.projection.UserProjectionSnapshotter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * Auto-configuration for the local user projection. Opt-in with {@code
+ * platform.security.user-projection.enabled=true}; services that own the users table keep their
+ * own UserDetailsService.
+ */
+@Configuration
+@EnableConfigurationProperties(UserProjectionProperties.class)
+@ConditionalOnProperty(
+    prefix = "platform.security.user-projection",
+    name = "enabled",
+    havingValue = "true")
+@AutoConfigureBefore(UserDetailsServiceAutoConfiguration.class)
+public class UserProjectionAutoConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public UserProjection userProjection(final UserProjectionProperties properties) {
+    return new UserProjection(properties.getExpectedUsers());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public UserProjectionSnapshotter userProjectionSnapshotter(
+      final UserProjection userProjection, final UserProjectionProperties properties) {
+    return new UserProjectionSnapshotter(
+        userProjection,
+        new SnapshotFile(properties.getSnapshotFile()),
+        properties.getSnapshotInterval());
+  }
+
+  /** Back UserDetailsService with the projection, unless the service provides its own. */
+  @Bean
+  @ConditionalOnMissingBean(UserDetailsService.class)
+  public ProjectionUserDetailsService projectionUserDetailsService(
+      final UserProjection userProjection) {
+    return new ProjectionUserDetailsService(userProjection);
+  }
+
+  /**
+   * Consume user events from Kafka. Only activates if Spring Kafka is on the classpath and a topic
+   * is configured.
+   */
+  @Configuration
+  @ConditionalOnClass(KafkaListener.class)
+  @ConditionalOnProperty(prefix = "platform.security.user-projection", name = "topic")
+  static class KafkaUserEventConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KafkaUserEventListener kafkaUserEventListener(final UserProjection userProjection) {
+      return new KafkaUserEventListener(userProjection);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package learning.journalapp.platform.security.crypto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.logging.SyntheticTraffic;
+import learning.journalapp.platform.metrics.PlatformMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder decorator that times hashing and verification. BCrypt is deliberately slow, so
+ * these timers are usually what sizes the login and register paths. {@link SyntheticTraffic}
+ * (start-up warm-up) is not timed.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+
+  public TimedPasswordEncoder(final PasswordEncoder delegate, final MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.encodeTimer =
+        Timer.builder(PlatformMetrics.PASSWORD_ENCODE)
+            .description("Password hashing latency")
+            .register(meterRegistry);
+    this.matchesTimer =
+        Timer.builder(PlatformMetrics.PASSWORD_MATCHES)
+            .description("Password verification latency")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public String encode(final CharSequence rawPassword) {
+    final long start = System.nanoTime();
+    try {
+      return delegate.encode(rawPassword);
+    } finally {
+      record(encodeTimer, start);
+    }
+  }
+
+  @Override
+  public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+    final long start = System.nanoTime();
+    try {
+      return delegate.matches(rawPassword, encodedPassword);
+    } finally {
+      record(matchesTimer, start);
+    }
+  }
+
+  @Override
+  public boolean upgradeEncoding(final String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private static void record(final Timer timer, final long start) {
+    if (!SyntheticTraffic.isSynthetic()) {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package learning.journalapp.platform.security.exception;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Stackless {@link UsernameNotFoundException} for UserDetailsService implementations. A missing
+ * user is an expected outcome (typos, credential stuffing), so it should not pay for a stack walk
+ * on every failed login.
+ *
+ * <p>Unlike the platform's DomainExceptions this is not shared between requests: Spring Security
+ * may attach the failed authentication request to the exception. The message deliberately does not
+ * include the username; log it separately if needed.
+ */
+public class UserNotFoundException extends UsernameNotFoundException {
+
+  public UserNotFoundException() {
+    super("User not found");
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
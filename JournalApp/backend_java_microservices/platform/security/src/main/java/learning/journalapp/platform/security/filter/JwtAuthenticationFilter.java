@@ -1,5 +1,8 @@
 package learning.journalapp.platform.security.filter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +10,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Map;
 import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.platform.logging.SyntheticTraffic;
+import learning.journalapp.platform.metrics.PlatformMetrics;
 import learning.journalapp.platform.security.util.JwtTokenProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +28,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
  *
  * <p>Required beans: - JwtTokenProvider: for token validation - UserDetailsService: for loading
  * user details
+ *
+ * <p>User lookups are timed as journalapp.auth.user.load, since they usually hit the database on
+ * every authenticated request. {@link SyntheticTraffic} (start-up warm-up) is not timed.
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -33,11 +41,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtTokenProvider jwtTokenProvider;
   private final UserDetailsService userDetailsService;
+  private final Timer userLoadTimer;
 
   public JwtAuthenticationFilter(
       final JwtTokenProvider jwtTokenProvider, final UserDetailsService userDetailsService) {
+    this(jwtTokenProvider, userDetailsService, Metrics.globalRegistry);
+  }
+
+  public JwtAuthenticationFilter(
+      final JwtTokenProvider jwtTokenProvider,
+      final UserDetailsService userDetailsService,
+      final MeterRegistry meterRegistry) {
     this.jwtTokenProvider = jwtTokenProvider;
     this.userDetailsService = userDetailsService;
+    this.userLoadTimer =
+        Timer.builder(PlatformMetrics.AUTH_USER_LOAD)
+            .description("UserDetailsService lookup latency for JWT-authenticated requests")
+            .register(meterRegistry);
   }
 
   @Override
@@ -52,20 +72,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
         final String username = jwtTokenProvider.getUsernameFromToken(jwt);
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        final UserDetails userDetails =
+            SyntheticTraffic.isSynthetic()
+                ? userDetailsService.loadUserByUsername(username)
+                : userLoadTimer.recordCallable(
+                    () -> userDetailsService.loadUserByUsername(username));
 
-        final UsernamePasswordAuthenticationToken authentication =
-            new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities());
+        if (userDetails.isEnabled()) {
+          final UsernamePasswordAuthenticationToken authentication =
+              new UsernamePasswordAuthenticationToken(
+                  userDetails, null, userDetails.getAuthorities());
 
-        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+          authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+          SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        logger.debug("Set authentication for user", Map.of("username", username));
+          logger.debug("Set authentication for user", Map.of("username", username));
+        } else {
+          // Tokens stay valid until they expire, so a disabled account must be checked here
+          logger.debug("Ignoring token of disabled user", Map.of("username", username));
+        }
       }
     } catch (Exception ex) {
-      logger.error("Could not set user authentication in security context", ex);
+      if (SyntheticTraffic.isSynthetic()) {
+        // Warm-up sends a token for a user that does not exist
+        logger.debug("Could not set user authentication for synthetic request", ex);
+      } else {
+        logger.error("Could not set user authentication in security context", ex);
+      }
       // Don't throw exception - let the request continue without authentication
       // The security configuration will handle unauthorized access
     }
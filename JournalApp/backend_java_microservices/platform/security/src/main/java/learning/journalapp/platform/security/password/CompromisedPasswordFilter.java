@@ -0,0 +1,131 @@
+package learning.journalapp.platform.security.password;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.springframework.security.authentication.password.CompromisedPasswordChecker;
+import org.springframework.security.authentication.password.CompromisedPasswordDecision;
+
+/**
+ * Offline breached-password check against a bloom filter of SHA-1 password hashes (e.g. built from
+ * the Have I Been Pwned hash list by {@link CompromisedPasswordFilterBuilder}).
+ *
+ * <p>The filter file is memory-mapped read-only: opening it costs no heap and no load time, the OS
+ * pages in only the parts that are probed, and several JVMs on a host share the same page cache. A
+ * check is one SHA-1 plus a handful of byte reads.
+ *
+ * <p>A bloom filter has false positives (at the rate the file was built with) but no false
+ * negatives, so a small share of uncompromised passwords is rejected too; that only asks the user
+ * for a different password.
+ *
+ * <p>File format (big-endian header, then the bit array):
+ *
+ * <pre>
+ * int  magic "CPF1"
+ * int  format version
+ * int  hash count
+ * int  reserved
+ * long bit count
+ * long entry count
+ * byte[bit count / 8] bits, bit i at byte i / 8, mask 1 &lt;&lt; (i % 8)
+ * </pre>
+ */
+public class CompromisedPasswordFilter implements CompromisedPasswordChecker {
+
+  static final int MAGIC = 0x43504631; // "CPF1"
+  static final int FORMAT_VERSION = 1;
+  static final int HEADER_SIZE = 32;
+
+  private static final CompromisedPasswordDecision COMPROMISED =
+      new CompromisedPasswordDecision(true);
+  private static final CompromisedPasswordDecision NOT_COMPROMISED =
+      new CompromisedPasswordDecision(false);
+
+  private final MappedByteBuffer bits;
+  private final int hashCount;
+  private final long bitCount;
+  private final long entryCount;
+
+  private CompromisedPasswordFilter(
+      final MappedByteBuffer bits,
+      final int hashCount,
+      final long bitCount,
+      final long entryCount) {
+    this.bits = bits;
+    this.hashCount = hashCount;
+    this.bitCount = bitCount;
+    this.entryCount = entryCount;
+  }
+
+  /**
+   * Map a filter file.
+   *
+   * @throws IOException if the file cannot be read or is not a filter file
+   */
+  public static CompromisedPasswordFilter open(final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw new IOException("Not a compromised password filter: " + path);
+      }
+      // The mapping stays valid after the channel is closed
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+        throw new IOException("Not a compromised password filter: " + path);
+      }
+      final int hashCount = buffer.getInt(8);
+      final long bitCount = buffer.getLong(16);
+      if (hashCount < 1 || bitCount < 8 || HEADER_SIZE + (bitCount + 7) / 8 != size) {
+        throw new IOException("Corrupt compromised password filter: " + path);
+      }
+      return new CompromisedPasswordFilter(buffer, hashCount, bitCount, buffer.getLong(24));
+    }
+  }
+
+  @Override
+  public CompromisedPasswordDecision check(final String password) {
+    if (password == null) {
+      return NOT_COMPROMISED;
+    }
+    return mightContain(sha1(password)) ? COMPROMISED : NOT_COMPROMISED;
+  }
+
+  /** Whether the SHA-1 hash of a password might be in the list. */
+  public boolean mightContain(final byte[] sha1) {
+    final long h1 = ByteBuffer.wrap(sha1, 0, 8).getLong();
+    final long h2 = ByteBuffer.wrap(sha1, 8, 8).getLong() | 1;
+    for (int i = 0; i < hashCount; i++) {
+      final long bit = bitIndex(h1, h2, i, bitCount);
+      if ((bits.get(HEADER_SIZE + (int) (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long getEntryCount() {
+    return entryCount;
+  }
+
+  /**
+   * Bit probed by the i-th hash. SHA-1 output is already uniform, so its first two 64-bit words
+   * serve directly as the two base hashes for double hashing.
+   */
+  static long bitIndex(final long h1, final long h2, final int i, final long bitCount) {
+    return Math.floorMod(h1 + i * h2, bitCount);
+  }
+
+  static byte[] sha1(final String password) {
+    try {
+      return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-1 is not available", e);
+    }
+  }
+}
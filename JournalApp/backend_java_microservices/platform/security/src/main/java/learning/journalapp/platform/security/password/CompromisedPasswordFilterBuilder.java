@@ -0,0 +1,175 @@
+package learning.journalapp.platform.security.password;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Builds a {@link CompromisedPasswordFilter} file from a list of password hashes, one per line as
+ * {@code SHA1HEX} or {@code SHA1HEX:count} (the Have I Been Pwned download format), or from a list
+ * of plaintext passwords.
+ *
+ * <p>The output file is sized in a first pass over the input and then filled through a writable
+ * memory mapping, so even the full HIBP list (well over a gigabyte of bits) builds without a large
+ * heap.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * java -cp security.jar \
+ *     learning.journalapp.platform.security.password.CompromisedPasswordFilterBuilder \
+ *     pwned-passwords-sha1.txt compromised-passwords.filter \
+ *     [--false-positive-rate 0.001] [--plaintext]
+ * </pre>
+ */
+public final class CompromisedPasswordFilterBuilder {
+
+  private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+  private static final int MAX_HASH_COUNT = 16;
+
+  private CompromisedPasswordFilterBuilder() {}
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println(
+          "Usage: CompromisedPasswordFilterBuilder <input> <output>"
+              + " [--false-positive-rate <rate>] [--plaintext]");
+      System.exit(2);
+    }
+
+    double falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+    boolean plaintext = false;
+    for (int i = 2; i < args.length; i++) {
+      switch (args[i]) {
+        case "--false-positive-rate" -> falsePositiveRate = Double.parseDouble(args[++i]);
+        case "--plaintext" -> plaintext = true;
+        default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+
+    final long start = System.nanoTime();
+    final long entries = build(Path.of(args[0]), Path.of(args[1]), falsePositiveRate, plaintext);
+    System.out.printf(
+        "Wrote %d entries to %s in %d ms%n",
+        entries, args[1], (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Build a filter file.
+   *
+   * @return the number of entries added
+   */
+  public static long build(
+      final Path input, final Path output, final double falsePositiveRate, final boolean plaintext)
+      throws IOException {
+    final long entries = countEntries(input);
+    final long bitCount = bitCountFor(Math.max(1, entries), falsePositiveRate);
+    final int hashCount = hashCountFor(Math.max(1, entries), bitCount);
+    final long size = CompromisedPasswordFilter.HEADER_SIZE + bitCount / 8;
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("Filter would exceed 2 GB; use a higher false positive rate");
+    }
+
+    final Path parent = output.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    final Path temp = Files.createTempFile(parent, output.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel =
+          FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putInt(0, CompromisedPasswordFilter.MAGIC);
+        buffer.putInt(4, CompromisedPasswordFilter.FORMAT_VERSION);
+        buffer.putInt(8, hashCount);
+        buffer.putInt(12, 0);
+        buffer.putLong(16, bitCount);
+        buffer.putLong(24, entries);
+        addEntries(input, buffer, hashCount, bitCount, plaintext);
+        buffer.force();
+      }
+      Files.move(
+          temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return entries;
+  }
+
+  private static long countEntries(final Path input) throws IOException {
+    long count = 0;
+    try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        if (!line.isBlank()) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  private static void addEntries(
+      final Path input,
+      final MappedByteBuffer buffer,
+      final int hashCount,
+      final long bitCount,
+      final boolean plaintext)
+      throws IOException {
+    final byte[] sha1 = new byte[20];
+    try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        if (line.isBlank()) {
+          continue;
+        }
+        if (plaintext) {
+          System.arraycopy(CompromisedPasswordFilter.sha1(line), 0, sha1, 0, 20);
+        } else {
+          parseHex(line, sha1);
+        }
+
+        final long h1 = ByteBuffer.wrap(sha1, 0, 8).getLong();
+        final long h2 = ByteBuffer.wrap(sha1, 8, 8).getLong() | 1;
+        for (int i = 0; i < hashCount; i++) {
+          final long bit = CompromisedPasswordFilter.bitIndex(h1, h2, i, bitCount);
+          final int index = CompromisedPasswordFilter.HEADER_SIZE + (int) (bit >>> 3);
+          buffer.put(index, (byte) (buffer.get(index) | (1 << (bit & 7))));
+        }
+      }
+    }
+  }
+
+  /** Parse the 40 hex digits at the start of a line ("SHA1HEX" or "SHA1HEX:count"). */
+  private static void parseHex(final String line, final byte[] target) {
+    if (line.length() < 40) {
+      throw new IllegalArgumentException("Not a SHA-1 hash: " + line);
+    }
+    for (int i = 0; i < 20; i++) {
+      target[i] = (byte) (hexDigit(line, i * 2) << 4 | hexDigit(line, i * 2 + 1));
+    }
+  }
+
+  private static int hexDigit(final String line, final int index) {
+    final int digit = Character.digit(line.charAt(index), 16);
+    if (digit < 0) {
+      throw new IllegalArgumentException("Not a SHA-1 hash: " + line);
+    }
+    return digit;
+  }
+
+  /** Optimal bloom size, m = -n ln p / (ln 2)^2, rounded up to whole bytes. */
+  static long bitCountFor(final long entries, final double falsePositiveRate) {
+    final double bits = -entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    return Math.max(64, ((long) Math.ceil(bits) + 7) / 8 * 8);
+  }
+
+  /** Optimal number of hashes, k = m / n ln 2. */
+  static int hashCountFor(final long entries, final long bitCount) {
+    final int k = (int) Math.round((double) bitCount / entries * Math.log(2));
+    return Math.max(1, Math.min(MAX_HASH_COUNT, k));
+  }
+}
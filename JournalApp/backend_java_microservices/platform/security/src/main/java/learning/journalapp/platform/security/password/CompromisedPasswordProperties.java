@@ -0,0 +1,27 @@
+package learning.journalapp.platform.security.password;
+
+import java.nio.file.Path;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for offline breached-password screening.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * platform:
+ *   security:
+ *     compromised-passwords:
+ *       filter-file: /var/lib/auth-service/compromised-passwords.filter
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "platform.security.compromised-passwords")
+public class CompromisedPasswordProperties {
+
+  /**
+   * Filter built by CompromisedPasswordFilterBuilder. Screening is enabled only when this is set.
+   */
+  private Path filterFile;
+}
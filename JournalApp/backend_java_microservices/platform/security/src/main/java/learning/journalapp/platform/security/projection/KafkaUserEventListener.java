@@ -0,0 +1,87 @@
+package learning.journalapp.platform.security.projection;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import learning.journalapp.platform.dto.codec.CodecException;
+import learning.journalapp.platform.dto.event.PlatformEventCodecs;
+import learning.journalapp.platform.dto.event.UserEvent;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+
+/**
+ * Feeds binary-encoded {@link UserEvent}s from Kafka into the projection.
+ *
+ * <p>Every instance needs every event, so each one joins its own consumer group and never commits
+ * offsets. On partition assignment it seeks to the position recorded in the restored snapshot, or
+ * to the beginning of the (compacted) topic if there is none.
+ */
+public class KafkaUserEventListener implements ConsumerSeekAware {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(KafkaUserEventListener.class);
+
+  /** Unique per instance, so every instance is assigned every partition. */
+  private static final String GROUP_ID =
+      "${spring.application.name:service}-user-projection-#{T(java.util.UUID).randomUUID()}";
+
+  private final UserProjection projection;
+
+  public KafkaUserEventListener(final UserProjection projection) {
+    this.projection = projection;
+  }
+
+  @KafkaListener(
+      id = "platformUserProjection",
+      topics = "${platform.security.user-projection.topic}",
+      groupId = GROUP_ID,
+      properties = {
+        "enable.auto.commit=false",
+        "key.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+        "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"
+      })
+  public void onUserEvent(final ConsumerRecord<String, byte[]> record) {
+    if (record.value() == null) {
+      // Compaction tombstone; deletions arrive as DELETED events
+      return;
+    }
+
+    final UserEvent event;
+    try {
+      event =
+          PlatformEventCodecs.REGISTRY.decode(ByteBuffer.wrap(record.value()), UserEvent.class);
+    } catch (final CodecException e) {
+      logger.warn(
+          "Skipping malformed user event",
+          e,
+          Map.of(
+              "partition", String.valueOf(record.partition()),
+              "offset", String.valueOf(record.offset())));
+      return;
+    }
+
+    if (event != null) {
+      projection.apply(event, positionKey(record.topic(), record.partition()), record.offset());
+    }
+  }
+
+  @Override
+  public void onPartitionsAssigned(
+      final Map<TopicPartition, Long> assignments, final ConsumerSeekCallback callback) {
+    for (final TopicPartition partition : assignments.keySet()) {
+      final Long position =
+          projection.position(positionKey(partition.topic(), partition.partition()));
+      if (position == null) {
+        callback.seekToBeginning(partition.topic(), partition.partition());
+      } else {
+        callback.seek(partition.topic(), partition.partition(), position + 1);
+      }
+    }
+  }
+
+  private static String positionKey(final String topic, final int partition) {
+    return topic + "-" + partition;
+  }
+}
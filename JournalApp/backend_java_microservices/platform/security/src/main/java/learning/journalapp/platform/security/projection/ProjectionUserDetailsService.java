@@ -0,0 +1,51 @@
+package learning.journalapp.platform.security.projection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import learning.journalapp.platform.security.exception.UserNotFoundException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * UserDetailsService backed by the local {@link UserProjection}, for services that authenticate
+ * requests by JWT only. Lookups are in-memory, with no call to the authentication service or its
+ * database.
+ *
+ * <p>The projection holds no password hashes, so the returned users cannot be used for password
+ * authentication.
+ */
+public class ProjectionUserDetailsService implements UserDetailsService {
+
+  private final UserProjection projection;
+  private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
+
+  public ProjectionUserDetailsService(final UserProjection projection) {
+    this.projection = projection;
+  }
+
+  @Override
+  public UserDetails loadUserByUsername(final String username) {
+    final UserView user = projection.find(username);
+    if (user == null) {
+      throw new UserNotFoundException();
+    }
+
+    return User.withUsername(user.username())
+        .password("")
+        .authorities(authorities(user.role()))
+        .disabled(!user.enabled())
+        .build();
+  }
+
+  private List<GrantedAuthority> authorities(final String role) {
+    if (role == null) {
+      return List.of();
+    }
+    return authoritiesByRole.computeIfAbsent(
+        role, r -> List.of(new SimpleGrantedAuthority("ROLE_" + r)));
+  }
+}
@@ -0,0 +1,17 @@
+package learning.journalapp.platform.security.projection;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of a {@link UserProjection}.
+ *
+ * @param positions consumer position per event source at the time of the snapshot
+ * @param entries every known user, including tombstones
+ */
+public record Snapshot(Map<String, Long> positions, List<Entry> entries) {
+
+  /** One user in a snapshot. */
+  public record Entry(
+      String username, long userId, long version, String role, boolean enabled, boolean deleted) {}
+}
@@ -0,0 +1,128 @@
+package learning.journalapp.platform.security.projection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes {@link Snapshot}s as a compact binary file with a CRC32 trailer. Writes go to a
+ * temporary file that is atomically moved into place, so a crash never leaves a partial snapshot.
+ */
+public class SnapshotFile {
+
+  private static final int MAGIC = 0x55505331; // "UPS1"
+  private static final int FORMAT_VERSION = 1;
+
+  private final Path path;
+
+  public SnapshotFile(final Path path) {
+    this.path = path;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public void write(final Snapshot snapshot) throws IOException {
+    final Path parent = path.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    final Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+    try {
+      final CRC32 crc = new CRC32();
+      try (OutputStream file = Files.newOutputStream(temp);
+          DataOutputStream out =
+              new DataOutputStream(
+                  new BufferedOutputStream(new CheckedOutputStream(file, crc), 64 * 1024))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+
+        out.writeInt(snapshot.positions().size());
+        for (final Map.Entry<String, Long> position : snapshot.positions().entrySet()) {
+          out.writeUTF(position.getKey());
+          out.writeLong(position.getValue());
+        }
+
+        out.writeInt(snapshot.entries().size());
+        for (final Snapshot.Entry entry : snapshot.entries()) {
+          out.writeUTF(entry.username());
+          out.writeLong(entry.userId());
+          out.writeLong(entry.version());
+          out.writeUTF(entry.role() == null ? "" : entry.role());
+          out.writeBoolean(entry.enabled());
+          out.writeBoolean(entry.deleted());
+        }
+        out.flush();
+
+        // Trailer, not covered by the checksum itself
+        new DataOutputStream(file).writeLong(crc.getValue());
+      }
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Read the snapshot.
+   *
+   * @return the snapshot, or null if the file does not exist
+   * @throws IOException if the file cannot be read, is corrupt or has an unknown format
+   */
+  public Snapshot read() throws IOException {
+    if (!Files.exists(path)) {
+      return null;
+    }
+
+    final CRC32 crc = new CRC32();
+    try (InputStream file = new BufferedInputStream(Files.newInputStream(path), 64 * 1024)) {
+      final DataInputStream in = new DataInputStream(new CheckedInputStream(file, crc));
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        throw new IOException("Not a user projection snapshot: " + path);
+      }
+
+      final int positionCount = in.readInt();
+      final Map<String, Long> positions = new HashMap<>(positionCount * 2);
+      for (int i = 0; i < positionCount; i++) {
+        positions.put(in.readUTF(), in.readLong());
+      }
+
+      final int entryCount = in.readInt();
+      final List<Snapshot.Entry> entries = new ArrayList<>(entryCount);
+      for (int i = 0; i < entryCount; i++) {
+        final String username = in.readUTF();
+        final long userId = in.readLong();
+        final long version = in.readLong();
+        final String role = in.readUTF();
+        entries.add(
+            new Snapshot.Entry(
+                username,
+                userId,
+                version,
+                role.isEmpty() ? null : role,
+                in.readBoolean(),
+                in.readBoolean()));
+      }
+
+      final long expected = crc.getValue();
+      if (new DataInputStream(file).readLong() != expected) {
+        throw new IOException("Checksum mismatch in user projection snapshot: " + path);
+      }
+      return new Snapshot(positions, entries);
+    }
+  }
+}
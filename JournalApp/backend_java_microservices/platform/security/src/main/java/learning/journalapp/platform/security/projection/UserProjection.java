@@ -0,0 +1,323 @@
+package learning.journalapp.platform.security.projection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import learning.journalapp.platform.dto.event.UserEvent;
+
+/**
+ * In-memory projection of username to role/enabled/version, built from {@link UserEvent}s.
+ *
+ * <p>Entries live in an open-addressing table keyed by a 64-bit hash of the username, stored in
+ * parallel primitive arrays, so a lookup is a few array reads with no boxing or per-entry objects.
+ * There is a single writer (the event consumer) and any number of readers; readers use an
+ * optimistic {@link StampedLock} read and only block if a write raced with them.
+ *
+ * <p>Events are applied only if their version is newer than the stored one, so duplicates and
+ * out-of-order redeliveries are harmless. Deleted users are kept as tombstones for the same
+ * reason. Usernames are treated as immutable.
+ *
+ * <p>The projection also records the consumer's position per source (e.g. per Kafka partition),
+ * so a snapshot can be restored and consumption resumed from where the snapshot was taken.
+ */
+public class UserProjection {
+
+  private static final int MAX_LOAD_PERCENT = 50;
+
+  private static final byte FLAG_ENABLED = 1;
+  private static final byte FLAG_DELETED = 2;
+
+  private final StampedLock lock = new StampedLock();
+  private final Map<String, Long> positions = new HashMap<>();
+  private final Map<String, Integer> roleIndexes = new HashMap<>();
+
+  private volatile String[] roles = new String[0];
+  private volatile Table table;
+  private volatile boolean dirty;
+
+  public UserProjection(final int expectedUsers) {
+    this.table = new Table(capacityFor(expectedUsers));
+  }
+
+  /**
+   * Look up a user.
+   *
+   * @return the user, or null if unknown or deleted
+   */
+  public UserView find(final String username) {
+    final long hash = hash(username);
+
+    final long stamp = lock.tryOptimisticRead();
+    final UserView view = lookup(username, hash);
+    if (lock.validate(stamp)) {
+      return view;
+    }
+
+    final long readStamp = lock.readLock();
+    try {
+      return lookup(username, hash);
+    } finally {
+      lock.unlockRead(readStamp);
+    }
+  }
+
+  /**
+   * Apply an event.
+   *
+   * @return true if the event changed the projection, false if it was stale or incomplete
+   */
+  public boolean apply(final UserEvent event) {
+    return apply(event, null, 0);
+  }
+
+  /**
+   * Apply an event and record the position it was read from.
+   *
+   * @param positionKey source of the event (e.g. "users-0" for a Kafka partition), or null
+   * @param position offset of the event within that source
+   * @return true if the event changed the projection, false if it was stale or incomplete
+   */
+  public boolean apply(final UserEvent event, final String positionKey, final long position) {
+    if (event.username() == null || event.type() == null) {
+      return false;
+    }
+
+    final long stamp = lock.writeLock();
+    try {
+      if (positionKey != null) {
+        positions.put(positionKey, position);
+        dirty = true;
+      }
+
+      final long hash = hash(event.username());
+      Table current = table;
+      int slot = current.find(event.username(), hash);
+      if (slot >= 0 && event.version() <= current.versions[slot]) {
+        return false;
+      }
+
+      if (slot < 0) {
+        if ((current.size + 1) * 100 > current.capacity() * MAX_LOAD_PERCENT) {
+          current = current.resize(current.capacity() * 2);
+          table = current;
+        }
+        slot = current.insert(event.username(), hash);
+      }
+
+      current.userIds[slot] = event.userId();
+      current.versions[slot] = event.version();
+      current.roles[slot] = roleIndex(event.role());
+      current.flags[slot] = flags(event);
+      dirty = true;
+      return true;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /** Last recorded position for a source, or null if none was recorded. */
+  public Long position(final String positionKey) {
+    final long stamp = lock.readLock();
+    try {
+      return positions.get(positionKey);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /** Number of known users, including tombstones of deleted ones. */
+  public int size() {
+    return table.size;
+  }
+
+  /** Whether anything changed since the last {@link #snapshot()}. */
+  public boolean isDirty() {
+    return dirty;
+  }
+
+  /** Consistent copy of the projection, for persisting. Clears the dirty flag. */
+  public Snapshot snapshot() {
+    final long stamp = lock.readLock();
+    try {
+      final Table current = table;
+      final String[] roleNames = roles;
+      final List<Snapshot.Entry> entries = new ArrayList<>(current.size);
+      for (int i = 0; i < current.capacity(); i++) {
+        if (current.usernames[i] != null) {
+          entries.add(
+              new Snapshot.Entry(
+                  current.usernames[i],
+                  current.userIds[i],
+                  current.versions[i],
+                  current.roles[i] < 0 ? null : roleNames[current.roles[i]],
+                  (current.flags[i] & FLAG_ENABLED) != 0,
+                  (current.flags[i] & FLAG_DELETED) != 0));
+        }
+      }
+      dirty = false;
+      return new Snapshot(Map.copyOf(positions), entries);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /** Replace the projection with a previously taken snapshot. */
+  public void restore(final Snapshot snapshot) {
+    final long stamp = lock.writeLock();
+    try {
+      final Table restored = new Table(capacityFor(snapshot.entries().size()));
+      for (final Snapshot.Entry entry : snapshot.entries()) {
+        final int slot = restored.insert(entry.username(), hash(entry.username()));
+        restored.userIds[slot] = entry.userId();
+        restored.versions[slot] = entry.version();
+        restored.roles[slot] = roleIndex(entry.role());
+        restored.flags[slot] =
+            (byte) ((entry.enabled() ? FLAG_ENABLED : 0) | (entry.deleted() ? FLAG_DELETED : 0));
+      }
+      table = restored;
+      positions.clear();
+      positions.putAll(snapshot.positions());
+      dirty = false;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Read without locking. May see a half-applied write when called optimistically, so it must not
+   * throw on inconsistent data; the caller validates and retries.
+   */
+  private UserView lookup(final String username, final long hash) {
+    final Table current = table;
+    final int slot = current.find(username, hash);
+    if (slot < 0) {
+      return null;
+    }
+
+    final byte flags = current.flags[slot];
+    if ((flags & FLAG_DELETED) != 0) {
+      return null;
+    }
+    final String[] roleNames = roles;
+    final int role = current.roles[slot];
+    return new UserView(
+        current.userIds[slot],
+        username,
+        role >= 0 && role < roleNames.length ? roleNames[role] : null,
+        (flags & FLAG_ENABLED) != 0,
+        current.versions[slot]);
+  }
+
+  /** Roles are few, so each slot stores a small index into a shared array of role names. */
+  private int roleIndex(final String role) {
+    if (role == null) {
+      return -1;
+    }
+    return roleIndexes.computeIfAbsent(
+        role,
+        r -> {
+          final String[] grown = Arrays.copyOf(roles, roles.length + 1);
+          grown[grown.length - 1] = r;
+          roles = grown;
+          return grown.length - 1;
+        });
+  }
+
+  private static byte flags(final UserEvent event) {
+    return switch (event.type()) {
+      case DELETED -> FLAG_DELETED;
+      case ENABLED -> FLAG_ENABLED;
+      case DISABLED -> (byte) 0;
+      case CREATED, UPDATED -> event.enabled() ? FLAG_ENABLED : (byte) 0;
+    };
+  }
+
+  private static int capacityFor(final int expectedUsers) {
+    final long needed = Math.max(16L, (long) expectedUsers * 100 / MAX_LOAD_PERCENT + 1);
+    return Integer.highestOneBit((int) Math.min(needed, 1 << 30) - 1) << 1;
+  }
+
+  /** 64-bit FNV-1a over the UTF-16 chars, finalized with a mixer. Never returns 0 (empty slot). */
+  static long hash(final String username) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < username.length(); i++) {
+      hash ^= username.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash == 0 ? 1 : hash;
+  }
+
+  /** Parallel arrays of one table generation; replaced as a whole on resize. */
+  private static final class Table {
+    final long[] hashes;
+    final String[] usernames;
+    final long[] userIds;
+    final long[] versions;
+    final int[] roles;
+    final byte[] flags;
+    int size;
+
+    Table(final int capacity) {
+      hashes = new long[capacity];
+      usernames = new String[capacity];
+      userIds = new long[capacity];
+      versions = new long[capacity];
+      roles = new int[capacity];
+      flags = new byte[capacity];
+    }
+
+    int capacity() {
+      return hashes.length;
+    }
+
+    /** Linear probing; bounded by the capacity so a racing reader can never spin forever. */
+    int find(final String username, final long hash) {
+      final int mask = capacity() - 1;
+      int slot = (int) hash & mask;
+      for (int probes = 0; probes < capacity(); probes++) {
+        final long slotHash = hashes[slot];
+        if (slotHash == 0) {
+          return -1;
+        }
+        if (slotHash == hash && username.equals(usernames[slot])) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    int insert(final String username, final long hash) {
+      final int mask = capacity() - 1;
+      int slot = (int) hash & mask;
+      while (hashes[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      // Username first: a reader matching the hash must find a non-null name to compare with
+      usernames[slot] = username;
+      hashes[slot] = hash;
+      size++;
+      return slot;
+    }
+
+    Table resize(final int newCapacity) {
+      final Table resized = new Table(newCapacity);
+      for (int i = 0; i < capacity(); i++) {
+        if (hashes[i] != 0) {
+          final int slot = resized.insert(usernames[i], hashes[i]);
+          resized.userIds[slot] = userIds[i];
+          resized.versions[slot] = versions[i];
+          resized.roles[slot] = roles[i];
+          resized.flags[slot] = flags[i];
+        }
+      }
+      return resized;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package learning.journalapp.platform.security.projection;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the local user projection.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * platform:
+ *   security:
+ *     user-projection:
+ *       enabled: true
+ *       topic: user-events
+ *       snapshot-file: /var/lib/journal-service/users.snapshot
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "platform.security.user-projection")
+public class UserProjectionProperties {
+
+  /** Whether to back UserDetailsService with the local projection instead of a database. */
+  private boolean enabled = false;
+
+  /** Kafka topic carrying UserEvents. Leave unset to feed the projection some other way. */
+  private String topic;
+
+  /** Where to persist snapshots for fast restarts. */
+  private Path snapshotFile = Path.of("data", "user-projection.snapshot");
+
+  /** How often to write a snapshot, if anything changed. */
+  private Duration snapshotInterval = Duration.ofMinutes(1);
+
+  /** Expected number of users, to size the table up front. */
+  private int expectedUsers = 10_000;
+}
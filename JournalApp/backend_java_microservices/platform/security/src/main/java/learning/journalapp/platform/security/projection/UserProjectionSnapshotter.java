@@ -0,0 +1,100 @@
+package learning.journalapp.platform.security.projection;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import learning.journalapp.platform.logging.StructuredLogger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Restores the projection from its snapshot file on startup, then writes a new snapshot
+ * periodically and on shutdown. Event consumption starts after all beans are initialized, so it
+ * always resumes from the restored positions.
+ *
+ * <p>A missing or corrupt snapshot is not fatal: the projection starts empty and is rebuilt by
+ * replaying the event source from the beginning.
+ */
+public class UserProjectionSnapshotter implements InitializingBean, DisposableBean {
+
+  private static final StructuredLogger logger =
+      StructuredLogger.getLogger(UserProjectionSnapshotter.class);
+
+  private final UserProjection projection;
+  private final SnapshotFile snapshotFile;
+  private final Duration interval;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "user-projection-snapshot");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public UserProjectionSnapshotter(
+      final UserProjection projection, final SnapshotFile snapshotFile, final Duration interval) {
+    this.projection = projection;
+    this.snapshotFile = snapshotFile;
+    this.interval = interval;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    restore();
+    scheduler.scheduleWithFixedDelay(
+        this::snapshotIfDirty, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdown();
+    snapshotIfDirty();
+  }
+
+  /** Write a snapshot now if anything changed since the last one. */
+  public void snapshotIfDirty() {
+    if (!projection.isDirty()) {
+      return;
+    }
+    try {
+      final long start = System.nanoTime();
+      final Snapshot snapshot = projection.snapshot();
+      snapshotFile.write(snapshot);
+      logger.debug(
+          "User projection snapshot written",
+          Map.of(
+              "users", String.valueOf(snapshot.entries().size()),
+              "durationMs",
+                  String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))));
+    } catch (final IOException | RuntimeException e) {
+      logger.error(
+          "Could not write user projection snapshot",
+          e,
+          Map.of("file", snapshotFile.getPath().toString()));
+    }
+  }
+
+  private void restore() {
+    try {
+      final Snapshot snapshot = snapshotFile.read();
+      if (snapshot == null) {
+        logger.info(
+            "No user projection snapshot, rebuilding from events",
+            Map.of("file", snapshotFile.getPath().toString()));
+        return;
+      }
+      projection.restore(snapshot);
+      logger.info(
+          "User projection restored from snapshot",
+          Map.of("users", String.valueOf(snapshot.entries().size())));
+    } catch (final IOException e) {
+      logger.warn(
+          "Ignoring unreadable user projection snapshot, rebuilding from events",
+          e,
+          Map.of("file", snapshotFile.getPath().toString()));
+    }
+  }
+}
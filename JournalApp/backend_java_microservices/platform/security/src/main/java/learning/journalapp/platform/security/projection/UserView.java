@@ -0,0 +1,12 @@
+package learning.journalapp.platform.security.projection;
+
+/**
+ * What a service needs to know about a user to authorize a request.
+ *
+ * @param userId id of the user in the authentication service
+ * @param username login name
+ * @param role role name without the ROLE_ prefix
+ * @param enabled whether the account can log in
+ * @param version version of the last applied event
+ */
+public record UserView(long userId, String username, String role, boolean enabled, long version) {}
@@ -5,11 +5,18 @@ import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import learning.journalapp.platform.logging.StructuredLogger;
+import learning.journalapp.platform.logging.SyntheticTraffic;
+import learning.journalapp.platform.metrics.PlatformMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -19,6 +26,9 @@ import org.springframework.stereotype.Component;
  *
  * <p>Configuration properties: - jwt.secret: Secret key for signing tokens (required) -
  * jwt.expiration: Token expiration time in milliseconds (default: 24 hours)
+ *
+ * <p>Signing and validation are timed as journalapp.jwt.generate and journalapp.jwt.validate
+ * (outcome valid/invalid), except for {@link SyntheticTraffic}.
  */
 @Component
 public class JwtTokenProvider {
@@ -31,6 +41,27 @@ public class JwtTokenProvider {
   @Value("${jwt.expiration:86400000}") // Default 24 hours (86400000 ms)
   private long jwtExpirationMs;
 
+  private final Timer generateTimer;
+  private final Timer validTimer;
+  private final Timer invalidTimer;
+
+  /**
+   * Record timings to the global registry. Spring Boot adds its own registries to it (unless
+   * management.metrics.use-global-registry=false), so this also works when component-scanned.
+   */
+  public JwtTokenProvider() {
+    this(Metrics.globalRegistry);
+  }
+
+  public JwtTokenProvider(final MeterRegistry meterRegistry) {
+    this.generateTimer =
+        Timer.builder(PlatformMetrics.JWT_GENERATE)
+            .description("JWT signing latency")
+            .register(meterRegistry);
+    this.validTimer = validateTimer(meterRegistry, "valid");
+    this.invalidTimer = validateTimer(meterRegistry, "invalid");
+  }
+
   /**
    * Generate JWT token for a username.
    *
@@ -49,9 +80,27 @@ public class JwtTokenProvider {
    * @return JWT token as a string
    */
   public String generateToken(final String username, final Map<String, Object> additionalClaims) {
+    return generateToken(username, additionalClaims, Duration.ofMillis(jwtExpirationMs));
+  }
+
+  /**
+   * Generate JWT token that expires sooner than the configured expiration, e.g. for a token that is
+   * only used internally.
+   *
+   * @param username the username to include in the token
+   * @param validity how long the token is valid
+   * @return JWT token as a string
+   */
+  public String generateToken(final String username, final Duration validity) {
+    return generateToken(username, new HashMap<>(), validity);
+  }
+
+  private String generateToken(
+      final String username, final Map<String, Object> additionalClaims, final Duration validity) {
+    final long start = System.nanoTime();
     try {
       final Instant now = Instant.now();
-      final Instant expiryDate = now.plusMillis(jwtExpirationMs);
+      final Instant expiryDate = now.plus(validity);
 
       JWTClaimsSet.Builder claimsBuilder =
           new JWTClaimsSet.Builder()
@@ -74,6 +123,8 @@ public class JwtTokenProvider {
     } catch (JOSEException e) {
       logger.error("Error generating JWT token", e);
       throw new RuntimeException("Error generating JWT token", e);
+    } finally {
+      record(generateTimer, start);
     }
   }
 
@@ -117,6 +168,13 @@ public class JwtTokenProvider {
    * @return true if token is valid, false otherwise
    */
   public boolean validateToken(final String token) {
+    final long start = System.nanoTime();
+    final boolean valid = verify(token);
+    record(valid ? validTimer : invalidTimer, start);
+    return valid;
+  }
+
+  private boolean verify(final String token) {
     try {
       final SignedJWT signedJWT = SignedJWT.parse(token);
 
@@ -157,4 +215,17 @@ public class JwtTokenProvider {
       return null;
     }
   }
+
+  private static void record(final Timer timer, final long start) {
+    if (!SyntheticTraffic.isSynthetic()) {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private static Timer validateTimer(final MeterRegistry meterRegistry, final String outcome) {
+    return Timer.builder(PlatformMetrics.JWT_VALIDATE)
+        .description("JWT signature and expiry validation latency")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
 }
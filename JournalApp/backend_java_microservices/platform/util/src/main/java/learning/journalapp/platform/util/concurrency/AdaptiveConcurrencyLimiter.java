@@ -0,0 +1,100 @@
+package learning.journalapp.platform.util.concurrency;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the number of requests in flight at a limit that a {@link LimitAlgorithm} adapts to the
+ * observed latency. Excess requests are rejected immediately rather than queued, so a slow
+ * dependency degrades throughput instead of exhausting threads and connections.
+ *
+ * <p>{@link RequestPriority#LOW} requests may only use {@code lowPriorityShare} of the limit, so
+ * the rest stays available to cheap requests while expensive ones are shed.
+ *
+ * <p>Limit updates are serialised with a {@link ReentrantLock} rather than {@code synchronized}, so
+ * virtual threads waiting on it unmount instead of pinning their carrier thread.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  /** Token for an admitted request; pass it back to {@link #release}. */
+  public record Permit(long startNanos, int inFlight) {}
+
+  private final LimitAlgorithm algorithm;
+  private final double lowPriorityShare;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ReentrantLock updateLock = new ReentrantLock();
+  private final Map<RequestPriority, LongAdder> rejected = new EnumMap<>(RequestPriority.class);
+
+  private volatile int limit;
+
+  public AdaptiveConcurrencyLimiter(final LimitAlgorithm algorithm, final double lowPriorityShare) {
+    this.algorithm = algorithm;
+    this.lowPriorityShare = lowPriorityShare;
+    this.limit = algorithm.initialLimit();
+    for (final RequestPriority priority : RequestPriority.values()) {
+      rejected.put(priority, new LongAdder());
+    }
+  }
+
+  /**
+   * Admit a request if there is room for its priority.
+   *
+   * @return a permit, or null if the request should be rejected
+   */
+  public Permit tryAcquire(final RequestPriority priority) {
+    final int currentLimit = limit;
+    final int allowed =
+        priority == RequestPriority.HIGH
+            ? currentLimit
+            : Math.max(1, (int) (currentLimit * lowPriorityShare));
+    while (true) {
+      final int current = inFlight.get();
+      if (current >= allowed) {
+        rejected.get(priority).increment();
+        return null;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(System.nanoTime(), current + 1);
+      }
+    }
+  }
+
+  /**
+   * Complete an admitted request and feed its latency to the limit algorithm.
+   *
+   * @param dropped whether the request failed in a way that suggests overload
+   */
+  public void release(final Permit permit, final boolean dropped) {
+    final long rttNanos = System.nanoTime() - permit.startNanos();
+    inFlight.decrementAndGet();
+    updateLock.lock();
+    try {
+      limit = algorithm.update(limit, rttNanos, permit.inFlight(), dropped);
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Complete an admitted request without feeding its latency to the limit algorithm, for traffic
+   * that says nothing about real load (such as start-up warm-up).
+   */
+  public void releaseUnsampled(final Permit permit) {
+    inFlight.decrementAndGet();
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public long getRejected(final RequestPriority priority) {
+    return rejected.get(priority).sum();
+  }
+}
@@ -0,0 +1,49 @@
+package learning.journalapp.platform.util.concurrency;
+
+import java.time.Duration;
+
+/**
+ * Additive increase, multiplicative decrease: grow the limit by one while requests succeed and
+ * the limit is actually being used, shrink it by {@code backoffRatio} when a request is dropped or
+ * takes longer than {@code timeout}. Reacts only once latency is already bad, but is simple to
+ * reason about.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long timeoutNanos;
+
+  public AimdLimit(
+      final int initialLimit,
+      final int minLimit,
+      final int maxLimit,
+      final double backoffRatio,
+      final Duration timeout) {
+    this.initialLimit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.timeoutNanos = timeout.toNanos();
+  }
+
+  @Override
+  public int initialLimit() {
+    return initialLimit;
+  }
+
+  @Override
+  public int update(
+      final int limit, final long rttNanos, final int inFlight, final boolean dropped) {
+    if (dropped || rttNanos > timeoutNanos) {
+      return Math.max(minLimit, (int) (limit * backoffRatio));
+    }
+    // Don't grow a limit the load isn't reaching, or it drifts up to maxLimit while idle
+    if (inFlight * 2 >= limit) {
+      return Math.min(maxLimit, limit + 1);
+    }
+    return limit;
+  }
+}
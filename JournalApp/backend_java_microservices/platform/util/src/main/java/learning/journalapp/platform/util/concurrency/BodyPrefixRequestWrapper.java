@@ -0,0 +1,120 @@
+package learning.journalapp.platform.util.concurrency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lets a filter peek at the start of the request body. Up to {@code maxPrefixSize} bytes are read
+ * up front; the wrapped request replays them and then continues with the rest of the original
+ * stream, so downstream handlers see the complete body and large bodies are never fully buffered.
+ */
+public class BodyPrefixRequestWrapper extends HttpServletRequestWrapper {
+
+  private final byte[] prefix;
+  private ServletInputStream inputStream;
+  private BufferedReader reader;
+
+  public BodyPrefixRequestWrapper(final HttpServletRequest request, final int maxPrefixSize)
+      throws IOException {
+    super(request);
+    this.prefix = readPrefix(request.getInputStream(), maxPrefixSize);
+  }
+
+  /** The first bytes of the body (all of it, if it is small enough). */
+  public byte[] getPrefix() {
+    return prefix;
+  }
+
+  @Override
+  public ServletInputStream getInputStream() throws IOException {
+    if (reader != null) {
+      throw new IllegalStateException("getReader() has already been called");
+    }
+    if (inputStream == null) {
+      inputStream = new PrefixInputStream(prefix, super.getInputStream());
+    }
+    return inputStream;
+  }
+
+  @Override
+  public BufferedReader getReader() throws IOException {
+    if (inputStream != null) {
+      throw new IllegalStateException("getInputStream() has already been called");
+    }
+    if (reader == null) {
+      final String encoding = getCharacterEncoding();
+      final Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+      final PrefixInputStream in = new PrefixInputStream(prefix, super.getInputStream());
+      reader = new BufferedReader(new InputStreamReader(in, charset));
+    }
+    return reader;
+  }
+
+  private static byte[] readPrefix(final ServletInputStream in, final int maxPrefixSize)
+      throws IOException {
+    final byte[] buffer = new byte[maxPrefixSize];
+    int length = 0;
+    while (length < maxPrefixSize) {
+      final int read = in.read(buffer, length, maxPrefixSize - length);
+      if (read < 0) {
+        break;
+      }
+      length += read;
+    }
+    return length == maxPrefixSize ? buffer : Arrays.copyOf(buffer, length);
+  }
+
+  private static final class PrefixInputStream extends ServletInputStream {
+
+    private final byte[] prefix;
+    private final ServletInputStream remainder;
+    private int position;
+
+    private PrefixInputStream(final byte[] prefix, final ServletInputStream remainder) {
+      this.prefix = prefix;
+      this.remainder = remainder;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (position < prefix.length) {
+        return prefix[position++] & 0xFF;
+      }
+      return remainder.read();
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      if (position < prefix.length) {
+        final int count = Math.min(len, prefix.length - position);
+        System.arraycopy(prefix, position, b, off, count);
+        position += count;
+        return count;
+      }
+      return remainder.read(b, off, len);
+    }
+
+    @Override
+    public boolean isFinished() {
+      return position >= prefix.length && remainder.isFinished();
+    }
+
+    @Override
+    public boolean isReady() {
+      return position < prefix.length || remainder.isReady();
+    }
+
+    @Override
+    public void setReadListener(final ReadListener readListener) {
+      remainder.setReadListener(readListener);
+    }
+  }
+}
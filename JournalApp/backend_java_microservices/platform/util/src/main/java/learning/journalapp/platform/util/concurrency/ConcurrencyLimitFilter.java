@@ -0,0 +1,173 @@
+package learning.journalapp.platform.util.concurrency;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import learning.journalapp.platform.logging.SyntheticTraffic;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds load before it reaches the application: every request needs a permit from the {@link
+ * AdaptiveConcurrencyLimiter}, and requests over the limit get an immediate 503 with a Retry-After
+ * header instead of waiting for a thread or a database connection.
+ *
+ * <p>Priority: requests to {@code expensivePaths}, and GraphQL requests selecting one of the
+ * {@code expensiveGraphqlFields}, are {@link RequestPriority#LOW}; everything else is HIGH.
+ * Excluded paths (health probes, metrics) bypass the limiter entirely, as do GraphQL subscriptions
+ * over SSE, which stay open indefinitely and would otherwise hold a permit for their whole
+ * lifetime. Only a complete request body whose document defines nothing but subscriptions counts:
+ * queries and mutations over SSE (a login, say) are limited like everything else.
+ *
+ * <p>Async requests (Spring GraphQL completes over MVC async dispatch) hold their permit until
+ * the async processing completes.
+ *
+ * <p>{@link SyntheticTraffic} (warm-up requests a service sends itself) needs a permit like any
+ * other request, but its latency is not sampled: it would teach the limit the cold-start latency.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final ConcurrencyLimitProperties properties;
+  private final GraphQLOperationClassifier graphqlClassifier;
+  private final PathMatcher pathMatcher = new AntPathMatcher();
+  private final String retryAfterSeconds;
+
+  public ConcurrencyLimitFilter(
+      final AdaptiveConcurrencyLimiter limiter, final ConcurrencyLimitProperties properties) {
+    this.limiter = limiter;
+    this.properties = properties;
+    this.graphqlClassifier = new GraphQLOperationClassifier(properties.getExpensiveGraphqlFields());
+    this.retryAfterSeconds = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    return matchesAny(properties.getExcludedPaths(), request.getRequestURI());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    HttpServletRequest admitted = request;
+    RequestPriority priority = RequestPriority.HIGH;
+
+    if (matchesAny(properties.getExpensivePaths(), request.getRequestURI())) {
+      priority = RequestPriority.LOW;
+    } else if (isGraphqlPost(request)) {
+      final BodyPrefixRequestWrapper wrapper =
+          new BodyPrefixRequestWrapper(
+              request, (int) properties.getMaxInspectedBodySize().toBytes());
+      if (isEventStream(request) && graphqlClassifier.isSubscription(wrapper.getPrefix())) {
+        filterChain.doFilter(wrapper, response);
+        return;
+      }
+      priority = graphqlClassifier.classify(wrapper.getPrefix());
+      admitted = wrapper;
+    }
+
+    final AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(priority);
+    if (permit == null) {
+      // Set the status directly: sendError() would run an error dispatch through the whole
+      // filter chain, security included, which is exactly the work being shed
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+      return;
+    }
+
+    final Release release = new Release(permit, response, SyntheticTraffic.isSynthetic(request));
+    try {
+      filterChain.doFilter(admitted, response);
+    } catch (final IOException | ServletException | RuntimeException e) {
+      release.complete(true);
+      throw e;
+    }
+
+    if (isAsyncStarted(admitted)) {
+      admitted.getAsyncContext().addListener(release);
+    } else {
+      release.complete(false);
+    }
+  }
+
+  private boolean isGraphqlPost(final HttpServletRequest request) {
+    return HttpMethod.POST.matches(request.getMethod())
+        && properties.getGraphqlPath().equals(request.getRequestURI());
+  }
+
+  private static boolean isEventStream(final HttpServletRequest request) {
+    final String accept = request.getHeader(HttpHeaders.ACCEPT);
+    return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+  }
+
+  private boolean matchesAny(final List<String> patterns, final String path) {
+    for (final String pattern : patterns) {
+      if (pathMatcher.match(pattern, path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the permit exactly once, on whichever of completion, error or timeout comes first. */
+  private final class Release implements AsyncListener {
+
+    private final AdaptiveConcurrencyLimiter.Permit permit;
+    private final HttpServletResponse response;
+    private final boolean synthetic;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Release(
+        final AdaptiveConcurrencyLimiter.Permit permit,
+        final HttpServletResponse response,
+        final boolean synthetic) {
+      this.permit = permit;
+      this.response = response;
+      this.synthetic = synthetic;
+    }
+
+    void complete(final boolean failed) {
+      if (!released.compareAndSet(false, true)) {
+        return;
+      }
+      if (synthetic) {
+        limiter.releaseUnsampled(permit);
+      } else {
+        limiter.release(permit, failed || response.getStatus() >= 500);
+      }
+    }
+
+    @Override
+    public void onComplete(final AsyncEvent event) {
+      complete(false);
+    }
+
+    @Override
+    public void onTimeout(final AsyncEvent event) {
+      complete(true);
+    }
+
+    @Override
+    public void onError(final AsyncEvent event) {
+      complete(true);
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) {
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
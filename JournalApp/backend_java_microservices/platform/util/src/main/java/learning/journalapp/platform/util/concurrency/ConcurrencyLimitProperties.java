@@ -0,0 +1,87 @@
+package learning.journalapp.platform.util.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the adaptive concurrency limit (load shedding) filter.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * platform:
+ *   concurrency-limit:
+ *     algorithm: gradient
+ *     max-limit: 100
+ *     low-priority-share: 0.5
+ *     expensive-graphql-fields: login, register
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "platform.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+  /** How the limit adapts to latency. */
+  public enum Algorithm {
+    GRADIENT,
+    AIMD
+  }
+
+  /** Whether requests should pass through the concurrency limiter at all. */
+  private boolean enabled = true;
+
+  private Algorithm algorithm = Algorithm.GRADIENT;
+
+  /** Requests allowed in flight before any latency has been observed. */
+  private int initialLimit = 20;
+
+  private int minLimit = 4;
+
+  private int maxLimit = 200;
+
+  /** Share of the limit that low-priority requests may use; the rest is kept for cheap ones. */
+  private double lowPriorityShare = 0.5;
+
+  /** Sent as Retry-After with rejected requests. */
+  private Duration retryAfter = Duration.ofSeconds(1);
+
+  /** Paths that bypass the limiter (Ant patterns). */
+  private List<String> excludedPaths = new ArrayList<>(List.of("/actuator/**"));
+
+  /** Paths whose requests are low priority (Ant patterns). */
+  private List<String> expensivePaths = new ArrayList<>();
+
+  /**
+   * Path of the GraphQL endpoint, whose requests are classified by the fields they select.
+   * Subscriptions requested from it as event streams (SSE) bypass the limiter.
+   */
+  private String graphqlPath = "/graphql";
+
+  /** GraphQL fields whose requests are low priority. */
+  private List<String> expensiveGraphqlFields = new ArrayList<>(List.of("login", "register"));
+
+  /** How much of a GraphQL body is inspected for expensive fields. */
+  private DataSize maxInspectedBodySize = DataSize.ofKilobytes(8);
+
+  /** Gradient algorithm: latency increase over the baseline tolerated before backing off. */
+  private double rttTolerance = 1.5;
+
+  /** Gradient algorithm: weight of each new limit estimate. */
+  private double smoothing = 0.2;
+
+  /** Gradient algorithm: number of requests averaged per limit update. */
+  private int windowSize = 10;
+
+  /** AIMD algorithm: factor applied to the limit when a request is dropped or too slow. */
+  private double backoffRatio = 0.9;
+
+  /** AIMD algorithm: requests slower than this count as dropped. */
+  private Duration timeout = Duration.ofSeconds(5);
+
+  /** Whether the limit, in-flight and rejection counts should be published to Micrometer. */
+  private boolean metricsEnabled = true;
+}
@@ -0,0 +1,34 @@
+package learning.journalapp.platform.util.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/** Publishes the concurrency limiter's state to Micrometer. */
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+
+  private static final String PREFIX = "journalapp.concurrency.";
+
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  public ConcurrencyLimiterMetrics(final AdaptiveConcurrencyLimiter limiter) {
+    this.limiter = limiter;
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    Gauge.builder(PREFIX + "limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current adaptive concurrency limit")
+        .register(registry);
+    Gauge.builder(PREFIX + "in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+        .description("Requests currently holding a permit")
+        .register(registry);
+    for (final RequestPriority priority : RequestPriority.values()) {
+      FunctionCounter.builder(PREFIX + "rejected", limiter, l -> l.getRejected(priority))
+          .description("Requests rejected with 503 because the limit was reached")
+          .tag("priority", priority.name().toLowerCase())
+          .register(registry);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package learning.journalapp.platform.util.concurrency;
+
+/**
+ * Latency-gradient limit: compares the recent average latency with a long-term baseline and
+ * shrinks the limit as soon as requests start queueing, before anything times out.
+ *
+ * <p>Every {@code windowSize} samples:
+ *
+ * <pre>
+ * gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)
+ * newLimit = limit * gradient + sqrt(limit)
+ * limit    = limit * (1 - smoothing) + newLimit * smoothing
+ * </pre>
+ *
+ * While latency stays within {@code tolerance} of the baseline the gradient is 1 and the limit
+ * grows by the {@code sqrt(limit)} headroom; once the database slows down and latency climbs, the
+ * gradient drops and the limit follows, so excess requests are shed instead of piling up threads.
+ */
+public class GradientLimit implements LimitAlgorithm {
+
+  /** The baseline follows roughly the last 600 windows. */
+  private static final double LONG_RTT_ALPHA = 2.0 / 601;
+
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double smoothing;
+  private final int windowSize;
+
+  private double estimatedLimit;
+  private double longRtt;
+  private long windowRttSum;
+  private int windowCount;
+  private int windowMaxInFlight;
+
+  public GradientLimit(
+      final int initialLimit,
+      final int minLimit,
+      final int maxLimit,
+      final double tolerance,
+      final double smoothing,
+      final int windowSize) {
+    this.initialLimit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.smoothing = smoothing;
+    this.windowSize = windowSize;
+    this.estimatedLimit = initialLimit;
+  }
+
+  @Override
+  public int initialLimit() {
+    return initialLimit;
+  }
+
+  @Override
+  public int update(
+      final int limit, final long rttNanos, final int inFlight, final boolean dropped) {
+    windowRttSum += rttNanos;
+    windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+    if (++windowCount < windowSize) {
+      return limit;
+    }
+
+    final double shortRtt = (double) windowRttSum / windowCount;
+    final int maxInFlight = windowMaxInFlight;
+    windowRttSum = 0;
+    windowCount = 0;
+    windowMaxInFlight = 0;
+
+    if (longRtt == 0) {
+      longRtt = shortRtt;
+    } else {
+      longRtt += (shortRtt - longRtt) * LONG_RTT_ALPHA;
+    }
+    // After a long overload the baseline has crept up; pull it back down once latency recovers
+    if (longRtt / shortRtt > 2) {
+      longRtt *= 0.95;
+    }
+
+    // Don't grow a limit the load isn't reaching
+    if (maxInFlight < estimatedLimit / 2) {
+      return (int) estimatedLimit;
+    }
+
+    final double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+    final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    estimatedLimit =
+        Math.max(
+            minLimit,
+            Math.min(maxLimit, estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+    return (int) estimatedLimit;
+  }
+}
@@ -0,0 +1,176 @@
+package learning.journalapp.platform.util.concurrency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Classifies a GraphQL request body as {@link RequestPriority#LOW} if its document selects one of
+ * the configured expensive fields (e.g. {@code login}, {@code register}).
+ *
+ * <p>This is a byte scan for the field name as a whole word, not a parse: it runs on every request
+ * before the limiter, so it must be cheaper than what it protects. An alias or argument with the
+ * same name also matches, which at worst sheds a cheap request a little earlier.
+ *
+ * <p>{@link #isSubscription} does parse, but only for event-stream requests, and only the inspected
+ * prefix of the body.
+ */
+class GraphQLOperationClassifier {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final byte[][] expensiveFields;
+
+  GraphQLOperationClassifier(final Collection<String> expensiveFields) {
+    this.expensiveFields =
+        expensiveFields.stream()
+            .map(field -> field.getBytes(StandardCharsets.US_ASCII))
+            .toArray(byte[][]::new);
+  }
+
+  RequestPriority classify(final byte[] body) {
+    for (final byte[] field : expensiveFields) {
+      if (containsWord(body, field)) {
+        return RequestPriority.LOW;
+      }
+    }
+    return RequestPriority.HIGH;
+  }
+
+  /**
+   * Whether the body is a complete GraphQL request whose document only defines subscriptions (and
+   * fragments). A truncated, malformed or mixed request is not a subscription.
+   */
+  boolean isSubscription(final byte[] body) {
+    final JsonNode query;
+    try {
+      query = OBJECT_MAPPER.readTree(body).path("query");
+    } catch (final IOException e) {
+      return false;
+    }
+    return query.isTextual() && onlySubscriptions(query.textValue());
+  }
+
+  /**
+   * Scan the top-level definitions of a document: each must start with {@code subscription} or
+   * {@code fragment}. Strings, comments and everything inside selection sets and parentheses
+   * (arguments, variable defaults) are skipped.
+   */
+  static boolean onlySubscriptions(final String document) {
+    final int length = document.length();
+    boolean subscription = false;
+    boolean inDefinition = false;
+    int braces = 0;
+    int parens = 0;
+    int i = 0;
+    while (i < length) {
+      final char c = document.charAt(i);
+      if (c == '#') {
+        while (i < length && document.charAt(i) != '\n' && document.charAt(i) != '\r') {
+          i++;
+        }
+      } else if (c == '"') {
+        i = skipString(document, i);
+        if (i < 0) {
+          return false;
+        }
+      } else if (c == '(') {
+        parens++;
+        i++;
+      } else if (c == ')') {
+        parens--;
+        i++;
+      } else if (parens > 0) {
+        i++;
+      } else if (c == '{') {
+        if (braces == 0 && !inDefinition) {
+          // Query shorthand
+          return false;
+        }
+        braces++;
+        i++;
+      } else if (c == '}') {
+        if (braces == 0) {
+          return false;
+        }
+        if (--braces == 0) {
+          inDefinition = false;
+        }
+        i++;
+      } else if (braces == 0 && !inDefinition && isNameChar((byte) c)) {
+        final int start = i;
+        while (i < length && isNameChar((byte) document.charAt(i))) {
+          i++;
+        }
+        final String keyword = document.substring(start, i);
+        if (keyword.equals("subscription")) {
+          subscription = true;
+        } else if (!keyword.equals("fragment")) {
+          return false;
+        }
+        inDefinition = true;
+      } else {
+        i++;
+      }
+    }
+    return subscription && braces == 0 && parens == 0 && !inDefinition;
+  }
+
+  /** Index just past the string starting at {@code start}, or -1 if it is unterminated. */
+  private static int skipString(final String document, final int start) {
+    if (document.startsWith("\"\"\"", start)) {
+      int i = start + 3;
+      while (i < document.length()) {
+        if (document.startsWith("\\\"\"\"", i)) {
+          i += 4;
+        } else if (document.startsWith("\"\"\"", i)) {
+          return i + 3;
+        } else {
+          i++;
+        }
+      }
+      return -1;
+    }
+    for (int i = start + 1; i < document.length(); i++) {
+      final char c = document.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == '"') {
+        return i + 1;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean containsWord(final byte[] body, final byte[] word) {
+    final int last = body.length - word.length;
+    outer:
+    for (int i = 0; i <= last; i++) {
+      for (int j = 0; j < word.length; j++) {
+        if (body[i + j] != word[j]) {
+          continue outer;
+        }
+      }
+      if (isWordStart(body, i)
+          && (i + word.length == body.length || !isNameChar(body[i + word.length]))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Preceded by a non-name character, or by a JSON escape such as {@code \n} or {@code \t}. */
+  private static boolean isWordStart(final byte[] body, final int i) {
+    if (i == 0 || !isNameChar(body[i - 1])) {
+      return true;
+    }
+    return i >= 2 && body[i - 2] == '\\' && (body[i - 1] == 'n' || body[i - 1] == 't');
+  }
+
+  /** GraphQL names are [_A-Za-z][_0-9A-Za-z]*. */
+  private static boolean isNameChar(final byte b) {
+    return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_';
+  }
+}
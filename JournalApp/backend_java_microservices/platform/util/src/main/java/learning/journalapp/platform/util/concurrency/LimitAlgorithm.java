@@ -0,0 +1,22 @@
+package learning.journalapp.platform.util.concurrency;
+
+/**
+ * Adjusts a concurrency limit from observed request latencies. Implementations are called under
+ * the limiter's lock and need not be thread-safe.
+ */
+public interface LimitAlgorithm {
+
+  /** Limit to start with, before any samples have been seen. */
+  int initialLimit();
+
+  /**
+   * Feed one completed request.
+   *
+   * @param limit the current limit
+   * @param rttNanos how long the request took
+   * @param inFlight requests in flight when it started, including itself
+   * @param dropped whether it failed in a way that suggests overload (timeout, 5xx)
+   * @return the new limit
+   */
+  int update(int limit, long rttNanos, int inFlight, boolean dropped);
+}
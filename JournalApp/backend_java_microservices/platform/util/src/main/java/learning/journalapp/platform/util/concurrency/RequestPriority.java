@@ -0,0 +1,9 @@
+package learning.journalapp.platform.util.concurrency;
+
+/** How readily a request is shed under load. */
+public enum RequestPriority {
+  /** Cheap, latency-sensitive requests; may use the whole limit. */
+  HIGH,
+  /** Expensive requests (e.g. login and register, which run BCrypt); shed first. */
+  LOW
+}
@@ -0,0 +1,94 @@
+package learning.journalapp.platform.util.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import learning.journalapp.platform.util.concurrency.AdaptiveConcurrencyLimiter;
+import learning.journalapp.platform.util.concurrency.AimdLimit;
+import learning.journalapp.platform.util.concurrency.ConcurrencyLimitFilter;
+import learning.journalapp.platform.util.concurrency.ConcurrencyLimitProperties;
+import learning.journalapp.platform.util.concurrency.ConcurrencyLimiterMetrics;
+import learning.journalapp.platform.util.concurrency.GradientLimit;
+import learning.journalapp.platform.util.concurrency.LimitAlgorithm;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Auto-configuration for adaptive load shedding in servlet applications. The filter runs right
+ * after the correlation ID filter and before Spring Security, so rejected requests cost neither a
+ * JWT check nor a user lookup.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(Filter.class)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(
+    prefix = "platform.concurrency-limit",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class ConcurrencyLimitAutoConfiguration {
+
+  /** After CorrelationIdFilter (highest precedence), so rejections are still traceable. */
+  public static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+  @Bean
+  @ConditionalOnMissingBean
+  public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+      final ConcurrencyLimitProperties properties) {
+    return new AdaptiveConcurrencyLimiter(
+        limitAlgorithm(properties), properties.getLowPriorityShare());
+  }
+
+  @Bean
+  public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+      final AdaptiveConcurrencyLimiter limiter, final ConcurrencyLimitProperties properties) {
+    final FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+        new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter, properties));
+    registration.setOrder(FILTER_ORDER);
+    return registration;
+  }
+
+  private static LimitAlgorithm limitAlgorithm(final ConcurrencyLimitProperties properties) {
+    return switch (properties.getAlgorithm()) {
+      case GRADIENT ->
+          new GradientLimit(
+              properties.getInitialLimit(),
+              properties.getMinLimit(),
+              properties.getMaxLimit(),
+              properties.getRttTolerance(),
+              properties.getSmoothing(),
+              properties.getWindowSize());
+      case AIMD ->
+          new AimdLimit(
+              properties.getInitialLimit(),
+              properties.getMinLimit(),
+              properties.getMaxLimit(),
+              properties.getBackoffRatio(),
+              properties.getTimeout());
+    };
+  }
+
+  /** Limit and rejection metrics, only when Micrometer is on the classpath. */
+  @Configuration
+  @ConditionalOnClass(MeterRegistry.class)
+  @ConditionalOnProperty(
+      prefix = "platform.concurrency-limit",
+      name = "metrics-enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  static class ConcurrencyLimiterMetricsConfiguration {
+
+    @Bean
+    public ConcurrencyLimiterMetrics concurrencyLimiterMetrics(
+        final AdaptiveConcurrencyLimiter limiter) {
+      return new ConcurrencyLimiterMetrics(limiter);
+    }
+  }
+}
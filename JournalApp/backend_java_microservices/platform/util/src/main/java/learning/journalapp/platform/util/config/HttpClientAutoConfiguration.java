@@ -0,0 +1,225 @@
+package learning.journalapp.platform.util.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import learning.journalapp.platform.util.http.ConnectionPoolMetrics;
+import learning.journalapp.platform.util.http.HttpClientProperties;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.routing.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Auto-configuration for pooled service-to-service HTTP clients. Every RestClient, RestTemplate and
+ * WebClient built from the Spring Boot builders shares one connection pool per client type, so
+ * calls reuse warm TCP/TLS connections instead of paying the handshake on every request.
+ *
+ * <p>Correlation ID propagation for the same clients is configured by the logging module.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+@ConditionalOnProperty(
+    prefix = "platform.http-client",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class HttpClientAutoConfiguration {
+
+  /** Blocking clients (RestClient, RestTemplate) backed by a pooled Apache HttpClient 5. */
+  @Configuration
+  @ConditionalOnClass({CloseableHttpClient.class, HttpComponentsClientHttpRequestFactory.class})
+  static class BlockingClientConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public PoolingHttpClientConnectionManager platformHttpConnectionManager(
+        final HttpClientProperties properties) {
+      final PoolingHttpClientConnectionManager connectionManager =
+          PoolingHttpClientConnectionManagerBuilder.create()
+              .setMaxConnTotal(properties.getMaxConnectionsTotal())
+              .setMaxConnPerRoute(properties.getMaxConnectionsPerHost())
+              .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+              // Reuse the most recently released connection first so idle ones can expire
+              .setConnPoolPolicy(PoolReusePolicy.LIFO)
+              .setDefaultConnectionConfig(
+                  ConnectionConfig.custom()
+                      .setConnectTimeout(toTimeout(properties.getConnectTimeout().toMillis()))
+                      .setSocketTimeout(toTimeout(properties.getReadTimeout().toMillis()))
+                      .setTimeToLive(
+                          TimeValue.ofMilliseconds(properties.getTimeToLive().toMillis()))
+                      .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                      .build())
+              .build();
+
+      properties
+          .getPerHostMaxConnections()
+          .forEach(
+              (host, max) -> {
+                final URI uri = URI.create(host);
+                connectionManager.setMaxPerRoute(
+                    new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port(uri))),
+                    max);
+              });
+
+      return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public CloseableHttpClient platformHttpClient(
+        final PoolingHttpClientConnectionManager connectionManager,
+        final HttpClientProperties properties) {
+      return HttpClients.custom()
+          .setConnectionManager(connectionManager)
+          .setDefaultRequestConfig(
+              RequestConfig.custom()
+                  .setConnectionRequestTimeout(
+                      toTimeout(properties.getConnectionRequestTimeout().toMillis()))
+                  .setResponseTimeout(toTimeout(properties.getReadTimeout().toMillis()))
+                  .setConnectionKeepAlive(
+                      TimeValue.ofMilliseconds(properties.getKeepAlive().toMillis()))
+                  .build())
+          .evictExpiredConnections()
+          .evictIdleConnections(
+              TimeValue.ofMilliseconds(properties.getEvictionInterval().toMillis()))
+          .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HttpComponentsClientHttpRequestFactory platformClientHttpRequestFactory(
+        final CloseableHttpClient platformHttpClient) {
+      return new HttpComponentsClientHttpRequestFactory(platformHttpClient);
+    }
+
+    /** Route every Boot-built RestClient through the shared pool. */
+    @Bean
+    public RestClientCustomizer restClientConnectionPoolCustomizer(
+        final HttpComponentsClientHttpRequestFactory requestFactory) {
+      return builder -> builder.requestFactory(requestFactory);
+    }
+
+    /** Route every Boot-built RestTemplate through the shared pool. */
+    @Bean
+    public RestTemplateCustomizer restTemplateConnectionPoolCustomizer(
+        final HttpComponentsClientHttpRequestFactory requestFactory) {
+      return restTemplate -> restTemplate.setRequestFactory(requestFactory);
+    }
+
+    private static Timeout toTimeout(final long millis) {
+      return Timeout.ofMilliseconds(millis);
+    }
+
+    /** Pool gauges, only when Micrometer is on the classpath. */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(
+        prefix = "platform.http-client",
+        name = "metrics-enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+    static class ConnectionPoolMetricsConfiguration {
+
+      @Bean
+      public ConnectionPoolMetrics platformHttpConnectionPoolMetrics(
+          final PoolingHttpClientConnectionManager connectionManager) {
+        return new ConnectionPoolMetrics(connectionManager, "platform-http");
+      }
+    }
+  }
+
+  /** Reactive client (WebClient) backed by a pooled Reactor Netty client with HTTP/2. */
+  @Configuration
+  @ConditionalOnClass({WebClient.class, HttpClient.class})
+  static class ReactiveClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean
+    public ConnectionProvider platformConnectionProvider(final HttpClientProperties properties) {
+      final ConnectionProvider.Builder builder =
+          ConnectionProvider.builder("platform-http")
+              .maxConnections(properties.getMaxConnectionsPerHost())
+              .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+              .maxIdleTime(properties.getKeepAlive())
+              .maxLifeTime(properties.getTimeToLive())
+              .evictInBackground(properties.getEvictionInterval())
+              .lifo()
+              .metrics(properties.isMetricsEnabled() && isMicrometerPresent());
+
+      properties
+          .getPerHostMaxConnections()
+          .forEach(
+              (host, max) -> {
+                final URI uri = URI.create(host);
+                builder.forRemoteHost(
+                    InetSocketAddress.createUnresolved(uri.getHost(), port(uri)),
+                    spec -> spec.maxConnections(max));
+              });
+
+      return builder.build();
+    }
+
+    @Bean
+    public WebClientCustomizer webClientConnectionPoolCustomizer(
+        final ConnectionProvider platformConnectionProvider,
+        final HttpClientProperties properties) {
+      // Only the pool publishes metrics: HttpClient metrics are tagged with the request URI, which
+      // would create new meters for every distinct path
+      HttpClient httpClient =
+          HttpClient.create(platformConnectionProvider)
+              .option(
+                  ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                  (int) properties.getConnectTimeout().toMillis())
+              .option(ChannelOption.SO_KEEPALIVE, true)
+              .responseTimeout(properties.getReadTimeout());
+
+      if (properties.isHttp2Enabled()) {
+        // h2 is negotiated through ALPN on https URLs; plain http stays on HTTP/1.1
+        httpClient = httpClient.protocol(HttpProtocol.HTTP11, HttpProtocol.H2);
+      }
+
+      final ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+      return builder -> builder.clientConnector(connector);
+    }
+
+    private static boolean isMicrometerPresent() {
+      return ClassUtils.isPresent(
+          "io.micrometer.core.instrument.MeterRegistry",
+          ReactiveClientConfiguration.class.getClassLoader());
+    }
+  }
+
+  /** Resolve the effective port of a scheme://host[:port] key from the per-host overrides. */
+  private static int port(final URI uri) {
+    if (uri.getPort() != -1) {
+      return uri.getPort();
+    }
+    return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+  }
+}
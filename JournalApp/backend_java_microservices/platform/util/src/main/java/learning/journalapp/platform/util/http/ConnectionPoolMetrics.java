@@ -0,0 +1,46 @@
+package learning.journalapp.platform.util.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.ToIntFunction;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+
+/**
+ * Publishes the state of the blocking client's connection pool to Micrometer.
+ *
+ * <p>The reactive client publishes its own pool metrics through Reactor Netty, under the
+ * reactor.netty.connection.provider prefix.
+ */
+public class ConnectionPoolMetrics implements MeterBinder {
+
+  private static final String PREFIX = "http.client.pool.";
+
+  private final ConnPoolControl<?> pool;
+  private final String poolName;
+
+  public ConnectionPoolMetrics(final ConnPoolControl<?> pool, final String poolName) {
+    this.pool = pool;
+    this.poolName = poolName;
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    gauge(registry, "leased", "Connections currently in use", PoolStats::getLeased);
+    gauge(registry, "available", "Idle connections ready for reuse", PoolStats::getAvailable);
+    gauge(registry, "pending", "Requests waiting for a connection", PoolStats::getPending);
+    gauge(registry, "max", "Maximum number of pooled connections", PoolStats::getMax);
+  }
+
+  private void gauge(
+      final MeterRegistry registry,
+      final String name,
+      final String description,
+      final ToIntFunction<PoolStats> value) {
+    Gauge.builder(PREFIX + name, pool, p -> value.applyAsInt(p.getTotalStats()))
+        .description(description)
+        .tag("pool", poolName)
+        .register(registry);
+  }
+}
@@ -0,0 +1,63 @@
+package learning.journalapp.platform.util.http;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection pool and timeout settings shared by the auto-configured RestClient, RestTemplate and
+ * WebClient.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * platform:
+ *   http-client:
+ *     max-connections-total: 200
+ *     max-connections-per-host: 20
+ *     per-host-max-connections:
+ *       "http://journal-service:8080": 50
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "platform.http-client")
+public class HttpClientProperties {
+
+  /** Whether the pooled HTTP clients should be configured at all. */
+  private boolean enabled = true;
+
+  /** Maximum time to establish a TCP (and TLS) connection. */
+  private Duration connectTimeout = Duration.ofSeconds(2);
+
+  /** Maximum time to wait for response data once a request has been sent. */
+  private Duration readTimeout = Duration.ofSeconds(10);
+
+  /** Maximum time to wait for a free connection from the pool before failing fast. */
+  private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+  /** How long an idle connection is kept open for reuse. */
+  private Duration keepAlive = Duration.ofSeconds(30);
+
+  /** Upper bound on the lifetime of a pooled connection, so DNS changes are picked up. */
+  private Duration timeToLive = Duration.ofMinutes(5);
+
+  /** How often idle and expired connections are evicted in the background. */
+  private Duration evictionInterval = Duration.ofSeconds(15);
+
+  /** Maximum number of pooled connections across all hosts (blocking client). */
+  private int maxConnectionsTotal = 200;
+
+  /** Default maximum number of pooled connections per host. */
+  private int maxConnectionsPerHost = 20;
+
+  /** Per-host overrides of the connection limit, keyed by scheme://host:port. */
+  private Map<String, Integer> perHostMaxConnections = new HashMap<>();
+
+  /** Whether the reactive client should negotiate HTTP/2 (falls back to HTTP/1.1). */
+  private boolean http2Enabled = true;
+
+  /** Whether connection pool metrics should be published to Micrometer. */
+  private boolean metricsEnabled = true;
+}
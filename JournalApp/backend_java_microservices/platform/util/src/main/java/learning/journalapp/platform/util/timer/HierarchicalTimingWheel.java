@@ -0,0 +1,224 @@
+package learning.journalapp.platform.util.timer;
+
+import java.util.function.Consumer;
+
+/**
+ * Timers in a hierarchy of circular wheels, as in Varghese and Lauck's "Hashed and Hierarchical
+ * Timing Wheels". Scheduling and cancelling are O(1) regardless of how many timers are pending,
+ * and advancing the clock costs O(1) per elapsed tick plus the timers that expire or move down a
+ * level.
+ *
+ * <p>Level 0 has one slot per tick; each slot of level {@code n} spans {@code wheelSize^n} ticks.
+ * A timer goes into the lowest level whose range reaches its deadline, and when the clock enters
+ * a higher-level slot its timers are redistributed to the levels below, so each timer moves at
+ * most once per level. Timers beyond the range of the top level wait in its furthest slot and are
+ * placed again when that slot comes round.
+ *
+ * <p>Deadlines are rounded up to the next tick, so a timer never expires early and at most one
+ * tick late (plus however late {@link #advance} is called).
+ *
+ * <p>Not thread-safe: confine a wheel to one thread, e.g. a single-threaded scheduler that calls
+ * {@link #advance} every tick.
+ *
+ * @param <T> what a timer carries back when it expires
+ */
+public class HierarchicalTimingWheel<T> {
+
+  private final long startMillis;
+  private final long tickMillis;
+  private final int bitsPerLevel;
+  private final int mask;
+  private final Timeout<T>[][] slots;
+  private long currentTick;
+  private int size;
+
+  /**
+   * @param startMillis the wheel's time zero, usually the current time
+   * @param tickMillis resolution of the wheel
+   * @param wheelSize slots per level; a power of two
+   * @param levels number of levels; the wheel spans {@code wheelSize^levels} ticks
+   */
+  @SuppressWarnings("unchecked")
+  public HierarchicalTimingWheel(
+      final long startMillis, final long tickMillis, final int wheelSize, final int levels) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis must be positive");
+    }
+    if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+    }
+    if (levels < 1 || (long) Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+      throw new IllegalArgumentException("levels out of range: " + levels);
+    }
+    this.startMillis = startMillis;
+    this.tickMillis = tickMillis;
+    this.bitsPerLevel = Integer.numberOfTrailingZeros(wheelSize);
+    this.mask = wheelSize - 1;
+    this.slots = new Timeout[levels][wheelSize];
+  }
+
+  /**
+   * Schedule a timer. A deadline at or before the current time expires on the next {@link
+   * #advance}.
+   *
+   * @return handle for {@link #cancel}
+   */
+  public Timeout<T> schedule(final T task, final long deadlineMillis) {
+    final Timeout<T> timeout = new Timeout<>(task, deadlineMillis, tickOf(deadlineMillis));
+    place(timeout, currentTick + 1);
+    size++;
+    return timeout;
+  }
+
+  /**
+   * Cancel a pending timer.
+   *
+   * @return false if it had already expired or been cancelled
+   */
+  public boolean cancel(final Timeout<T> timeout) {
+    if (timeout.level < 0) {
+      return false;
+    }
+    unlink(timeout);
+    size--;
+    return true;
+  }
+
+  /**
+   * Move the clock forward to {@code nowMillis}, handing every timer that expired to {@code
+   * onExpired} in deadline order (to the tick). Going backwards is a no-op.
+   *
+   * @return the number of expired timers
+   */
+  public int advance(final long nowMillis, final Consumer<? super T> onExpired) {
+    final long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+    int expired = 0;
+    while (currentTick < targetTick) {
+      currentTick++;
+      // Higher levels first, so timers due on this very tick reach level 0 before it is emptied
+      for (int level = slots.length - 1; level > 0; level--) {
+        if ((currentTick & ((1L << (bitsPerLevel * level)) - 1)) == 0) {
+          cascade(level, slotIndex(currentTick, level));
+        }
+      }
+      expired += expire(slotIndex(currentTick, 0), onExpired);
+    }
+    return expired;
+  }
+
+  /** Number of pending timers. */
+  public int size() {
+    return size;
+  }
+
+  /** Time up to which the wheel has been advanced, rounded down to the tick. */
+  public long currentMillis() {
+    return startMillis + currentTick * tickMillis;
+  }
+
+  private void cascade(final int level, final int slot) {
+    Timeout<T> timeout = slots[level][slot];
+    slots[level][slot] = null;
+    while (timeout != null) {
+      final Timeout<T> next = timeout.next;
+      timeout.prev = null;
+      timeout.next = null;
+      place(timeout, currentTick);
+      timeout = next;
+    }
+  }
+
+  private int expire(final int slot, final Consumer<? super T> onExpired) {
+    int expired = 0;
+    // Take one timer at a time, so the rest stay linked in the slot while a callback runs and
+    // cancelling one of them unlinks it like any other pending timer
+    Timeout<T> timeout;
+    while ((timeout = slots[0][slot]) != null) {
+      unlink(timeout);
+      size--;
+      expired++;
+      onExpired.accept(timeout.task);
+    }
+    return expired;
+  }
+
+  /**
+   * Put a timer into the lowest level whose range reaches its deadline. Deadlines before {@code
+   * earliestTick} are treated as due on it.
+   */
+  private void place(final Timeout<T> timeout, final long earliestTick) {
+    final long tick = Math.max(timeout.tick, earliestTick);
+    int level = 0;
+    while (level < slots.length - 1
+        && (tick >>> (bitsPerLevel * level)) - (currentTick >>> (bitsPerLevel * level)) > mask) {
+      level++;
+    }
+    final int slot;
+    if ((tick >>> (bitsPerLevel * level)) - (currentTick >>> (bitsPerLevel * level)) > mask) {
+      // Beyond the top level: wait in its furthest slot and be placed again from there
+      slot = slotIndex(currentTick, level) == 0 ? mask : slotIndex(currentTick, level) - 1;
+    } else {
+      slot = slotIndex(tick, level);
+    }
+    timeout.level = level;
+    timeout.slot = slot;
+    timeout.next = slots[level][slot];
+    if (timeout.next != null) {
+      timeout.next.prev = timeout;
+    }
+    slots[level][slot] = timeout;
+  }
+
+  private void unlink(final Timeout<T> timeout) {
+    if (timeout.prev != null) {
+      timeout.prev.next = timeout.next;
+    } else {
+      slots[timeout.level][timeout.slot] = timeout.next;
+    }
+    if (timeout.next != null) {
+      timeout.next.prev = timeout.prev;
+    }
+    timeout.prev = null;
+    timeout.next = null;
+    timeout.level = -1;
+  }
+
+  private int slotIndex(final long tick, final int level) {
+    return (int) (tick >>> (bitsPerLevel * level)) & mask;
+  }
+
+  /** First tick at or after the deadline. */
+  private long tickOf(final long deadlineMillis) {
+    return -Math.floorDiv(startMillis - deadlineMillis, tickMillis);
+  }
+
+  /** A pending timer; also a node of its slot's doubly-linked list. */
+  public static final class Timeout<T> {
+    private final T task;
+    private final long deadlineMillis;
+    private final long tick;
+    private int level = -1;
+    private int slot;
+    private Timeout<T> prev;
+    private Timeout<T> next;
+
+    private Timeout(final T task, final long deadlineMillis, final long tick) {
+      this.task = task;
+      this.deadlineMillis = deadlineMillis;
+      this.tick = tick;
+    }
+
+    public T task() {
+      return task;
+    }
+
+    public long deadlineMillis() {
+      return deadlineMillis;
+    }
+
+    /** Whether the timer is still waiting, i.e. has neither expired nor been cancelled. */
+    public boolean isPending() {
+      return level >= 0;
+    }
+  }
+}
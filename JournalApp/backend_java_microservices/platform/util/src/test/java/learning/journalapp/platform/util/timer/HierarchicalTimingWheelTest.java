@@ -0,0 +1,112 @@
+package learning.journalapp.platform.util.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import learning.journalapp.platform.util.timer.HierarchicalTimingWheel.Timeout;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+  // 1 ms ticks, 4 slots per level, 3 levels: level 0 spans 4 ticks, level 1 16, level 2 64
+  private final HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(0, 1, 4, 3);
+
+  @Test
+  void timersExpireOnTheirTickAcrossLevelBoundaries() {
+    final List<Long> deadlines = List.of(1L, 3L, 4L, 5L, 15L, 16L, 17L, 47L, 48L, 63L);
+    deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+    assertThat(expiryTicks(100)).isEqualTo(identity(deadlines));
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void timersBeyondTheTopLevelAreHeldAndPlacedAgain() {
+    final List<Long> deadlines = List.of(64L, 65L, 100L, 1000L);
+    deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+    assertThat(expiryTicks(1100)).isEqualTo(identity(deadlines));
+  }
+
+  @Test
+  void timersExpireInDeadlineOrder() {
+    for (final long deadline : new long[] {50, 3, 20, 3, 7, 200}) {
+      wheel.schedule(deadline, deadline);
+    }
+    final List<Long> expired = new ArrayList<>();
+
+    assertThat(wheel.advance(300, expired::add)).isEqualTo(6);
+    assertThat(expired).containsExactly(3L, 3L, 7L, 20L, 50L, 200L);
+  }
+
+  @Test
+  void pastDeadlinesExpireOnTheNextAdvance() {
+    wheel.advance(10, task -> {});
+    wheel.schedule(-5L, -5);
+    final List<Long> expired = new ArrayList<>();
+
+    wheel.advance(11, expired::add);
+
+    assertThat(expired).containsExactly(-5L);
+  }
+
+  @Test
+  void cancelledTimersNeverExpire() {
+    final Timeout<Long> kept = wheel.schedule(5L, 5);
+    final Timeout<Long> cancelled = wheel.schedule(30L, 30);
+
+    assertThat(wheel.cancel(cancelled)).isTrue();
+    assertThat(wheel.cancel(cancelled)).isFalse();
+    assertThat(cancelled.isPending()).isFalse();
+    assertThat(wheel.size()).isEqualTo(1);
+
+    final List<Long> expired = new ArrayList<>();
+    wheel.advance(100, expired::add);
+    assertThat(expired).containsExactly(5L);
+    assertThat(kept.isPending()).isFalse();
+    assertThat(wheel.cancel(kept)).isFalse();
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void callbackCanCancelTimersDueOnTheSameTick() {
+    final List<Timeout<Long>> timeouts = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      timeouts.add(wheel.schedule(5L, 5));
+    }
+    final List<Long> expired = new ArrayList<>();
+
+    final int count =
+        wheel.advance(
+            10,
+            task -> {
+              expired.add(task);
+              timeouts.forEach(wheel::cancel);
+            });
+
+    assertThat(count).isEqualTo(1);
+    assertThat(expired).containsExactly(5L);
+    assertThat(wheel.size()).isZero();
+    wheel.schedule(20L, 20);
+    assertThat(wheel.size()).isEqualTo(1);
+  }
+
+  /** Advance one tick at a time up to {@code lastTick}; the tick each timer expired on. */
+  private Map<Long, Long> expiryTicks(final long lastTick) {
+    final Map<Long, Long> ticks = new LinkedHashMap<>();
+    for (long now = 1; now <= lastTick; now++) {
+      final long tick = now;
+      wheel.advance(now, task -> ticks.put(task, tick));
+    }
+    return ticks;
+  }
+
+  private static Map<Long, Long> identity(final List<Long> deadlines) {
+    final Map<Long, Long> ticks = new LinkedHashMap<>();
+    deadlines.forEach(deadline -> ticks.put(deadline, deadline));
+    return ticks;
+  }
+}